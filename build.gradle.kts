@@ -7,6 +7,9 @@ plugins {
   checkstyle
   jacoco
   alias(libs.plugins.sonarqube)
+
+  // Benchmarks
+  id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "uk.nhs.hee.trainee.details"
@@ -39,6 +42,9 @@ dependencies {
   testImplementation("com.playtika.testcontainers:embedded-redis:3.1.17")
   testImplementation("org.testcontainers:junit-jupiter")
 
+  // Caching
+  implementation("com.github.ben-manes.caffeine:caffeine")
+
   // Lombok
   compileOnly("org.projectlombok:lombok")
   annotationProcessor("org.projectlombok:lombok")
@@ -132,6 +138,21 @@ testing {
   }
 }
 
+jmh {
+  jmhVersion.set("1.37")
+  includeTests.set(false)
+  benchmarkMode.addAll("thrpt", "avgt")
+  timeUnit.set("ms")
+  profilers.add("gc")
+  resultFormat.set("JSON")
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+
+  // Run a subset of benchmarks with e.g. -PjmhIncludes=PdfGeneratingServiceBenchmark
+  project.findProperty("jmhIncludes")?.let { includes.add(it.toString()) }
+}
+
 tasks.named("check") {
   dependsOn(testing.suites.named("integrationTest"))
 }
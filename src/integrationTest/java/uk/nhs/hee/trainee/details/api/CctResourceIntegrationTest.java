@@ -213,6 +213,40 @@ class CctResourceIntegrationTest {
             entity.lastModified().truncatedTo(ChronoUnit.MILLIS).toString()));
   }
 
+  @Test
+  void shouldStoreRecalculatedCctDateWhenGettingCalculations() throws Exception {
+    CctCalculation entity = CctCalculation.builder()
+        .traineeId(TRAINEE_ID)
+        .name("Test Calculation")
+        .programmeMembership(CctProgrammeMembership.builder()
+            .id(UUID.randomUUID())
+            .startDate(LocalDate.parse("2024-01-01"))
+            .endDate(LocalDate.parse("2025-01-01"))
+            .wte(1.0)
+            .designatedBodyCode("testDbc")
+            .build())
+        .changes(List.of(
+            CctChange.builder()
+                .type(CctChangeType.LTFT)
+                .startDate(LocalDate.parse("2024-07-01"))
+                .wte(0.5)
+                .build()))
+        .build();
+    entity = template.insert(entity);
+
+    String token = TestJwtUtil.generateTokenForTisId(TRAINEE_ID);
+    mockMvc.perform(get("/api/cct/calculation")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isOk());
+
+    CctCalculation stored = template.findById(entity.id(), CctCalculation.class);
+    assertThat("Unexpected stored calculation.", stored, notNullValue());
+    assertThat("Unexpected stored CCT date.", stored.cctDate(), is(LocalDate.of(2025, 7, 4)));
+    assertThat("Unexpected calculator version.", stored.calculatorVersion(), notNullValue());
+    assertThat("Unexpected last modified timestamp.", stored.lastModified(),
+        is(entity.lastModified().truncatedTo(ChronoUnit.MILLIS)));
+  }
+
   @Test
   void shouldGetCalculationsOrderedByLatestWhenOwnedByUser() throws Exception {
     CctCalculation future = CctCalculation.builder()
@@ -51,6 +51,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
@@ -85,6 +86,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import uk.nhs.hee.trainee.details.DockerImageNames;
 import uk.nhs.hee.trainee.details.TestJwtUtil;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
+import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 import uk.nhs.hee.trainee.details.model.TraineeProfile;
@@ -237,6 +240,106 @@ class ProgrammeMembershipResourceIntegrationTest {
         .andExpect(jsonPath("$.curricula[0].curriculumEligibleForPeriodOfGrace", is(expected)));
   }
 
+  @Test
+  void shouldRetainSignedCojWhenPatchedProgrammeMembershipHasNoCoj() throws Exception {
+    ProgrammeMembership programmeMembership = new ProgrammeMembership();
+    programmeMembership.setTisId(PM_ID);
+    programmeMembership.setProgrammeName("Old Programme");
+    programmeMembership.setConditionsOfJoining(
+        new ConditionsOfJoining(Instant.EPOCH, GoldGuideVersion.GG9, null));
+
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_ID);
+    profile.getProgrammeMemberships().add(programmeMembership);
+    mongoTemplate.save(profile);
+
+    String json = """
+        {
+          "tisId": "%s",
+          "programmeName": "New Programme"
+        }
+        """.formatted(PM_ID);
+
+    String token = TestJwtUtil.generateTokenForTisId(TRAINEE_ID);
+    mockMvc.perform(patch("/api/programme-membership/{traineeTisId}", TRAINEE_ID)
+            .header(HttpHeaders.AUTHORIZATION, token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.programmeName", is("New Programme")))
+        .andExpect(jsonPath("$.conditionsOfJoining.version", is("GG9")));
+
+    TraineeProfile savedProfile = mongoTemplate.findById(profile.getId(), TraineeProfile.class);
+    assertThat("Unexpected programme membership count.",
+        savedProfile.getProgrammeMemberships().size(), is(1));
+
+    ProgrammeMembership savedProgrammeMembership = savedProfile.getProgrammeMemberships().get(0);
+    assertThat("Unexpected programme name.", savedProgrammeMembership.getProgrammeName(),
+        is("New Programme"));
+    assertThat("Unexpected CoJ signed at.",
+        savedProgrammeMembership.getConditionsOfJoining().signedAt(), is(Instant.EPOCH));
+  }
+
+  @Test
+  void shouldAppendProgrammeMembershipWhenPatchedProgrammeMembershipNotExists() throws Exception {
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_ID);
+    mongoTemplate.save(profile);
+
+    String json = """
+        {
+          "tisId": "%s",
+          "programmeName": "New Programme"
+        }
+        """.formatted(PM_ID);
+
+    String token = TestJwtUtil.generateTokenForTisId(TRAINEE_ID);
+    mockMvc.perform(patch("/api/programme-membership/{traineeTisId}", TRAINEE_ID)
+            .header(HttpHeaders.AUTHORIZATION, token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(json))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.tisId", is(PM_ID)));
+
+    TraineeProfile savedProfile = mongoTemplate.findById(profile.getId(), TraineeProfile.class);
+    assertThat("Unexpected programme membership count.",
+        savedProfile.getProgrammeMemberships().size(), is(1));
+    assertThat("Unexpected version.", savedProfile.getVersion(), is(profile.getVersion() + 1));
+  }
+
+  @Test
+  void shouldBulkUpdateProgrammeMembershipsWithPerItemResults() throws Exception {
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_ID);
+    mongoTemplate.save(profile);
+
+    String missingTraineeId = UUID.randomUUID().toString();
+    String otherPmId = UUID.randomUUID().toString();
+    String ndjson = """
+        {"traineeTisId": "%s", "programmeMembership": {"tisId": "%s"}}
+        {"traineeTisId": "%s", "programmeMembership": {"tisId": "%s"}}
+        {"traineeTisId": "%s", "programmeMembership": {}}
+        {"traineeTisId": "%s", "programmeMembership": {"tisId": "%s"}}
+        """.formatted(TRAINEE_ID, PM_ID, missingTraineeId, PM_ID, TRAINEE_ID, TRAINEE_ID,
+        otherPmId);
+
+    mockMvc.perform(post("/api/programme-membership/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(ndjson))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status", is("UPDATED")))
+        .andExpect(jsonPath("$[1].status", is("NOT_FOUND")))
+        .andExpect(jsonPath("$[2].status", is("INVALID")))
+        .andExpect(jsonPath("$[3].status", is("UPDATED")));
+
+    TraineeProfile savedProfile = mongoTemplate.findById(profile.getId(), TraineeProfile.class);
+    assertThat("Unexpected programme membership IDs.",
+        savedProfile.getProgrammeMemberships().stream()
+            .map(ProgrammeMembership::getTisId)
+            .collect(Collectors.toSet()), is(Set.of(PM_ID, otherPmId)));
+    assertThat("Unexpected version.", savedProfile.getVersion(), is(profile.getVersion() + 2));
+  }
+
   @Test
   void shouldReturnBadRequestWhenDownloadPdfTokenNotFound() throws Exception {
     mockMvc.perform(get("/api/programme-membership/{programmeMembershipId}/confirmation", 0)
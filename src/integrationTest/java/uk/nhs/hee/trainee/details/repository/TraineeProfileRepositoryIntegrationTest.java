@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import uk.nhs.hee.trainee.details.DockerImageNames;
+import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.Placement;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.Qualification;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class TraineeProfileRepositoryIntegrationTest {
+
+  private static final String TRAINEE_ID = "40";
+
+  @Container
+  @ServiceConnection
+  private static final MongoDBContainer mongoContainer = new MongoDBContainer(
+      DockerImageNames.MONGO);
+
+  @Autowired
+  private TraineeProfileRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    PersonalDetails personalDetails = new PersonalDetails();
+    personalDetails.setForenames("Anthony");
+
+    Qualification qualification = new Qualification();
+    qualification.setTisId("qualification1");
+
+    ProgrammeMembership programmeMembership = new ProgrammeMembership();
+    programmeMembership.setTisId("programmeMembership1");
+
+    Placement placement = new Placement();
+    placement.setTisId("placement1");
+
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_ID);
+    profile.setPersonalDetails(personalDetails);
+    profile.setQualifications(List.of(qualification));
+    profile.setProgrammeMemberships(List.of(programmeMembership));
+    profile.setPlacements(List.of(placement));
+    repository.save(profile);
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.deleteAll();
+  }
+
+  @Test
+  void shouldFindOnlyProgrammeMembershipsWhenProjected() {
+    TraineeProfile profile = repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_ID);
+
+    assertThat("Unexpected trainee ID.", profile.getTraineeTisId(), is(TRAINEE_ID));
+    assertThat("Unexpected programme membership count.", profile.getProgrammeMemberships().size(),
+        is(1));
+    assertThat("Unexpected programme membership ID.",
+        profile.getProgrammeMemberships().get(0).getTisId(), is("programmeMembership1"));
+    assertThat("Unexpected placement count.", profile.getPlacements().size(), is(0));
+    assertThat("Unexpected qualification count.", profile.getQualifications().size(), is(0));
+    assertThat("Unexpected personal details.", profile.getPersonalDetails(), nullValue());
+  }
+
+  @Test
+  void shouldFindOnlyPlacementsAndProgrammeMembershipsWhenProjected() {
+    TraineeProfile profile = repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(
+        TRAINEE_ID);
+
+    assertThat("Unexpected trainee ID.", profile.getTraineeTisId(), is(TRAINEE_ID));
+    assertThat("Unexpected programme membership count.", profile.getProgrammeMemberships().size(),
+        is(1));
+    assertThat("Unexpected placement count.", profile.getPlacements().size(), is(1));
+    assertThat("Unexpected placement ID.", profile.getPlacements().get(0).getTisId(),
+        is("placement1"));
+    assertThat("Unexpected qualification count.", profile.getQualifications().size(), is(0));
+    assertThat("Unexpected personal details.", profile.getPersonalDetails(), nullValue());
+  }
+
+  @Test
+  void shouldReturnNullWhenProjectedProfileNotFound() {
+    assertThat("Unexpected profile.", repository.findProgrammeMembershipsByTraineeTisId("other"),
+        nullValue());
+    assertThat("Unexpected profile.",
+        repository.findPlacementsAndProgrammeMembershipsByTraineeTisId("other"), nullValue());
+  }
+
+  @Test
+  void shouldFindAllRequestedProfilesWhenProjectedInBulk() {
+    TraineeProfile other = new TraineeProfile();
+    other.setTraineeTisId("41");
+    repository.save(other);
+
+    List<TraineeProfile> profiles = repository
+        .findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(List.of(TRAINEE_ID, "41", "other"));
+
+    assertThat("Unexpected profile count.", profiles.size(), is(2));
+    TraineeProfile profile = profiles.stream()
+        .filter(p -> p.getTraineeTisId().equals(TRAINEE_ID))
+        .findFirst()
+        .orElseThrow();
+    assertThat("Unexpected programme membership count.", profile.getProgrammeMemberships().size(),
+        is(1));
+    assertThat("Unexpected placement count.", profile.getPlacements().size(), is(1));
+    assertThat("Unexpected personal details.", profile.getPersonalDetails(), nullValue());
+  }
+}
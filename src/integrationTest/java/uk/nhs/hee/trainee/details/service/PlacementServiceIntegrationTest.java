@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import uk.nhs.hee.trainee.details.DockerImageNames;
+import uk.nhs.hee.trainee.details.model.Placement;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
+
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class PlacementServiceIntegrationTest {
+
+  private static final String TRAINEE_ID = "40";
+
+  @Container
+  @ServiceConnection
+  private static final MongoDBContainer mongoContainer = new MongoDBContainer(
+      DockerImageNames.MONGO);
+
+  @Autowired
+  private TraineeProfileRepository repository;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  private PlacementService service;
+
+  @BeforeEach
+  void setUp() {
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_ID);
+    profile.setPlacements(new ArrayList<>(List.of(
+        createPlacement("placement1", "original"),
+        createPlacement("placement2", "original"))));
+    repository.save(profile);
+
+    service = createService(mongoTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.deleteAll();
+  }
+
+  @Test
+  void shouldReplaceExistingPlacementInPlace() {
+    Optional<Placement> updated = service.updatePlacementForTrainee(TRAINEE_ID,
+        createPlacement("placement1", "modified"));
+
+    assertThat("Unexpected updated placement.", updated.isPresent(), is(true));
+
+    TraineeProfile profile = repository.findByTraineeTisId(TRAINEE_ID);
+    List<Placement> placements = profile.getPlacements();
+    assertThat("Unexpected placement count.", placements.size(), is(2));
+    assertThat("Unexpected first placement ID.", placements.get(0).getTisId(), is("placement1"));
+    assertThat("Unexpected first placement grade.", placements.get(0).getGrade(),
+        is("modified"));
+    assertThat("Unexpected second placement grade.", placements.get(1).getGrade(),
+        is("original"));
+    assertThat("Unexpected profile version.", profile.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldPushMissingPlacement() {
+    Optional<Placement> updated = service.updatePlacementForTrainee(TRAINEE_ID,
+        createPlacement("placement3", "new"));
+
+    assertThat("Unexpected updated placement.", updated.isPresent(), is(true));
+
+    TraineeProfile profile = repository.findByTraineeTisId(TRAINEE_ID);
+    List<Placement> placements = profile.getPlacements();
+    assertThat("Unexpected placement count.", placements.size(), is(3));
+    assertThat("Unexpected last placement ID.", placements.get(2).getTisId(), is("placement3"));
+    assertThat("Unexpected last placement grade.", placements.get(2).getGrade(), is("new"));
+    assertThat("Unexpected profile version.", profile.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldUpdatePlacementInPlaceWhenAddedConcurrently() {
+    // The placement is pushed by another writer after the in-place update found no match.
+    MongoTemplate interleavingTemplate = spy(mongoTemplate);
+    AtomicBoolean pushed = new AtomicBoolean();
+    doAnswer(inv -> {
+      Object result = inv.callRealMethod();
+
+      if (!pushed.getAndSet(true)) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("traineeTisId").is(TRAINEE_ID)),
+            new Update().push("placements", createPlacement("placement3", "concurrent")),
+            TraineeProfile.class);
+      }
+      return result;
+    }).when(interleavingTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class),
+        eq(TraineeProfile.class));
+    service = createService(interleavingTemplate);
+
+    Optional<Placement> updated = service.updatePlacementForTrainee(TRAINEE_ID,
+        createPlacement("placement3", "new"));
+
+    assertThat("Unexpected updated placement.", updated.isPresent(), is(true));
+
+    List<Placement> placements = repository.findByTraineeTisId(TRAINEE_ID).getPlacements();
+    assertThat("Unexpected placement count.", placements.size(), is(3));
+    assertThat("Unexpected last placement ID.", placements.get(2).getTisId(), is("placement3"));
+    assertThat("Unexpected last placement grade.", placements.get(2).getGrade(), is("new"));
+  }
+
+  /**
+   * Create a placement service using the given template for writes.
+   *
+   * @param template The Mongo template to use.
+   * @return The created placement service.
+   */
+  private PlacementService createService(MongoTemplate template) {
+    TraineeProfileCache profileCache = new TraineeProfileCache(repository,
+        new NoOpCacheManager());
+    return new PlacementService(repository, template, mock(ProgrammeMembershipService.class),
+        profileCache);
+  }
+
+  private static Placement createPlacement(String tisId, String grade) {
+    Placement placement = new Placement();
+    placement.setTisId(tisId);
+    placement.setGrade(grade);
+    return placement;
+  }
+}
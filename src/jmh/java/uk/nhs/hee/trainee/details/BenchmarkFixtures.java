@@ -0,0 +1,281 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import uk.nhs.hee.trainee.details.dto.CurriculumDto;
+import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
+import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
+import uk.nhs.hee.trainee.details.dto.TraineeProfileDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.CctChangeType;
+import uk.nhs.hee.trainee.details.model.CctCalculation;
+import uk.nhs.hee.trainee.details.model.CctCalculation.CctChange;
+import uk.nhs.hee.trainee.details.model.CctCalculation.CctProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.Curriculum;
+import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * Representative trainee data for use in benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+  public static final String TRAINEE_TIS_ID = "47165";
+  public static final String MANAGING_DEANERY = "London LETBs";
+  public static final String LOCAL_OFFICE_CONTACT = "onboarding@example.com";
+  public static final String GMC_NUMBER = "1111111";
+
+  private static final List<String> MANAGING_DEANERIES = List.of(MANAGING_DEANERY,
+      "North West", "Thames Valley", "South West", "Yorkshire and the Humber");
+  private static final List<String> CURRICULUM_SUB_TYPES = List.of("MEDICAL_CURRICULUM",
+      "SUB_SPECIALTY", "MEDICAL_SPR");
+  private static final List<String> SPECIALTIES = List.of("General Practice",
+      "General (Internal) Medicine", "Cardiology", "Geriatric Medicine", "Public Health Medicine");
+  private static final List<String> SPECIALTY_CODES = List.of("X14", "300", "320", "430", "340");
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * Get the TIS ID of the programme membership at the given index.
+   *
+   * @param index The index of the programme membership.
+   * @return The programme membership TIS ID.
+   */
+  public static String getProgrammeMembershipTisId(int index) {
+    return "pm-" + index;
+  }
+
+  /**
+   * Create a trainee's personal details, as synced from TIS.
+   *
+   * @return The created personal details.
+   */
+  public static PersonalDetails createPersonalDetails() {
+    PersonalDetails personalDetails = new PersonalDetails();
+    personalDetails.setTitle("Dr");
+    personalDetails.setForenames("Anthony Mara");
+    personalDetails.setSurname("Gilliam");
+    personalDetails.setKnownAs("Ant");
+    personalDetails.setGender("Male");
+    personalDetails.setDateOfBirth(LocalDate.of(1991, 11, 11));
+    personalDetails.setEmail("anthony.gilliam@example.com");
+    personalDetails.setMobileNumber("07700900000");
+    personalDetails.setAddress1("585-6360 Interdum Street");
+    personalDetails.setAddress2("Goulburn");
+    personalDetails.setAddress3("London");
+    personalDetails.setPostCode("SW1A1AA");
+    personalDetails.setGmcNumber(GMC_NUMBER);
+    personalDetails.setGmcStatus("Registered with Licence");
+    personalDetails.setPersonOwner(MANAGING_DEANERY);
+    return personalDetails;
+  }
+
+  /**
+   * Create a specialty programme membership with a single curriculum, starting on the given date.
+   *
+   * @param startDate The start date of the programme membership.
+   * @return The created programme membership.
+   */
+  public static ProgrammeMembership createProgrammeMembership(LocalDate startDate) {
+    return createProgrammeMembership(0, startDate, 1);
+  }
+
+  /**
+   * Create a trainee profile with consecutive programme memberships, the last of which starts in
+   * eight weeks. Curricula, deaneries and specialties vary between programme memberships.
+   *
+   * @param programmeMembershipCount The number of programme memberships to create.
+   * @param curriculumCount          The number of curricula for each programme membership.
+   * @return The created trainee profile.
+   */
+  public static TraineeProfile createTraineeProfile(int programmeMembershipCount,
+      int curriculumCount) {
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(TRAINEE_TIS_ID);
+    profile.setPersonalDetails(createPersonalDetails());
+
+    LocalDate lastStartDate = LocalDate.now().plusWeeks(8);
+
+    for (int i = 0; i < programmeMembershipCount; i++) {
+      LocalDate startDate = lastStartDate.minusYears(programmeMembershipCount - 1L - i);
+      profile.getProgrammeMemberships().add(
+          createProgrammeMembership(i, startDate, curriculumCount));
+    }
+
+    return profile;
+  }
+
+  /**
+   * Create a trainee profile DTO with consecutive programme memberships, the last of which starts
+   * in eight weeks. Curricula, deaneries and specialties vary between programme memberships.
+   *
+   * @param programmeMembershipCount The number of programme memberships to create.
+   * @param curriculumCount          The number of curricula for each programme membership.
+   * @return The created trainee profile DTO.
+   */
+  public static TraineeProfileDto createTraineeProfileDto(int programmeMembershipCount,
+      int curriculumCount) {
+    PersonalDetailsDto personalDetails = new PersonalDetailsDto();
+    personalDetails.setForenames("Anthony Mara");
+    personalDetails.setSurname("Gilliam");
+    personalDetails.setGmcNumber(GMC_NUMBER);
+
+    List<ProgrammeMembershipDto> programmeMemberships = new ArrayList<>();
+    LocalDate lastStartDate = LocalDate.now().plusWeeks(8);
+
+    for (int i = 0; i < programmeMembershipCount; i++) {
+      LocalDate startDate = lastStartDate.minusYears(programmeMembershipCount - 1L - i);
+      ProgrammeMembership programmeMembership = createProgrammeMembership(i, startDate,
+          curriculumCount);
+
+      ProgrammeMembershipDto dto = new ProgrammeMembershipDto();
+      dto.setTisId(programmeMembership.getTisId());
+      dto.setProgrammeName(programmeMembership.getProgrammeName());
+      dto.setProgrammeNumber(programmeMembership.getProgrammeNumber());
+      dto.setManagingDeanery(programmeMembership.getManagingDeanery());
+      dto.setProgrammeMembershipType(programmeMembership.getProgrammeMembershipType());
+      dto.setStartDate(programmeMembership.getStartDate());
+      dto.setEndDate(programmeMembership.getEndDate());
+      dto.setTrainingPathway(programmeMembership.getTrainingPathway());
+      dto.setCurricula(programmeMembership.getCurricula().stream()
+          .map(BenchmarkFixtures::toDto)
+          .toList());
+      programmeMemberships.add(dto);
+    }
+
+    TraineeProfileDto profile = new TraineeProfileDto();
+    profile.setTraineeTisId(TRAINEE_TIS_ID);
+    profile.setPersonalDetails(personalDetails);
+    profile.setProgrammeMemberships(programmeMemberships);
+    return profile;
+  }
+
+  /**
+   * Create a CCT calculation for a full time programme with the given number of LTFT changes.
+   * Changes are a month apart, in reverse date order, and alternate between part time WTEs.
+   *
+   * @param changeCount The number of CCT changes to create.
+   * @return The created CCT calculation.
+   */
+  public static CctCalculation createCctCalculation(int changeCount) {
+    LocalDate startDate = LocalDate.now().minusYears(1);
+
+    List<CctChange> changes = new ArrayList<>();
+    for (int i = changeCount - 1; i >= 0; i--) {
+      changes.add(CctChange.builder()
+          .id(UUID.randomUUID())
+          .type(CctChangeType.LTFT)
+          .startDate(startDate.plusMonths(i + 1L))
+          .wte(i % 2 == 0 ? 0.5 : 0.8)
+          .build());
+    }
+
+    return CctCalculation.builder()
+        .id(UUID.randomUUID())
+        .traineeId(TRAINEE_TIS_ID)
+        .name("Benchmark calculation")
+        .programmeMembership(CctProgrammeMembership.builder()
+            .id(UUID.randomUUID())
+            .name("General Practice")
+            .startDate(startDate)
+            .endDate(startDate.plusYears(5))
+            .wte(1.0)
+            .managingDeanery(MANAGING_DEANERY)
+            .build())
+        .changes(changes)
+        .build();
+  }
+
+  /**
+   * Create a programme membership with the given number of curricula, the managing deanery and
+   * specialties are chosen by index.
+   *
+   * @param index           The index of the programme membership.
+   * @param startDate       The start date of the programme membership.
+   * @param curriculumCount The number of curricula to create.
+   * @return The created programme membership.
+   */
+  private static ProgrammeMembership createProgrammeMembership(int index, LocalDate startDate,
+      int curriculumCount) {
+    LocalDate endDate = startDate.plusYears(1).minusDays(1);
+
+    List<Curriculum> curricula = new ArrayList<>();
+    for (int i = 0; i < curriculumCount; i++) {
+      int specialtyIndex = (index + i) % SPECIALTIES.size();
+
+      Curriculum curriculum = new Curriculum();
+      curriculum.setTisId(index + "-" + i);
+      curriculum.setCurriculumTisId(String.valueOf(325 + specialtyIndex));
+      curriculum.setCurriculumName(SPECIALTIES.get(specialtyIndex));
+      curriculum.setCurriculumSubType(CURRICULUM_SUB_TYPES.get(i % CURRICULUM_SUB_TYPES.size()));
+      curriculum.setCurriculumSpecialty(SPECIALTIES.get(specialtyIndex));
+      curriculum.setCurriculumSpecialtyCode(SPECIALTY_CODES.get(specialtyIndex));
+      curriculum.setCurriculumStartDate(startDate);
+      curriculum.setCurriculumEndDate(endDate);
+      curricula.add(curriculum);
+    }
+
+    String specialty = SPECIALTIES.get(index % SPECIALTIES.size());
+
+    ProgrammeMembership programmeMembership = new ProgrammeMembership();
+    programmeMembership.setTisId(getProgrammeMembershipTisId(index));
+    programmeMembership.setProgrammeTisId(String.valueOf(index + 1));
+    programmeMembership.setProgrammeName(specialty);
+    programmeMembership.setProgrammeNumber("PN/" + index);
+    programmeMembership.setManagingDeanery(
+        MANAGING_DEANERIES.get(index % MANAGING_DEANERIES.size()));
+    programmeMembership.setDesignatedBody("NHS England London");
+    programmeMembership.setDesignatedBodyCode("1-1RUZV1D");
+    programmeMembership.setProgrammeMembershipType("SUBSTANTIVE");
+    programmeMembership.setStartDate(startDate);
+    programmeMembership.setEndDate(endDate);
+    programmeMembership.setProgrammeCompletionDate(endDate);
+    programmeMembership.setTrainingPathway("CCT");
+    programmeMembership.setCurricula(curricula);
+    return programmeMembership;
+  }
+
+  /**
+   * Convert a curriculum to a DTO.
+   *
+   * @param curriculum The curriculum to convert.
+   * @return The converted curriculum DTO.
+   */
+  private static CurriculumDto toDto(Curriculum curriculum) {
+    CurriculumDto dto = new CurriculumDto();
+    dto.setTisId(curriculum.getTisId());
+    dto.setCurriculumTisId(curriculum.getCurriculumTisId());
+    dto.setCurriculumName(curriculum.getCurriculumName());
+    dto.setCurriculumSubType(curriculum.getCurriculumSubType());
+    dto.setCurriculumSpecialty(curriculum.getCurriculumSpecialty());
+    dto.setCurriculumSpecialtyCode(curriculum.getCurriculumSpecialtyCode());
+    dto.setCurriculumStartDate(curriculum.getCurriculumStartDate());
+    dto.setCurriculumEndDate(curriculum.getCurriculumEndDate());
+    return dto;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import java.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.nhs.hee.trainee.details.BenchmarkFixtures;
+import uk.nhs.hee.trainee.details.dto.TraineeIdentity;
+import uk.nhs.hee.trainee.details.model.CctCalculation;
+
+/**
+ * Benchmarks for calculating CCT dates.
+ */
+@State(Scope.Benchmark)
+public class CctServiceBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int changeCount;
+
+  private CctService service;
+  private CctCalculation calculation;
+
+  /**
+   * Set up the service and a calculation with the configured number of changes.
+   */
+  @Setup
+  public void setUp() {
+    service = new CctService(new TraineeIdentity(), null, null, null);
+    calculation = BenchmarkFixtures.createCctCalculation(changeCount);
+  }
+
+  /**
+   * Calculate the CCT date for the calculation.
+   *
+   * @return The calculated CCT date.
+   */
+  @Benchmark
+  public LocalDate calculateCctDate() {
+    return service.calculateCctDate(calculation);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.nhs.hee.trainee.details.BenchmarkFixtures;
+import uk.nhs.hee.trainee.details.config.FeaturesProperties;
+import uk.nhs.hee.trainee.details.config.FeaturesProperties.Tranche;
+import uk.nhs.hee.trainee.details.dto.FeaturesDto;
+import uk.nhs.hee.trainee.details.dto.TraineeIdentity;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * Benchmarks for getting a trainee's enabled features. The profile is returned without a database
+ * lookup, so only the feature checks are measured.
+ */
+@State(Scope.Benchmark)
+public class FeatureServiceBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int programmeMembershipCount;
+
+  @Param({"1", "10"})
+  public int curriculumCount;
+
+  private FeatureService service;
+
+  /**
+   * Set up the service with LTFT tranches and a profile with the configured number of programme
+   * memberships and curricula.
+   */
+  @Setup
+  public void setUp() {
+    TraineeIdentity identity = new TraineeIdentity();
+    identity.setTraineeId(BenchmarkFixtures.TRAINEE_TIS_ID);
+    identity.setGroups(Set.of());
+
+    TraineeProfile profile = BenchmarkFixtures.createTraineeProfile(programmeMembershipCount,
+        curriculumCount);
+    TraineeProfileService profileService = new TraineeProfileService(null, null, null, null,
+        null, Runnable::run, Duration.ZERO) {
+      @Override
+      public TraineeProfile getTraineeProfileByTraineeTisId(String traineeTisId) {
+        return profile;
+      }
+    };
+
+    FeaturesProperties featuresProperties = new FeaturesProperties(Map.of(
+        "pilot", new Tranche(LocalDate.of(2024, 8, 1),
+            Set.of(BenchmarkFixtures.MANAGING_DEANERY, "North West")),
+        "rollout", new Tranche(LocalDate.now().plusYears(1),
+            Set.of("Thames Valley", "South West"))));
+
+    service = new FeatureService(identity, profileService, featuresProperties,
+        ZoneId.of("Europe/London"));
+  }
+
+  /**
+   * Get the enabled features for the trainee.
+   *
+   * @return The enabled features.
+   */
+  @Benchmark
+  public FeaturesDto getFeatures() {
+    return service.getFeatures();
+  }
+}
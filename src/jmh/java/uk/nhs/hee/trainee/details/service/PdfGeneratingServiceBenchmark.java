@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import uk.nhs.hee.trainee.details.BenchmarkFixtures;
+import uk.nhs.hee.trainee.details.model.HrefType;
+
+/**
+ * Benchmarks for generating programme confirmation PDFs.
+ *
+ * <p>The caching delegate is not proxied, so every PDF is generated instead of being returned
+ * from the cache. Resources are still cached, so the first iterations include loading the fonts.
+ */
+@State(Scope.Benchmark)
+public class PdfGeneratingServiceBenchmark {
+
+  private static final ZoneId TIMEZONE = ZoneId.of("Europe/London");
+  private static final String TEMPLATE_VERSION = "v1.0.0";
+
+  private SpringTemplateEngine templateEngine;
+  private PdfGeneratingService pdfService;
+  private TemplateSpec templateSpec;
+  private Map<String, Object> templateVariables;
+  private Map<String, Object> enhancedVariables;
+
+  /**
+   * Set up the services with the application's templates and representative trainee data.
+   */
+  @Setup
+  public void setUp() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+
+    templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+
+    pdfService = new PdfGeneratingService(templateEngine, new CachingDelegate(),
+        new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), TIMEZONE, 1,
+        10_485_760);
+    templateSpec = new TemplateRegistry(templateEngine, TIMEZONE, TEMPLATE_VERSION)
+        .getProgrammeConfirmation();
+
+    templateVariables = new HashMap<>();
+    templateVariables.put("pm",
+        BenchmarkFixtures.createProgrammeMembership(LocalDate.now().plusWeeks(8)));
+    templateVariables.put("trainee", BenchmarkFixtures.createPersonalDetails());
+    templateVariables.put("localOfficeContact", BenchmarkFixtures.LOCAL_OFFICE_CONTACT);
+    templateVariables.put("contactHref", HrefType.PROTOCOL_EMAIL.getHrefTypeName());
+
+    enhancedVariables = new HashMap<>(templateVariables);
+    enhancedVariables.put("timezone", TIMEZONE.getId());
+  }
+
+  /**
+   * Generate a programme confirmation PDF, including template processing and rendering.
+   *
+   * @return The generated PDF.
+   * @throws IOException If the renderer could not build a valid PDF.
+   */
+  @Benchmark
+  public byte[] generatePdf() throws IOException {
+    return pdfService.generatePdf(templateSpec, templateVariables);
+  }
+
+  /**
+   * Process the programme confirmation template to HTML, without rendering a PDF.
+   *
+   * @return The processed HTML.
+   */
+  @Benchmark
+  public String processTemplate() {
+    return templateEngine.process(templateSpec, new Context(Locale.ENGLISH, enhancedVariables));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.nhs.hee.trainee.details.BenchmarkFixtures;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * Benchmarks for the programme membership eligibility checks, using an already loaded profile.
+ */
+@State(Scope.Benchmark)
+public class ProgrammeMembershipServiceBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int programmeMembershipCount;
+
+  @Param({"1", "10"})
+  public int curriculumCount;
+
+  private ProgrammeMembershipService service;
+  private TraineeProfile profile;
+  private String programmeMembershipId;
+
+  /**
+   * Set up the service and a profile with the configured number of programme memberships and
+   * curricula, the most recent programme membership is checked.
+   */
+  @Setup
+  public void setUp() {
+    service = new ProgrammeMembershipService(null, null, null, null, null, null, null);
+    profile = BenchmarkFixtures.createTraineeProfile(programmeMembershipCount, curriculumCount);
+    programmeMembershipId = BenchmarkFixtures.getProgrammeMembershipTisId(
+        programmeMembershipCount - 1);
+  }
+
+  /**
+   * Check whether the programme membership is a new starter.
+   *
+   * @return Whether the programme membership is a new starter.
+   */
+  @Benchmark
+  public boolean isNewStarter() {
+    return service.isNewStarter(profile, programmeMembershipId);
+  }
+
+  /**
+   * Check whether the programme membership is in the 2024 pilot rollout.
+   *
+   * @return Whether the programme membership is in the pilot rollout.
+   */
+  @Benchmark
+  public boolean isPilotRollout2024() {
+    return service.isPilotRollout2024(profile, programmeMembershipId);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.nhs.hee.trainee.details.BenchmarkFixtures;
+import uk.nhs.hee.trainee.details.dto.TraineeProfileDto;
+
+/**
+ * Benchmarks for populating training numbers. The programme memberships are not signed, so only
+ * training number generation is measured.
+ */
+@State(Scope.Benchmark)
+public class TrainingNumberGeneratorBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int programmeMembershipCount;
+
+  @Param({"1", "10"})
+  public int curriculumCount;
+
+  private TrainingNumberGenerator generator;
+  private TraineeProfileDto profile;
+
+  /**
+   * Set up the generator and a profile with the configured number of programme memberships and
+   * curricula.
+   */
+  @Setup
+  public void setUp() {
+    generator = new TrainingNumberGenerator(null);
+    profile = BenchmarkFixtures.createTraineeProfileDto(programmeMembershipCount,
+        curriculumCount);
+  }
+
+  /**
+   * Populate the training numbers of the profile's programme memberships.
+   *
+   * @return The populated profile.
+   */
+  @Benchmark
+  public TraineeProfileDto populateTrainingNumbers() {
+    generator.populateTrainingNumbers(profile);
+    return profile;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.api;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import uk.nhs.hee.trainee.details.dto.EligibilityCheckDto;
+import uk.nhs.hee.trainee.details.dto.EligibilityResultDto;
+import uk.nhs.hee.trainee.details.service.EligibilityService;
+
+/**
+ * A rest controller for batch eligibility endpoints.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/eligibility")
+@XRayEnabled
+public class EligibilityResource {
+
+  private final EligibilityService service;
+  private final Validator validator;
+  private final int maxBatchSize;
+
+  /**
+   * Create a rest controller for batch eligibility endpoints.
+   *
+   * @param service      The service to assess eligibility with.
+   * @param validator    The validator to check items with.
+   * @param maxBatchSize The maximum number of items accepted in a single request.
+   */
+  public EligibilityResource(EligibilityService service, Validator validator,
+      @Value("${application.eligibility.max-batch-size}") int maxBatchSize) {
+    this.service = service;
+    this.validator = validator;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Assess the new starter and 2024 pilot status of a batch of programme memberships and
+   * placements.
+   *
+   * @param checks The programme memberships and placements to assess.
+   * @return The eligibility of each item, in the same order as the request.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<EligibilityResultDto>> evaluateEligibility(
+      @RequestBody List<EligibilityCheckDto> checks) {
+    log.info("Assess eligibility: batch of {} items.", checks.size());
+
+    if (checks.size() > maxBatchSize) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "A maximum of %d items may be assessed at once.".formatted(maxBatchSize));
+    }
+
+    for (int i = 0; i < checks.size(); i++) {
+      EligibilityCheckDto check = checks.get(i);
+
+      if (check == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Item %d is null.".formatted(i));
+      }
+
+      Set<ConstraintViolation<EligibilityCheckDto>> violations = validator.validate(check);
+      if (!violations.isEmpty()) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Item %d is invalid: %s".formatted(i, violations.iterator().next().getMessage()));
+      }
+    }
+
+    List<EligibilityResultDto> results = service.evaluate(checks);
+    return ResponseEntity.ok(results);
+  }
+}
@@ -22,23 +22,33 @@
 package uk.nhs.hee.trainee.details.api;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.util.Pair;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import uk.nhs.hee.trainee.details.api.util.BulkSyncProcessor;
+import uk.nhs.hee.trainee.details.dto.BulkSyncResultDto;
 import uk.nhs.hee.trainee.details.dto.PlacementDto;
+import uk.nhs.hee.trainee.details.dto.PlacementSyncDto;
 import uk.nhs.hee.trainee.details.mapper.PlacementMapper;
 import uk.nhs.hee.trainee.details.model.Placement;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
 import uk.nhs.hee.trainee.details.service.PlacementService;
 
 @Slf4j
@@ -49,10 +59,20 @@ public class PlacementResource {
 
   private final PlacementService service;
   private final PlacementMapper mapper;
+  private final BulkSyncProcessor bulkSyncProcessor;
 
-  public PlacementResource(PlacementService service, PlacementMapper mapper) {
+  /**
+   * Create a resource for managing trainee placements.
+   *
+   * @param service           The service to update placements with.
+   * @param mapper            The mapper to convert between placement types.
+   * @param bulkSyncProcessor The processor to apply bulk placement syncs with.
+   */
+  public PlacementResource(PlacementService service, PlacementMapper mapper,
+      BulkSyncProcessor bulkSyncProcessor) {
     this.service = service;
     this.mapper = mapper;
+    this.bulkSyncProcessor = bulkSyncProcessor;
   }
 
   /**
@@ -74,6 +94,25 @@ public class PlacementResource {
     return ResponseEntity.ok(mapper.toDto(entity));
   }
 
+  /**
+   * Update placements for many trainees from a streamed JSON array, each element holding a
+   * trainee TIS ID and placement. The placements are applied in batches, grouped by trainee, with a
+   * single bulk write per batch.
+   *
+   * @param body The JSON array of placements to update.
+   * @return The result of each update, in the order they were received.
+   * @throws IOException If the request body could not be read.
+   */
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<BulkSyncResultDto>> bulkUpdatePlacements(InputStream body)
+      throws IOException {
+    List<BulkSyncResultDto> results = bulkSyncProcessor.process(body, PlacementSyncDto.class,
+        items -> service.updatePlacementsForTrainees(items.stream()
+            .map(item -> Pair.of(item.traineeTisId(), mapper.toEntity(item.placement())))
+            .toList()));
+    return ResponseEntity.ok(results);
+  }
+
   /**
    * Delete the placement for the trainee.
    *
@@ -115,9 +154,9 @@ public class PlacementResource {
     log.info("Assess 2024 pilot status: placement {} of trainee with TIS ID {}",
         placementId, traineeTisId);
     try {
-      boolean isPilot2024 =
-          service.canBeOnboarded(traineeTisId, placementId) && service.isPilot2024(traineeTisId,
-              placementId);
+      TraineeProfile traineeProfile = service.getEligibilityProfile(traineeTisId);
+      boolean isPilot2024 = service.canBeOnboarded(traineeProfile, placementId)
+          && service.isPilot2024(traineeProfile, placementId);
       return ResponseEntity.ok(isPilot2024);
     } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
@@ -138,9 +177,9 @@ public class PlacementResource {
     log.info("Assess 2024 pilot rollout status: placement {} of trainee with TIS ID {}",
         placementId, traineeTisId);
     try {
-      boolean isPilotRollout2024 =
-          service.canBeOnboarded(traineeTisId, placementId) && service.isPilotRollout2024(
-              traineeTisId, placementId);
+      TraineeProfile traineeProfile = service.getEligibilityProfile(traineeTisId);
+      boolean isPilotRollout2024 = service.canBeOnboarded(traineeProfile, placementId)
+          && service.isPilotRollout2024(traineeProfile, placementId);
       return ResponseEntity.ok(isPilotRollout2024);
     } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
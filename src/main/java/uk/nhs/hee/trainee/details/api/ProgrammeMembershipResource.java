@@ -23,9 +23,13 @@ package uk.nhs.hee.trainee.details.api;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.util.Pair;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -39,11 +43,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.nhs.hee.trainee.details.api.util.BulkSyncProcessor;
+import uk.nhs.hee.trainee.details.dto.BulkSyncResultDto;
+import uk.nhs.hee.trainee.details.dto.PdfJobDto;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
+import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipSyncDto;
 import uk.nhs.hee.trainee.details.dto.TraineeIdentity;
+import uk.nhs.hee.trainee.details.dto.enumeration.PdfJobStatus;
 import uk.nhs.hee.trainee.details.mapper.ProgrammeMembershipMapper;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 import uk.nhs.hee.trainee.details.service.EventPublishService;
+import uk.nhs.hee.trainee.details.service.PdfGeneratingService;
+import uk.nhs.hee.trainee.details.service.PdfJobService;
+import uk.nhs.hee.trainee.details.service.PdfTemplate;
 import uk.nhs.hee.trainee.details.service.ProgrammeMembershipService;
 
 /**
@@ -59,17 +72,24 @@ public class ProgrammeMembershipResource {
   private final ProgrammeMembershipMapper mapper;
   private final EventPublishService eventPublishService;
   private final TraineeIdentity traineeIdentity;
+  private final BulkSyncProcessor bulkSyncProcessor;
+  private final PdfGeneratingService pdfService;
+  private final PdfJobService pdfJobService;
 
   /**
    * ProgrammeMembershipResource class constructor.
    */
   public ProgrammeMembershipResource(ProgrammeMembershipService service,
       ProgrammeMembershipMapper mapper, EventPublishService eventPublishService,
-      TraineeIdentity traineeIdentity) {
+      TraineeIdentity traineeIdentity, BulkSyncProcessor bulkSyncProcessor,
+      PdfGeneratingService pdfService, PdfJobService pdfJobService) {
     this.service = service;
     this.mapper = mapper;
     this.eventPublishService = eventPublishService;
     this.traineeIdentity = traineeIdentity;
+    this.bulkSyncProcessor = bulkSyncProcessor;
+    this.pdfService = pdfService;
+    this.pdfJobService = pdfJobService;
   }
 
   /**
@@ -93,6 +113,27 @@ public class ProgrammeMembershipResource {
     return ResponseEntity.ok(mapper.toDto(entity));
   }
 
+  /**
+   * Update programme memberships for many trainees from a stream of newline delimited JSON, each
+   * line holding a trainee TIS ID and programme membership. The programme memberships are applied
+   * in batches, with a single bulk write per batch.
+   *
+   * @param body The newline delimited JSON stream of programme memberships to update.
+   * @return The result of each update, in the order they were received.
+   * @throws IOException If the request body could not be read.
+   */
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<List<BulkSyncResultDto>> bulkUpdateProgrammeMemberships(InputStream body)
+      throws IOException {
+    List<BulkSyncResultDto> results = bulkSyncProcessor.process(body,
+        ProgrammeMembershipSyncDto.class, items -> service.updateProgrammeMembershipsForTrainees(
+            items.stream()
+                .map(item -> Pair.of(item.traineeTisId(),
+                    mapper.toEntity(item.programmeMembership())))
+                .toList()));
+    return ResponseEntity.ok(results);
+  }
+
   /**
    * Delete the programme memberships for the trainee.
    *
@@ -171,14 +212,21 @@ public class ProgrammeMembershipResource {
   }
 
   /**
-   * Generate programme confirmation PDF of a programme membership.
+   * Generate programme confirmation PDF of a programme membership. A previously generated PDF is
+   * returned with its length, otherwise the PDF is rendered straight in to the response and not
+   * cached.
+   *
+   * <p>The trainee profile and template are resolved before the response is started, so an invalid
+   * programme membership is reported as a bad request. A render failure is reported as a server
+   * error, the renderer writes nothing until the document is complete.
    *
    * @param programmeMembershipId The ID of the programme membership for generating PDF.
    * @return The generated Programme Membership confirmation PDF.
    */
   @GetMapping(value = "/{programmeMembershipId}/confirmation",
       produces = MediaType.APPLICATION_PDF_VALUE)
-  public ResponseEntity<byte[]> downloadPdf(@PathVariable String programmeMembershipId) {
+  public ResponseEntity<StreamingResponseBody> downloadPdf(
+      @PathVariable String programmeMembershipId) {
     String traineeTisId = traineeIdentity.getTraineeId();
 
     if (traineeTisId == null) {
@@ -189,14 +237,123 @@ public class ProgrammeMembershipResource {
     log.info("Trainee '{}' requesting programme confirmation PDF with Programme Membership ID {}",
         traineeTisId, programmeMembershipId);
 
+    PdfTemplate pdfTemplate;
     try {
-      byte[] generatedPdf = service
-          .generateProgrammeMembershipPdf(traineeTisId, programmeMembershipId);
+      pdfTemplate = service.getProgrammeMembershipPdfTemplate(traineeTisId,
+          programmeMembershipId);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
+    }
+
+    Optional<byte[]> cachedPdf = pdfService.getCachedPdf(pdfTemplate.templateSpec(),
+        pdfTemplate.variables());
+
+    if (cachedPdf.isPresent()) {
+      byte[] pdf = cachedPdf.get();
       return ResponseEntity.ok()
           .contentType(MediaType.APPLICATION_PDF)
-          .body(generatedPdf);
-    } catch (IOException e) {
+          .contentLength(pdf.length)
+          .body(os -> os.write(pdf));
+    }
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_PDF)
+        .body(os -> pdfService.generatePdf(pdfTemplate.templateSpec(), pdfTemplate.variables(),
+            os));
+  }
+
+  /**
+   * Submit a job to generate the programme confirmation PDF of a programme membership.
+   *
+   * @param programmeMembershipId The ID of the programme membership for generating PDF.
+   * @return The submitted PDF job.
+   */
+  @PostMapping("/{programmeMembershipId}/confirmation/jobs")
+  public ResponseEntity<PdfJobDto> submitPdfJob(@PathVariable String programmeMembershipId) {
+    String traineeTisId = traineeIdentity.getTraineeId();
+
+    if (traineeTisId == null) {
+      log.warn("No trainee ID provided.");
+      return ResponseEntity.badRequest().build();
+    }
+
+    log.info("Trainee '{}' submitting programme confirmation PDF job with Programme Membership ID "
+        + "{}", traineeTisId, programmeMembershipId);
+
+    try {
+      PdfJobDto job = pdfJobService.submitProgrammeMembershipPdf(traineeTisId,
+          programmeMembershipId);
+      return ResponseEntity.accepted().body(job);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Too many PDF jobs, try again later.");
+    }
+  }
+
+  /**
+   * Get the status of a programme confirmation PDF job.
+   *
+   * @param jobId The ID of the PDF job.
+   * @return The PDF job, or not found if the job does not exist for the trainee.
+   */
+  @GetMapping("/confirmation/jobs/{jobId}")
+  public ResponseEntity<PdfJobDto> getPdfJob(@PathVariable String jobId) {
+    String traineeTisId = traineeIdentity.getTraineeId();
+
+    if (traineeTisId == null) {
+      log.warn("No trainee ID provided.");
+      return ResponseEntity.badRequest().build();
+    }
+
+    return ResponseEntity.of(pdfJobService.getJob(traineeTisId, jobId));
+  }
+
+  /**
+   * Get the PDF generated by a programme confirmation PDF job.
+   *
+   * @param jobId The ID of the PDF job.
+   * @return The generated PDF, accepted if the job is pending or the expired PDF is being generated
+   *     again, or not found if the job does not exist for the trainee.
+   */
+  @GetMapping(value = "/confirmation/jobs/{jobId}/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+  public ResponseEntity<byte[]> getPdfJobPdf(@PathVariable String jobId) {
+    String traineeTisId = traineeIdentity.getTraineeId();
+
+    if (traineeTisId == null) {
+      log.warn("No trainee ID provided.");
+      return ResponseEntity.badRequest().build();
+    }
+
+    Optional<PdfJobDto> job = pdfJobService.getJob(traineeTisId, jobId);
+
+    if (job.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+
+    PdfJobStatus status = job.get().status();
+
+    if (status == PdfJobStatus.PENDING) {
+      return ResponseEntity.accepted().build();
+    }
+
+    if (status == PdfJobStatus.FAILED) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "PDF generation failed.");
+    }
+
+    try {
+      Optional<byte[]> pdf = pdfJobService.getPdf(traineeTisId, jobId);
+      return pdf.map(bytes -> ResponseEntity.ok()
+              .contentType(MediaType.APPLICATION_PDF)
+              .contentLength(bytes.length)
+              .body(bytes))
+          .orElseGet(() -> ResponseEntity.accepted().build());
+    } catch (IllegalArgumentException e) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Too many PDF jobs, try again later.");
     }
   }
 
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.nhs.hee.trainee.details.dto.BulkSyncItem;
+import uk.nhs.hee.trainee.details.dto.BulkSyncResultDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+
+/**
+ * A processor for bulk sync request bodies, which streams the items and applies them in batches.
+ */
+@Slf4j
+@Component
+public class BulkSyncProcessor {
+
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int batchSize;
+
+  /**
+   * Create a processor for bulk sync request bodies.
+   *
+   * @param objectMapper The object mapper to read items with.
+   * @param validator    The validator to check items with.
+   * @param batchSize    The maximum number of items to apply in each batch.
+   */
+  public BulkSyncProcessor(ObjectMapper objectMapper, Validator validator,
+      @Value("${application.bulk-sync.batch-size}") int batchSize) {
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Read the items from the body and apply them in batches. The body may be either a JSON array
+   * or newline delimited JSON, items are read one at a time so the whole body is never held in
+   * memory. Invalid items are reported and not passed to the batch updater. If the body becomes
+   * malformed then the items read so far are still applied, and a final malformed result is
+   * reported in place of the remaining items.
+   *
+   * @param body         The request body to read.
+   * @param itemType     The type of item in the body.
+   * @param batchUpdater A function applying a batch of valid items, returning the status of each
+   *                     item in the same order.
+   * @param <T>          The type of item in the body.
+   * @return The result of each item, in the order they were received.
+   * @throws IOException If the body could not be read.
+   */
+  public <T extends BulkSyncItem> List<BulkSyncResultDto> process(InputStream body,
+      Class<T> itemType, Function<List<T>, List<BulkSyncStatus>> batchUpdater)
+      throws IOException {
+    List<BulkSyncResultDto> results = new ArrayList<>();
+    List<BatchItem<T>> batch = new ArrayList<>(batchSize);
+    boolean malformed = false;
+
+    try (MappingIterator<T> items = objectMapper.readerFor(itemType).readValues(body)) {
+      while (items.hasNextValue()) {
+        T item = items.nextValue();
+        boolean valid = item != null && validator.validate(item).isEmpty();
+        batch.add(new BatchItem<>(item, valid));
+
+        if (batch.size() >= batchSize) {
+          results.addAll(applyBatch(batch, batchUpdater));
+          batch.clear();
+        }
+      }
+    } catch (JsonProcessingException e) {
+      // Earlier batches are already applied, so the read items are reported rather than rejected.
+      log.warn("Bulk sync of {} stopped after {} items: {}", itemType.getSimpleName(),
+          results.size() + batch.size(), e.getOriginalMessage());
+      malformed = true;
+    }
+
+    if (!batch.isEmpty()) {
+      results.addAll(applyBatch(batch, batchUpdater));
+    }
+
+    if (malformed) {
+      results.add(new BulkSyncResultDto(null, null, BulkSyncStatus.MALFORMED));
+    }
+    log.info("Bulk synced {} items of type {}.", results.size(), itemType.getSimpleName());
+    return results;
+  }
+
+  /**
+   * Apply a batch of items, invalid items are not applied.
+   *
+   * @param batch        The batch of items to apply.
+   * @param batchUpdater The function applying the valid items.
+   * @param <T>          The type of item in the batch.
+   * @return The result of each item, in batch order.
+   */
+  private <T extends BulkSyncItem> List<BulkSyncResultDto> applyBatch(List<BatchItem<T>> batch,
+      Function<List<T>, List<BulkSyncStatus>> batchUpdater) {
+    List<T> validItems = batch.stream()
+        .filter(BatchItem::valid)
+        .map(BatchItem::item)
+        .toList();
+    Iterator<BulkSyncStatus> statuses = validItems.isEmpty() ? Collections.emptyIterator()
+        : batchUpdater.apply(validItems).iterator();
+
+    return batch.stream()
+        .map(batchItem -> {
+          T item = batchItem.item();
+          BulkSyncStatus status = batchItem.valid() ? statuses.next() : BulkSyncStatus.INVALID;
+          return item == null
+              ? new BulkSyncResultDto(null, null, status)
+              : new BulkSyncResultDto(item.traineeTisId(), item.tisId(), status);
+        })
+        .toList();
+  }
+
+  /**
+   * An item of a bulk sync batch.
+   *
+   * @param item  The received item, may be null.
+   * @param valid Whether the item passed validation.
+   * @param <T>   The type of item.
+   */
+  private record BatchItem<T>(T item, boolean valid) {
+
+  }
+}
@@ -24,12 +24,14 @@ package uk.nhs.hee.trainee.details.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * General application configuration beans which do not warrant their own configuration class.
  */
 @Configuration
+@EnableScheduling
 public class ApplicationConfiguration {
 
   @Bean
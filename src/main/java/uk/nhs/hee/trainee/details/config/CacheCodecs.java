@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import com.mongodb.MongoClientSettings;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import uk.nhs.hee.trainee.details.config.CompactRedisSerializer.Codec;
+import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
+import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * Compact codecs for the types held in the Redis caches.
+ */
+final class CacheCodecs {
+
+  private CacheCodecs() {
+  }
+
+  /**
+   * A codec for raw bytes, such as generated PDFs.
+   */
+  static class ByteArrayCodec implements Codec<byte[]> {
+
+    @Override
+    public Class<byte[]> type() {
+      return byte[].class;
+    }
+
+    @Override
+    public void write(byte[] value, DataOutput out) throws IOException {
+      out.writeInt(value.length);
+      out.write(value);
+    }
+
+    @Override
+    public byte[] read(DataInput in) throws IOException {
+      byte[] value = new byte[in.readInt()];
+      in.readFully(value);
+      return value;
+    }
+  }
+
+  /**
+   * A codec for Conditions of Joining, the Gold Guide version is written by name so that the enum
+   * can be reordered safely.
+   */
+  static class ConditionsOfJoiningCodec implements Codec<ConditionsOfJoining> {
+
+    @Override
+    public Class<ConditionsOfJoining> type() {
+      return ConditionsOfJoining.class;
+    }
+
+    @Override
+    public void write(ConditionsOfJoining value, DataOutput out) throws IOException {
+      writeInstant(value.signedAt(), out);
+      GoldGuideVersion version = value.version();
+      out.writeBoolean(version != null);
+
+      if (version != null) {
+        out.writeUTF(version.name());
+      }
+
+      writeInstant(value.syncedAt(), out);
+    }
+
+    @Override
+    public ConditionsOfJoining read(DataInput in) throws IOException {
+      Instant signedAt = readInstant(in);
+      GoldGuideVersion version = in.readBoolean() ? GoldGuideVersion.valueOf(in.readUTF()) : null;
+      Instant syncedAt = readInstant(in);
+      return new ConditionsOfJoining(signedAt, version, syncedAt);
+    }
+  }
+
+  /**
+   * A codec for trainee profiles, which are cached as the BSON of their Mongo document so that the
+   * cached form always matches the stored form.
+   */
+  static class TraineeProfileCodec implements Codec<TraineeProfile> {
+
+    private final MongoConverter converter;
+    private final org.bson.codecs.Codec<Document> documentCodec;
+
+    TraineeProfileCodec(MongoConverter converter) {
+      this.converter = converter;
+      this.documentCodec = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry())
+          .withUuidRepresentation(UuidRepresentation.STANDARD);
+    }
+
+    @Override
+    public Class<TraineeProfile> type() {
+      return TraineeProfile.class;
+    }
+
+    @Override
+    public void write(TraineeProfile value, DataOutput out) throws IOException {
+      Document document = new Document();
+      converter.write(value, document);
+
+      BasicOutputBuffer buffer = new BasicOutputBuffer();
+      documentCodec.encode(new BsonBinaryWriter(buffer), document,
+          EncoderContext.builder().build());
+      byte[] bson = buffer.toByteArray();
+      out.writeInt(bson.length);
+      out.write(bson);
+    }
+
+    @Override
+    public TraineeProfile read(DataInput in) throws IOException {
+      byte[] bson = new byte[in.readInt()];
+      in.readFully(bson);
+
+      Document document = documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)),
+          DecoderContext.builder().build());
+      return converter.read(TraineeProfile.class, document);
+    }
+  }
+
+  /**
+   * Write a nullable instant.
+   *
+   * @param instant The instant to write.
+   * @param out     The output to write to.
+   * @throws IOException If the instant could not be written.
+   */
+  private static void writeInstant(Instant instant, DataOutput out) throws IOException {
+    out.writeBoolean(instant != null);
+
+    if (instant != null) {
+      out.writeLong(instant.getEpochSecond());
+      out.writeInt(instant.getNano());
+    }
+  }
+
+  /**
+   * Read a nullable instant.
+   *
+   * @param in The input to read from.
+   * @return The read instant, or null if none was written.
+   * @throws IOException If the instant could not be read.
+   */
+  private static Instant readInstant(DataInput in) throws IOException {
+    return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+  }
+}
@@ -21,14 +21,26 @@
 
 package uk.nhs.hee.trainee.details.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
-import org.springframework.cache.CacheManager;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheManager.RedisCacheManagerBuilder;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import uk.nhs.hee.trainee.details.config.CacheCodecs.ByteArrayCodec;
+import uk.nhs.hee.trainee.details.config.CacheCodecs.ConditionsOfJoiningCodec;
+import uk.nhs.hee.trainee.details.config.CacheCodecs.TraineeProfileCodec;
+import uk.nhs.hee.trainee.details.config.CachingProperties.CacheSpec;
 
 /**
  * Configuration for caching behaviour.
@@ -37,20 +49,83 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 @EnableCaching
 public class CacheConfiguration {
 
+  public static final String CONDITIONS_OF_JOINING_CACHE = "ConditionsOfJoining";
+  public static final String LOCAL_OFFICE_DIRECTORY_CACHE = "LocalOfficeDirectory";
+  public static final String PDF_CACHE = "Pdfs";
+  public static final String PDF_JOB_CACHE = "PdfJobs";
+  public static final String TRAINEE_PROFILE_CACHE = "TraineeProfiles";
+
   /**
-   * Create a default cache manager.
+   * Create a default cache manager, with an optional in-memory tier in front of Redis.
    *
-   * @param factory The Redis connection factory.
+   * @param factory       The Redis connection factory.
+   * @param properties    The cache limits and invalidation properties.
+   * @param redisTemplate The template used to publish cache invalidations.
+   * @param mapper        The mapper used to serialize cache invalidations.
+   * @param converter     The converter used to serialize cached Mongo documents.
    * @return The built cache manager.
    */
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory factory) {
+  public TwoTierCacheManager cacheManager(RedisConnectionFactory factory,
+      CachingProperties properties, StringRedisTemplate redisTemplate, ObjectMapper mapper,
+      MongoConverter converter) {
     RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
         .entryTtl(Duration.ZERO)
-        .prefixCacheNameWith("Details::");
+        .prefixCacheNameWith("Details::")
+        .serializeValuesWith(SerializationPair.fromSerializer(cacheValueSerializer(converter,
+            properties.serialization().compactWrites())));
+
+    Map<String, CacheSpec> cacheSpecs = Map.of(
+        CONDITIONS_OF_JOINING_CACHE, properties.conditionsOfJoining(),
+        LOCAL_OFFICE_DIRECTORY_CACHE, properties.localOfficeDirectory(),
+        PDF_CACHE, properties.pdfs(),
+        PDF_JOB_CACHE, properties.pdfJobs(),
+        TRAINEE_PROFILE_CACHE, properties.traineeProfiles()
+    );
+
+    RedisCacheManagerBuilder builder = RedisCacheManagerBuilder.fromConnectionFactory(factory)
+        .cacheDefaults(configuration);
+    cacheSpecs.forEach((name, spec) ->
+        builder.withCacheConfiguration(name, configuration.entryTtl(spec.timeToLive())));
+
+    // The Redis manager is not a bean, so must be initialized to apply the per-cache config.
+    RedisCacheManager redisCacheManager = builder.build();
+    redisCacheManager.afterPropertiesSet();
 
-    return RedisCacheManagerBuilder.fromConnectionFactory(factory)
-        .cacheDefaults(configuration)
-        .build();
+    return new TwoTierCacheManager(redisCacheManager, cacheSpecs, redisTemplate, mapper,
+        properties.invalidation().enabled());
+  }
+
+  /**
+   * Create a serializer for cached values, type IDs must never be reused for a different type.
+   *
+   * @param converter     The converter used to serialize cached Mongo documents.
+   * @param compactWrites Whether to write the compact format, rather than the JDK format.
+   * @return The built serializer.
+   */
+  static CompactRedisSerializer cacheValueSerializer(MongoConverter converter,
+      boolean compactWrites) {
+    return new CompactRedisSerializer(CacheConfiguration.class.getClassLoader(), compactWrites)
+        .register(1, new ByteArrayCodec())
+        .register(2, new ConditionsOfJoiningCodec())
+        .register(3, new TraineeProfileCodec(converter));
+  }
+
+  /**
+   * Create a listener container which applies cache invalidations published by other nodes.
+   *
+   * @param factory      The Redis connection factory.
+   * @param cacheManager The cache manager to apply invalidations to.
+   * @return The built listener container.
+   */
+  @Bean
+  @ConditionalOnProperty("application.cache.invalidation.enabled")
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory factory, TwoTierCacheManager cacheManager) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(factory);
+    container.addMessageListener(cacheManager,
+        new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+    return container;
   }
 }
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import java.time.Duration;
+import lombok.Builder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Caching application properties.
+ *
+ * @param invalidation         The cross-node invalidation properties.
+ * @param conditionsOfJoining  The Conditions of Joining cache properties.
+ * @param localOfficeDirectory The shared local office contact directory cache properties.
+ * @param pdfs                 The generated PDF cache properties.
+ * @param pdfJobs              The PDF generation job cache properties.
+ * @param traineeProfiles      The trainee profile cache properties.
+ * @param serialization        The cached value serialization properties.
+ */
+@Builder
+@ConfigurationProperties(prefix = "application.cache")
+public record CachingProperties(Invalidation invalidation, CacheSpec conditionsOfJoining,
+                                CacheSpec localOfficeDirectory, CacheSpec pdfs,
+                                CacheSpec pdfJobs, CacheSpec traineeProfiles,
+                                Serialization serialization) {
+
+  /**
+   * Validate the caching properties. Cached trainee profiles are modified by callers, so must be
+   * deserialized on every read rather than shared from an in-memory tier.
+   *
+   * @throws IllegalArgumentException if the trainee profile cache has an in-memory tier.
+   */
+  public CachingProperties {
+    if (traineeProfiles != null && traineeProfiles.isLocalEnabled()) {
+      throw new IllegalArgumentException(
+          "The trainee profile cache must not have an in-memory tier, its local-maximum-size must "
+              + "be 0.");
+    }
+  }
+
+  /**
+   * Properties for broadcasting local cache invalidations to other nodes.
+   *
+   * @param enabled Whether invalidations are published and subscribed to.
+   */
+  @Builder
+  public record Invalidation(boolean enabled) {
+
+  }
+
+  /**
+   * Properties for serializing cached values.
+   *
+   * @param compactWrites Whether values are written in the compact format, which must stay
+   *                      disabled until no node on a release which only reads the JDK format
+   *                      remains.
+   */
+  @Builder
+  public record Serialization(boolean compactWrites) {
+
+  }
+
+  /**
+   * The limits of a single two-tier cache.
+   *
+   * @param timeToLive       How long entries are kept in Redis, zero for no expiry.
+   * @param localMaximumSize The max number of entries kept in memory, zero to disable.
+   * @param localTimeToLive  How long entries are kept in memory after being written.
+   */
+  @Builder
+  public record CacheSpec(Duration timeToLive, long localMaximumSize, Duration localTimeToLive) {
+
+    /**
+     * Whether the in-memory tier is enabled for this cache.
+     *
+     * @return true if entries should be held in memory, else false.
+     */
+    public boolean isLocalEnabled() {
+      return localMaximumSize > 0 && localTimeToLive != null && localTimeToLive.isPositive();
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * A Redis serializer which writes registered types with a compact hand-written codec.
+ *
+ * <p>Each value is prefixed with a format version byte and a type ID byte. Unregistered types fall
+ * back to JDK serialization, and values written by the JDK serializer before this serializer was
+ * introduced can still be read. A codec must not change the layout of an existing type ID, a
+ * changed layout should be registered against a new type ID so that nodes on the previous release
+ * can still read entries during a rolling deploy.
+ *
+ * <p>Nodes on a release before this serializer can only read JDK serialized values, so compact
+ * writes are rolled out in two phases. First every node is deployed with compact writes disabled,
+ * which writes serializable values in the plain JDK format while still reading both formats. Once
+ * no node on the previous release remains, compact writes are enabled.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+  static final byte FORMAT_VERSION = 1;
+
+  private static final byte NULL_VALUE_TYPE = 0;
+  private static final byte JDK_TYPE = -1;
+  private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+
+  private final JdkSerializationRedisSerializer jdkSerializer;
+  private final boolean compactWrites;
+  private final Map<Byte, Codec<?>> codecsById = new HashMap<>();
+  private final Map<Class<?>, Byte> idsByType = new HashMap<>();
+
+  /**
+   * Create a serializer with no registered codecs, which writes the compact format.
+   *
+   * @param classLoader The class loader to use for JDK deserialization.
+   */
+  public CompactRedisSerializer(@Nullable ClassLoader classLoader) {
+    this(classLoader, true);
+  }
+
+  /**
+   * Create a serializer with no registered codecs.
+   *
+   * @param classLoader   The class loader to use for JDK deserialization.
+   * @param compactWrites Whether to write the compact format, if false then serializable values
+   *                      are written in the plain JDK format which previous releases can read.
+   */
+  public CompactRedisSerializer(@Nullable ClassLoader classLoader, boolean compactWrites) {
+    jdkSerializer = new JdkSerializationRedisSerializer(classLoader);
+    this.compactWrites = compactWrites;
+  }
+
+  /**
+   * Register a codec for a cached type.
+   *
+   * @param typeId The ID written before each value of the type, must be positive.
+   * @param codec  The codec for the type.
+   * @param <T>    The cached type.
+   * @return This serializer, for chaining.
+   */
+  public <T> CompactRedisSerializer register(int typeId, Codec<T> codec) {
+    if (typeId <= NULL_VALUE_TYPE || typeId > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Type ID must be between 1 and 127: " + typeId);
+    }
+
+    byte id = (byte) typeId;
+    if (codecsById.containsKey(id) || idsByType.containsKey(codec.type())) {
+      throw new IllegalArgumentException(
+          "Duplicate registration of type " + codec.type().getName() + " with ID " + typeId);
+    }
+
+    codecsById.put(id, codec);
+    idsByType.put(codec.type(), id);
+    return this;
+  }
+
+  @Override
+  public byte[] serialize(@Nullable Object value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+
+    if (!compactWrites && value instanceof Serializable) {
+      return jdkSerializer.serialize(value);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bytes.write(FORMAT_VERSION);
+
+    if (value instanceof NullValue) {
+      bytes.write(NULL_VALUE_TYPE);
+      return bytes.toByteArray();
+    }
+
+    Byte typeId = idsByType.get(value.getClass());
+
+    if (typeId == null) {
+      bytes.write(JDK_TYPE);
+      bytes.writeBytes(jdkSerializer.serialize(value));
+      return bytes.toByteArray();
+    }
+
+    bytes.write(typeId);
+
+    try {
+      DataOutputStream out = new DataOutputStream(bytes);
+      writeValue(codecsById.get(typeId), value, out);
+      out.flush();
+    } catch (IOException e) {
+      throw new SerializationException("Unable to serialize " + value.getClass().getName(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  @Nullable
+  public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+
+    if (bytes[0] == JDK_STREAM_MAGIC) {
+      return jdkSerializer.deserialize(bytes);
+    }
+
+    if (bytes[0] != FORMAT_VERSION || bytes.length < 2) {
+      throw new SerializationException("Unsupported cache value format version " + bytes[0]);
+    }
+
+    byte typeId = bytes[1];
+
+    if (typeId == NULL_VALUE_TYPE) {
+      return NullValue.INSTANCE;
+    }
+
+    ByteArrayInputStream in = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+
+    if (typeId == JDK_TYPE) {
+      return jdkSerializer.deserialize(in.readAllBytes());
+    }
+
+    Codec<?> codec = codecsById.get(typeId);
+
+    if (codec == null) {
+      throw new SerializationException("Unknown cache value type ID " + typeId);
+    }
+
+    try {
+      return codec.read(new DataInputStream(in));
+    } catch (IOException e) {
+      throw new SerializationException("Unable to deserialize " + codec.type().getName(), e);
+    }
+  }
+
+  /**
+   * Write a value with a codec, the codec is assumed to have been registered for the value's type.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> void writeValue(Codec<T> codec, Object value, DataOutput out)
+      throws IOException {
+    codec.write((T) value, out);
+  }
+
+  /**
+   * A hand-written binary codec for a cached type.
+   *
+   * @param <T> The cached type.
+   */
+  public interface Codec<T> {
+
+    /**
+     * Get the exact type handled by this codec.
+     *
+     * @return The cached type.
+     */
+    Class<T> type();
+
+    /**
+     * Write a value.
+     *
+     * @param value The value to write.
+     * @param out   The output to write to.
+     * @throws IOException If the value could not be written.
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Read a value.
+     *
+     * @param in The input to read from.
+     * @return The read value.
+     * @throws IOException If the value could not be read.
+     */
+    T read(DataInput in) throws IOException;
+  }
+}
@@ -68,5 +68,9 @@ public class MongoIndexConfiguration {
     traineeProfileIndexOps.createIndex(new Index().on("placements.gradeId", Direction.ASC));
     traineeProfileIndexOps.createIndex(new Index().on("placements.employingBodyId", Direction.ASC));
     traineeProfileIndexOps.createIndex(new Index().on("placements.trainingBodyId", Direction.ASC));
+
+    // Local office contact directory
+    traineeProfileIndexOps.createIndex(new Index().on("programmeMemberships.managingDeanery",
+        Direction.ASC));
   }
 }
@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+/**
+ * A cache which holds recently used entries in memory in front of a shared remote cache. Writes go
+ * to both tiers and are broadcast so other nodes can drop their stale in-memory copies.
+ */
+class TwoTierCache implements org.springframework.cache.Cache {
+
+  private final org.springframework.cache.Cache remoteCache;
+  private final Cache<String, ValueWrapper> localCache;
+  private final BiConsumer<String, String> invalidationPublisher;
+
+  /**
+   * Create a two-tier cache.
+   *
+   * @param remoteCache           The shared cache to read through and write through to.
+   * @param localCache            The in-memory cache for this node.
+   * @param invalidationPublisher The publisher of invalidations, taking the cache name and the
+   *                              key, or null when the whole cache is invalidated.
+   */
+  TwoTierCache(org.springframework.cache.Cache remoteCache, Cache<String, ValueWrapper> localCache,
+      BiConsumer<String, String> invalidationPublisher) {
+    this.remoteCache = remoteCache;
+    this.localCache = localCache;
+    this.invalidationPublisher = invalidationPublisher;
+  }
+
+  @Override
+  public String getName() {
+    return remoteCache.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remoteCache.getNativeCache();
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(Object key) {
+    String localKey = toLocalKey(key);
+    ValueWrapper wrapper = localCache.getIfPresent(localKey);
+
+    if (wrapper == null) {
+      wrapper = remoteCache.get(key);
+
+      if (wrapper != null) {
+        localCache.put(localKey, wrapper);
+      }
+    }
+
+    return wrapper;
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, @Nullable Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper == null ? null : wrapper.get();
+
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper wrapper = get(key);
+
+    if (wrapper != null) {
+      return (T) wrapper.get();
+    }
+
+    T value = remoteCache.get(key, valueLoader);
+    localCache.put(toLocalKey(key), new SimpleValueWrapper(value));
+    return value;
+  }
+
+  @Override
+  public void put(Object key, @Nullable Object value) {
+    String localKey = toLocalKey(key);
+    remoteCache.put(key, value);
+    localCache.put(localKey, new SimpleValueWrapper(value));
+    invalidationPublisher.accept(getName(), localKey);
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+    String localKey = toLocalKey(key);
+    ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+    localCache.invalidate(localKey);
+
+    if (existing == null) {
+      invalidationPublisher.accept(getName(), localKey);
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    String localKey = toLocalKey(key);
+    remoteCache.evict(key);
+    localCache.invalidate(localKey);
+    invalidationPublisher.accept(getName(), localKey);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    String localKey = toLocalKey(key);
+    boolean evicted = remoteCache.evictIfPresent(key);
+    localCache.invalidate(localKey);
+    invalidationPublisher.accept(getName(), localKey);
+    return evicted;
+  }
+
+  @Override
+  public void clear() {
+    remoteCache.clear();
+    localCache.invalidateAll();
+    invalidationPublisher.accept(getName(), null);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean invalidated = remoteCache.invalidate();
+    localCache.invalidateAll();
+    invalidationPublisher.accept(getName(), null);
+    return invalidated;
+  }
+
+  /**
+   * Drop an entry from this node's in-memory tier only, the remote tier is left untouched.
+   *
+   * @param localKey The key to drop, or null to drop all entries.
+   */
+  void invalidateLocal(@Nullable String localKey) {
+    if (localKey == null) {
+      localCache.invalidateAll();
+    } else {
+      localCache.invalidate(localKey);
+    }
+  }
+
+  /**
+   * Get the in-memory key for a cache key, Redis keys are also derived from the string form.
+   *
+   * @param key The cache key.
+   * @return The key used by the in-memory tier and in invalidation messages.
+   */
+  private static String toLocalKey(Object key) {
+    return String.valueOf(key);
+  }
+}
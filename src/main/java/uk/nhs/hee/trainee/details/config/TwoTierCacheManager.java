@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import uk.nhs.hee.trainee.details.config.CachingProperties.CacheSpec;
+
+/**
+ * A cache manager which layers an in-memory cache in front of each configured remote cache.
+ * Invalidations are broadcast over Redis pub/sub so that every node drops stale in-memory entries.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+  public static final String INVALIDATION_CHANNEL = "Details::cache-invalidation";
+
+  private final CacheManager remoteCacheManager;
+  private final Map<String, CacheSpec> cacheSpecs;
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper mapper;
+  private final boolean publishInvalidations;
+
+  private final String instanceId = UUID.randomUUID().toString();
+  private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Create a two-tier cache manager.
+   *
+   * @param remoteCacheManager   The manager of the shared remote caches.
+   * @param cacheSpecs           The cache limits, keyed by cache name.
+   * @param redisTemplate        The template used to publish invalidations.
+   * @param mapper               The mapper used to serialize invalidations.
+   * @param publishInvalidations Whether invalidations should be published to other nodes.
+   */
+  public TwoTierCacheManager(CacheManager remoteCacheManager, Map<String, CacheSpec> cacheSpecs,
+      StringRedisTemplate redisTemplate, ObjectMapper mapper, boolean publishInvalidations) {
+    this.remoteCacheManager = remoteCacheManager;
+    this.cacheSpecs = cacheSpecs;
+    this.redisTemplate = redisTemplate;
+    this.mapper = mapper;
+    this.publishInvalidations = publishInvalidations;
+  }
+
+  @Override
+  @Nullable
+  public Cache getCache(String name) {
+    Cache cache = caches.get(name);
+
+    if (cache == null) {
+      Cache remoteCache = remoteCacheManager.getCache(name);
+
+      if (remoteCache != null) {
+        cache = caches.computeIfAbsent(name, n -> decorate(remoteCache));
+      }
+    }
+
+    return cache;
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return remoteCacheManager.getCacheNames();
+  }
+
+  /**
+   * Add an in-memory tier to the remote cache, if enabled for that cache.
+   *
+   * @param remoteCache The remote cache to decorate.
+   * @return The decorated cache, or the remote cache if the in-memory tier is disabled.
+   */
+  private Cache decorate(Cache remoteCache) {
+    CacheSpec spec = cacheSpecs.get(remoteCache.getName());
+
+    if (spec == null || !spec.isLocalEnabled()) {
+      return remoteCache;
+    }
+
+    com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache
+        = Caffeine.newBuilder()
+        .maximumSize(spec.localMaximumSize())
+        .expireAfterWrite(spec.localTimeToLive())
+        .build();
+    return new TwoTierCache(remoteCache, localCache, this::publishInvalidation);
+  }
+
+  /**
+   * Publish an invalidation so that other nodes drop their in-memory copy of the entry.
+   *
+   * @param cacheName The name of the invalidated cache.
+   * @param key       The invalidated key, or null if the whole cache was invalidated.
+   */
+  void publishInvalidation(String cacheName, @Nullable String key) {
+    if (!publishInvalidations) {
+      return;
+    }
+
+    try {
+      String message = mapper.writeValueAsString(
+          new CacheInvalidation(instanceId, cacheName, key));
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+    } catch (JsonProcessingException | DataAccessException e) {
+      // Other nodes will serve their stale copy until it expires from their in-memory tier.
+      log.warn("Unable to publish invalidation of cache '{}' key '{}'.", cacheName, key, e);
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, @Nullable byte[] pattern) {
+    CacheInvalidation invalidation;
+
+    try {
+      invalidation = mapper.readValue(message.getBody(), CacheInvalidation.class);
+    } catch (IOException e) {
+      log.warn("Unable to read cache invalidation message.", e);
+      return;
+    }
+
+    if (instanceId.equals(invalidation.source())) {
+      return;
+    }
+
+    if (caches.get(invalidation.cacheName()) instanceof TwoTierCache cache) {
+      log.debug("Invalidating cache '{}' key '{}' from {}.", invalidation.cacheName(),
+          invalidation.key(), invalidation.source());
+      cache.invalidateLocal(invalidation.key());
+    }
+  }
+
+  /**
+   * A notification that a cache entry has changed.
+   *
+   * @param source    The ID of the cache manager which made the change.
+   * @param cacheName The name of the changed cache.
+   * @param key       The changed key, or null if the whole cache changed.
+   */
+  record CacheInvalidation(String source, String cacheName, @Nullable String key) {
+
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A programme membership or placement to assess, as one item of a batch eligibility request.
+ *
+ * @param traineeTisId          The TIS ID of the trainee.
+ * @param programmeMembershipId The ID of the programme membership to assess, if not a placement.
+ * @param placementId           The ID of the placement to assess, if not a programme membership.
+ */
+public record EligibilityCheckDto(
+    @NotNull String traineeTisId,
+    String programmeMembershipId,
+    String placementId) {
+
+  /**
+   * Whether exactly one of the programme membership or placement IDs has been provided.
+   *
+   * @return true if there is a single target, otherwise false.
+   */
+  @JsonIgnore
+  @AssertTrue(message = "exactly one of programmeMembershipId or placementId must be provided")
+  public boolean isSingleTarget() {
+    return (programmeMembershipId == null) != (placementId == null);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.dto;
+
+/**
+ * The eligibility of a single item in a batch eligibility request. A null value indicates the
+ * check does not apply to the item, or could not be evaluated.
+ *
+ * @param traineeTisId          The TIS ID of the trainee.
+ * @param programmeMembershipId The ID of the assessed programme membership, if any.
+ * @param placementId           The ID of the assessed placement, if any.
+ * @param newStarter            Whether the programme membership is a new starter.
+ * @param pilot2024             Whether the item is in the 2024 pilot.
+ * @param pilotRollout2024      Whether the item is in the 2024 pilot rollout.
+ */
+public record EligibilityResultDto(
+    String traineeTisId,
+    String programmeMembershipId,
+    String placementId,
+    Boolean newStarter,
+    Boolean pilot2024,
+    Boolean pilotRollout2024) {
+
+}
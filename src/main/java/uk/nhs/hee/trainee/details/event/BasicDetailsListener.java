@@ -22,42 +22,43 @@
 package uk.nhs.hee.trainee.details.event;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
-import lombok.extern.slf4j.Slf4j;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
-import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapper;
-import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 /**
  * A listener for Basic Details events.
  */
-@Slf4j
 @Component
 public class BasicDetailsListener {
 
-  private final PersonalDetailsService service;
+  private final PersonalDetailsUpdateCoalescer coalescer;
   private final PersonalDetailsMapper mapper;
 
-  public BasicDetailsListener(PersonalDetailsService service, PersonalDetailsMapper mapper) {
-    this.service = service;
+  public BasicDetailsListener(PersonalDetailsUpdateCoalescer coalescer,
+      PersonalDetailsMapper mapper) {
+    this.coalescer = coalescer;
     this.mapper = mapper;
   }
 
   /**
-   * Update the person details for the trainee, creates the parent profile if it does not already
-   * exist.
+   * Update the basic details for a batch of trainees, creates the parent profile if it does not
+   * already exist.
    *
-   * @param event The sync event containing the basic details.
+   * @param messages        The sync events containing the basic details.
+   * @param acknowledgement The acknowledgement for the successfully applied events.
    */
-  @SqsListener("${application.aws.sqs.basic-details-update}")
-  void updateBasicDetails(PersonalDetailsUpdateEvent event) {
-    String tisId = event.tisId();
-    log.info("Update basic details of trainee with TIS ID {}", tisId);
-
-    PersonalDetailsDto dto = event.update().personalDetails();
-    PersonalDetails entity = mapper.toEntity(dto);
-    service.createProfileOrUpdateBasicDetailsByTisId(tisId, entity);
+  @SqsListener(value = "${application.aws.sqs.basic-details-update}",
+      maxConcurrentMessages = "${application.aws.sqs.concurrency.basic-details-update}",
+      maxMessagesPerPoll = "10", acknowledgementMode = "MANUAL")
+  void updateBasicDetails(List<Message<PersonalDetailsUpdateEvent>> messages,
+      BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement) {
+    PersonalDetailsEventBatch.process(messages, acknowledgement, Type.BASIC_DETAILS, coalescer,
+        mapper);
   }
 }
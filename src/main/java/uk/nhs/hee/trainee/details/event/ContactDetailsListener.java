@@ -22,47 +22,42 @@
 package uk.nhs.hee.trainee.details.event;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
-import java.util.Optional;
-import lombok.extern.slf4j.Slf4j;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
-import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapper;
-import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 /**
  * A listener for Contact Details events.
  */
-@Slf4j
 @Component
 public class ContactDetailsListener {
 
-  private final PersonalDetailsService service;
+  private final PersonalDetailsUpdateCoalescer coalescer;
   private final PersonalDetailsMapper mapper;
 
-  public ContactDetailsListener(PersonalDetailsService service, PersonalDetailsMapper mapper) {
-    this.service = service;
+  public ContactDetailsListener(PersonalDetailsUpdateCoalescer coalescer,
+      PersonalDetailsMapper mapper) {
+    this.coalescer = coalescer;
     this.mapper = mapper;
   }
 
   /**
-   * Update the contact details for the trainee.
+   * Update the contact details for a batch of trainees.
    *
-   * @param event The sync event containing the contact details.
+   * @param messages        The sync events containing the contact details.
+   * @param acknowledgement The acknowledgement for the successfully applied events.
    */
-  @SqsListener("${application.aws.sqs.contact-details-update}")
-  void updateContactDetails(PersonalDetailsUpdateEvent event) {
-    String tisId = event.tisId();
-    log.info("Update contact details of trainee with TIS ID {}", tisId);
-
-    PersonalDetailsDto dto = event.update().personalDetails();
-    PersonalDetails entity = mapper.toEntity(dto);
-    PersonalDetailsUpdated updatedDetails = service.updateContactDetailsByTisId(tisId, entity);
-
-    if (updatedDetails.getPersonalDetails().isEmpty()) {
-      throw new IllegalArgumentException("Trainee not found.");
-    }
+  @SqsListener(value = "${application.aws.sqs.contact-details-update}",
+      maxConcurrentMessages = "${application.aws.sqs.concurrency.contact-details-update}",
+      maxMessagesPerPoll = "10", acknowledgementMode = "MANUAL")
+  void updateContactDetails(List<Message<PersonalDetailsUpdateEvent>> messages,
+      BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement) {
+    PersonalDetailsEventBatch.process(messages, acknowledgement, Type.CONTACT_DETAILS, coalescer,
+        mapper);
   }
 }
@@ -22,42 +22,42 @@
 package uk.nhs.hee.trainee.details.event;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
-import lombok.extern.slf4j.Slf4j;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
-import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapper;
-import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 /**
  * A listener for GMC Details events.
  */
-@Slf4j
 @Component
 public class GmcDetailsListener {
 
-  private final PersonalDetailsService service;
+  private final PersonalDetailsUpdateCoalescer coalescer;
   private final PersonalDetailsMapper mapper;
 
-  public GmcDetailsListener(PersonalDetailsService service, PersonalDetailsMapper mapper) {
-    this.service = service;
+  public GmcDetailsListener(PersonalDetailsUpdateCoalescer coalescer,
+      PersonalDetailsMapper mapper) {
+    this.coalescer = coalescer;
     this.mapper = mapper;
   }
 
   /**
-   * Update the GMC details for the trainee.
+   * Update the GMC details for a batch of trainees.
    *
-   * @param event The sync event containing the GMC details.
+   * @param messages        The sync events containing the GMC details.
+   * @param acknowledgement The acknowledgement for the successfully applied events.
    */
-  @SqsListener("${application.aws.sqs.gmc-details-update}")
-  void updateGmcDetails(PersonalDetailsUpdateEvent event) {
-    String tisId = event.tisId();
-    log.info("Update GMC details of trainee with TIS ID {}", tisId);
-
-    PersonalDetailsDto dto = event.update().personalDetails();
-    PersonalDetails entity = mapper.toEntity(dto);
-    service.updateGmcDetailsByTisId(tisId, entity).getPersonalDetails()
-        .orElseThrow(() -> new IllegalArgumentException("Trainee not found."));
+  @SqsListener(value = "${application.aws.sqs.gmc-details-update}",
+      maxConcurrentMessages = "${application.aws.sqs.concurrency.gmc-details-update}",
+      maxMessagesPerPoll = "10", acknowledgementMode = "MANUAL")
+  void updateGmcDetails(List<Message<PersonalDetailsUpdateEvent>> messages,
+      BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement) {
+    PersonalDetailsEventBatch.process(messages, acknowledgement, Type.GMC_DETAILS, coalescer,
+        mapper);
   }
 }
@@ -22,47 +22,42 @@
 package uk.nhs.hee.trainee.details.event;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
-import java.util.Optional;
-import lombok.extern.slf4j.Slf4j;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
-import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapper;
-import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 /**
  * A listener for Person Owner events.
  */
-@Slf4j
 @Component
 public class PersonOwnerListener {
 
-  private final PersonalDetailsService service;
+  private final PersonalDetailsUpdateCoalescer coalescer;
   private final PersonalDetailsMapper mapper;
 
-  public PersonOwnerListener(PersonalDetailsService service, PersonalDetailsMapper mapper) {
-    this.service = service;
+  public PersonOwnerListener(PersonalDetailsUpdateCoalescer coalescer,
+      PersonalDetailsMapper mapper) {
+    this.coalescer = coalescer;
     this.mapper = mapper;
   }
 
   /**
-   * Update the person owner for the trainee.
+   * Update the person owner for a batch of trainees.
    *
-   * @param event The sync event containing the person owner data.
+   * @param messages        The sync events containing the person owner.
+   * @param acknowledgement The acknowledgement for the successfully applied events.
    */
-  @SqsListener("${application.aws.sqs.person-owner-update}")
-  void updatePersonOwner(PersonalDetailsUpdateEvent event) {
-    String tisId = event.tisId();
-    log.info("Update person owner of trainee with TIS ID {}", tisId);
-
-    PersonalDetailsDto dto = event.update().personalDetails();
-    PersonalDetails entity = mapper.toEntity(dto);
-    PersonalDetailsUpdated updatedDetails = service.updatePersonOwnerByTisId(tisId, entity);
-
-    if (updatedDetails.getPersonalDetails().isEmpty()) {
-      throw new IllegalArgumentException("Trainee not found.");
-    }
+  @SqsListener(value = "${application.aws.sqs.person-owner-update}",
+      maxConcurrentMessages = "${application.aws.sqs.concurrency.person-owner-update}",
+      maxMessagesPerPoll = "10", acknowledgementMode = "MANUAL")
+  void updatePersonOwner(List<Message<PersonalDetailsUpdateEvent>> messages,
+      BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement) {
+    PersonalDetailsEventBatch.process(messages, acknowledgement, Type.PERSON_OWNER, coalescer,
+        mapper);
   }
 }
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.event;
+
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapper;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
+
+/**
+ * Applies a batch of personal details update events with a single bulk write. Only the messages
+ * which were applied are acknowledged, the rest are left on the queue to be retried.
+ */
+@Slf4j
+final class PersonalDetailsEventBatch {
+
+  private PersonalDetailsEventBatch() {
+  }
+
+  /**
+   * Apply a batch of personal details update events and acknowledge the successful messages.
+   *
+   * @param messages        The received messages.
+   * @param acknowledgement The acknowledgement for the batch.
+   * @param type            The part of the personal details being updated.
+   * @param coalescer       The coalescer to apply the changes with.
+   * @param mapper          The mapper to convert the event personal details with.
+   */
+  static void process(List<Message<PersonalDetailsUpdateEvent>> messages,
+      BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement, Type type,
+      PersonalDetailsUpdateCoalescer coalescer, PersonalDetailsMapper mapper) {
+    List<Message<PersonalDetailsUpdateEvent>> readMessages = new ArrayList<>();
+    List<PersonalDetailsChange> changes = new ArrayList<>();
+
+    for (Message<PersonalDetailsUpdateEvent> message : messages) {
+      PersonalDetailsUpdateEvent event = message.getPayload();
+
+      try {
+        changes.add(new PersonalDetailsChange(event.tisId(), type,
+            mapper.toEntity(event.update().personalDetails())));
+        readMessages.add(message);
+      } catch (RuntimeException e) {
+        log.error("Unable to read {} update for trainee with TIS ID {}.", type, event.tisId(), e);
+      }
+    }
+
+    log.info("Update {} for {} message(s).", type, changes.size());
+    Map<String, BulkSyncStatus> statuses = coalescer.updatePersonalDetailsForTrainees(changes);
+
+    List<Message<PersonalDetailsUpdateEvent>> appliedMessages = new ArrayList<>();
+
+    for (Message<PersonalDetailsUpdateEvent> message : readMessages) {
+      String tisId = message.getPayload().tisId();
+      BulkSyncStatus status = statuses.get(tisId);
+
+      if (status == BulkSyncStatus.UPDATED) {
+        appliedMessages.add(message);
+      } else {
+        log.warn("Unable to apply {} update for trainee with TIS ID {}: {}.", type, tisId,
+            status);
+      }
+    }
+
+    if (!appliedMessages.isEmpty()) {
+      acknowledgement.acknowledge(appliedMessages);
+    }
+  }
+}
@@ -90,6 +90,8 @@ public interface CctMapper {
    * @return The equivalent entity with trainee ID injected.
    */
   @Mapping(target = "traineeId", source = "traineeId")
+  @Mapping(target = "cctDate", ignore = true)
+  @Mapping(target = "calculatorVersion", ignore = true)
   CctCalculation toEntity(CctCalculationDetailDto dto, String traineeId);
 
 }
@@ -21,11 +21,8 @@
 
 package uk.nhs.hee.trainee.details.mapper;
 
-import static org.mapstruct.NullValuePropertyMappingStrategy.IGNORE;
-
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.MappingTarget;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 
@@ -40,8 +37,4 @@ public interface ProgrammeMembershipMapper {
   ProgrammeMembershipDto toDto(ProgrammeMembership entity);
 
   ProgrammeMembership toEntity(ProgrammeMembershipDto dto);
-
-  @Mapping(target = "conditionsOfJoining", nullValuePropertyMappingStrategy = IGNORE)
-  void updateProgrammeMembership(@MappingTarget ProgrammeMembership target,
-      ProgrammeMembership source);
 }
@@ -43,6 +43,8 @@ import uk.nhs.hee.trainee.details.dto.enumeration.CctChangeType;
  * @param name                A name for the calculation.
  * @param programmeMembership The programme membership data for the calculation.
  * @param changes             The CCT changes to be calculated.
+ * @param cctDate             The calculated CCT date, null if it could not be calculated.
+ * @param calculatorVersion   The version of the calculator which calculated the CCT date.
  * @param created             When the calculation was created (auto-generated).
  * @param lastModified        When the calculation was last modified (auto-generated).
  */
@@ -59,6 +61,10 @@ public record CctCalculation(
     CctProgrammeMembership programmeMembership,
     @With
     List<CctChange> changes,
+    @With
+    LocalDate cctDate,
+    @With
+    Integer calculatorVersion,
 
     @CreatedDate
     Instant created,
@@ -21,6 +21,7 @@
 
 package uk.nhs.hee.trainee.details.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
@@ -32,6 +33,48 @@ public interface TraineeProfileRepository extends MongoRepository<TraineeProfile
 
   TraineeProfile findByTraineeTisId(String traineeTisId);
 
+  /**
+   * Find the full trainee profiles of the given trainees, using a single query.
+   *
+   * @param traineeTisIds The TIS IDs of the trainees.
+   * @return The trainee profiles found, trainees without a profile are omitted.
+   */
+  List<TraineeProfile> findByTraineeTisIdIn(Collection<String> traineeTisIds);
+
+  /**
+   * Find a trainee profile with only the programme memberships populated. The returned profile is
+   * partial and must not be saved.
+   *
+   * @param traineeTisId The TIS ID of the trainee.
+   * @return The partial trainee profile, or null if not found.
+   */
+  @Query(value = "{ 'traineeTisId' : ?0 }",
+      fields = "{ 'traineeTisId' : 1, 'programmeMemberships' : 1 }")
+  TraineeProfile findProgrammeMembershipsByTraineeTisId(String traineeTisId);
+
+  /**
+   * Find a trainee profile with only the placements and programme memberships populated. The
+   * returned profile is partial and must not be saved.
+   *
+   * @param traineeTisId The TIS ID of the trainee.
+   * @return The partial trainee profile, or null if not found.
+   */
+  @Query(value = "{ 'traineeTisId' : ?0 }",
+      fields = "{ 'traineeTisId' : 1, 'placements' : 1, 'programmeMemberships' : 1 }")
+  TraineeProfile findPlacementsAndProgrammeMembershipsByTraineeTisId(String traineeTisId);
+
+  /**
+   * Find the trainee profiles with only the placements and programme memberships populated, using
+   * a single query for all trainees. The returned profiles are partial and must not be saved.
+   *
+   * @param traineeTisIds The TIS IDs of the trainees.
+   * @return The partial trainee profiles found, trainees without a profile are omitted.
+   */
+  @Query(value = "{ 'traineeTisId' : { '$in' : ?0 } }",
+      fields = "{ 'traineeTisId' : 1, 'placements' : 1, 'programmeMemberships' : 1 }")
+  List<TraineeProfile> findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(
+      Collection<String> traineeTisIds);
+
   @Query("{ 'personalDetails.email' : ?0 }")
   List<TraineeProfile> findAllByTraineeEmail(String email);
 
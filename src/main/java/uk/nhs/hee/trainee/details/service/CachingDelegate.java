@@ -21,6 +21,9 @@
 
 package uk.nhs.hee.trainee.details.service;
 
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.CONDITIONS_OF_JOINING_CACHE;
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.PDF_CACHE;
+
 import java.util.Optional;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
@@ -35,8 +38,6 @@ import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
 @Component
 class CachingDelegate {
 
-  private static final String CONDITIONS_OF_JOINING = "ConditionsOfJoining";
-
   /**
    * Cache a Conditions of Joining for later retrieval.
    *
@@ -44,7 +45,7 @@ class CachingDelegate {
    * @param conditionsOfJoining The Conditions of Joining to cache.
    * @return The cached Conditions of Joining.
    */
-  @CachePut(cacheNames = CONDITIONS_OF_JOINING, key = "#key")
+  @CachePut(cacheNames = CONDITIONS_OF_JOINING_CACHE, key = "#key")
   public ConditionsOfJoining cacheConditionsOfJoining(String key,
       ConditionsOfJoining conditionsOfJoining) {
     return conditionsOfJoining;
@@ -56,9 +57,32 @@ class CachingDelegate {
    * @param key The cache key.
    * @return The cached Conditions of Joining, or an empty optional if not found.
    */
-  @Cacheable(cacheNames = CONDITIONS_OF_JOINING)
-  @CacheEvict(CONDITIONS_OF_JOINING)
+  @Cacheable(cacheNames = CONDITIONS_OF_JOINING_CACHE)
+  @CacheEvict(CONDITIONS_OF_JOINING_CACHE)
   public Optional<ConditionsOfJoining> getConditionsOfJoining(String key) {
     return Optional.empty();
   }
+
+  /**
+   * Cache a generated PDF for later retrieval.
+   *
+   * @param key The cache key, derived from the content of the PDF.
+   * @param pdf The PDF to cache.
+   * @return The cached PDF.
+   */
+  @CachePut(cacheNames = PDF_CACHE, key = "#key")
+  public byte[] cachePdf(String key, byte[] pdf) {
+    return pdf;
+  }
+
+  /**
+   * Get the generated PDF associated with the given key, a miss is not cached.
+   *
+   * @param key The cache key.
+   * @return The cached PDF, or an empty optional if not found.
+   */
+  @Cacheable(cacheNames = PDF_CACHE, unless = "#result == null")
+  public Optional<byte[]> getPdf(String key) {
+    return Optional.empty();
+  }
 }
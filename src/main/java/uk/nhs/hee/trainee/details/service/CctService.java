@@ -22,9 +22,9 @@
 package uk.nhs.hee.trainee.details.service;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import com.mongodb.client.result.UpdateResult;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -33,10 +33,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
@@ -59,9 +63,22 @@ public class CctService {
 
   protected static final double WTE_EPSILON = 0.01; //minimum WTE value
 
+  /**
+   * The version of the CCT date calculation, stored CCT dates calculated by a different version
+   * are recalculated when read. Must be incremented whenever the calculation changes.
+   */
+  static final int CALCULATOR_VERSION = 1;
+
+  private static final String ID_FIELD = "_id";
+  private static final String TRAINEE_ID_FIELD = "traineeId";
+  private static final String LAST_MODIFIED_FIELD = "lastModified";
+  private static final String CCT_DATE_FIELD = "cctDate";
+  private static final String CALCULATOR_VERSION_FIELD = "calculatorVersion";
+
   private final TraineeIdentity traineeIdentity;
 
   private final CctCalculationRepository calculationRepository;
+  private final MongoTemplate mongoTemplate;
   private final CctMapper mapper;
 
   private static final Method UPDATE_CALCULATION_METHOD;
@@ -83,12 +100,14 @@ public class CctService {
    *
    * @param traineeIdentity       The identity of the current user.
    * @param calculationRepository The repository for CCT calculations.
+   * @param mongoTemplate         The Mongo template to update stored CCT dates with.
    * @param mapper                A mapper to convert between CCT data types.
    */
   public CctService(TraineeIdentity traineeIdentity, CctCalculationRepository calculationRepository,
-      CctMapper mapper) {
+      MongoTemplate mongoTemplate, CctMapper mapper) {
     this.traineeIdentity = traineeIdentity;
     this.calculationRepository = calculationRepository;
+    this.mongoTemplate = mongoTemplate;
     this.mapper = mapper;
   }
 
@@ -107,7 +126,7 @@ public class CctService {
 
     List<CctCalculationDetailDto> entityDtos = new ArrayList<>();
     entities.forEach(entity ->
-        entityDtos.add(mapper.toDetailDto(entity, calculateCctDate(entity))));
+        entityDtos.add(mapper.toDetailDto(entity, getCctDate(entity))));
     return entityDtos;
   }
 
@@ -132,7 +151,7 @@ public class CctService {
 
     log.info("CCT calculation found: [{}]", entity.isPresent());
     return entity.map(cctCalculation
-            -> mapper.toDetailDto(cctCalculation, calculateCctDate(cctCalculation)))
+            -> mapper.toDetailDto(cctCalculation, getCctDate(cctCalculation)))
         .or(() -> entity.map(mapper::toDetailDto));
   }
 
@@ -145,10 +164,11 @@ public class CctService {
   public CctCalculationDetailDto createCalculation(CctCalculationDetailDto dto) {
     log.info("Creating CCT calculation [{}]", dto.name());
     CctCalculation entity = mapper.toEntity(dto, traineeIdentity.getTraineeId());
-    entity = calculationRepository.insert(entity);
+    LocalDate cctDate = calculateCctDate(entity);
+    entity = calculationRepository.insert(withCctDate(entity, cctDate));
 
     log.info("Created CCT calculation [{}] with id [{}]", dto.name(), entity.id());
-    return mapper.toDetailDto(entity, calculateCctDate(entity));
+    return mapper.toDetailDto(entity, cctDate);
   }
 
   /**
@@ -174,9 +194,10 @@ public class CctService {
       }
 
       CctCalculation entity = mapper.toEntity(dto, traineeIdentity.getTraineeId());
-      entity = calculationRepository.save(entity);
+      LocalDate cctDate = calculateCctDate(entity);
+      entity = calculationRepository.save(withCctDate(entity, cctDate));
       log.info("Updated CCT calculation [{}] with id [{}]", dto.name(), entity.id());
-      return Optional.of(mapper.toDetailDto(entity, calculateCctDate(entity)));
+      return Optional.of(mapper.toDetailDto(entity, cctDate));
     } else {
       log.warn("CCT calculation [{}] cannot be updated: not found.", id);
     }
@@ -261,6 +282,9 @@ public class CctService {
   /**
    * Calculate the CCT end date for a CCT Calculation.
    *
+   * <p>Dates are handled as epoch days, and changes which are already in start date order are used
+   * as they are, so that the usual case does not allocate.
+   *
    * @param entity The CctCalculation to use to calculate the CCT end date.
    * @return the CCT end date, or null if this is not possible to calculate.
    */
@@ -271,36 +295,100 @@ public class CctService {
 
     //entity validation rules mean we can assume programmeMembership and changes are non-null
     //and contain values for referenced properties, and WTE's are in the range 0-1.
-    LocalDate currentEndDate = entity.programmeMembership().endDate();
-    List<CctCalculation.CctChange> orderedChanges = entity.changes().stream()
-        .sorted(Comparator.comparing(CctCalculation.CctChange::startDate)).toList();
+    CctCalculation.CctProgrammeMembership programmeMembership = entity.programmeMembership();
+    List<CctCalculation.CctChange> orderedChanges = entity.changes();
+    if (!isOrderedByStartDate(orderedChanges)) {
+      orderedChanges = orderedChanges.stream()
+          .sorted(Comparator.comparing(CctCalculation.CctChange::startDate)).toList();
+    }
+
+    long pmStartDay = programmeMembership.startDate().toEpochDay();
+    long currentEndDay = programmeMembership.endDate().toEpochDay();
+    double currentWte = programmeMembership.wte();
+
     for (int i = 0; i < orderedChanges.size(); i++) {
       CctCalculation.CctChange c = orderedChanges.get(i);
-      LocalDate startDate = c.startDate();
-      if (startDate.isBefore(entity.programmeMembership().startDate())) {
+      long startDay = c.startDate().toEpochDay();
+      if (startDay < pmStartDay) {
         log.warn("CCT date calculation: start date for change {} set to PM start date {}.",
-            c, entity.programmeMembership().startDate());
-        startDate = entity.programmeMembership().startDate();
+            c, programmeMembership.startDate());
+        startDay = pmStartDay;
       }
-      if (startDate.isAfter(currentEndDate)) {
+      if (startDay > currentEndDay) {
         log.warn("CCT date cannot be calculated, start date for change {} after end date {}.",
-            c, currentEndDate);
+            c, LocalDate.ofEpochDay(currentEndDay));
         return null;
       }
-      long chunkDays = ChronoUnit.DAYS.between(startDate, currentEndDate);
-      double currentWte = i == 0
-          ? entity.programmeMembership().wte()
-          : orderedChanges.get(i - 1).wte();
+      long chunkDays = currentEndDay - startDay;
       double wte = c.wte();
       if (wte < WTE_EPSILON) {
         log.warn("CCT date cannot be calculated, WTE for change {} is less than minimum.", c);
         return null;
       }
       long chunkDaysWte = (long) Math.ceil((chunkDays * currentWte) / wte);
-      currentEndDate = currentEndDate.plusDays(chunkDaysWte - chunkDays);
+      currentEndDay += chunkDaysWte - chunkDays;
+      currentWte = wte;
     }
 
-    return currentEndDate;
+    return LocalDate.ofEpochDay(currentEndDay);
+  }
+
+  /**
+   * Check whether the CCT changes are already in start date order.
+   *
+   * @param changes The CCT changes to check.
+   * @return Whether each change starts on or after the previous change.
+   */
+  private static boolean isOrderedByStartDate(List<CctCalculation.CctChange> changes) {
+    for (int i = 1; i < changes.size(); i++) {
+      if (changes.get(i).startDate().isBefore(changes.get(i - 1).startDate())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Set the CCT date on a CCT calculation, along with the current calculator version.
+   *
+   * @param entity  The CCT calculation to set the CCT date on.
+   * @param cctDate The calculated CCT date.
+   * @return A copy of the CCT calculation with the CCT date set.
+   */
+  private static CctCalculation withCctDate(CctCalculation entity, LocalDate cctDate) {
+    return entity.withCctDate(cctDate).withCalculatorVersion(CALCULATOR_VERSION);
+  }
+
+  /**
+   * Get the CCT date for a stored CCT calculation. The stored CCT date is used if it was
+   * calculated by the current calculator version, otherwise it is recalculated and stored.
+   *
+   * @param entity The stored CCT calculation.
+   * @return The CCT date, or null if this is not possible to calculate.
+   */
+  private LocalDate getCctDate(CctCalculation entity) {
+    if (Objects.equals(entity.calculatorVersion(), CALCULATOR_VERSION)) {
+      return entity.cctDate();
+    }
+
+    LocalDate cctDate = calculateCctDate(entity);
+    log.info("Recalculated CCT date for CCT calculation [{}] from calculator version {}.",
+        entity.id(), entity.calculatorVersion());
+
+    // Only update the calculation if it has not been modified since it was read.
+    Query query = Query.query(Criteria.where(ID_FIELD).is(entity.id())
+        .and(LAST_MODIFIED_FIELD).is(entity.lastModified()));
+    Update update = new Update()
+        .set(CCT_DATE_FIELD, cctDate)
+        .set(CALCULATOR_VERSION_FIELD, CALCULATOR_VERSION);
+
+    try {
+      mongoTemplate.updateFirst(query, update, CctCalculation.class);
+    } catch (DataAccessException e) {
+      log.warn("Unable to store recalculated CCT date for CCT calculation [{}].", entity.id(), e);
+    }
+
+    return cctDate;
   }
 
   /**
@@ -316,21 +404,23 @@ public class CctService {
   /**
    * Move all CCT calculations from one trainee to another. Assumes that toTraineeId is valid.
    *
+   * <p>The calculations are moved with a single server-side update. Only calculations still
+   * belonging to fromTraineeId are matched, so repeating a move completes any calculations not yet
+   * moved and otherwise has no effect.
+   *
    * @param fromTraineeId The trainee ID to move calculations from.
    * @param toTraineeId   The trainee ID to move calculations to.
+   * @return The number of calculations moved.
    */
-  public void moveCalculations(String fromTraineeId, String toTraineeId) {
-    List<CctCalculation> calculations = calculationRepository
-        .findByTraineeIdOrderByLastModified(fromTraineeId);
-
-    AtomicReference<Integer> movedCount = new AtomicReference<>(0);
-    calculations.forEach(c -> {
-      log.debug("Moving CCT calculation [{}] from trainee [{}] to trainee [{}].",
-          c.id(), fromTraineeId, toTraineeId);
-      calculationRepository.save(c.withTraineeId(toTraineeId));
-      movedCount.getAndSet(movedCount.get() + 1);
-    });
-    log.info("Moved {} of expected {} CCT calculations from trainee [{}] to trainee [{}].",
-        movedCount.get(), calculations.size(), fromTraineeId, toTraineeId);
+  public long moveCalculations(String fromTraineeId, String toTraineeId) {
+    Query query = Query.query(Criteria.where(TRAINEE_ID_FIELD).is(fromTraineeId));
+    Update update = Update.update(TRAINEE_ID_FIELD, toTraineeId)
+        .currentDate(LAST_MODIFIED_FIELD);
+
+    UpdateResult result = mongoTemplate.updateMulti(query, update, CctCalculation.class);
+    long movedCount = result.getModifiedCount();
+    log.info("Moved {} CCT calculations from trainee [{}] to trainee [{}].",
+        movedCount, fromTraineeId, toTraineeId);
+    return movedCount;
   }
 }
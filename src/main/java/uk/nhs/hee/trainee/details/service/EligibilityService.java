@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.nhs.hee.trainee.details.dto.EligibilityCheckDto;
+import uk.nhs.hee.trainee.details.dto.EligibilityResultDto;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
+
+/**
+ * A service for assessing the eligibility of many programme memberships and placements at once.
+ */
+@Service
+@XRayEnabled
+@Slf4j
+public class EligibilityService {
+
+  private final TraineeProfileRepository repository;
+  private final ProgrammeMembershipService programmeMembershipService;
+  private final PlacementService placementService;
+
+  /**
+   * Create a service for batch eligibility checks.
+   *
+   * @param repository                 The trainee profile repository.
+   * @param programmeMembershipService The service for programme membership checks.
+   * @param placementService           The service for placement checks.
+   */
+  public EligibilityService(TraineeProfileRepository repository,
+      ProgrammeMembershipService programmeMembershipService, PlacementService placementService) {
+    this.repository = repository;
+    this.programmeMembershipService = programmeMembershipService;
+    this.placementService = placementService;
+  }
+
+  /**
+   * Assess the new starter and pilot status of each item. The profiles of all trainees are loaded
+   * with a single query and each item is then assessed in memory, placements are assessed the same
+   * way as the individual placement pilot endpoints.
+   *
+   * @param checks The programme memberships and placements to assess.
+   * @return The eligibility of each item, in the same order as the checks.
+   */
+  public List<EligibilityResultDto> evaluate(List<EligibilityCheckDto> checks) {
+    Set<String> traineeTisIds = checks.stream()
+        .map(EligibilityCheckDto::traineeTisId)
+        .collect(Collectors.toSet());
+
+    Map<String, TraineeProfile> profiles = repository
+        .findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(traineeTisIds).stream()
+        .collect(Collectors.toMap(TraineeProfile::getTraineeTisId, Function.identity(),
+            (first, duplicate) -> first));
+    log.info("Assessing eligibility of {} items for {} trainees, {} profiles found.",
+        checks.size(), traineeTisIds.size(), profiles.size());
+
+    return checks.stream()
+        .map(check -> evaluate(check, profiles.get(check.traineeTisId())))
+        .toList();
+  }
+
+  /**
+   * Assess the eligibility of a single item. A failure to assess the item is logged and reported
+   * as unknown values, so that it does not fail the rest of the batch.
+   *
+   * @param check          The programme membership or placement to assess.
+   * @param traineeProfile The trainee's profile, may be null if not found.
+   * @return The eligibility of the item.
+   */
+  private EligibilityResultDto evaluate(EligibilityCheckDto check, TraineeProfile traineeProfile) {
+    String programmeMembershipId = check.programmeMembershipId();
+    String placementId = check.placementId();
+
+    if (traineeProfile == null) {
+      log.info("Eligibility: [false] trainee profile {} not found", check.traineeTisId());
+    }
+
+    try {
+      if (placementId != null) {
+        boolean canBeOnboarded = placementService.canBeOnboarded(traineeProfile, placementId);
+        return new EligibilityResultDto(check.traineeTisId(), null, placementId, null,
+            canBeOnboarded && placementService.isPilot2024(traineeProfile, placementId),
+            canBeOnboarded && placementService.isPilotRollout2024(traineeProfile, placementId));
+      }
+
+      return new EligibilityResultDto(check.traineeTisId(), programmeMembershipId, null,
+          programmeMembershipService.isNewStarter(traineeProfile, programmeMembershipId),
+          programmeMembershipService.isPilot2024(traineeProfile, programmeMembershipId),
+          programmeMembershipService.isPilotRollout2024(traineeProfile, programmeMembershipId));
+    } catch (RuntimeException e) {
+      log.warn("Unable to assess eligibility of {} for trainee {}.",
+          placementId != null ? placementId : programmeMembershipId, check.traineeTisId(), e);
+      return new EligibilityResultDto(check.traineeTisId(), programmeMembershipId, placementId,
+          null, null, null);
+    }
+  }
+}
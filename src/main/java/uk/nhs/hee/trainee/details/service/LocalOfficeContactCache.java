@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.API_GET_OWNER_CONTACT;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.OWNER_FIELD;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.TRAINEE_TYPE_FIELD;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import uk.nhs.hee.trainee.details.dto.TraineeType;
+
+/**
+ * An in-process cache of local office contacts retrieved from the Trainee Reference Service.
+ *
+ * <p>Entries are refreshed in the background once they are older than the refresh interval, the
+ * existing contacts continue to be served while the refresh is in progress. If a refresh fails the
+ * existing contacts are kept until they expire, so a brief reference service outage does not
+ * affect callers.
+ */
+@Slf4j
+@Component
+class LocalOfficeContactCache {
+
+  static final String CACHE_NAME = "LocalOfficeContacts";
+
+  private static final int REFRESH_THREADS = 2;
+
+  private final RestTemplate restTemplate;
+  private final String referenceUrl;
+  private final Executor refreshExecutor;
+  private final LoadingCache<CacheKey, List<Map<String, String>>> cache;
+
+  /**
+   * Create a cache of local office contacts.
+   *
+   * @param restTemplate  The rest template to retrieve contacts with.
+   * @param referenceUrl  The base URL of the reference service.
+   * @param meterRegistry The registry to record cache metrics with.
+   * @param maximumSize   The maximum number of local office and trainee type pairs to cache.
+   * @param refreshAfter  How long after retrieval the contacts should be refreshed.
+   * @param expireAfter   How long after retrieval the contacts are discarded if not refreshed.
+   */
+  @Autowired
+  LocalOfficeContactCache(RestTemplate restTemplate,
+      @Value("${service.reference.url}") String referenceUrl, MeterRegistry meterRegistry,
+      @Value("${application.cache.local-office-contacts.maximum-size}") long maximumSize,
+      @Value("${application.cache.local-office-contacts.refresh-after}") Duration refreshAfter,
+      @Value("${application.cache.local-office-contacts.expire-after}") Duration expireAfter) {
+    this(restTemplate, referenceUrl, meterRegistry, maximumSize, refreshAfter, expireAfter,
+        Ticker.systemTicker(), createRefreshExecutor());
+  }
+
+  /**
+   * Create a cache of local office contacts with the given time source and refresh executor.
+   *
+   * @param restTemplate  The rest template to retrieve contacts with.
+   * @param referenceUrl  The base URL of the reference service.
+   * @param meterRegistry The registry to record cache metrics with.
+   * @param maximumSize   The maximum number of local office and trainee type pairs to cache.
+   * @param refreshAfter  How long after retrieval the contacts should be refreshed.
+   * @param expireAfter   How long after retrieval the contacts are discarded if not refreshed.
+   * @param ticker        The time source for the cache.
+   * @param executor      The executor for background refreshes.
+   */
+  LocalOfficeContactCache(RestTemplate restTemplate, String referenceUrl,
+      MeterRegistry meterRegistry, long maximumSize, Duration refreshAfter, Duration expireAfter,
+      Ticker ticker, Executor executor) {
+    this.restTemplate = restTemplate;
+    this.referenceUrl = referenceUrl;
+    this.refreshExecutor = executor;
+
+    cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .refreshAfterWrite(refreshAfter)
+        .expireAfterWrite(expireAfter)
+        .ticker(ticker)
+        .executor(executor)
+        .recordStats()
+        .build(this::retrieveContacts);
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Create a small bounded executor for background refreshes, so the blocking reference service
+   * calls do not occupy the common fork-join pool. A rejected refresh is skipped and the existing
+   * contacts are served until the next access triggers it again.
+   *
+   * @return The created executor.
+   */
+  private static ExecutorService createRefreshExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<>(REFRESH_THREADS * 4),
+        new CustomizableThreadFactory("local-office-contact-refresh-"), new AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Stop the background refresh executor, if owned by this cache.
+   */
+  @PreDestroy
+  void shutdownRefreshExecutor() {
+    if (refreshExecutor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Get the contacts for a local office, retrieving them from the reference service if not
+   * already cached.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type to use to select the contact 'subtype'.
+   * @return The list of contacts, or an empty list if there is an error.
+   */
+  List<Map<String, String>> getContacts(String localOfficeName, TraineeType traineeType) {
+    try {
+      return cache.get(new CacheKey(localOfficeName, traineeType));
+    } catch (RestClientException rce) {
+      log.warn("Exception occurred when requesting reference local-office-contact-by-lo-name "
+          + "endpoint: " + rce);
+      return new ArrayList<>();
+    }
+  }
+
+  /**
+   * Whether the contacts for a local office are cached, so can be got without waiting on the
+   * reference service. Stale contacts count as cached, as they are served while refreshing.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type to use to select the contact 'subtype'.
+   * @return true if the contacts are cached, else false.
+   */
+  boolean isCached(String localOfficeName, TraineeType traineeType) {
+    return cache.asMap().containsKey(new CacheKey(localOfficeName, traineeType));
+  }
+
+  /**
+   * Retrieve the contacts for a local office from the reference service. Errors are thrown so
+   * that a failed retrieval is not cached and any existing contacts are retained.
+   *
+   * @param key The local office and trainee type to retrieve the contacts for.
+   * @return The unmodifiable list of contacts.
+   */
+  private List<Map<String, String>> retrieveContacts(CacheKey key) {
+    List<Map<String, String>> contacts = restTemplate.getForObject(
+        referenceUrl + API_GET_OWNER_CONTACT, List.class,
+        Map.of(OWNER_FIELD, key.localOfficeName(), TRAINEE_TYPE_FIELD, key.traineeType()));
+    return contacts == null ? List.of() : Collections.unmodifiableList(contacts);
+  }
+
+  /**
+   * The key of a cached contact list.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type used to select the contact 'subtype'.
+   */
+  private record CacheKey(String localOfficeName, TraineeType traineeType) {
+
+  }
+}
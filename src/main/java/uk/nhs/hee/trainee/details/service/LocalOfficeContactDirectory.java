@@ -0,0 +1,376 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+
+package uk.nhs.hee.trainee.details.service;
+
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.LOCAL_OFFICE_DIRECTORY_CACHE;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.API_GET_OWNER_CONTACT;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.CONTACT_FIELD;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.CONTACT_TYPE_FIELD;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.OWNER_FIELD;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.TRAINEE_TYPE_FIELD;
+
+import jakarta.annotation.PreDestroy;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import uk.nhs.hee.trainee.details.dto.TraineeType;
+import uk.nhs.hee.trainee.details.model.LocalOfficeContactType;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * A directory of the contacts for every local office managing a trainee's programme membership.
+ *
+ * <p>Each version of the directory is an immutable index of contacts by local office, trainee type
+ * and contact type, and replaces the previous version in a single step. Lookups never call the
+ * reference service, a local office which has not been loaded is reported as unknown so that the
+ * caller can fall back to {@link LocalOfficeContactCache}.
+ *
+ * <p>Every instance syncs the directory at startup and then periodically. Only the instance which
+ * takes the load lock in Redis loads the contacts from the reference service, in parallel, and
+ * publishes the new version to the shared directory cache. The other instances take the published
+ * version from the cache, so the reference service is called once per load for the whole cluster.
+ */
+@Slf4j
+@Component
+class LocalOfficeContactDirectory {
+
+  static final String VERSION_KEY = "current";
+  private static final String LOAD_LOCK_KEY = "Details::local-office-directory-load";
+  private static final String MANAGING_DEANERY_FIELD = "programmeMemberships.managingDeanery";
+
+  private final MongoTemplate mongoTemplate;
+  private final RestTemplate restTemplate;
+  private final String referenceUrl;
+  private final StringRedisTemplate redisTemplate;
+  private final Cache versions;
+  private final Executor executor;
+  private final Duration loadInterval;
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final AtomicReference<Version> current = new AtomicReference<>(Version.EMPTY);
+
+  /**
+   * Create a directory of local office contacts, contacts are loaded on a bounded pool.
+   *
+   * @param mongoTemplate The Mongo template to find the local offices with.
+   * @param restTemplate  The rest template to retrieve contacts with.
+   * @param referenceUrl  The base URL of the reference service.
+   * @param redisTemplate The Redis template to lock directory loads with.
+   * @param cacheManager  The cache manager to get the shared directory cache from.
+   * @param threads       The number of threads to retrieve contacts with.
+   * @param loadInterval  How often the contacts are loaded from the reference service.
+   */
+  @Autowired
+  LocalOfficeContactDirectory(MongoTemplate mongoTemplate, RestTemplate restTemplate,
+      @Value("${service.reference.url}") String referenceUrl, StringRedisTemplate redisTemplate,
+      CacheManager cacheManager,
+      @Value("${application.local-office-directory.threads}") int threads,
+      @Value("${application.local-office-directory.load-interval}") Duration loadInterval) {
+    this(mongoTemplate, restTemplate, referenceUrl, redisTemplate,
+        cacheManager.getCache(LOCAL_OFFICE_DIRECTORY_CACHE),
+        Executors.newFixedThreadPool(threads,
+            new CustomizableThreadFactory("local-office-directory-")),
+        loadInterval);
+  }
+
+  /**
+   * Create a directory of local office contacts with the given executor.
+   *
+   * @param mongoTemplate The Mongo template to find the local offices with.
+   * @param restTemplate  The rest template to retrieve contacts with.
+   * @param referenceUrl  The base URL of the reference service.
+   * @param redisTemplate The Redis template to lock directory loads with.
+   * @param versions      The shared cache to publish directory versions to.
+   * @param executor      The executor to retrieve contacts on.
+   * @param loadInterval  How often the contacts are loaded from the reference service.
+   */
+  LocalOfficeContactDirectory(MongoTemplate mongoTemplate, RestTemplate restTemplate,
+      String referenceUrl, StringRedisTemplate redisTemplate, Cache versions, Executor executor,
+      Duration loadInterval) {
+    this.mongoTemplate = mongoTemplate;
+    this.restTemplate = restTemplate;
+    this.referenceUrl = referenceUrl;
+    this.redisTemplate = redisTemplate;
+    this.versions = versions;
+    this.executor = executor;
+    this.loadInterval = loadInterval;
+  }
+
+  /**
+   * Stop the contact retrieval executor, if owned by this directory.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Get the contacts for a local office from the current version of the directory.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type used to select the contact 'subtype'.
+   * @return The contacts by contact type, or null if the local office has not been loaded.
+   */
+  Map<LocalOfficeContactType, String> getContacts(String localOfficeName,
+      TraineeType traineeType) {
+    if (localOfficeName == null) {
+      return null;
+    }
+    return current.get().getContacts(localOfficeName, traineeType);
+  }
+
+  /**
+   * Get the version of the directory currently in use, zero if it has never been loaded.
+   *
+   * @return The directory version.
+   */
+  long getVersion() {
+    return current.get().version();
+  }
+
+  /**
+   * Sync the directory with the shared version, and load a new version if this instance takes the
+   * load lock. The lock is left to expire rather than released, so the contacts are loaded once
+   * per load interval across all instances.
+   */
+  @Scheduled(fixedDelayString = "${application.local-office-directory.sync-interval}")
+  void sync() {
+    pull();
+
+    if (takeLoadLock()) {
+      load();
+    }
+  }
+
+  /**
+   * Replace the current directory with the shared version, if it differs.
+   */
+  private void pull() {
+    Version shared;
+    try {
+      shared = versions.get(VERSION_KEY, Version.class);
+    } catch (RuntimeException e) {
+      log.warn("Unable to read the shared local office contact directory, keeping version {}.",
+          getVersion(), e);
+      return;
+    }
+
+    if (shared != null) {
+      Version previous = current.getAndUpdate(v -> v.version() == shared.version() ? v : shared);
+
+      if (previous.version() != shared.version()) {
+        log.info("Synced local office contact directory version {} with {} local offices.",
+            shared.version(), shared.contacts().size());
+      }
+    }
+  }
+
+  /**
+   * Take the lock to load the directory, held for the load interval.
+   *
+   * @return Whether this instance should load the directory.
+   */
+  private boolean takeLoadLock() {
+    try {
+      Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOAD_LOCK_KEY, instanceId,
+          loadInterval);
+      return Boolean.TRUE.equals(locked);
+    } catch (RuntimeException e) {
+      log.warn("Unable to take the local office contact directory load lock.", e);
+      return false;
+    }
+  }
+
+  /**
+   * Load the contacts for all local offices, then replace and publish the directory. Contacts which
+   * cannot be retrieved are carried over from the current version of the directory.
+   */
+  void load() {
+    Version previous = current.get();
+
+    List<String> localOfficeNames;
+    try {
+      localOfficeNames = mongoTemplate.findDistinct(new Query(), MANAGING_DEANERY_FIELD,
+          TraineeProfile.class, String.class);
+    } catch (DataAccessException e) {
+      log.warn("Unable to find local offices, keeping local office contact directory version {}.",
+          previous.version(), e);
+      return;
+    }
+
+    Map<String, Map<TraineeType, CompletableFuture<Map<LocalOfficeContactType, String>>>> lookups
+        = new HashMap<>();
+
+    for (String localOfficeName : localOfficeNames) {
+      if (localOfficeName == null) {
+        continue;
+      }
+
+      Map<TraineeType, CompletableFuture<Map<LocalOfficeContactType, String>>> officeLookups
+          = new EnumMap<>(TraineeType.class);
+
+      for (TraineeType traineeType : TraineeType.values()) {
+        officeLookups.put(traineeType, CompletableFuture.supplyAsync(
+            () -> retrieveContacts(localOfficeName, traineeType), executor));
+      }
+      lookups.put(localOfficeName, officeLookups);
+    }
+
+    Map<String, Map<TraineeType, Map<LocalOfficeContactType, String>>> contacts = new HashMap<>();
+    int failures = 0;
+
+    for (var officeLookups : lookups.entrySet()) {
+      String localOfficeName = officeLookups.getKey();
+      Map<TraineeType, Map<LocalOfficeContactType, String>> contactsByTraineeType
+          = new EnumMap<>(TraineeType.class);
+
+      for (var lookup : officeLookups.getValue().entrySet()) {
+        TraineeType traineeType = lookup.getKey();
+        Map<LocalOfficeContactType, String> localOfficeContacts;
+        try {
+          localOfficeContacts = lookup.getValue().join();
+        } catch (CompletionException e) {
+          failures++;
+          localOfficeContacts = previous.getContacts(localOfficeName, traineeType);
+        }
+
+        if (localOfficeContacts != null) {
+          contactsByTraineeType.put(traineeType, localOfficeContacts);
+        }
+      }
+      contacts.put(localOfficeName, Collections.unmodifiableMap(contactsByTraineeType));
+    }
+
+    Version next = new Version(previous.version() + 1, Map.copyOf(contacts));
+    current.set(next);
+    log.info("Loaded local office contact directory version {} with {} local offices, {} failed "
+        + "lookups.", next.version(), contacts.size(), failures);
+
+    try {
+      versions.put(VERSION_KEY, next);
+    } catch (RuntimeException e) {
+      log.warn("Unable to publish local office contact directory version {}.", next.version(), e);
+    }
+  }
+
+  /**
+   * Retrieve and index the contacts for a local office. Where a contact type is repeated the first
+   * contact is used.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type used to select the contact 'subtype'.
+   * @return The unmodifiable contacts by contact type.
+   * @throws RestClientException if the contacts could not be retrieved.
+   */
+  private Map<LocalOfficeContactType, String> retrieveContacts(String localOfficeName,
+      TraineeType traineeType) {
+    List<Map<String, String>> contactList = restTemplate.getForObject(
+        referenceUrl + API_GET_OWNER_CONTACT, List.class,
+        Map.of(OWNER_FIELD, localOfficeName, TRAINEE_TYPE_FIELD, traineeType));
+
+    Map<LocalOfficeContactType, String> contacts = new EnumMap<>(LocalOfficeContactType.class);
+
+    if (contactList != null) {
+      for (Map<String, String> contact : contactList) {
+        LocalOfficeContactType contactType = getContactType(contact.get(CONTACT_TYPE_FIELD));
+        String contactValue = contact.get(CONTACT_FIELD);
+
+        if (contactType != null && contactValue != null) {
+          contacts.putIfAbsent(contactType, contactValue);
+        }
+      }
+    }
+
+    return Collections.unmodifiableMap(contacts);
+  }
+
+  /**
+   * Get the contact type with the given name.
+   *
+   * @param contactTypeName The case-insensitive contact type name.
+   * @return The matching contact type, or null if there is no match.
+   */
+  private static LocalOfficeContactType getContactType(String contactTypeName) {
+    for (LocalOfficeContactType contactType : LocalOfficeContactType.values()) {
+      if (contactType.getContactTypeName().equalsIgnoreCase(contactTypeName)) {
+        return contactType;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * An immutable version of the directory.
+   *
+   * @param version  The version of the directory.
+   * @param contacts The contacts by local office name, trainee type and contact type.
+   */
+  record Version(long version,
+                 Map<String, Map<TraineeType, Map<LocalOfficeContactType, String>>> contacts)
+      implements Serializable {
+
+    static final Version EMPTY = new Version(0, Map.of());
+
+    /**
+     * Get the contacts for a local office.
+     *
+     * @param localOfficeName The local office name.
+     * @param traineeType     The trainee type used to select the contact 'subtype'.
+     * @return The contacts by contact type, or null if the local office is not in the directory.
+     */
+    Map<LocalOfficeContactType, String> getContacts(String localOfficeName,
+        TraineeType traineeType) {
+      Map<TraineeType, Map<LocalOfficeContactType, String>> contactsByTraineeType
+          = contacts.get(localOfficeName);
+      return contactsByTraineeType == null ? null : contactsByTraineeType.get(traineeType);
+    }
+  }
+}
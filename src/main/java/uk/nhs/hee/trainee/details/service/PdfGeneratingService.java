@@ -21,21 +21,40 @@
 
 package uk.nhs.hee.trainee.details.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder.CacheStore;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import com.openhtmltopdf.slf4j.Slf4jLogger;
 import com.openhtmltopdf.svgsupport.BatikSVGDrawer;
 import com.openhtmltopdf.util.XRLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.helper.W3CDom;
 import org.jsoup.nodes.Document;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.TemplateSpec;
@@ -43,30 +62,87 @@ import org.thymeleaf.context.Context;
 
 /**
  * A service handling PDF generation.
+ *
+ * <p>The raw bytes of stylesheets, images and fonts, and the parsed font metrics, are shared
+ * between renders. Parsed stylesheets and SVG documents are rebuilt by each render, as the renderer
+ * keeps them in per-render state with no supported way to share them.
  */
 @Slf4j
 @Service
 public class PdfGeneratingService {
 
+  static final String RENDER_TIMER = "pdf.render";
+
+  private static final String BASE_URI = PdfResourceCache.CLASSPATH_PROTOCOL + ":/";
+
+  /**
+   * A document using the shared static resources, rendering it loads the resources and renderer
+   * classes before the first real request.
+   */
+  private static final String WARM_UP_HTML = "<html><head>"
+      + "<link rel=\"stylesheet\" href=\"/static/css/print.css\">"
+      + "</head><body>"
+      + "<img src=\"/static/nhs-england_logo_blue_right.svg\" alt=\"\">"
+      + "</body></html>";
+
   private final TemplateEngine templateEngine;
+  private final CachingDelegate cachingDelegate;
+  private final ObjectWriter cacheKeyWriter;
+  private final MeterRegistry meterRegistry;
   private final ZoneId timezone;
+  private final PdfResourceCache resourceCache;
+  private final FSCacheEx<String, FSCacheValue> fontMetricsCache;
+  private final Semaphore renderPermits;
 
   /**
    * A service handling PDF generation.
    *
-   * @param templateEngine The template engine to use for creating an HTML version of the letters.
-   * @param timezone       The timezone.
+   * @param templateEngine       The template engine to use for creating an HTML version of the
+   *                             letters.
+   * @param cachingDelegate      The caching delegate to store generated PDFs with.
+   * @param mapper               The object mapper to derive the PDF cache keys with.
+   * @param meterRegistry        The registry to record render times with.
+   * @param timezone             The timezone.
+   * @param maxConcurrentRenders The maximum number of PDFs to generate at the same time.
+   * @param resourceCacheBytes   The maximum total size of cached PDF resources, in bytes.
    */
-  public PdfGeneratingService(TemplateEngine templateEngine,
-                              @Value("${application.timezone}") ZoneId timezone) {
+  public PdfGeneratingService(TemplateEngine templateEngine, CachingDelegate cachingDelegate,
+                              ObjectMapper mapper, MeterRegistry meterRegistry,
+                              @Value("${application.timezone}") ZoneId timezone,
+                              @Value("${application.pdf.max-concurrent-renders}")
+                              int maxConcurrentRenders,
+                              @Value("${application.pdf.resource-cache-bytes}")
+                              long resourceCacheBytes) {
     this.templateEngine = templateEngine;
+    this.cachingDelegate = cachingDelegate;
+    this.cacheKeyWriter = mapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    this.meterRegistry = meterRegistry;
     this.timezone = timezone;
+    this.resourceCache = new PdfResourceCache(resourceCacheBytes);
+    this.fontMetricsCache = new FSDefaultCacheStore();
+    this.renderPermits = new Semaphore(maxConcurrentRenders, true);
 
     XRLog.setLoggerImpl(new Slf4jLogger());
   }
 
   /**
-   * Generated a PDF with the template.
+   * Render a document using the shared resources, so that the first real render does not pay the
+   * cost of loading them.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    log.info("Warming up the PDF renderer.");
+
+    try {
+      renderHtml(WARM_UP_HTML, OutputStream.nullOutputStream());
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to warm up the PDF renderer.", e);
+    }
+  }
+
+  /**
+   * Generated a PDF with the template, a previously generated PDF is returned if the template and
+   * variables are unchanged.
    *
    * @param templateSpec      The template spec to use.
    * @param templateVariables The variables to insert in to the template.
@@ -75,22 +151,183 @@ public class PdfGeneratingService {
    */
   public byte[] generatePdf(TemplateSpec templateSpec, Map<String, Object> templateVariables)
       throws IOException {
-    log.info("Generating a PDF using template '{}'.", templateSpec.getTemplate());
+    Map<String, Object> enhancedVariables = enhanceVariables(templateVariables);
+    String cacheKey = getCacheKey(templateSpec, enhancedVariables);
+
+    Optional<byte[]> cachedPdf = getCachedPdf(templateSpec, cacheKey);
+    if (cachedPdf.isPresent()) {
+      return cachedPdf.get();
+    }
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    render(templateSpec, enhancedVariables, os);
+    byte[] pdf = os.toByteArray();
+
+    if (cacheKey != null) {
+      cachingDelegate.cachePdf(cacheKey, pdf);
+    }
+
+    return pdf;
+  }
+
+  /**
+   * Generate a PDF with the template, writing it straight to the given stream rather than holding
+   * the generated PDF in memory. The PDF is not cached, the cache is only filled by
+   * {@link #generatePdf(TemplateSpec, Map)}, so use {@link #getCachedPdf(TemplateSpec, Map)}
+   * first to serve a previously generated PDF.
+   *
+   * <p>Nothing is written to the stream until the whole document has been laid out, so a template
+   * or render error is thrown before the first byte is written. The render permit is held until
+   * the PDF has been written, so a slow reader of the stream counts against the concurrent render
+   * limit for as long as the write takes.
+   *
+   * @param templateSpec      The template spec to use.
+   * @param templateVariables The variables to insert in to the template.
+   * @param os                The stream to write the PDF to.
+   * @throws IOException If the renderer could not build a valid PDF, or it could not be written.
+   */
+  public void generatePdf(TemplateSpec templateSpec, Map<String, Object> templateVariables,
+      OutputStream os) throws IOException {
+    render(templateSpec, enhanceVariables(templateVariables), os);
+  }
 
+  /**
+   * Get a previously generated PDF for the template, if the template and variables are unchanged.
+   *
+   * @param templateSpec      The template spec to use.
+   * @param templateVariables The variables to insert in to the template.
+   * @return The cached PDF, or an empty optional if not found.
+   */
+  public Optional<byte[]> getCachedPdf(TemplateSpec templateSpec,
+      Map<String, Object> templateVariables) {
+    String cacheKey = getCacheKey(templateSpec, enhanceVariables(templateVariables));
+    return getCachedPdf(templateSpec, cacheKey);
+  }
+
+  /**
+   * Add the common variables to the given template variables.
+   *
+   * @param templateVariables The variables to insert in to the template.
+   * @return The template variables with the common variables added.
+   */
+  private Map<String, Object> enhanceVariables(Map<String, Object> templateVariables) {
     Map<String, Object> enhancedVariables = new HashMap<>(templateVariables);
     enhancedVariables.put("timezone", timezone.getId());
+    return enhancedVariables;
+  }
 
-    String body = templateEngine.process(templateSpec,
-        new Context(Locale.ENGLISH, enhancedVariables));
-    Document parsedBody = Jsoup.parse(body);
+  /**
+   * Get a previously generated PDF with the given cache key.
+   *
+   * @param templateSpec The template spec used, for logging.
+   * @param cacheKey     The cache key, may be null if no key could be built.
+   * @return The cached PDF, or an empty optional if not found.
+   */
+  private Optional<byte[]> getCachedPdf(TemplateSpec templateSpec, String cacheKey) {
+    if (cacheKey == null) {
+      return Optional.empty();
+    }
+
+    Optional<byte[]> cachedPdf = cachingDelegate.getPdf(cacheKey);
+
+    if (cachedPdf.isPresent()) {
+      log.info("Using cached PDF for template '{}'.", templateSpec.getTemplate());
+    }
+
+    return cachedPdf;
+  }
+
+  /**
+   * Render the template as a PDF, waiting for a render permit if the maximum number of concurrent
+   * renders has been reached. The render time, excluding any wait, is recorded per template and
+   * template version.
+   *
+   * @param templateSpec      The template spec to use.
+   * @param templateVariables The enhanced variables to insert in to the template.
+   * @param os                The stream to write the PDF to.
+   * @throws IOException If the renderer could not build a valid PDF, or it could not be written.
+   */
+  private void render(TemplateSpec templateSpec, Map<String, Object> templateVariables,
+      OutputStream os) throws IOException {
+    log.info("Generating a PDF using template '{}'.", templateSpec.getTemplate());
+
+    try {
+      renderPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to generate a PDF.");
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+
+    try {
+      String body = templateEngine.process(templateSpec,
+          new Context(Locale.ENGLISH, templateVariables));
+      renderHtml(body, os);
+    } finally {
+      sample.stop(Timer.builder(RENDER_TIMER)
+          .description("The time taken to generate a PDF from a template.")
+          .tag("template", templateSpec.getTemplate())
+          .tag("version", getVersion(templateSpec))
+          .register(meterRegistry));
+      renderPermits.release();
+    }
+  }
+
+  /**
+   * Get the cache key for a PDF, derived from everything that affects its content. The current
+   * date is included as templates may display it.
+   *
+   * @param templateSpec      The template spec to use.
+   * @param templateVariables The variables to insert in to the template.
+   * @return The cache key, or null if the key could not be built.
+   */
+  private String getCacheKey(TemplateSpec templateSpec, Map<String, Object> templateVariables) {
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put("template", templateSpec.getTemplate());
+    content.put("date", LocalDate.now(timezone).toString());
+    content.put("variables", templateVariables);
+
+    try {
+      byte[] contentBytes = cacheKeyWriter.writeValueAsBytes(content);
+      return templateSpec.getTemplate() + ":" + DigestUtils.sha256Hex(contentBytes);
+    } catch (JsonProcessingException e) {
+      log.warn("Unable to build a cache key for template '{}', the PDF will not be cached.",
+          templateSpec.getTemplate(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Get the template version from the template spec's resolution attributes.
+   *
+   * @param templateSpec The template spec to get the version of.
+   * @return The template version, or "unknown" if the template spec is not versioned.
+   */
+  private static String getVersion(TemplateSpec templateSpec) {
+    Map<String, Object> attributes = templateSpec.getTemplateResolutionAttributes();
+    Object version =
+        attributes == null ? null : attributes.get(TemplateRegistry.VERSION_ATTRIBUTE);
+    return version == null ? "unknown" : version.toString();
+  }
+
+  /**
+   * Render the given HTML as a PDF, reusing the cached resources and font metrics. The builder and
+   * SVG drawer hold per-render state, so are created for each render.
+   *
+   * @param html The HTML to render.
+   * @param os   The stream to write the PDF to.
+   * @throws IOException If the renderer could not build a valid PDF.
+   */
+  private void renderHtml(String html, OutputStream os) throws IOException {
+    Document parsedBody = Jsoup.parse(html);
 
-    ByteArrayOutputStream os = new ByteArrayOutputStream();
     new PdfRendererBuilder()
         .toStream(os)
         .useSVGDrawer(new BatikSVGDrawer())
-        .withW3cDocument(W3CDom.convert(parsedBody), "classpath:/")
+        .useProtocolsStreamImplementation(resourceCache, PdfResourceCache.PROTOCOLS)
+        .useCacheStore(CacheStore.PDF_FONT_METRICS, fontMetricsCache)
+        .withW3cDocument(W3CDom.convert(parsedBody), BASE_URI)
         .run();
-
-    return os.toByteArray();
   }
 }
@@ -0,0 +1,396 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.PDF_JOB_CACHE;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.PM_CONFIRM_WEEKS;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import uk.nhs.hee.trainee.details.dto.PdfJobDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.PdfJobStatus;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+/**
+ * A service for generating programme confirmation PDFs asynchronously, away from the request
+ * thread.
+ *
+ * <p>Generated PDFs are stored in the PDF cache, a job only tracks the progress of generation so
+ * the finished PDF can be collected by polling. Jobs are stored in the shared PDF job cache, so a
+ * job can be polled from any instance, and expire a fixed time after their last update.
+ */
+@Slf4j
+@Service
+public class PdfJobService {
+
+  private static final String TRAINEE_TIS_ID_FIELD = "traineeTisId";
+  private static final String PM_TIS_ID_FIELD = "programmeMemberships.tisId";
+  private static final String PM_START_DATE_FIELD = "programmeMemberships.startDate";
+  private static final String PRE_GENERATION_LOCK_PREFIX = "Details::pdf-pre-generation::";
+  private static final Duration PRE_GENERATION_LOCK_TTL = Duration.ofDays(1);
+
+  private final ProgrammeMembershipService programmeMembershipService;
+  private final PdfGeneratingService pdfService;
+  private final MongoTemplate mongoTemplate;
+  private final Executor executor;
+  private final StringRedisTemplate redisTemplate;
+  private final ZoneId timezone;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Cache jobs;
+
+  /**
+   * Create a PDF job service, jobs are run on a bounded pool.
+   *
+   * @param programmeMembershipService The service to get the programme membership PDFs from.
+   * @param pdfService                 The service to generate PDFs with.
+   * @param mongoTemplate              The Mongo template to find pre-generation candidates with.
+   * @param redisTemplate              The Redis template to lock pre-generation runs with.
+   * @param cacheManager               The cache manager to get the PDF job cache from.
+   * @param threads                    The number of job threads.
+   * @param queueCapacity              The maximum number of jobs waiting for a thread.
+   * @param timezone                   The timezone to use for the pre-generation date.
+   */
+  @Autowired
+  PdfJobService(ProgrammeMembershipService programmeMembershipService,
+      PdfGeneratingService pdfService, MongoTemplate mongoTemplate,
+      StringRedisTemplate redisTemplate, CacheManager cacheManager,
+      @Value("${application.pdf.jobs.threads}") int threads,
+      @Value("${application.pdf.jobs.queue-capacity}") int queueCapacity,
+      @Value("${application.timezone}") ZoneId timezone) {
+    this(programmeMembershipService, pdfService, mongoTemplate,
+        new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("pdf-job-")),
+        redisTemplate, cacheManager.getCache(PDF_JOB_CACHE), timezone);
+  }
+
+  /**
+   * Create a PDF job service with the given executor.
+   *
+   * @param programmeMembershipService The service to get the programme membership PDFs from.
+   * @param pdfService                 The service to generate PDFs with.
+   * @param mongoTemplate              The Mongo template to find pre-generation candidates with.
+   * @param executor                   The executor to run the jobs on.
+   * @param redisTemplate              The Redis template to lock pre-generation runs with.
+   * @param jobs                       The cache to store the PDF jobs in.
+   * @param timezone                   The timezone to use for the pre-generation date.
+   */
+  PdfJobService(ProgrammeMembershipService programmeMembershipService,
+      PdfGeneratingService pdfService, MongoTemplate mongoTemplate, Executor executor,
+      StringRedisTemplate redisTemplate, Cache jobs, ZoneId timezone) {
+    this.programmeMembershipService = programmeMembershipService;
+    this.pdfService = pdfService;
+    this.mongoTemplate = mongoTemplate;
+    this.executor = executor;
+    this.redisTemplate = redisTemplate;
+    this.timezone = timezone;
+    this.jobs = jobs;
+  }
+
+  /**
+   * Stop the job executor, if owned by this service.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Submit a job to generate the programme confirmation PDF of a programme membership.
+   *
+   * @param traineeTisId          The ID of the trainee.
+   * @param programmeMembershipId The ID of the programme membership for generating PDF.
+   * @return The submitted job, which is already complete if the PDF was previously generated.
+   * @throws IllegalArgumentException   If the programme membership cannot be confirmed.
+   * @throws RejectedExecutionException If the job queue is full.
+   */
+  public PdfJobDto submitProgrammeMembershipPdf(String traineeTisId,
+      String programmeMembershipId) {
+    PdfTemplate pdfTemplate = programmeMembershipService.getProgrammeMembershipPdfTemplate(
+        traineeTisId, programmeMembershipId);
+    PdfJob job = new PdfJob(UUID.randomUUID().toString(), traineeTisId, programmeMembershipId,
+        PdfJobStatus.PENDING);
+
+    if (pdfService.getCachedPdf(pdfTemplate.templateSpec(), pdfTemplate.variables())
+        .isPresent()) {
+      job = job.withStatus(PdfJobStatus.COMPLETE);
+      jobs.put(job.id(), job);
+    } else {
+      start(job, pdfTemplate);
+    }
+
+    log.info("Submitted PDF job '{}' for programme membership '{}'.", job.id(),
+        programmeMembershipId);
+    return job.toDto();
+  }
+
+  /**
+   * Get a PDF job.
+   *
+   * @param traineeTisId The ID of the trainee who submitted the job.
+   * @param jobId        The ID of the job.
+   * @return The job, or an empty optional if not found for the trainee.
+   */
+  public Optional<PdfJobDto> getJob(String traineeTisId, String jobId) {
+    return findJob(traineeTisId, jobId).map(PdfJob::toDto);
+  }
+
+  /**
+   * Get the PDF generated by a completed PDF job. If the generated PDF is no longer cached then
+   * the job is resubmitted, rather than generating the PDF on the calling thread.
+   *
+   * @param traineeTisId The ID of the trainee who submitted the job.
+   * @param jobId        The ID of the job.
+   * @return The generated PDF, or an empty optional if the job was not found, is not complete or
+   *     was resubmitted.
+   * @throws IllegalArgumentException   If the programme membership can no longer be confirmed.
+   * @throws RejectedExecutionException If the PDF must be generated again and the job queue is
+   *                                    full.
+   */
+  public Optional<byte[]> getPdf(String traineeTisId, String jobId) {
+    Optional<PdfJob> optionalJob = findJob(traineeTisId, jobId)
+        .filter(job -> job.status() == PdfJobStatus.COMPLETE);
+
+    if (optionalJob.isEmpty()) {
+      return Optional.empty();
+    }
+
+    PdfJob job = optionalJob.get();
+    PdfTemplate pdfTemplate = programmeMembershipService.getProgrammeMembershipPdfTemplate(
+        job.traineeTisId(), job.programmeMembershipId());
+    Optional<byte[]> pdf = pdfService.getCachedPdf(pdfTemplate.templateSpec(),
+        pdfTemplate.variables());
+
+    if (pdf.isEmpty()) {
+      log.info("The PDF for job '{}' is no longer cached, resubmitting the job.", job.id());
+
+      try {
+        start(job.withStatus(PdfJobStatus.PENDING), pdfTemplate);
+      } catch (RejectedExecutionException e) {
+        jobs.put(job.id(), job);
+        throw e;
+      }
+    }
+
+    return pdf;
+  }
+
+  /**
+   * Generate the programme confirmation PDFs of programme memberships which have entered the
+   * confirmation window today, ahead of the trainees requesting them.
+   *
+   * <p>Every instance is scheduled, but only the instance which takes the day's lock in Redis runs
+   * the pre-generation. The lock is left to expire rather than released, so an instance scheduled
+   * slightly later does not repeat the day's run.
+   *
+   * <p>The run stops once the job queue is full rather than generating on the scheduler thread, so
+   * the remaining PDFs are generated when requested.
+   */
+  @Scheduled(cron = "${application.pdf.pre-generation.cron}",
+      zone = "${application.timezone}")
+  public void preGenerateProgrammeMembershipPdfs() {
+    LocalDate startDate = LocalDate.now(timezone).plusWeeks(PM_CONFIRM_WEEKS);
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(
+        PRE_GENERATION_LOCK_PREFIX + startDate, instanceId, PRE_GENERATION_LOCK_TTL);
+
+    if (!Boolean.TRUE.equals(locked)) {
+      log.info("Programme confirmation PDFs for memberships starting on {} are pre-generated by "
+          + "another instance.", startDate);
+      return;
+    }
+
+    log.info("Pre-generating programme confirmation PDFs for memberships starting on {}.",
+        startDate);
+
+    Query query = Query.query(Criteria.where(PM_START_DATE_FIELD)
+        .gte(startDate)
+        .lt(startDate.plusDays(1)));
+    query.fields().include(TRAINEE_TIS_ID_FIELD, PM_TIS_ID_FIELD, PM_START_DATE_FIELD);
+    List<TraineeProfile> traineeProfiles = mongoTemplate.find(query, TraineeProfile.class);
+
+    int generated = 0;
+
+    try {
+      for (TraineeProfile traineeProfile : traineeProfiles) {
+        for (ProgrammeMembership programmeMembership : traineeProfile.getProgrammeMemberships()) {
+          if (startDate.equals(programmeMembership.getStartDate())
+              && preGenerate(traineeProfile.getTraineeTisId(), programmeMembership.getTisId())) {
+            generated++;
+          }
+        }
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("The PDF job queue is full, stopped pre-generating after {} programme confirmation "
+          + "PDFs.", generated);
+      return;
+    }
+
+    log.info("Pre-generated {} programme confirmation PDFs.", generated);
+  }
+
+  /**
+   * Generate the programme confirmation PDF of a programme membership, if not already cached.
+   *
+   * @param traineeTisId          The ID of the trainee.
+   * @param programmeMembershipId The ID of the programme membership for generating PDF.
+   * @return Whether the PDF generation was started.
+   * @throws RejectedExecutionException If the job queue is full.
+   */
+  private boolean preGenerate(String traineeTisId, String programmeMembershipId) {
+    try {
+      PdfTemplate pdfTemplate = programmeMembershipService.getProgrammeMembershipPdfTemplate(
+          traineeTisId, programmeMembershipId);
+
+      if (pdfService.getCachedPdf(pdfTemplate.templateSpec(), pdfTemplate.variables())
+          .isPresent()) {
+        return false;
+      }
+
+      executor.execute(() -> generate(pdfTemplate));
+      return true;
+    } catch (RejectedExecutionException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      log.warn("Unable to pre-generate the PDF for programme membership '{}'.",
+          programmeMembershipId, e);
+      return false;
+    }
+  }
+
+  /**
+   * Store a pending job and queue the generation of its PDF.
+   *
+   * @param job         The pending job.
+   * @param pdfTemplate The template of the PDF to generate.
+   * @throws RejectedExecutionException If the job queue is full, the job is not stored.
+   */
+  private void start(PdfJob job, PdfTemplate pdfTemplate) {
+    // The job is stored first so that the completed job can not be overwritten by the pending job.
+    jobs.put(job.id(), job);
+
+    try {
+      executor.execute(() -> run(job, pdfTemplate));
+    } catch (RejectedExecutionException e) {
+      jobs.evict(job.id());
+      throw e;
+    }
+  }
+
+  /**
+   * Find a PDF job belonging to the given trainee.
+   *
+   * @param traineeTisId The ID of the trainee who submitted the job.
+   * @param jobId        The ID of the job.
+   * @return The job, or an empty optional if not found for the trainee.
+   */
+  private Optional<PdfJob> findJob(String traineeTisId, String jobId) {
+    return Optional.ofNullable(jobs.get(jobId, PdfJob.class))
+        .filter(job -> job.traineeTisId().equals(traineeTisId));
+  }
+
+  /**
+   * Run a PDF job, the job is stored with the outcome of the PDF generation.
+   *
+   * @param job         The job to run.
+   * @param pdfTemplate The template of the PDF to generate.
+   */
+  private void run(PdfJob job, PdfTemplate pdfTemplate) {
+    PdfJobStatus status = generate(pdfTemplate) ? PdfJobStatus.COMPLETE : PdfJobStatus.FAILED;
+    jobs.put(job.id(), job.withStatus(status));
+  }
+
+  /**
+   * Generate a PDF, the generated PDF is stored in the PDF cache.
+   *
+   * @param pdfTemplate The template of the PDF to generate.
+   * @return Whether the PDF was generated.
+   */
+  private boolean generate(PdfTemplate pdfTemplate) {
+    try {
+      pdfService.generatePdf(pdfTemplate.templateSpec(), pdfTemplate.variables());
+      return true;
+    } catch (IOException | RuntimeException e) {
+      log.error("Unable to generate the PDF for template '{}'.",
+          pdfTemplate.templateSpec().getTemplate(), e);
+      return false;
+    }
+  }
+
+  /**
+   * A PDF generation job, the template is not stored so that a job can be read on any instance.
+   *
+   * @param id                    The ID of the job.
+   * @param traineeTisId          The ID of the trainee who submitted the job.
+   * @param programmeMembershipId The ID of the programme membership to generate the PDF of.
+   * @param status                The status of the job.
+   */
+  record PdfJob(String id, String traineeTisId, String programmeMembershipId,
+                PdfJobStatus status) implements Serializable {
+
+    /**
+     * Get a copy of the job with a different status.
+     *
+     * @param status The new status.
+     * @return The updated job.
+     */
+    PdfJob withStatus(PdfJobStatus status) {
+      return new PdfJob(id, traineeTisId, programmeMembershipId, status);
+    }
+
+    /**
+     * Get a DTO representation of the job.
+     *
+     * @return The job DTO.
+     */
+    PdfJobDto toDto() {
+      return new PdfJobDto(id, status);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.openhtmltopdf.extend.FSStream;
+import com.openhtmltopdf.extend.FSStreamFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A stream factory for PDF rendering which keeps the bytes of loaded resources (stylesheets,
+ * images and fonts) in memory, so they are only read from the classpath or network once rather
+ * than on every render.
+ *
+ * <p>Resources which fail to load are not cached, so they will be retried on the next render.
+ */
+@Slf4j
+class PdfResourceCache implements FSStreamFactory {
+
+  static final String CLASSPATH_PROTOCOL = "classpath";
+  static final String[] PROTOCOLS = {CLASSPATH_PROTOCOL, "http", "https"};
+
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration READ_TIMEOUT = Duration.ofSeconds(10);
+
+  private final Cache<String, byte[]> cache;
+
+  /**
+   * Create a PDF resource cache.
+   *
+   * @param maximumBytes The maximum total size of the cached resources, in bytes.
+   */
+  PdfResourceCache(long maximumBytes) {
+    cache = Caffeine.newBuilder()
+        .maximumWeight(maximumBytes)
+        .<String, byte[]>weigher((url, bytes) -> bytes.length)
+        .build();
+  }
+
+  @Override
+  public FSStream getUrl(String url) {
+    byte[] bytes;
+
+    try {
+      bytes = cache.get(url, this::load);
+    } catch (UncheckedIOException e) {
+      log.warn("Unable to load PDF resource '{}'.", url, e);
+      bytes = null;
+    }
+
+    return new CachedStream(bytes);
+  }
+
+  /**
+   * Load the resource with the given URL.
+   *
+   * @param url The URL of the resource.
+   * @return The resource content, or null if the resource does not exist.
+   */
+  private byte[] load(String url) {
+    log.debug("Loading PDF resource '{}'.", url);
+    URI uri = URI.create(url);
+
+    try (InputStream is = open(uri)) {
+      return is == null ? null : is.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Open a stream for the given resource.
+   *
+   * @param uri The URI of the resource.
+   * @return The opened stream, or null if the resource does not exist.
+   * @throws IOException If the resource could not be opened.
+   */
+  private InputStream open(URI uri) throws IOException {
+    if (CLASSPATH_PROTOCOL.equals(uri.getScheme())) {
+      String path = uri.getSchemeSpecificPart().replaceFirst("^/+", "");
+      return PdfResourceCache.class.getClassLoader().getResourceAsStream(path);
+    }
+
+    URLConnection connection = uri.toURL().openConnection();
+    connection.setConnectTimeout((int) CONNECT_TIMEOUT.toMillis());
+    connection.setReadTimeout((int) READ_TIMEOUT.toMillis());
+    return connection.getInputStream();
+  }
+
+  /**
+   * A stream over cached resource content.
+   *
+   * @param bytes The resource content, or null if the resource could not be loaded.
+   */
+  private record CachedStream(byte[] bytes) implements FSStream {
+
+    @Override
+    public InputStream getStream() {
+      return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public Reader getReader() {
+      return bytes == null ? null
+          : new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+    }
+  }
+}
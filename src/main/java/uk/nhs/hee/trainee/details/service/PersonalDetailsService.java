@@ -22,15 +22,32 @@
 package uk.nhs.hee.trainee.details.service;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import uk.nhs.hee.trainee.details.dto.ContactDetailsUpdateDto;
 import uk.nhs.hee.trainee.details.dto.GmcDetailsDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.mapper.TraineeProfileMapper;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
 import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
 import uk.nhs.hee.trainee.details.model.TraineeProfile;
 import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
@@ -40,15 +57,23 @@ import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
 @XRayEnabled
 public class PersonalDetailsService {
 
+  private static final String ID_FIELD = "_id";
+  private static final String VERSION_FIELD = "version";
+
   private final TraineeProfileRepository repository;
   private final TraineeProfileMapper mapper;
   private final EventPublishService eventService;
+  private final MongoTemplate mongoTemplate;
+  private final TraineeProfileCache profileCache;
 
   PersonalDetailsService(TraineeProfileRepository repository, TraineeProfileMapper mapper,
-      EventPublishService eventService) {
+      EventPublishService eventService, MongoTemplate mongoTemplate,
+      TraineeProfileCache profileCache) {
     this.repository = repository;
     this.mapper = mapper;
     this.eventService = eventService;
+    this.mongoTemplate = mongoTemplate;
+    this.profileCache = profileCache;
   }
 
   /**
@@ -78,18 +103,6 @@ public class PersonalDetailsService {
     }
   }
 
-  /**
-   * Update the GDC details for the trainee with the given TIS ID.
-   *
-   * @param tisId           The TIS id of the trainee.
-   * @param personalDetails The personal details to add to the trainee.
-   * @return The updated personal details or empty if a trainee with the ID was not found.
-   */
-  public PersonalDetailsUpdated updateGdcDetailsByTisId(String tisId,
-      PersonalDetails personalDetails) {
-    return updatePersonalDetailsByTisId(tisId, personalDetails, mapper::updateGdcDetails);
-  }
-
   /**
    * Update the GMC details of a trainee using the details.
    *
@@ -138,76 +151,180 @@ public class PersonalDetailsService {
   }
 
   /**
-   * Update the person owner for the trainee with the given TIS ID.
+   * Update the Personal Details entity for the given TIS ID.
    *
    * @param tisId           The TIS id of the trainee.
    * @param personalDetails The personal details to add to the trainee.
+   * @param updateFunction  The function to use to update the personal details.
    * @return The updated personal details or empty if a trainee with the ID was not found.
    */
-  public PersonalDetailsUpdated updatePersonOwnerByTisId(String tisId,
-      PersonalDetails personalDetails) {
-    BiConsumer<TraineeProfile, PersonalDetails> updateFunction;
-
-    if (personalDetails.getPersonOwner() == null) {
-      log.info("Person owner null for profile ID '{}', retaining existing owner.", tisId);
-      updateFunction = (profile, details) -> {
-      };
-    } else {
-      updateFunction = mapper::updatePersonOwner;
+  private PersonalDetailsUpdated updatePersonalDetailsByTisId(String tisId,
+      PersonalDetails personalDetails, BiConsumer<TraineeProfile, PersonalDetails> updateFunction) {
+    TraineeProfile traineeProfile = repository.findByTraineeTisId(tisId);
+    if (traineeProfile == null) {
+      return new PersonalDetailsUpdated(false, Optional.empty());
     }
 
-    return updatePersonalDetailsByTisId(tisId, personalDetails, updateFunction);
+    TraineeProfile originalDto = mapper.cloneTraineeProfile(traineeProfile);
+    updateFunction.accept(traineeProfile, personalDetails);
+
+    if (traineeProfile.equals(originalDto)) {
+      log.info("No new changes in traineeProfile for {}, ignore update.", tisId);
+      return new PersonalDetailsUpdated(false,
+          Optional.of(originalDto.getPersonalDetails()));
+    }
+    return new PersonalDetailsUpdated(true,
+        Optional.of(repository.save(traineeProfile).getPersonalDetails()));
   }
 
   /**
-   * Update the contact details for the trainee with the given TIS ID.
+   * Apply the given personal details changes to their trainees' profiles, loading the profiles
+   * with a single query and writing them with a single unordered bulk write.
    *
-   * @param tisId           The TIS id of the trainee.
-   * @param personalDetails The personal details to add to the trainee.
-   * @return The updated personal details or empty if a trainee with the ID was not found.
+   * <p>Changes are grouped by trainee and applied in the given order, so each profile is written
+   * at most once. A missing profile is created when its changes include basic details. Each
+   * profile is only replaced if its version is unchanged since it was loaded, if any profile was
+   * modified concurrently then every replaced trainee is reported as failed so that their changes
+   * can be retried.
+   *
+   * @param changes The personal details changes to apply.
+   * @return The status of each trainee's changes, keyed by trainee TIS ID.
    */
-  public PersonalDetailsUpdated updateContactDetailsByTisId(String tisId,
-      PersonalDetails personalDetails) {
-    return updatePersonalDetailsByTisId(tisId, personalDetails, mapper::updateContactDetails);
+  public Map<String, BulkSyncStatus> updatePersonalDetailsForTrainees(
+      List<PersonalDetailsChange> changes) {
+    if (changes.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, List<PersonalDetailsChange>> changesByTrainee = changes.stream()
+        .collect(Collectors.groupingBy(PersonalDetailsChange::tisId, LinkedHashMap::new,
+            Collectors.toList()));
+    Map<String, TraineeProfile> profiles = repository.findByTraineeTisIdIn(
+            changesByTrainee.keySet()).stream()
+        .collect(Collectors.toMap(TraineeProfile::getTraineeTisId, profile -> profile));
+
+    Map<String, BulkSyncStatus> statuses = new HashMap<>();
+    List<TraineeProfile> createdProfiles = new ArrayList<>();
+    Set<String> replacedIds = new HashSet<>();
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class);
+    List<TraineeProfile> operationProfiles = new ArrayList<>();
+
+    changesByTrainee.forEach((tisId, traineeChanges) -> {
+      TraineeProfile profile = profiles.get(tisId);
+
+      if (profile == null) {
+        if (traineeChanges.stream().noneMatch(c -> c.type() == Type.BASIC_DETAILS)) {
+          statuses.put(tisId, BulkSyncStatus.NOT_FOUND);
+          return;
+        }
+
+        profile = new TraineeProfile();
+        profile.setTraineeTisId(tisId);
+        applyChanges(profile, traineeChanges);
+        profile.setVersion(0L);
+        bulkOps.insert(profile);
+        createdProfiles.add(profile);
+      } else {
+        TraineeProfile original = mapper.cloneTraineeProfile(profile);
+        applyChanges(profile, traineeChanges);
+
+        if (profile.equals(original)) {
+          log.info("No new changes in traineeProfile for {}, ignore update.", tisId);
+          statuses.put(tisId, BulkSyncStatus.UPDATED);
+          return;
+        }
+
+        Long version = profile.getVersion();
+        Query query = Query.query(Criteria.where(ID_FIELD).is(profile.getId())
+            .and(VERSION_FIELD).is(version));
+        profile.setVersion(version == null ? 0L : version + 1);
+        bulkOps.replaceOne(query, profile);
+        replacedIds.add(profile.getId());
+      }
+
+      operationProfiles.add(profile);
+      statuses.put(tisId, BulkSyncStatus.UPDATED);
+    });
+
+    if (!operationProfiles.isEmpty()) {
+      writeProfiles(bulkOps, operationProfiles, replacedIds, statuses);
+      profileCache.evictAll(operationProfiles.stream()
+          .map(TraineeProfile::getTraineeTisId)
+          .toList());
+
+      createdProfiles.stream()
+          .filter(profile -> statuses.get(profile.getTraineeTisId()) == BulkSyncStatus.UPDATED)
+          .forEach(eventService::publishProfileCreateEvent);
+    }
+
+    return statuses;
   }
 
   /**
-   * Update the personal info for the trainee with the given TIS ID.
+   * Apply a trainee's personal details changes to their profile, in order.
    *
-   * @param tisId           The TIS id of the trainee.
-   * @param personalDetails The personal details to add to the trainee.
-   * @return The updated personal details or empty if a trainee with the ID was not found.
+   * @param profile The profile to apply the changes to.
+   * @param changes The changes to apply.
    */
-  public PersonalDetailsUpdated updatePersonalInfoByTisId(String tisId,
-      PersonalDetails personalDetails) {
-    return updatePersonalDetailsByTisId(tisId, personalDetails, mapper::updatePersonalInfo);
+  private void applyChanges(TraineeProfile profile, List<PersonalDetailsChange> changes) {
+    for (PersonalDetailsChange change : changes) {
+      PersonalDetails personalDetails = change.personalDetails();
+
+      switch (change.type()) {
+        case BASIC_DETAILS -> mapper.updateBasicDetails(profile, personalDetails);
+        case CONTACT_DETAILS -> mapper.updateContactDetails(profile, personalDetails);
+        case GDC_DETAILS -> mapper.updateGdcDetails(profile, personalDetails);
+        case GMC_DETAILS -> mapper.updateGmcDetails(profile, personalDetails);
+        case PERSON_OWNER -> {
+          if (personalDetails.getPersonOwner() == null) {
+            log.info("Person owner null for profile ID '{}', retaining existing owner.",
+                change.tisId());
+          } else {
+            mapper.updatePersonOwner(profile, personalDetails);
+          }
+        }
+        case PERSONAL_INFO -> mapper.updatePersonalInfo(profile, personalDetails);
+        default -> throw new IllegalArgumentException("Unsupported change type " + change.type());
+      }
+    }
   }
 
   /**
-   * Update the Personal Details entity for the given TIS ID.
+   * Execute the bulk write of trainee profiles, marking any trainee whose write failed or whose
+   * profile was modified concurrently as failed.
    *
-   * @param tisId           The TIS id of the trainee.
-   * @param personalDetails The personal details to add to the trainee.
-   * @param updateFunction  The function to use to update the personal details.
-   * @return The updated personal details or empty if a trainee with the ID was not found.
+   * @param bulkOps     The bulk operations to execute.
+   * @param profiles    The profiles written, in operation order.
+   * @param replacedIds The IDs of the profiles replaced, rather than created.
+   * @param statuses    The status of each trainee, to be updated with failures.
    */
-  private PersonalDetailsUpdated updatePersonalDetailsByTisId(String tisId,
-      PersonalDetails personalDetails, BiConsumer<TraineeProfile, PersonalDetails> updateFunction) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(tisId);
-    if (traineeProfile == null) {
-      return new PersonalDetailsUpdated(false, Optional.empty());
-    }
+  private void writeProfiles(BulkOperations bulkOps, List<TraineeProfile> profiles,
+      Set<String> replacedIds, Map<String, BulkSyncStatus> statuses) {
+    int matched;
 
-    TraineeProfile originalDto = mapper.cloneTraineeProfile(traineeProfile);
-    updateFunction.accept(traineeProfile, personalDetails);
+    try {
+      matched = bulkOps.execute().getMatchedCount();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        TraineeProfile failed = profiles.get(error.getIndex());
+        log.error("Failed to update personal details of trainee with TIS ID {}: {}",
+            failed.getTraineeTisId(), error.getMessage());
+        statuses.put(failed.getTraineeTisId(), BulkSyncStatus.FAILED);
+        replacedIds.remove(failed.getId());
+      }
+      matched = e.getResult().getMatchedCount();
+    }
 
-    if (traineeProfile.equals(originalDto)) {
-      log.info("No new changes in traineeProfile for {}, ignore update.", tisId);
-      return new PersonalDetailsUpdated(false,
-          Optional.of(originalDto.getPersonalDetails()));
+    if (matched < replacedIds.size()) {
+      // The bulk result does not say which replacements missed, and a stored version cannot
+      // identify them either as any concurrent write also increments it, so all are retried.
+      // Retrying a replacement that did succeed finds no changes and is not written again.
+      log.warn("{} of {} trainee profiles were modified concurrently, retrying all.",
+          replacedIds.size() - matched, replacedIds.size());
+      profiles.stream()
+          .filter(profile -> replacedIds.contains(profile.getId()))
+          .forEach(profile -> statuses.put(profile.getTraineeTisId(), BulkSyncStatus.FAILED));
     }
-    return new PersonalDetailsUpdated(true,
-        Optional.of(repository.save(traineeProfile).getPersonalDetails()));
   }
 
   /**
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+
+/**
+ * Coalesces personal details changes submitted close together, so changes to the same trainee
+ * from different update queues are applied with a single read-modify-write.
+ *
+ * <p>The first submitter of a batch waits for the coalescing window to pass and then applies
+ * every change submitted in the meantime, other submitters wait for that batch to be applied.
+ */
+@Slf4j
+@Service
+public class PersonalDetailsUpdateCoalescer {
+
+  private final PersonalDetailsService service;
+  private final Duration window;
+
+  private final Object lock = new Object();
+  private PendingBatch pending;
+
+  /**
+   * Create a coalescer for personal details changes.
+   *
+   * @param service The service to apply the coalesced changes with.
+   * @param window  How long to wait for other changes before applying a batch.
+   */
+  PersonalDetailsUpdateCoalescer(PersonalDetailsService service,
+      @Value("${application.personal-details-update.coalescing-window}") Duration window) {
+    this.service = service;
+    this.window = window;
+  }
+
+  /**
+   * Apply the given personal details changes, along with any others submitted within the
+   * coalescing window.
+   *
+   * @param changes The personal details changes to apply.
+   * @return The status of each trainee's changes, keyed by trainee TIS ID.
+   */
+  public Map<String, BulkSyncStatus> updatePersonalDetailsForTrainees(
+      List<PersonalDetailsChange> changes) {
+    if (changes.isEmpty() || window.isNegative() || window.isZero()) {
+      return service.updatePersonalDetailsForTrainees(changes);
+    }
+
+    PendingBatch batch;
+    boolean first;
+
+    synchronized (lock) {
+      first = pending == null;
+
+      if (first) {
+        pending = new PendingBatch();
+      }
+
+      batch = pending;
+      batch.changes.addAll(changes);
+    }
+
+    if (first) {
+      awaitWindow();
+
+      synchronized (lock) {
+        pending = null;
+      }
+
+      apply(batch);
+    }
+
+    Map<String, BulkSyncStatus> statuses;
+
+    try {
+      statuses = batch.statuses.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+
+    return changes.stream()
+        .map(PersonalDetailsChange::tisId)
+        .distinct()
+        .filter(statuses::containsKey)
+        .collect(Collectors.toMap(tisId -> tisId, statuses::get));
+  }
+
+  /**
+   * Wait for the coalescing window to pass, an interrupted wait applies the batch early.
+   */
+  private void awaitWindow() {
+    try {
+      Thread.sleep(window.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while coalescing personal details changes, applying early.");
+    }
+  }
+
+  /**
+   * Apply a batch of coalesced changes and complete it with the result.
+   *
+   * @param batch The batch to apply.
+   */
+  private void apply(PendingBatch batch) {
+    log.info("Applying {} coalesced personal details change(s).", batch.changes.size());
+
+    try {
+      batch.statuses.complete(service.updatePersonalDetailsForTrainees(batch.changes));
+    } catch (RuntimeException e) {
+      batch.statuses.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * The changes waiting to be applied together, and their eventual result.
+   */
+  private static class PendingBatch {
+
+    private final List<PersonalDetailsChange> changes = new ArrayList<>();
+    private final CompletableFuture<Map<String, BulkSyncStatus>> statuses =
+        new CompletableFuture<>();
+  }
+}
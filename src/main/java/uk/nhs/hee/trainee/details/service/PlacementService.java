@@ -22,14 +22,35 @@
 package uk.nhs.hee.trainee.details.service;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import com.mongodb.bulk.BulkWriteError;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.TypeInformation;
 import org.springframework.stereotype.Service;
-import uk.nhs.hee.trainee.details.mapper.PlacementMapper;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.model.Placement;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 import uk.nhs.hee.trainee.details.model.TraineeProfile;
@@ -47,46 +68,182 @@ public class PlacementService {
       "DFT" // Dental Foundation Training
   );
 
+  private static final String TRAINEE_TIS_ID_FIELD = "traineeTisId";
+  private static final String PLACEMENTS_FIELD = "placements";
+  private static final String PLACEMENT_TIS_ID_FIELD = "placements.tisId";
+  private static final String VERSION_FIELD = "version";
+
   private final TraineeProfileRepository repository;
-  private final PlacementMapper mapper;
+  private final MongoTemplate mongoTemplate;
   private final ProgrammeMembershipService programmeMembershipService;
+  private final TraineeProfileCache profileCache;
 
-  PlacementService(TraineeProfileRepository repository, PlacementMapper mapper,
-      ProgrammeMembershipService programmeMembershipService) {
+  PlacementService(TraineeProfileRepository repository, MongoTemplate mongoTemplate,
+      ProgrammeMembershipService programmeMembershipService, TraineeProfileCache profileCache) {
     this.repository = repository;
-    this.mapper = mapper;
+    this.mongoTemplate = mongoTemplate;
     this.programmeMembershipService = programmeMembershipService;
+    this.profileCache = profileCache;
   }
 
   /**
    * Update the placement for the trainee with the given TIS ID.
    *
+   * <p>The placement is written directly to the matching array element, or appended when it does
+   * not yet exist, so the rest of the trainee profile is not loaded or rewritten. The profile
+   * version is incremented so that concurrent full-profile saves still detect the change. If
+   * another writer appends the same placement between the two writes, the in-place write is
+   * retried.
+   *
    * @param traineeTisId The TIS id of the trainee.
    * @param placement    The placement to update for the trainee.
    * @return The updated placement or empty if a trainee with the ID was not found.
    */
   public Optional<Placement> updatePlacementForTrainee(String traineeTisId, Placement placement) {
+    Query traineeQuery = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).is(traineeTisId));
+    Query existingPlacementQuery = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).is(traineeTisId)
+        .and(PLACEMENT_TIS_ID_FIELD).is(placement.getTisId()));
+    Update setPlacement = new Update()
+        .set(PLACEMENTS_FIELD + ".$", placement)
+        .inc(VERSION_FIELD, 1);
+    Query missingPlacementQuery = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD)
+        .is(traineeTisId)
+        .and(PLACEMENT_TIS_ID_FIELD).ne(placement.getTisId()));
+    Update pushPlacement = new Update()
+        .push(PLACEMENTS_FIELD, placement)
+        .inc(VERSION_FIELD, 1);
+
+    long matched = 0;
+
+    while (matched == 0) {
+      matched = mongoTemplate.updateFirst(existingPlacementQuery, setPlacement,
+          TraineeProfile.class).getMatchedCount();
+
+      if (matched == 0) {
+        matched = mongoTemplate.updateFirst(missingPlacementQuery, pushPlacement,
+            TraineeProfile.class).getMatchedCount();
+
+        // Neither write matched, so either the trainee does not exist or another writer added
+        // the placement after the in-place write missed, in which case it is written again.
+        if (matched == 0 && !mongoTemplate.exists(traineeQuery, TraineeProfile.class)) {
+          return Optional.empty();
+        }
+      }
+    }
 
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
+    profileCache.evict(traineeTisId);
+    return Optional.of(placement);
+  }
 
-    if (traineeProfile == null) {
-      return Optional.empty();
+  /**
+   * Update the given placements in their trainees' profiles, using a single unordered bulk write.
+   *
+   * <p>Placements are grouped by trainee so that each profile is written once, replacing any
+   * existing placements with the same IDs in place and appending the rest, matching the order
+   * given by single placement updates. When the same placement appears more than once for a
+   * trainee the last occurrence is kept.
+   *
+   * @param placements The pairs of trainee TIS ID and placement to update.
+   * @return The status of each update, in the same order as the given placements.
+   */
+  public List<BulkSyncStatus> updatePlacementsForTrainees(
+      List<Pair<String, Placement>> placements) {
+    if (placements.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Map<String, Placement>> placementsByTrainee = new LinkedHashMap<>();
+    for (Pair<String, Placement> pair : placements) {
+      Placement placement = pair.getSecond();
+      placementsByTrainee.computeIfAbsent(pair.getFirst(), id -> new LinkedHashMap<>())
+          .put(placement.getTisId(), placement);
     }
 
-    List<Placement> existingPlacements = traineeProfile.getPlacements();
+    Query existingQuery = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD)
+        .in(placementsByTrainee.keySet()));
+    Set<String> existingTraineeTisIds = new HashSet<>(mongoTemplate.findDistinct(existingQuery,
+        TRAINEE_TIS_ID_FIELD, TraineeProfile.class, String.class));
 
-    for (Placement existingPlacement : existingPlacements) {
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class);
+    List<String> operationTraineeTisIds = new ArrayList<>();
 
-      if (existingPlacement.getTisId().equals(placement.getTisId())) {
-        mapper.updatePlacement(existingPlacement, placement);
-        repository.save(traineeProfile);
-        return Optional.of(existingPlacement);
+    placementsByTrainee.forEach((traineeTisId, traineePlacements) -> {
+      if (existingTraineeTisIds.contains(traineeTisId)) {
+        Query query = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).is(traineeTisId));
+        bulkOps.updateOne(query, upsertPlacementsUpdate(traineePlacements.values()));
+        operationTraineeTisIds.add(traineeTisId);
+      }
+    });
+
+    Set<String> failedTraineeTisIds = new HashSet<>();
+
+    if (!operationTraineeTisIds.isEmpty()) {
+      try {
+        bulkOps.execute();
+      } catch (BulkOperationException e) {
+        for (BulkWriteError error : e.getErrors()) {
+          String traineeTisId = operationTraineeTisIds.get(error.getIndex());
+          log.error("Failed to update placements of trainee with TIS ID {}: {}", traineeTisId,
+              error.getMessage());
+          failedTraineeTisIds.add(traineeTisId);
+        }
+      } finally {
+        profileCache.evictAll(operationTraineeTisIds);
       }
     }
 
-    existingPlacements.add(placement);
-    repository.save(traineeProfile);
-    return Optional.of(placement);
+    return placements.stream()
+        .map(Pair::getFirst)
+        .map(traineeTisId -> {
+          if (!existingTraineeTisIds.contains(traineeTisId)) {
+            return BulkSyncStatus.NOT_FOUND;
+          }
+          return failedTraineeTisIds.contains(traineeTisId) ? BulkSyncStatus.FAILED
+              : BulkSyncStatus.UPDATED;
+        })
+        .toList();
+  }
+
+  /**
+   * Build a pipeline update which replaces the given placements in place, or appends them when not
+   * already present, and increments the profile version.
+   *
+   * @param placements The placements to upsert, with unique IDs.
+   * @return The pipeline update.
+   */
+  private AggregationUpdate upsertPlacementsUpdate(Collection<Placement> placements) {
+    MongoConverter converter = mongoTemplate.getConverter();
+    List<Object> newPlacements = placements.stream()
+        .map(p -> converter.convertToMongoType(p, TypeInformation.of(Placement.class)))
+        .toList();
+    List<String> placementIds = placements.stream()
+        .map(Placement::getTisId)
+        .toList();
+
+    // Each existing placement is swapped for the new placement at the same index of the IDs.
+    Document index = new Document("$indexOfArray",
+        List.of(new Document("$literal", placementIds), "$$placement.tisId"));
+    Document replaced = new Document("$map", new Document("input", "$$existing")
+        .append("as", "placement")
+        .append("in", new Document("$let", new Document("vars", new Document("index", index))
+            .append("in", new Document("$cond", List.of(
+                new Document("$eq", List.of("$$index", -1)),
+                "$$placement",
+                new Document("$arrayElemAt", List.of("$$incoming", "$$index"))))))));
+    Document appended = new Document("$filter", new Document("input", "$$incoming")
+        .append("as", "placement")
+        .append("cond", new Document("$not", List.of(new Document("$in",
+            List.of("$$placement.tisId", "$$existing.tisId"))))));
+
+    Document upsert = new Document("$let", new Document("vars", new Document()
+        .append("existing", new Document("$ifNull", List.of("$" + PLACEMENTS_FIELD, List.of())))
+        .append("incoming", new Document("$literal", newPlacements)))
+        .append("in", new Document("$concatArrays", List.of(replaced, appended))));
+
+    return AggregationUpdate.update()
+        .set(PLACEMENTS_FIELD).toValue((AggregationExpression) context -> upsert)
+        .set(VERSION_FIELD).toValue(ArithmeticOperators.valueOf(
+            ConditionalOperators.ifNull(VERSION_FIELD).then(0)).add(1));
   }
 
   /**
@@ -113,6 +270,24 @@ public class PlacementService {
     return false;
   }
 
+  /**
+   * Get the parts of a trainee profile needed for placement eligibility checks. The profile is
+   * loaded once and can be passed to each check made while handling a request, it must not be
+   * saved.
+   *
+   * @param traineeTisId The TIS id of the trainee.
+   * @return The partial trainee profile, or null if not found.
+   */
+  public TraineeProfile getEligibilityProfile(String traineeTisId) {
+    TraineeProfile traineeProfile = repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(
+        traineeTisId);
+
+    if (traineeProfile == null) {
+      log.info("Placement eligibility: [false] trainee profile {} not found", traineeTisId);
+    }
+    return traineeProfile;
+  }
+
   /**
    * Check whether a trainee can be onboarded based on the given placement.
    *
@@ -121,10 +296,19 @@ public class PlacementService {
    * @return Whether the trainee can be onboarded based on this placement.
    */
   public boolean canBeOnboarded(String traineeTisId, String placementId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
+    return canBeOnboarded(getEligibilityProfile(traineeTisId), placementId);
+  }
 
+  /**
+   * Check whether a trainee can be onboarded based on the given placement, using an already
+   * loaded profile.
+   *
+   * @param traineeProfile The trainee profile, may be null if not found.
+   * @param placementId    The ID of the placement to assess.
+   * @return Whether the trainee can be onboarded based on this placement.
+   */
+  public boolean canBeOnboarded(TraineeProfile traineeProfile, String placementId) {
     if (traineeProfile == null) {
-      log.info("Placement not valid for onboarding as no profile found for ID '{}'.", traineeTisId);
       return false;
     }
 
@@ -152,11 +336,9 @@ public class PlacementService {
         .anyMatch(programmeMembershipService::canBeOnboarded);
   }
 
-  private Optional<Placement> pilotPreflightChecks(String traineeTisId, String placementId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
-
+  private Optional<Placement> pilotPreflightChecks(TraineeProfile traineeProfile,
+      String placementId) {
     if (traineeProfile == null) {
-      log.info("2024 pilot / rollout: [false] trainee profile {} not found", traineeTisId);
       return Optional.empty();
     }
 
@@ -178,15 +360,26 @@ public class PlacementService {
    * @return True, or False if the placement is not in the 2024 pilot.
    */
   public boolean isPilot2024(String traineeTisId, String placementId) {
-    Optional<Placement> optionalPlacement = pilotPreflightChecks(traineeTisId, placementId);
+    return isPilot2024(getEligibilityProfile(traineeTisId), placementId);
+  }
+
+  /**
+   * Assess if the placement for a trainee is in the 2024 pilot, using an already loaded profile.
+   * The same profile is used to assess each of the placement's programme memberships.
+   *
+   * @param traineeProfile The trainee profile, may be null if not found.
+   * @param placementId    The ID of the placement to assess.
+   * @return True, or False if the placement is not in the 2024 pilot.
+   */
+  public boolean isPilot2024(TraineeProfile traineeProfile, String placementId) {
+    Optional<Placement> optionalPlacement = pilotPreflightChecks(traineeProfile, placementId);
 
     if (optionalPlacement.isEmpty()) {
       return false;
     }
 
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
     return getPossiblePlacementProgrammes(traineeProfile, optionalPlacement.get()).stream()
-        .anyMatch(pmInPeriod -> programmeMembershipService.isPilot2024(traineeTisId,
+        .anyMatch(pmInPeriod -> programmeMembershipService.isPilot2024(traineeProfile,
             pmInPeriod.getTisId()));
   }
 
@@ -199,7 +392,19 @@ public class PlacementService {
    * @return True, or False if the placement is not in the 2024 pilot rollout.
    */
   public boolean isPilotRollout2024(String traineeTisId, String placementId) {
-    Optional<Placement> optionalPlacement = pilotPreflightChecks(traineeTisId, placementId);
+    return isPilotRollout2024(getEligibilityProfile(traineeTisId), placementId);
+  }
+
+  /**
+   * Assess if the placement for a trainee is in the 2024 pilot rollout, using an already loaded
+   * profile.
+   *
+   * @param traineeProfile The trainee profile, may be null if not found.
+   * @param placementId    The ID of the placement to assess.
+   * @return True, or False if the placement is not in the 2024 pilot rollout.
+   */
+  public boolean isPilotRollout2024(TraineeProfile traineeProfile, String placementId) {
+    Optional<Placement> optionalPlacement = pilotPreflightChecks(traineeProfile, placementId);
 
     if (optionalPlacement.isEmpty()) {
       return false;
@@ -211,14 +416,8 @@ public class PlacementService {
       return false;
     }
 
-    LocalDate dayAfterPlacementStart = placement.getStartDate().plusDays(1);
-    LocalDate dayBeforePlacementStart = placement.getStartDate().minusDays(1);
-
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
-    List<ProgrammeMembership> pmsInPeriod = traineeProfile.getProgrammeMemberships().stream()
-        .filter(pm -> pm.getStartDate().withDayOfMonth(1).isBefore(dayAfterPlacementStart)
-            && pm.getProgrammeCompletionDate().isAfter(dayBeforePlacementStart))
-        .toList();
+    List<ProgrammeMembership> pmsInPeriod = getPossiblePlacementProgrammes(traineeProfile,
+        placement);
     return pmsInPeriod.stream()
         .anyMatch(pmInRollout -> {
           LocalDate notificationEpoch = LocalDate.of(2024, Month.OCTOBER, 31);
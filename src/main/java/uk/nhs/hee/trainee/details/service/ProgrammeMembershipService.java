@@ -28,30 +28,41 @@ import static uk.nhs.hee.trainee.details.service.FeatureService.FOUNDATION_CURRI
 import static uk.nhs.hee.trainee.details.service.FeatureService.FOUNDATION_SPECIALTY;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
-import java.io.File;
-import java.io.IOException;
+import com.mongodb.bulk.BulkWriteError;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.bson.Document;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.TypeInformation;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-import org.thymeleaf.TemplateSpec;
-import org.thymeleaf.templatemode.TemplateMode;
 import uk.nhs.hee.trainee.details.dto.TraineeType;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
-import uk.nhs.hee.trainee.details.mapper.ProgrammeMembershipMapper;
 import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
 import uk.nhs.hee.trainee.details.model.Curriculum;
 import uk.nhs.hee.trainee.details.model.LocalOfficeContactType;
@@ -128,79 +139,225 @@ public class ProgrammeMembershipService {
       "Urology",
       "Vascular surgery");
 
-  private static final String PM_CONFIRMATION_TEMPLATE_PATH = "programme-confirmation";
+  private static final String TRAINEE_TIS_ID_FIELD = "traineeTisId";
+  private static final String PROGRAMME_MEMBERSHIPS_FIELD = "programmeMemberships";
+  private static final String TIS_ID_FIELD = "tisId";
+  private static final String COJ_FIELD = "conditionsOfJoining";
+  private static final String VERSION_FIELD = "version";
 
   private final TraineeProfileRepository repository;
-  private final ProgrammeMembershipMapper mapper;
+  private final MongoTemplate mongoTemplate;
   private final CachingDelegate cachingDelegate;
-  private final PdfGeneratingService pdfService;
-  private final RestTemplate restTemplate;
-  private final String referenceUrl;
-  private final String templateVersion;
-
-  ProgrammeMembershipService(TraineeProfileRepository repository, ProgrammeMembershipMapper mapper,
-      CachingDelegate cachingDelegate, PdfGeneratingService pdfService, RestTemplate restTemplate,
-      @Value("${service.reference.url}") String referenceUrl,
-      @Value("${application.template-versions.programme-confirmation}") String templateVersion) {
+  private final LocalOfficeContactDirectory localOfficeContactDirectory;
+  private final LocalOfficeContactCache localOfficeContactCache;
+  private final TemplateRegistry templateRegistry;
+  private final TraineeProfileCache profileCache;
+
+  ProgrammeMembershipService(TraineeProfileRepository repository, MongoTemplate mongoTemplate,
+      CachingDelegate cachingDelegate, LocalOfficeContactDirectory localOfficeContactDirectory,
+      LocalOfficeContactCache localOfficeContactCache, TemplateRegistry templateRegistry,
+      TraineeProfileCache profileCache) {
     this.repository = repository;
-    this.mapper = mapper;
+    this.mongoTemplate = mongoTemplate;
     this.cachingDelegate = cachingDelegate;
-    this.pdfService = pdfService;
-    this.restTemplate = restTemplate;
-    this.referenceUrl = referenceUrl;
-    this.templateVersion = templateVersion;
+    this.localOfficeContactDirectory = localOfficeContactDirectory;
+    this.localOfficeContactCache = localOfficeContactCache;
+    this.templateRegistry = templateRegistry;
+    this.profileCache = profileCache;
   }
 
   /**
    * Update the programme membership for the trainee with the given TIS ID.
    *
+   * <p>The membership is upserted in to the profile with a single pipeline update, without loading
+   * the profile. An existing Conditions of Joining is retained unless the incoming membership has
+   * a signed Conditions of Joining. This covers the (generally short-term) case when a CoJ has
+   * just been signed, but the data has not yet made the round-trip to TIS and tis-trainee-sync,
+   * enriching the incoming programme membership with this information.
+   *
    * @param traineeTisId        The TIS id of the trainee.
    * @param programmeMembership The programme membership to update for the trainee.
    * @return The updated programme membership or empty if a trainee with the ID was not found.
+   * @throws IllegalArgumentException If the Conditions of Joining is to be retained and the
+   *                                  programme membership's TIS ID is not a UUID.
    */
   public Optional<ProgrammeMembership> updateProgrammeMembershipForTrainee(String traineeTisId,
       ProgrammeMembership programmeMembership) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
+    verifyTisId(programmeMembership);
+    String programmeMembershipId = programmeMembership.getTisId();
+
+    Query query = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).is(traineeTisId));
+    query.fields().elemMatch(PROGRAMME_MEMBERSHIPS_FIELD,
+        Criteria.where(TIS_ID_FIELD).is(programmeMembershipId));
+
+    AggregationUpdate update = upsertProgrammeMembershipUpdate(programmeMembership);
+    TraineeProfile traineeProfile = mongoTemplate.findAndModify(query, update,
+        FindAndModifyOptions.options().returnNew(true), TraineeProfile.class);
 
     if (traineeProfile == null) {
       return Optional.empty();
     }
 
-    List<ProgrammeMembership> existingProgrammeMemberships = traineeProfile
-        .getProgrammeMemberships();
+    profileCache.evict(traineeTisId);
+    return traineeProfile.getProgrammeMemberships().stream().findFirst();
+  }
 
-    if (programmeMembership.getConditionsOfJoining() == null
-        || programmeMembership.getConditionsOfJoining().signedAt() == null) {
-
-      // Restore the Conditions of Joining if it exists. This covers the (generally short-term)
-      // case when a CoJ has just been signed, but the data has not yet made the round-trip to TIS
-      // and tis-trainee-sync, enriching the incoming programme membership with this information.
-
-      UUID uuid = UUID.fromString(programmeMembership.getTisId());
-      ProgrammeMembership savedProgrammeMembership
-          = existingProgrammeMemberships.stream()
-          .filter(i -> i.getTisId().equals(uuid.toString()))
-          .findAny()
-          .orElse(null);
-      if (savedProgrammeMembership != null
-          && savedProgrammeMembership.getConditionsOfJoining() != null) {
-        ConditionsOfJoining savedCoj = savedProgrammeMembership.getConditionsOfJoining();
-        programmeMembership.setConditionsOfJoining(savedCoj);
-      }
+  /**
+   * Update the given programme memberships in their trainees' profiles, using a single unordered
+   * bulk write.
+   *
+   * <p>Each programme membership is upserted in the same way as
+   * {@link #updateProgrammeMembershipForTrainee(String, ProgrammeMembership)}. Trainees without a
+   * profile are identified up-front, so that only writes which can match a profile are sent.
+   *
+   * @param programmeMemberships The pairs of trainee TIS ID and programme membership to update.
+   * @return The status of each update, in the same order as the given programme memberships.
+   */
+  public List<BulkSyncStatus> updateProgrammeMembershipsForTrainees(
+      List<Pair<String, ProgrammeMembership>> programmeMemberships) {
+    if (programmeMemberships.isEmpty()) {
+      return List.of();
     }
 
-    for (ProgrammeMembership existingProgrammeMembership : existingProgrammeMemberships) {
+    Set<String> traineeTisIds = programmeMemberships.stream()
+        .map(Pair::getFirst)
+        .collect(Collectors.toSet());
+    Query existingQuery = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).in(traineeTisIds));
+    Set<String> existingTraineeTisIds = new HashSet<>(mongoTemplate.findDistinct(existingQuery,
+        TRAINEE_TIS_ID_FIELD, TraineeProfile.class, String.class));
+
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class);
+    List<BulkSyncStatus> statuses = new ArrayList<>(programmeMemberships.size());
+    List<Integer> operationIndexes = new ArrayList<>();
+
+    for (Pair<String, ProgrammeMembership> pair : programmeMemberships) {
+      String traineeTisId = pair.getFirst();
+
+      if (existingTraineeTisIds.contains(traineeTisId)) {
+        try {
+          verifyTisId(pair.getSecond());
+        } catch (IllegalArgumentException e) {
+          log.error("Failed to update programme membership {} of trainee with TIS ID {}: {}",
+              pair.getSecond().getTisId(), traineeTisId, e.getMessage());
+          statuses.add(BulkSyncStatus.FAILED);
+          continue;
+        }
 
-      if (existingProgrammeMembership.getTisId().equals(programmeMembership.getTisId())) {
-        mapper.updateProgrammeMembership(existingProgrammeMembership, programmeMembership);
-        repository.save(traineeProfile);
-        return Optional.of(existingProgrammeMembership);
+        Query query = Query.query(Criteria.where(TRAINEE_TIS_ID_FIELD).is(traineeTisId));
+        bulkOps.updateOne(query, upsertProgrammeMembershipUpdate(pair.getSecond()));
+        operationIndexes.add(statuses.size());
+        statuses.add(BulkSyncStatus.UPDATED);
+      } else {
+        statuses.add(BulkSyncStatus.NOT_FOUND);
       }
     }
 
-    existingProgrammeMemberships.add(programmeMembership);
-    repository.save(traineeProfile);
-    return Optional.of(programmeMembership);
+    if (!operationIndexes.isEmpty()) {
+      try {
+        bulkOps.execute();
+      } catch (BulkOperationException e) {
+        for (BulkWriteError error : e.getErrors()) {
+          int index = operationIndexes.get(error.getIndex());
+          Pair<String, ProgrammeMembership> failed = programmeMemberships.get(index);
+          log.error("Failed to update programme membership {} of trainee with TIS ID {}: {}",
+              failed.getSecond().getTisId(), failed.getFirst(), error.getMessage());
+          statuses.set(index, BulkSyncStatus.FAILED);
+        }
+      } finally {
+        profileCache.evictAll(operationIndexes.stream()
+            .map(index -> programmeMemberships.get(index).getFirst())
+            .collect(Collectors.toSet()));
+      }
+    }
+
+    return statuses;
+  }
+
+  /**
+   * Verify that the programme membership's TIS ID is a UUID when an existing Conditions of Joining
+   * may be retained, as the retained Conditions of Joining is later cached by that ID.
+   *
+   * @param programmeMembership The programme membership to verify.
+   * @throws IllegalArgumentException If the programme membership's TIS ID is not a UUID.
+   */
+  private static void verifyTisId(ProgrammeMembership programmeMembership) {
+    ConditionsOfJoining conditionsOfJoining = programmeMembership.getConditionsOfJoining();
+
+    if (conditionsOfJoining == null || conditionsOfJoining.signedAt() == null) {
+      UUID.fromString(programmeMembership.getTisId());
+    }
+  }
+
+  /**
+   * Build a pipeline update which upserts the given programme membership and increments the
+   * profile version.
+   *
+   * @param programmeMembership The programme membership to upsert.
+   * @return The pipeline update.
+   */
+  private AggregationUpdate upsertProgrammeMembershipUpdate(
+      ProgrammeMembership programmeMembership) {
+    return AggregationUpdate.update()
+        .set(PROGRAMME_MEMBERSHIPS_FIELD).toValue(upsertProgrammeMembership(programmeMembership))
+        .set(VERSION_FIELD).toValue(ArithmeticOperators.valueOf(
+            ConditionalOperators.ifNull(VERSION_FIELD).then(0)).add(1));
+  }
+
+  /**
+   * Build an expression which replaces or appends the given programme membership in the profile's
+   * programme memberships.
+   *
+   * @param programmeMembership The programme membership to upsert.
+   * @return The expression resolving to the updated programme memberships.
+   */
+  private AggregationExpression upsertProgrammeMembership(
+      ProgrammeMembership programmeMembership) {
+    Document newProgrammeMembership = (Document) mongoTemplate.getConverter()
+        .convertToMongoType(programmeMembership, TypeInformation.of(ProgrammeMembership.class));
+    Document programmeMembershipId = literal(programmeMembership.getTisId());
+
+    ConditionsOfJoining conditionsOfJoining = programmeMembership.getConditionsOfJoining();
+    Document replacement;
+
+    if (conditionsOfJoining != null && conditionsOfJoining.signedAt() != null) {
+      replacement = literal(newProgrammeMembership);
+    } else {
+      Document withoutCoj = new Document(newProgrammeMembership);
+      Object newCoj = withoutCoj.remove(COJ_FIELD);
+      Document retainedCoj = new Document(COJ_FIELD,
+          new Document("$ifNull", List.of("$$pm." + COJ_FIELD, literal(newCoj))));
+      replacement = new Document("$mergeObjects", List.of(literal(withoutCoj), retainedCoj));
+    }
+
+    Document existing = new Document("$ifNull",
+        List.of("$" + PROGRAMME_MEMBERSHIPS_FIELD, List.of()));
+    Document existingIds = new Document("$ifNull",
+        List.of("$" + PROGRAMME_MEMBERSHIPS_FIELD + "." + TIS_ID_FIELD, List.of()));
+
+    Document replaceExisting = new Document("$map", new Document("input", existing)
+        .append("as", "pm")
+        .append("in", new Document("$cond", List.of(
+            new Document("$eq", List.of("$$pm." + TIS_ID_FIELD, programmeMembershipId)),
+            replacement,
+            "$$pm"))));
+    Document appendNew = new Document("$concatArrays",
+        List.of(existing, List.of(literal(newProgrammeMembership))));
+
+    Document upsert = new Document("$cond", List.of(
+        new Document("$in", List.of(programmeMembershipId, existingIds)),
+        replaceExisting,
+        appendNew));
+    return context -> upsert;
+  }
+
+  /**
+   * Wrap a value so that it is not parsed as an expression by the aggregation pipeline.
+   *
+   * @param value The value to wrap.
+   * @return The literal expression.
+   */
+  private static Document literal(Object value) {
+    return new Document("$literal", value);
   }
 
   /**
@@ -299,15 +456,33 @@ public class ProgrammeMembershipService {
    * @return True, or False if the programme membership is not a new starter.
    */
   public boolean isNewStarter(String traineeTisId, String programmeMembershipId) {
-    TraineeProfile traineeProfile = getProfileWithMedicalProgrammeMemberships(traineeTisId);
+    TraineeProfile traineeProfile = repository.findProgrammeMembershipsByTraineeTisId(
+        traineeTisId);
 
     if (traineeProfile == null) {
       log.info("New starter: [false] trainee profile {} not found", traineeTisId);
       return false;
     }
+    return isNewStarter(traineeProfile, programmeMembershipId);
+  }
 
-    ProgrammeMembership programmeMembership = getCandidateProgrammeMembership(
-        traineeProfile.getProgrammeMemberships(), programmeMembershipId);
+  /**
+   * Assess if the programme membership for an already loaded trainee profile is a new starter.
+   * The profile is not modified, so it may be shared with other eligibility checks.
+   *
+   * @param traineeProfile        The trainee profile, may be null if not found.
+   * @param programmeMembershipId The ID of the programme membership to assess.
+   * @return True, or False if the programme membership is not a new starter.
+   */
+  public boolean isNewStarter(TraineeProfile traineeProfile, String programmeMembershipId) {
+    if (traineeProfile == null) {
+      return false;
+    }
+
+    List<ProgrammeMembership> medicalPms = getPmsMedicalCurricula(
+        traineeProfile.getProgrammeMemberships());
+    ProgrammeMembership programmeMembership = getCandidateProgrammeMembership(medicalPms,
+        programmeMembershipId);
     if (programmeMembership == null) {
       log.info("New starter: [false] programme membership {} does not exist, is non-medical or "
               + "has wrong type",
@@ -324,7 +499,7 @@ public class ProgrammeMembershipService {
     }
 
     List<ProgrammeMembership> otherPms
-        = traineeProfile.getProgrammeMemberships().stream()
+        = medicalPms.stream()
         .filter(pm -> !pm.getTisId().equals(programmeMembershipId)).toList();
 
     //if there are no preceding PMs, it is a new starter
@@ -368,15 +543,31 @@ public class ProgrammeMembershipService {
    * @return True, or False if the programme membership is not in the 2024 pilot.
    */
   public boolean isPilot2024(String traineeTisId, String programmeMembershipId) {
-    TraineeProfile traineeProfile = getProfileWithTssProgrammeMemberships(traineeTisId);
+    TraineeProfile traineeProfile = repository.findProgrammeMembershipsByTraineeTisId(
+        traineeTisId);
 
     if (traineeProfile == null) {
       log.info("2024 pilot: [false] trainee profile {} not found", traineeTisId);
       return false;
     }
+    return isPilot2024(traineeProfile, programmeMembershipId);
+  }
+
+  /**
+   * Assess if the programme membership for an already loaded trainee profile is in the 2024
+   * pilot. The profile is not modified, so it may be shared with other eligibility checks.
+   *
+   * @param traineeProfile        The trainee profile, may be null if not found.
+   * @param programmeMembershipId The ID of the programme membership to assess.
+   * @return True, or False if the programme membership is not in the 2024 pilot.
+   */
+  public boolean isPilot2024(TraineeProfile traineeProfile, String programmeMembershipId) {
+    if (traineeProfile == null) {
+      return false;
+    }
 
     ProgrammeMembership programmeMembership = getCandidateProgrammeMembership(
-        traineeProfile.getProgrammeMemberships(), programmeMembershipId);
+        getPmsTssCurricula(traineeProfile.getProgrammeMemberships()), programmeMembershipId);
     if (programmeMembership == null) {
       log.info("2024 pilot: [false] programme membership {} does not exist, is non-medical or "
               + "has wrong type",
@@ -429,15 +620,31 @@ public class ProgrammeMembershipService {
    * @return True, or False if the programme membership is not in the 2024 pilot rollout.
    */
   public boolean isPilotRollout2024(String traineeTisId, String programmeMembershipId) {
-    TraineeProfile traineeProfile = getProfileWithTssProgrammeMemberships(traineeTisId);
+    TraineeProfile traineeProfile = repository.findProgrammeMembershipsByTraineeTisId(
+        traineeTisId);
 
     if (traineeProfile == null) {
       log.info("2024 pilot rollout: [false] trainee profile {} not found", traineeTisId);
       return false;
     }
+    return isPilotRollout2024(traineeProfile, programmeMembershipId);
+  }
+
+  /**
+   * Assess if the programme membership for an already loaded trainee profile is in the 2024
+   * pilot rollout. The profile is not modified, so it may be shared with other eligibility checks.
+   *
+   * @param traineeProfile        The trainee profile, may be null if not found.
+   * @param programmeMembershipId The ID of the programme membership to assess.
+   * @return True, or False if the programme membership is not in the 2024 pilot rollout.
+   */
+  public boolean isPilotRollout2024(TraineeProfile traineeProfile, String programmeMembershipId) {
+    if (traineeProfile == null) {
+      return false;
+    }
 
     ProgrammeMembership programmeMembership = getCandidateProgrammeMembership(
-        traineeProfile.getProgrammeMemberships(), programmeMembershipId);
+        getPmsTssCurricula(traineeProfile.getProgrammeMemberships()), programmeMembershipId);
     if (programmeMembership == null) {
       log.info("2024 pilot rollout: [false] programme membership {} does not exist, is non-medical "
               + "or has wrong type",
@@ -514,55 +721,14 @@ public class ProgrammeMembershipService {
   }
 
   /**
-   * Get a trainee profile with programme memberships with only medical curricula.
-   *
-   * @param traineeTisId The TIS id of the trainee.
-   * @return The filtered trainee profile .
-   */
-  public TraineeProfile getProfileWithMedicalProgrammeMemberships(String traineeTisId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
-
-    if (traineeProfile == null) {
-      return null;
-    }
-
-    //get the list of programme memberships with only medical curricula attached
-    List<ProgrammeMembership> pmsToConsider
-        = getPmsMedicalCurricula(traineeProfile.getProgrammeMemberships());
-
-    traineeProfile.setProgrammeMemberships(pmsToConsider);
-    return traineeProfile;
-  }
-
-  /**
-   * Get a trainee profile with programme memberships with TSS-relevant curricula.
-   *
-   * @param traineeTisId The TIS id of the trainee.
-   * @return The filtered trainee profile .
-   */
-  public TraineeProfile getProfileWithTssProgrammeMemberships(String traineeTisId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
-
-    if (traineeProfile == null) {
-      return null;
-    }
-
-    //get the list of programme memberships with only TSS-applicable attached
-    List<ProgrammeMembership> pmsToConsider
-        = getPmsTssCurricula(traineeProfile.getProgrammeMemberships());
-
-    traineeProfile.setProgrammeMemberships(pmsToConsider);
-    return traineeProfile;
-  }
-
-  /**
-   * Generate programme confirmation PDF of a programme membership.
+   * Get the template and variables for the programme confirmation PDF of a programme membership.
    *
+   * @param traineeTisId          The ID of the trainee.
    * @param programmeMembershipId The ID of the programme membership for generating PDF.
-   * @return The generated Programme Membership confirmation PDF.
+   * @return The Programme Membership confirmation PDF template.
    */
-  public byte[] generateProgrammeMembershipPdf(
-      String traineeTisId, String programmeMembershipId) throws IOException {
+  public PdfTemplate getProgrammeMembershipPdfTemplate(String traineeTisId,
+      String programmeMembershipId) {
 
     TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
 
@@ -589,13 +755,8 @@ public class ProgrammeMembershipService {
             templateVariables.put("localOfficeContact", contact);
             templateVariables.put("contactHref", getHrefTypeForContact(contact));
 
-            // Generate PDF with template
-            String templatePath =
-                PM_CONFIRMATION_TEMPLATE_PATH + File.separatorChar + templateVersion + ".html";
-            TemplateSpec templateSpec = new TemplateSpec(
-                templatePath, Set.of(), TemplateMode.HTML, null);
-
-            return pdfService.generatePdf(templateSpec, templateVariables);
+            return new PdfTemplate(templateRegistry.getProgrammeConfirmation(),
+                templateVariables);
           } else {
             throw new IllegalArgumentException("Programme membership " + programmeMembershipId
                 + " not starting in " + PM_CONFIRM_WEEKS + " weeks.");
@@ -650,7 +811,7 @@ public class ProgrammeMembershipService {
 
   /**
    * Remove non-medical curricula from a list of programme memberships. Returned programme
-   * memberships will each contain at least one medical curriculum.
+   * memberships are copies, which will each contain at least one medical curriculum.
    *
    * @param pms The list of programme memberships.
    * @return The filtered list of medical curricula containing programme memberships.
@@ -669,8 +830,7 @@ public class ProgrammeMembershipService {
           })
           .toList();
       if (!filteredCms.isEmpty()) {
-        programmeMembership.setCurricula(filteredCms);
-        filteredPms.add(programmeMembership);
+        filteredPms.add(withCurricula(programmeMembership, filteredCms));
       }
     }
     return filteredPms;
@@ -678,7 +838,7 @@ public class ProgrammeMembershipService {
 
   /**
    * Remove non-TSS curricula from a list of programme memberships. Returned programme memberships
-   * will each contain at least one TSS curriculum.
+   * are copies, which will each contain at least one TSS curriculum.
    *
    * @param pms The list of programme memberships.
    * @return The filtered list of programme memberships containing TSS-applicable curricula.
@@ -697,13 +857,27 @@ public class ProgrammeMembershipService {
           })
           .toList();
       if (!filteredCms.isEmpty()) {
-        programmeMembership.setCurricula(filteredCms);
-        filteredPms.add(programmeMembership);
+        filteredPms.add(withCurricula(programmeMembership, filteredCms));
       }
     }
     return filteredPms;
   }
 
+  /**
+   * Copy a programme membership with a different set of curricula, leaving the original unchanged.
+   *
+   * @param programmeMembership The programme membership to copy.
+   * @param curricula           The curricula of the copy.
+   * @return The copied programme membership.
+   */
+  private ProgrammeMembership withCurricula(ProgrammeMembership programmeMembership,
+      List<Curriculum> curricula) {
+    ProgrammeMembership copy = new ProgrammeMembership();
+    BeanUtils.copyProperties(programmeMembership, copy);
+    copy.setCurricula(curricula);
+    return copy;
+  }
+
   /**
    * Get programme memberships that comprise intra-deanery transfers or rotas for another programme
    * membership.
@@ -781,7 +955,9 @@ public class ProgrammeMembershipService {
   }
 
   /**
-   * Retrieve the full list of contacts for a local office from Trainee Reference Service.
+   * Retrieve the full list of contacts for a local office from Trainee Reference Service, the
+   * contacts are cached in-process so repeated requests for a local office do not each require a
+   * call to the reference service.
    *
    * @param localOfficeName The local office name.
    * @param traineeType     The trainee type to use to select the contact 'subtype'.
@@ -790,19 +966,25 @@ public class ProgrammeMembershipService {
   protected List<Map<String, String>> getOwnerContactList(String localOfficeName,
       TraineeType traineeType) {
     if (localOfficeName != null) {
-      try {
-        List<Map<String, String>> ownerContactList
-            = restTemplate.getForObject(referenceUrl + API_GET_OWNER_CONTACT, List.class,
-            Map.of(OWNER_FIELD, localOfficeName, TRAINEE_TYPE_FIELD, traineeType));
-        return ownerContactList == null ? new ArrayList<>() : ownerContactList;
-      } catch (RestClientException rce) {
-        log.warn("Exception occurred when requesting reference local-office-contact-by-lo-name "
-            + "endpoint: " + rce);
-      }
+      return localOfficeContactCache.getContacts(localOfficeName, traineeType);
     }
     return new ArrayList<>();
   }
 
+  /**
+   * Check whether the contacts for a local office can be found without a call to the reference
+   * service.
+   *
+   * @param localOfficeName The local office name.
+   * @param traineeType     The trainee type to use to select the contact 'subtype'.
+   * @return true if the contacts are loaded or cached or there is no local office, else false.
+   */
+  public boolean isOwnerContactCached(String localOfficeName, TraineeType traineeType) {
+    return localOfficeName == null
+        || localOfficeContactDirectory.getContacts(localOfficeName, traineeType) != null
+        || localOfficeContactCache.isCached(localOfficeName, traineeType);
+  }
+
   /**
    * Get specified owner contact from a list of contacts.
    *
@@ -835,7 +1017,8 @@ public class ProgrammeMembershipService {
   /**
    * Retrieve the contact of the specified type for the given local office. If the contact type is
    * not found then a fallback contact type will be sought, and a default message returned if
-   * neither are present.
+   * neither are present. The local office contact directory is used where the local office has
+   * been loaded, otherwise the contacts are retrieved from the reference service.
    *
    * @param localOfficeName     The local office to use.
    * @param contactType         The contact type to return.
@@ -847,6 +1030,17 @@ public class ProgrammeMembershipService {
    */
   public String getOwnerContact(String localOfficeName, LocalOfficeContactType contactType,
       LocalOfficeContactType fallbackContactType, String defaultMessage, TraineeType traineeType) {
+    Map<LocalOfficeContactType, String> contacts = localOfficeContactDirectory.getContacts(
+        localOfficeName, traineeType);
+
+    if (contacts != null) {
+      String contact = contacts.get(contactType);
+
+      if (contact == null && fallbackContactType != null) {
+        contact = contacts.get(fallbackContactType);
+      }
+      return contact == null ? defaultMessage : contact;
+    }
 
     return getOwnerContact(getOwnerContactList(localOfficeName, traineeType), contactType,
         fallbackContactType, defaultMessage);
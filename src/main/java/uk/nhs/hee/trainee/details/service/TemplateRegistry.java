@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import java.io.File;
+import java.io.Writer;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateEngineException;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
+import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+
+/**
+ * A registry of the versioned templates used to generate documents.
+ *
+ * <p>The configured template versions are resolved when the application starts, a missing version
+ * stops the application from starting instead of failing the first request for it. Each template
+ * is then processed once with empty data, so that it and its fragments are parsed and held in the
+ * template engine's cache before the first real request.
+ *
+ * <p>The template version is added to each template spec's resolution attributes, under
+ * {@link #VERSION_ATTRIBUTE}, so that it is available when recording render metrics.
+ */
+@Slf4j
+@Component
+class TemplateRegistry {
+
+  static final String PROGRAMME_CONFIRMATION = "programme-confirmation";
+  static final String VERSION_ATTRIBUTE = "version";
+
+  private final TemplateSpec programmeConfirmation;
+
+  /**
+   * Create a registry of the configured template versions.
+   *
+   * @param templateEngine               The template engine to resolve the templates with.
+   * @param timezone                     The timezone.
+   * @param programmeConfirmationVersion The programme confirmation template version to use.
+   * @throws IllegalStateException If a configured template version could not be found.
+   */
+  TemplateRegistry(TemplateEngine templateEngine,
+      @Value("${application.timezone}") ZoneId timezone,
+      @Value("${application.template-versions.programme-confirmation}")
+      String programmeConfirmationVersion) {
+    programmeConfirmation = createTemplateSpec(PROGRAMME_CONFIRMATION,
+        programmeConfirmationVersion);
+    verifyExists(templateEngine, programmeConfirmation);
+
+    Map<String, Object> emptyVariables = Map.of(
+        "pm", new ProgrammeMembership(),
+        "trainee", new PersonalDetails(),
+        "timezone", timezone.getId());
+    warmUp(templateEngine, programmeConfirmation, emptyVariables);
+  }
+
+  /**
+   * Get the configured version of the programme confirmation template.
+   *
+   * @return The programme confirmation template spec.
+   */
+  TemplateSpec getProgrammeConfirmation() {
+    return programmeConfirmation;
+  }
+
+  /**
+   * Create a template spec for the given template version.
+   *
+   * @param name    The template name.
+   * @param version The template version.
+   * @return The created template spec.
+   */
+  private static TemplateSpec createTemplateSpec(String name, String version) {
+    String templatePath = name + File.separatorChar + version + ".html";
+    return new TemplateSpec(templatePath, Set.of(), TemplateMode.HTML,
+        Map.of(VERSION_ATTRIBUTE, version));
+  }
+
+  /**
+   * Verify that one of the template engine's resolvers can find the template.
+   *
+   * @param templateEngine The template engine to resolve the template with.
+   * @param templateSpec   The template spec to verify.
+   * @throws IllegalStateException If the template could not be found.
+   */
+  private static void verifyExists(TemplateEngine templateEngine, TemplateSpec templateSpec) {
+    IEngineConfiguration configuration = templateEngine.getConfiguration();
+    String template = templateSpec.getTemplate();
+
+    for (ITemplateResolver resolver : configuration.getTemplateResolvers()) {
+      TemplateResolution resolution = resolver.resolveTemplate(configuration, null, template,
+          null);
+
+      if (resolution != null && resolution.getTemplateResource().exists()) {
+        log.info("Using template '{}'.", template);
+        return;
+      }
+    }
+
+    throw new IllegalStateException("Template '" + template + "' not found.");
+  }
+
+  /**
+   * Process the template with the given variables, so that it is parsed and cached by the template
+   * engine. Failures are logged, as the template will be parsed again when first used.
+   *
+   * @param templateEngine The template engine to process the template with.
+   * @param templateSpec   The template spec to process.
+   * @param variables      The variables to insert in to the template.
+   */
+  private static void warmUp(TemplateEngine templateEngine, TemplateSpec templateSpec,
+      Map<String, Object> variables) {
+    try {
+      templateEngine.process(templateSpec, new Context(Locale.ENGLISH, variables),
+          Writer.nullWriter());
+    } catch (TemplateEngineException e) {
+      log.warn("Unable to warm up template '{}'.", templateSpec.getTemplate(), e);
+    }
+  }
+}
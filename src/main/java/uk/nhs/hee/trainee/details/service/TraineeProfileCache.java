@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.TRAINEE_PROFILE_CACHE;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
+
+/**
+ * A read-through cache of full trainee profiles, for read-only requests which repeatedly load the
+ * same profile while the portal loads.
+ *
+ * <p>Every write to a trainee profile must evict it. Saves through the repository are evicted by
+ * {@link TraineeProfileCacheEvictionListener}, other writes must call {@link #evict(String)}.
+ * Each cache hit is deserialized into a new profile, so callers may modify the returned profile
+ * but must never save it, updates should load the profile from the repository instead. This relies
+ * on the cache having no in-memory tier, which {@code CachingProperties} enforces.
+ *
+ * <p>Each eviction also replaces the trainee's generation key, so a read which loaded the profile
+ * before a write does not cache it after the write's eviction.
+ */
+@Slf4j
+@Component
+public class TraineeProfileCache {
+
+  private static final String GENERATION_KEY_PREFIX = "generation::";
+
+  private final TraineeProfileRepository repository;
+  private final Cache cache;
+
+  /**
+   * Create a read-through trainee profile cache.
+   *
+   * @param repository   The repository to load profiles from.
+   * @param cacheManager The cache manager providing the profile cache, if the cache is missing
+   *                     then every request is read from the repository.
+   */
+  TraineeProfileCache(TraineeProfileRepository repository, CacheManager cacheManager) {
+    this.repository = repository;
+    this.cache = cacheManager.getCache(TRAINEE_PROFILE_CACHE);
+  }
+
+  /**
+   * Get the full trainee profile for the given trainee, loading it from the repository if not
+   * cached.
+   *
+   * @param traineeTisId The TIS ID of the trainee.
+   * @return The trainee's profile, or null if not found.
+   */
+  public TraineeProfile get(String traineeTisId) {
+    if (cache == null) {
+      return repository.findByTraineeTisId(traineeTisId);
+    }
+
+    try {
+      ValueWrapper cached = cache.get(traineeTisId);
+
+      if (cached != null && cached.get() instanceof TraineeProfile profile) {
+        return profile;
+      }
+    } catch (RuntimeException e) {
+      log.warn("Unable to read cached profile for trainee {}.", traineeTisId, e);
+    }
+
+    Object generation = getGeneration(traineeTisId);
+    TraineeProfile profile = repository.findByTraineeTisId(traineeTisId);
+
+    if (profile != null) {
+      try {
+        // A changed generation means the profile was written, and evicted, while loading.
+        if (Objects.equals(generation, getGeneration(traineeTisId))) {
+          // Do not overwrite a value cached while the profile was being loaded.
+          cache.putIfAbsent(traineeTisId, profile);
+
+          // An eviction between the check and the put must not be lost.
+          if (!Objects.equals(generation, getGeneration(traineeTisId))) {
+            cache.evict(traineeTisId);
+          }
+        }
+      } catch (RuntimeException e) {
+        log.warn("Unable to cache profile for trainee {}.", traineeTisId, e);
+      }
+    }
+
+    return profile;
+  }
+
+  /**
+   * Get the current generation of the given trainee's cached profile.
+   *
+   * @param traineeTisId The TIS ID of the trainee.
+   * @return The generation, or null if the profile has not been evicted or it is unknown.
+   */
+  private Object getGeneration(String traineeTisId) {
+    try {
+      ValueWrapper generation = cache.get(GENERATION_KEY_PREFIX + traineeTisId);
+      return generation == null ? null : generation.get();
+    } catch (RuntimeException e) {
+      log.warn("Unable to read cached profile generation for trainee {}.", traineeTisId, e);
+      return null;
+    }
+  }
+
+  /**
+   * Evict the cached profile of the given trainee, must be called after any write to the profile.
+   *
+   * @param traineeTisId The TIS ID of the trainee.
+   */
+  public void evict(String traineeTisId) {
+    if (cache != null && traineeTisId != null) {
+      try {
+        // The generation is replaced first, so a concurrent read either sees it or is evicted.
+        cache.put(GENERATION_KEY_PREFIX + traineeTisId, UUID.randomUUID().toString());
+        cache.evict(traineeTisId);
+      } catch (RuntimeException e) {
+        log.error("Unable to evict cached profile for trainee {}.", traineeTisId, e);
+      }
+    }
+  }
+
+  /**
+   * Evict the cached profiles of the given trainees, must be called after any write to the
+   * profiles.
+   *
+   * @param traineeTisIds The TIS IDs of the trainees.
+   */
+  public void evictAll(Collection<String> traineeTisIds) {
+    traineeTisIds.forEach(this::evict);
+  }
+}
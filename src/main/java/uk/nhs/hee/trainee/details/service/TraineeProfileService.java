@@ -22,15 +22,35 @@
 package uk.nhs.hee.trainee.details.service;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import uk.nhs.hee.trainee.details.dto.LocalOfficeContact;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
@@ -53,18 +73,75 @@ import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
 public class TraineeProfileService {
 
   private final TraineeProfileRepository repository;
+  private final TraineeProfileCache profileCache;
   private final ProgrammeMembershipService programmeMembershipService;
   private final PlacementService placementService;
   private final ProgrammeMembershipMapper programmeMembershipMapper;
+  private final Executor contactLookupExecutor;
+  private final Duration contactLookupTimeout;
+
+  /**
+   * Create a trainee profile service, local office contact lookups are run on a bounded pool.
+   *
+   * @param repository                 The trainee profile repository.
+   * @param profileCache               The read-through trainee profile cache.
+   * @param programmeMembershipService The programme membership service.
+   * @param placementService           The placement service.
+   * @param programmeMembershipMapper  The programme membership mapper.
+   * @param contactLookupThreads       The maximum number of concurrent contact lookups.
+   * @param contactLookupTimeout       The time allowed for a trainee's contact lookups.
+   */
+  @Autowired
+  TraineeProfileService(TraineeProfileRepository repository, TraineeProfileCache profileCache,
+      ProgrammeMembershipService programmeMembershipService,
+      PlacementService placementService,
+      ProgrammeMembershipMapper programmeMembershipMapper,
+      @Value("${application.local-office-contact-lookup.threads}") int contactLookupThreads,
+      @Value("${application.local-office-contact-lookup.timeout}") Duration contactLookupTimeout) {
+    this(repository, profileCache, programmeMembershipService, placementService,
+        programmeMembershipMapper, createContactLookupExecutor(contactLookupThreads),
+        contactLookupTimeout);
+  }
 
   TraineeProfileService(TraineeProfileRepository repository,
+                        TraineeProfileCache profileCache,
                         ProgrammeMembershipService programmeMembershipService,
                         PlacementService placementService,
-                        ProgrammeMembershipMapper programmeMembershipMapper) {
+                        ProgrammeMembershipMapper programmeMembershipMapper,
+                        Executor contactLookupExecutor,
+                        Duration contactLookupTimeout) {
     this.repository = repository;
+    this.profileCache = profileCache;
     this.programmeMembershipService = programmeMembershipService;
     this.placementService = placementService;
     this.programmeMembershipMapper = programmeMembershipMapper;
+    this.contactLookupExecutor = contactLookupExecutor;
+    this.contactLookupTimeout = contactLookupTimeout;
+  }
+
+  /**
+   * Create a bounded executor for local office contact lookups, once saturated further lookups are
+   * rejected instead of being queued without limit or run past the caller's deadline.
+   *
+   * @param threads The maximum number of lookup threads.
+   * @return The created executor.
+   */
+  private static ExecutorService createContactLookupExecutor(int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(threads * 4),
+        new CustomizableThreadFactory("local-office-contact-"), new AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Stop the local office contact lookup executor, if owned by this service.
+   */
+  @PreDestroy
+  void shutdownContactLookupExecutor() {
+    if (contactLookupExecutor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
   }
 
   /**
@@ -74,7 +151,7 @@ public class TraineeProfileService {
    * @return The trainee's profile.
    */
   public TraineeProfile getTraineeProfileByTraineeTisId(String traineeTisId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(traineeTisId);
+    TraineeProfile traineeProfile = profileCache.get(traineeTisId);
 
     if (traineeProfile != null) {
       traineeProfile.getQualifications().sort(Comparator.comparing(
@@ -143,7 +220,7 @@ public class TraineeProfileService {
    * @return The trainee email, or optional empty if trainee not found or email missing.
    */
   public Optional<UserDetails> getTraineeDetailsByTisId(String tisId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(tisId);
+    TraineeProfile traineeProfile = profileCache.get(tisId);
 
     if (traineeProfile != null && traineeProfile.getPersonalDetails() != null) {
       String email = traineeProfile.getPersonalDetails().getEmail();
@@ -166,7 +243,7 @@ public class TraineeProfileService {
    */
   public Optional<Set<LocalOfficeContact>> getTraineeLocalOfficeContacts(String tisId,
       LocalOfficeContactType contactType) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(tisId);
+    TraineeProfile traineeProfile = profileCache.get(tisId);
 
     if (traineeProfile != null) {
       LocalDate tomorrow = LocalDate.now(ZoneId.of("UTC")).plusDays(1);
@@ -175,21 +252,41 @@ public class TraineeProfileService {
           .filter(pm -> pm.getStartDate().isBefore(tomorrow))
           .filter(pm -> pm.getEndDate().isAfter(yesterday))
           .toList();
-      Set<LocalOfficeContact> localOfficeContacts = new HashSet<>();
 
+      // Identical local office and trainee type pairs only need to be looked up once.
+      Set<LocalOfficeKey> keys = new LinkedHashSet<>();
       for (ProgrammeMembership pm : currentPms) {
         if (pm.getManagingDeanery() != null) {
-          TraineeType traineeType = TraineeType.from(pm);
-          String loTypeContact = programmeMembershipService.getOwnerContact(
-                  pm.getManagingDeanery(),
-                  contactType,
-                  null,
-                  null,
-                  traineeType);
-          if (loTypeContact != null) {
-            localOfficeContacts.add(new LocalOfficeContact(
-                loTypeContact, pm.getManagingDeanery()));
-          }
+          keys.add(new LocalOfficeKey(pm.getManagingDeanery(), TraineeType.from(pm)));
+        }
+      }
+
+      Set<LocalOfficeContact> localOfficeContacts = new HashSet<>();
+      List<LocalOfficeKey> uncachedKeys = new ArrayList<>();
+
+      // Cached contacts are resolved without a remote call, so are not handed off.
+      for (LocalOfficeKey key : keys) {
+        if (isOwnerContactCached(key)) {
+          addLocalOfficeContact(localOfficeContacts, key, getOwnerContact(key, contactType));
+        } else {
+          uncachedKeys.add(key);
+        }
+      }
+
+      if (uncachedKeys.size() == 1) {
+        // A single lookup gains nothing from being handed off to another thread.
+        LocalOfficeKey key = uncachedKeys.get(0);
+        addLocalOfficeContact(localOfficeContacts, key, getOwnerContact(key, contactType));
+      } else if (!uncachedKeys.isEmpty()) {
+        long deadline = System.nanoTime() + contactLookupTimeout.toNanos();
+        Map<LocalOfficeKey, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+        for (LocalOfficeKey key : uncachedKeys) {
+          lookups.put(key, submitOwnerContactLookup(key, contactType));
+        }
+
+        for (Entry<LocalOfficeKey, CompletableFuture<String>> lookup : lookups.entrySet()) {
+          String loTypeContact = awaitOwnerContact(lookup.getKey(), lookup.getValue(), deadline);
+          addLocalOfficeContact(localOfficeContacts, lookup.getKey(), loTypeContact);
         }
       }
       return Optional.of(localOfficeContacts);
@@ -197,6 +294,93 @@ public class TraineeProfileService {
     return Optional.empty();
   }
 
+  /**
+   * Get the owner contact for the given local office and trainee type.
+   *
+   * @param key         The local office and trainee type to get the contact for.
+   * @param contactType The type of contact to get.
+   * @return The found contact, or null if not found.
+   */
+  private String getOwnerContact(LocalOfficeKey key, LocalOfficeContactType contactType) {
+    return programmeMembershipService.getOwnerContact(key.localOffice(), contactType, null, null,
+        key.traineeType());
+  }
+
+  /**
+   * Whether the owner contacts for the given local office and trainee type are cached.
+   *
+   * @param key The local office and trainee type to check.
+   * @return true if the contact can be found without a remote call, else false.
+   */
+  private boolean isOwnerContactCached(LocalOfficeKey key) {
+    return programmeMembershipService.isOwnerContactCached(key.localOffice(), key.traineeType());
+  }
+
+  /**
+   * Submit an owner contact lookup to the lookup executor. If the executor is saturated then the
+   * contact is only found if it has been cached since, rather than blocking the calling thread.
+   *
+   * @param key         The local office and trainee type to get the contact for.
+   * @param contactType The type of contact to get.
+   * @return The pending lookup.
+   */
+  private CompletableFuture<String> submitOwnerContactLookup(LocalOfficeKey key,
+      LocalOfficeContactType contactType) {
+    try {
+      return CompletableFuture.supplyAsync(() -> getOwnerContact(key, contactType),
+          contactLookupExecutor);
+    } catch (RejectedExecutionException e) {
+      log.warn("Contact lookups saturated, only using cached contacts for local office '{}' and "
+          + "trainee type '{}'.", key.localOffice(), key.traineeType());
+      return CompletableFuture.completedFuture(
+          isOwnerContactCached(key) ? getOwnerContact(key, contactType) : null);
+    }
+  }
+
+  /**
+   * Wait for an owner contact lookup to complete, up to the given deadline.
+   *
+   * @param key      The local office and trainee type being looked up.
+   * @param lookup   The pending lookup.
+   * @param deadline The {@link System#nanoTime()} by which the lookup must be complete.
+   * @return The found contact, or null if not found or not complete in time.
+   */
+  private String awaitOwnerContact(LocalOfficeKey key, CompletableFuture<String> lookup,
+      long deadline) {
+    try {
+      return lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Timed out getting the contact for local office '{}' and trainee type '{}'.",
+          key.localOffice(), key.traineeType());
+      lookup.cancel(false);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted getting the contact for local office '{}' and trainee type '{}'.",
+          key.localOffice(), key.traineeType());
+      return null;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Add a local office contact to the given set, if a contact was found.
+   *
+   * @param localOfficeContacts The set to add the contact to.
+   * @param key                 The local office and trainee type of the contact.
+   * @param contact             The found contact, may be null.
+   */
+  private void addLocalOfficeContact(Set<LocalOfficeContact> localOfficeContacts,
+      LocalOfficeKey key, String contact) {
+    if (contact != null) {
+      localOfficeContacts.add(new LocalOfficeContact(contact, key.localOffice()));
+    }
+  }
+
   /**
    * Get the trainee ID(s) associated with the given contact, GMC number and post code.
    *
@@ -229,7 +413,7 @@ public class TraineeProfileService {
    */
   public ProgrammeMembershipDto getFirstF2ProgrammeMembership(String tisId,
                                                                         String placementId) {
-    TraineeProfile traineeProfile = repository.findByTraineeTisId(tisId);
+    TraineeProfile traineeProfile = profileCache.get(tisId);
 
     if (traineeProfile == null) {
       log.info("Trainee with ID {} not found.", tisId);
@@ -267,6 +451,7 @@ public class TraineeProfileService {
    */
   public void deleteTraineeProfileByTraineeTisId(String traineeTisId) {
     repository.deleteByTraineeTisId(traineeTisId);
+    profileCache.evict(traineeTisId);
   }
 
   /**
@@ -283,4 +468,14 @@ public class TraineeProfileService {
     // A valid GMC number can consist of 7 numeric or L + 6 numeric
     return gmcNumber.matches("^(\\d{7}|L\\d{6})$");
   }
+
+  /**
+   * A local office and trainee type pair, used to de-duplicate owner contact lookups.
+   *
+   * @param localOffice The local office name.
+   * @param traineeType The trainee type.
+   */
+  private record LocalOfficeKey(String localOffice, TraineeType traineeType) {
+
+  }
 }
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.OK;
+
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import uk.nhs.hee.trainee.details.dto.EligibilityCheckDto;
+import uk.nhs.hee.trainee.details.dto.EligibilityResultDto;
+import uk.nhs.hee.trainee.details.service.EligibilityService;
+
+class EligibilityResourceTest {
+
+  private static final String TRAINEE_ID = "40";
+
+  private EligibilityResource controller;
+  private EligibilityService service;
+
+  @BeforeEach
+  void setUp() {
+    service = mock(EligibilityService.class);
+    controller = new EligibilityResource(service,
+        Validation.buildDefaultValidatorFactory().getValidator(), 2);
+  }
+
+  @Test
+  void shouldReturnEligibilityResults() {
+    List<EligibilityCheckDto> checks = List.of(
+        new EligibilityCheckDto(TRAINEE_ID, "pm1", null),
+        new EligibilityCheckDto(TRAINEE_ID, null, "placement1"));
+    List<EligibilityResultDto> results = List.of(
+        new EligibilityResultDto(TRAINEE_ID, "pm1", null, true, false, true),
+        new EligibilityResultDto(TRAINEE_ID, null, "placement1", null, true, false));
+
+    when(service.evaluate(checks)).thenReturn(results);
+
+    ResponseEntity<List<EligibilityResultDto>> response = controller.evaluateEligibility(checks);
+
+    assertThat("Unexpected response code.", response.getStatusCode(), is(OK));
+    assertThat("Unexpected response body.", response.getBody(), sameInstance(results));
+  }
+
+  @Test
+  void shouldRejectBatchLargerThanMaximum() {
+    List<EligibilityCheckDto> checks = List.of(
+        new EligibilityCheckDto(TRAINEE_ID, "pm1", null),
+        new EligibilityCheckDto(TRAINEE_ID, "pm2", null),
+        new EligibilityCheckDto(TRAINEE_ID, "pm3", null));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> controller.evaluateEligibility(checks));
+
+    assertThat("Unexpected status code.", exception.getStatusCode(), is(BAD_REQUEST));
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void shouldRejectNullItem() {
+    List<EligibilityCheckDto> checks = new ArrayList<>();
+    checks.add(new EligibilityCheckDto(TRAINEE_ID, "pm1", null));
+    checks.add(null);
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> controller.evaluateEligibility(checks));
+
+    assertThat("Unexpected status code.", exception.getStatusCode(), is(BAD_REQUEST));
+    assertThat("Unexpected reason.", exception.getReason(), containsString("Item 1"));
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void shouldRejectItemWithoutTraineeId() {
+    List<EligibilityCheckDto> checks = List.of(new EligibilityCheckDto(null, "pm1", null));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> controller.evaluateEligibility(checks));
+
+    assertThat("Unexpected status code.", exception.getStatusCode(), is(BAD_REQUEST));
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void shouldRejectItemWithoutTarget() {
+    List<EligibilityCheckDto> checks = List.of(new EligibilityCheckDto(TRAINEE_ID, null, null));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> controller.evaluateEligibility(checks));
+
+    assertThat("Unexpected status code.", exception.getStatusCode(), is(BAD_REQUEST));
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void shouldRejectItemWithBothTargets() {
+    List<EligibilityCheckDto> checks = List.of(
+        new EligibilityCheckDto(TRAINEE_ID, "pm1", "placement1"));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> controller.evaluateEligibility(checks));
+
+    assertThat("Unexpected status code.", exception.getStatusCode(), is(BAD_REQUEST));
+    verifyNoInteractions(service);
+  }
+}
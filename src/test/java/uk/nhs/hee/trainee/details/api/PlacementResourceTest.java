@@ -26,17 +26,23 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,8 +50,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.util.Pair;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
@@ -54,7 +62,10 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.hee.trainee.details.api.util.BulkSyncProcessor;
 import uk.nhs.hee.trainee.details.dto.PlacementDto;
+import uk.nhs.hee.trainee.details.dto.PlacementSyncDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.dto.enumeration.Status;
 import uk.nhs.hee.trainee.details.dto.signature.Signature;
 import uk.nhs.hee.trainee.details.dto.signature.SignedDto;
@@ -64,6 +75,7 @@ import uk.nhs.hee.trainee.details.mapper.SignatureMapperImpl;
 import uk.nhs.hee.trainee.details.model.Placement;
 import uk.nhs.hee.trainee.details.model.Site;
 import uk.nhs.hee.trainee.details.model.Specialty;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
 import uk.nhs.hee.trainee.details.service.PlacementService;
 import uk.nhs.hee.trainee.details.service.SignatureService;
 
@@ -72,6 +84,8 @@ import uk.nhs.hee.trainee.details.service.SignatureService;
 @WebMvcTest(PlacementResource.class)
 class PlacementResourceTest {
 
+  private static final TraineeProfile PROFILE = new TraineeProfile();
+
   @Autowired
   private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -91,10 +105,15 @@ class PlacementResourceTest {
 
   @BeforeEach
   void setUp() {
-    PlacementResource resource = new PlacementResource(service, placementMapper);
+    BulkSyncProcessor bulkSyncProcessor = new BulkSyncProcessor(mapper,
+        Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    PlacementResource resource = new PlacementResource(service, placementMapper,
+        bulkSyncProcessor);
     mockMvc = MockMvcBuilders.standaloneSetup(resource)
         .setMessageConverters(jacksonMessageConverter)
         .build();
+
+    when(service.getEligibilityProfile(any())).thenReturn(PROFILE);
   }
 
   @Test
@@ -194,6 +213,64 @@ class PlacementResourceTest {
     ;
   }
 
+  @Test
+  void shouldBulkUpdatePlacementsFromJsonArray() throws Exception {
+    when(service.updatePlacementsForTrainees(any())).thenAnswer(
+        inv -> ((List<?>) inv.getArgument(0)).stream()
+            .map(item -> BulkSyncStatus.UPDATED)
+            .toList());
+
+    PlacementDto placement1 = new PlacementDto();
+    placement1.setTisId("placement1");
+    PlacementDto placement2 = new PlacementDto();
+    placement2.setTisId("placement2");
+    PlacementDto placement3 = new PlacementDto();
+    placement3.setTisId("placement3");
+
+    List<PlacementSyncDto> items = List.of(
+        new PlacementSyncDto("1", placement1),
+        new PlacementSyncDto("1", placement2),
+        new PlacementSyncDto("2", placement3),
+        new PlacementSyncDto("2", new PlacementDto()));
+
+    mockMvc.perform(post("/api/placement/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsBytes(items)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(4))
+        .andExpect(jsonPath("$[0].traineeTisId").value("1"))
+        .andExpect(jsonPath("$[0].tisId").value("placement1"))
+        .andExpect(jsonPath("$[0].status").value("UPDATED"))
+        .andExpect(jsonPath("$[2].traineeTisId").value("2"))
+        .andExpect(jsonPath("$[2].tisId").value("placement3"))
+        .andExpect(jsonPath("$[2].status").value("UPDATED"))
+        .andExpect(jsonPath("$[3].traineeTisId").value("2"))
+        .andExpect(jsonPath("$[3].status").value("INVALID"));
+
+    ArgumentCaptor<List<Pair<String, Placement>>> batchCaptor = ArgumentCaptor.captor();
+    verify(service, times(2)).updatePlacementsForTrainees(batchCaptor.capture());
+
+    List<List<Pair<String, Placement>>> batches = batchCaptor.getAllValues();
+    assertThat("Unexpected first batch size.", batches.get(0).size(), is(2));
+    assertThat("Unexpected placement ID.", batches.get(0).get(1).getSecond().getTisId(),
+        is("placement2"));
+    assertThat("Unexpected second batch size.", batches.get(1).size(), is(1));
+  }
+
+  @Test
+  void shouldReturnMalformedResultWhenBulkPlacementsMalformed() throws Exception {
+    mockMvc.perform(post("/api/placement/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"traineeTisId\":\"1\"},"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].traineeTisId").value("1"))
+        .andExpect(jsonPath("$[0].status").value("INVALID"))
+        .andExpect(jsonPath("$[1].status").value("MALFORMED"));
+
+    verifyNoInteractions(service);
+  }
+
   @Test
   void shouldDeletePlacementWhenTraineeFound() throws Exception {
     when(service
@@ -236,8 +313,8 @@ class PlacementResourceTest {
 
   @Test
   void shouldReturnTrueWhenCanBeOnboardedAndInPilot2024() throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(true);
-    when(service.isPilot2024("40", "1")).thenReturn(true);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(true);
+    when(service.isPilot2024(PROFILE, "1")).thenReturn(true);
 
     mockMvc.perform(
             get("/api/placement/ispilot2024/{traineeTisId}/{placementId}",
@@ -250,8 +327,8 @@ class PlacementResourceTest {
 
   @Test
   void shouldReturnFalseWhenBothCanBeOnboardedAndInPilot2024False() throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(false);
-    when(service.isPilot2024("40", "1")).thenReturn(false);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(false);
+    when(service.isPilot2024(PROFILE, "1")).thenReturn(false);
 
     mockMvc.perform(
             get("/api/placement/ispilot2024/{traineeTisId}/{placementId}",
@@ -266,8 +343,8 @@ class PlacementResourceTest {
   @ValueSource(booleans = {true, false})
   void shouldReturnFalseWhenOneOfCanBeOnboardedOrInPilot2024False(boolean isValid)
       throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(isValid);
-    when(service.isPilot2024("40", "1")).thenReturn(!isValid);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(isValid);
+    when(service.isPilot2024(PROFILE, "1")).thenReturn(!isValid);
 
     mockMvc.perform(
             get("/api/placement/ispilot2024/{traineeTisId}/{placementId}",
@@ -281,7 +358,7 @@ class PlacementResourceTest {
   @Test
   void shouldThrowBadRequestWhenCanBeOnboardedException() throws Exception {
     when(service
-        .canBeOnboarded("triggersError", "1"))
+        .canBeOnboarded(PROFILE, "1"))
         .thenThrow(new IllegalArgumentException());
 
     mockMvc.perform(
@@ -293,9 +370,9 @@ class PlacementResourceTest {
 
   @Test
   void shouldThrowBadRequestWhenPlacementPilot2024Exception() throws Exception {
-    when(service.canBeOnboarded("triggersError", "1")).thenReturn(true);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(true);
     when(service
-        .isPilot2024("triggersError", "1"))
+        .isPilot2024(PROFILE, "1"))
         .thenThrow(new IllegalArgumentException());
 
     mockMvc.perform(
@@ -309,8 +386,8 @@ class PlacementResourceTest {
   @ValueSource(booleans = {true, false})
   void shouldReturnTrueWhenCanBeOnboardedAndInPilotRollout2024(boolean isPilotRollout2024)
       throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(true);
-    when(service.isPilotRollout2024("40", "1")).thenReturn(true);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(true);
+    when(service.isPilotRollout2024(PROFILE, "1")).thenReturn(true);
 
     mockMvc.perform(
             get("/api/placement/isrollout2024/{traineeTisId}/{placementId}",
@@ -323,8 +400,8 @@ class PlacementResourceTest {
 
   @Test
   void shouldReturnFalseWhenBothCanBeOnboardedAndInPilotRollout2024False() throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(false);
-    when(service.isPilotRollout2024("40", "1")).thenReturn(false);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(false);
+    when(service.isPilotRollout2024(PROFILE, "1")).thenReturn(false);
 
     mockMvc.perform(
             get("/api/placement/isrollout2024/{traineeTisId}/{placementId}",
@@ -339,8 +416,8 @@ class PlacementResourceTest {
   @ValueSource(booleans = {true, false})
   void shouldReturnFalseWhenOneOfCanBeOnboardedOrInPilotRollout2024False(boolean isValid)
       throws Exception {
-    when(service.canBeOnboarded("40", "1")).thenReturn(isValid);
-    when(service.isPilotRollout2024("40", "1")).thenReturn(!isValid);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(isValid);
+    when(service.isPilotRollout2024(PROFILE, "1")).thenReturn(!isValid);
 
     mockMvc.perform(
             get("/api/placement/isrollout2024/{traineeTisId}/{placementId}",
@@ -354,7 +431,7 @@ class PlacementResourceTest {
   @Test
   void shouldThrowBadRequestWhenPlacementCanBeOnboardedException() throws Exception {
     when(service
-        .canBeOnboarded("triggersError", "1"))
+        .canBeOnboarded(PROFILE, "1"))
         .thenThrow(new IllegalArgumentException());
 
     mockMvc.perform(
@@ -366,9 +443,9 @@ class PlacementResourceTest {
 
   @Test
   void shouldThrowBadRequestWhenPlacementPilotRollout2024Exception() throws Exception {
-    when(service.canBeOnboarded("triggersError", "1")).thenReturn(true);
+    when(service.canBeOnboarded(PROFILE, "1")).thenReturn(true);
     when(service
-        .isPilotRollout2024("triggersError", "1"))
+        .isPilotRollout2024(PROFILE, "1"))
         .thenThrow(new IllegalArgumentException());
 
     mockMvc.perform(
@@ -23,42 +23,63 @@ package uk.nhs.hee.trainee.details.api;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.util.Pair;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.templatemode.TemplateMode;
 import uk.nhs.hee.trainee.details.TestJwtUtil;
+import uk.nhs.hee.trainee.details.api.util.BulkSyncProcessor;
 import uk.nhs.hee.trainee.details.config.InterceptorConfiguration;
+import uk.nhs.hee.trainee.details.dto.PdfJobDto;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
+import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipSyncDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
+import uk.nhs.hee.trainee.details.dto.enumeration.PdfJobStatus;
 import uk.nhs.hee.trainee.details.dto.signature.Signature;
 import uk.nhs.hee.trainee.details.dto.signature.SignedDto;
 import uk.nhs.hee.trainee.details.mapper.ProgrammeMembershipMapperImpl;
@@ -67,16 +88,23 @@ import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
 import uk.nhs.hee.trainee.details.model.HeeUser;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 import uk.nhs.hee.trainee.details.service.EventPublishService;
+import uk.nhs.hee.trainee.details.service.PdfGeneratingService;
+import uk.nhs.hee.trainee.details.service.PdfJobService;
+import uk.nhs.hee.trainee.details.service.PdfTemplate;
 import uk.nhs.hee.trainee.details.service.ProgrammeMembershipService;
 import uk.nhs.hee.trainee.details.service.SignatureService;
 
 // Explicit import seems required when resource not included in Context Configuration.
 @Import(ProgrammeMembershipResource.class)
 @ContextConfiguration(classes = {ProgrammeMembershipMapperImpl.class, SignatureMapperImpl.class,
-    InterceptorConfiguration.class})
-@WebMvcTest(ProgrammeMembershipResource.class)
+    InterceptorConfiguration.class, BulkSyncProcessor.class})
+@WebMvcTest(value = ProgrammeMembershipResource.class,
+    properties = "application.bulk-sync.batch-size=2")
 class ProgrammeMembershipResourceTest {
 
+  private static final PdfTemplate PDF_TEMPLATE = new PdfTemplate(
+      new TemplateSpec("template", Set.of(), TemplateMode.HTML, null), Map.of("key", "value"));
+
   @Autowired
   private ObjectMapper mapper;
 
@@ -89,6 +117,12 @@ class ProgrammeMembershipResourceTest {
   @MockitoBean
   private EventPublishService eventPublishService;
 
+  @MockitoBean
+  private PdfGeneratingService pdfService;
+
+  @MockitoBean
+  private PdfJobService pdfJobService;
+
 
   @MockitoBean
   private SignatureService signatureService;
@@ -190,6 +224,78 @@ class ProgrammeMembershipResourceTest {
         .andExpect(jsonPath("$.signature.validUntil").value(signature.getValidUntil().toString()));
   }
 
+  @Test
+  void shouldBulkUpdateProgrammeMembershipsInBatches() throws Exception {
+    when(service.updateProgrammeMembershipsForTrainees(any())).thenAnswer(
+        inv -> ((List<?>) inv.getArgument(0)).stream()
+            .map(item -> BulkSyncStatus.UPDATED)
+            .toList());
+
+    String body = String.join("\n",
+        createSyncItem("1", "pm1"), createSyncItem("2", "pm2"), createSyncItem("3", "pm3"));
+
+    mockMvc.perform(post("/api/programme-membership/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].traineeTisId").value("1"))
+        .andExpect(jsonPath("$[0].tisId").value("pm1"))
+        .andExpect(jsonPath("$[0].status").value("UPDATED"))
+        .andExpect(jsonPath("$[2].traineeTisId").value("3"))
+        .andExpect(jsonPath("$[2].tisId").value("pm3"))
+        .andExpect(jsonPath("$[2].status").value("UPDATED"));
+
+    ArgumentCaptor<List<Pair<String, ProgrammeMembership>>> batchCaptor
+        = ArgumentCaptor.captor();
+    verify(service, times(2)).updateProgrammeMembershipsForTrainees(batchCaptor.capture());
+
+    List<List<Pair<String, ProgrammeMembership>>> batches = batchCaptor.getAllValues();
+    assertThat("Unexpected first batch size.", batches.get(0).size(), is(2));
+    assertThat("Unexpected trainee ID.", batches.get(0).get(0).getFirst(), is("1"));
+    assertThat("Unexpected programme membership ID.", batches.get(0).get(0).getSecond().getTisId(),
+        is("pm1"));
+    assertThat("Unexpected second batch size.", batches.get(1).size(), is(1));
+  }
+
+  @Test
+  void shouldNotBulkUpdateInvalidProgrammeMemberships() throws Exception {
+    when(service.updateProgrammeMembershipsForTrainees(any()))
+        .thenReturn(List.of(BulkSyncStatus.NOT_FOUND));
+
+    String body = String.join("\n",
+        "{\"traineeTisId\":\"1\",\"programmeMembership\":{}}",
+        createSyncItem("2", "pm2"));
+
+    mockMvc.perform(post("/api/programme-membership/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].traineeTisId").value("1"))
+        .andExpect(jsonPath("$[0].status").value("INVALID"))
+        .andExpect(jsonPath("$[1].traineeTisId").value("2"))
+        .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+
+    ArgumentCaptor<List<Pair<String, ProgrammeMembership>>> batchCaptor
+        = ArgumentCaptor.captor();
+    verify(service).updateProgrammeMembershipsForTrainees(batchCaptor.capture());
+    assertThat("Unexpected batch size.", batchCaptor.getValue().size(), is(1));
+  }
+
+  @Test
+  void shouldReturnMalformedResultWhenBulkUpdateMalformed() throws Exception {
+    mockMvc.perform(post("/api/programme-membership/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content("{\"traineeTisId\":"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].status").value("MALFORMED"));
+
+    verifyNoInteractions(service);
+  }
+
   @Test
   void shouldDeleteProgrammeMembershipWhenTraineeFound() throws Exception {
     when(service
@@ -409,34 +515,274 @@ class ProgrammeMembershipResourceTest {
   }
 
   @Test
-  void shouldReturnBadRequestWhenDownloadPdfThrowsException() throws Exception {
+  void shouldNotReturnBadRequestWhenDownloadPdfRenderFails() throws Exception {
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+
+    when(service.getProgrammeMembershipPdfTemplate("tisIdValue", "40"))
+        .thenReturn(PDF_TEMPLATE);
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.empty());
+    doThrow(IOException.class).when(pdfService)
+        .generatePdf(eq(PDF_TEMPLATE.templateSpec()), eq(PDF_TEMPLATE.variables()), any());
+
+    MvcResult result = mockMvc.perform(
+            get("/api/programme-membership/{programmeMembershipId}/confirmation", 40)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Unhandled, so reported as a server error by the container.
+    assertThrows(IOException.class, () -> mockMvc.perform(asyncDispatch(result)));
+  }
+
+  @Test
+  void shouldReturnBadRequestBeforeStreamingWhenDownloadPdfTemplateNotFound() throws Exception {
     String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
 
-    when(service.generateProgrammeMembershipPdf("tisIdValue", "40"))
-        .thenThrow(IOException.class);
+    when(service.getProgrammeMembershipPdfTemplate("tisIdValue", "40"))
+        .thenThrow(new IllegalArgumentException("Trainee Profile tisIdValue not found."));
 
     mockMvc.perform(get("/api/programme-membership/{programmeMembershipId}/confirmation", 40)
             .contentType(MediaType.APPLICATION_JSON)
             .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(request().asyncNotStarted())
         .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(pdfService);
   }
 
   @Test
-  void shouldDownloadPdfWhenTraineePmFound() throws Exception {
+  void shouldStreamPdfWithoutLengthWhenTraineePmFoundAndPdfNotCached() throws Exception {
     byte[] response = "response content".getBytes();
 
-    when(service.generateProgrammeMembershipPdf("tisIdValue", "40"))
-        .thenReturn(response);
+    when(service.getProgrammeMembershipPdfTemplate("tisIdValue", "40"))
+        .thenReturn(PDF_TEMPLATE);
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.empty());
+    doAnswer(inv -> {
+      OutputStream os = inv.getArgument(2);
+      os.write(response);
+      return null;
+    }).when(pdfService)
+        .generatePdf(eq(PDF_TEMPLATE.templateSpec()), eq(PDF_TEMPLATE.variables()), any());
 
     String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
-    mockMvc.perform(get("/api/programme-membership/{programmeMembershipId}/confirmation", 40)
-            .contentType(MediaType.APPLICATION_JSON)
+    MvcResult result = mockMvc.perform(
+            get("/api/programme-membership/{programmeMembershipId}/confirmation", 40)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+        .andExpect(content().bytes(response));
+
+    verify(pdfService, never()).generatePdf(any(), any());
+  }
+
+  @Test
+  void shouldReturnCachedPdfWithLengthWhenTraineePmFoundAndPdfCached() throws Exception {
+    byte[] response = "response content".getBytes();
+
+    when(service.getProgrammeMembershipPdfTemplate("tisIdValue", "40"))
+        .thenReturn(PDF_TEMPLATE);
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.of(response));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    MvcResult result = mockMvc.perform(
+            get("/api/programme-membership/{programmeMembershipId}/confirmation", 40)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, response.length))
+        .andExpect(content().bytes(response));
+
+    verify(pdfService, never()).generatePdf(any(), any(), any());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenSubmitPdfJobTokenNotFound() throws Exception {
+    mockMvc.perform(post("/api/programme-membership/{programmeMembershipId}/confirmation/jobs", 40))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(pdfJobService);
+  }
+
+  @Test
+  void shouldReturnServiceUnavailableWhenPdfJobQueueFull() throws Exception {
+    when(pdfJobService.submitProgrammeMembershipPdf("tisIdValue", "40"))
+        .thenThrow(RejectedExecutionException.class);
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(post("/api/programme-membership/{programmeMembershipId}/confirmation/jobs", 40)
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPdfJobProgrammeMembershipInvalid() throws Exception {
+    when(pdfJobService.submitProgrammeMembershipPdf("tisIdValue", "40"))
+        .thenThrow(IllegalArgumentException.class);
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(post("/api/programme-membership/{programmeMembershipId}/confirmation/jobs", 40)
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void shouldReturnAcceptedWhenPdfJobSubmitted() throws Exception {
+    when(pdfJobService.submitProgrammeMembershipPdf("tisIdValue", "40"))
+        .thenReturn(new PdfJobDto("job1", PdfJobStatus.PENDING));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(post("/api/programme-membership/{programmeMembershipId}/confirmation/jobs", 40)
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value("job1"))
+        .andExpect(jsonPath("$.status").value("PENDING"));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenGetPdfJobTokenNotFound() throws Exception {
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}", "job1"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(pdfJobService);
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenPdfJobNotFound() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1")).thenReturn(Optional.empty());
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldReturnPdfJobWhenFound() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.COMPLETE)));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value("job1"))
+        .andExpect(jsonPath("$.status").value("COMPLETE"));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenGetPdfJobPdfTokenNotFound() throws Exception {
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(pdfJobService);
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenPdfJobPdfJobNotFound() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1")).thenReturn(Optional.empty());
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldReturnAcceptedWhenPdfJobPdfPending() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.PENDING)));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isAccepted());
+
+    verify(pdfJobService, never()).getPdf(any(), any());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPdfJobPdfFailed() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.FAILED)));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isBadRequest());
+
+    verify(pdfJobService, never()).getPdf(any(), any());
+  }
+
+  @Test
+  void shouldReturnPdfWhenPdfJobPdfComplete() throws Exception {
+    byte[] response = "response content".getBytes();
+
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.COMPLETE)));
+    when(pdfJobService.getPdf("tisIdValue", "job1")).thenReturn(Optional.of(response));
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
             .header(HttpHeaders.AUTHORIZATION, token))
         .andExpect(status().isOk())
         .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, response.length))
         .andExpect(content().bytes(response));
   }
 
+  @Test
+  void shouldReturnAcceptedWhenPdfJobPdfRegenerating() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.COMPLETE)));
+    when(pdfJobService.getPdf("tisIdValue", "job1")).thenReturn(Optional.empty());
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isAccepted());
+  }
+
+  @Test
+  void shouldReturnServiceUnavailableWhenPdfJobPdfRegenerationQueueFull() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.COMPLETE)));
+    when(pdfJobService.getPdf("tisIdValue", "job1"))
+        .thenThrow(RejectedExecutionException.class);
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPdfJobPdfProgrammeMembershipInvalid() throws Exception {
+    when(pdfJobService.getJob("tisIdValue", "job1"))
+        .thenReturn(Optional.of(new PdfJobDto("job1", PdfJobStatus.COMPLETE)));
+    when(pdfJobService.getPdf("tisIdValue", "job1"))
+        .thenThrow(IllegalArgumentException.class);
+
+    String token = TestJwtUtil.generateTokenForTisId("tisIdValue");
+    mockMvc.perform(get("/api/programme-membership/confirmation/jobs/{jobId}/pdf", "job1")
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isBadRequest());
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   void shouldReturnProgrammeMembershipNewStarterWhenTraineeFound(boolean isNewStarter)
@@ -523,4 +869,19 @@ class ProgrammeMembershipResourceTest {
                 .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isBadRequest());
   }
+
+  /**
+   * Create a bulk sync item as a line of JSON.
+   *
+   * @param traineeTisId          The trainee TIS ID.
+   * @param programmeMembershipId The programme membership ID.
+   * @return The JSON string.
+   * @throws IOException If the item could not be serialized.
+   */
+  private String createSyncItem(String traineeTisId, String programmeMembershipId)
+      throws IOException {
+    ProgrammeMembershipDto dto = new ProgrammeMembershipDto();
+    dto.setTisId(programmeMembershipId);
+    return mapper.writeValueAsString(new ProgrammeMembershipSyncDto(traineeTisId, dto));
+  }
 }
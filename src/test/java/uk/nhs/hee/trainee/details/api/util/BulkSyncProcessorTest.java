@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.api.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.hee.trainee.details.dto.BulkSyncResultDto;
+import uk.nhs.hee.trainee.details.dto.PlacementSyncDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+
+class BulkSyncProcessorTest {
+
+  private static final String ITEM_TEMPLATE
+      = "{\"traineeTisId\": \"%s\", \"placement\": {\"tisId\": \"%s\"}}";
+
+  private BulkSyncProcessor processor;
+  private List<List<PlacementSyncDto>> batches;
+
+  @BeforeEach
+  void setUp() {
+    processor = new BulkSyncProcessor(new ObjectMapper().findAndRegisterModules(),
+        Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    batches = new ArrayList<>();
+  }
+
+  @Test
+  void shouldReadNewlineDelimitedItemsInBatches() throws IOException {
+    String body = String.join("\n", item("1", "a"), item("2", "b"), item("3", "c"));
+
+    List<BulkSyncResultDto> results = processor.process(toStream(body), PlacementSyncDto.class,
+        this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(2));
+    assertThat("Unexpected first batch size.", batches.get(0).size(), is(2));
+    assertThat("Unexpected second batch size.", batches.get(1).size(), is(1));
+    assertThat("Unexpected results.", results, is(List.of(
+        new BulkSyncResultDto("1", "a", BulkSyncStatus.UPDATED),
+        new BulkSyncResultDto("2", "b", BulkSyncStatus.UPDATED),
+        new BulkSyncResultDto("3", "c", BulkSyncStatus.UPDATED))));
+  }
+
+  @Test
+  void shouldReadJsonArrayItemsInBatches() throws IOException {
+    String body = "[" + String.join(",", item("1", "a"), item("2", "b"), item("3", "c")) + "]";
+
+    List<BulkSyncResultDto> results = processor.process(toStream(body), PlacementSyncDto.class,
+        this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(2));
+    assertThat("Unexpected result count.", results.size(), is(3));
+    assertThat("Unexpected last result.", results.get(2),
+        is(new BulkSyncResultDto("3", "c", BulkSyncStatus.UPDATED)));
+  }
+
+  @Test
+  void shouldNotApplyInvalidItems() throws IOException {
+    String body = String.join("\n",
+        "{\"traineeTisId\": \"1\"}",
+        "null",
+        item("3", "c"),
+        "{\"placement\": {\"tisId\": \"d\"}}");
+
+    List<BulkSyncResultDto> results = processor.process(toStream(body), PlacementSyncDto.class,
+        items -> items.stream().map(item -> BulkSyncStatus.NOT_FOUND).toList());
+
+    assertThat("Unexpected results.", results, is(List.of(
+        new BulkSyncResultDto("1", null, BulkSyncStatus.INVALID),
+        new BulkSyncResultDto(null, null, BulkSyncStatus.INVALID),
+        new BulkSyncResultDto("3", "c", BulkSyncStatus.NOT_FOUND),
+        new BulkSyncResultDto(null, "d", BulkSyncStatus.INVALID))));
+  }
+
+  @Test
+  void shouldNotApplyBatchWhenNoValidItems() throws IOException {
+    String body = "{\"traineeTisId\": \"1\"}";
+
+    List<BulkSyncResultDto> results = processor.process(toStream(body), PlacementSyncDto.class,
+        this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(0));
+    assertThat("Unexpected results.", results,
+        is(List.of(new BulkSyncResultDto("1", null, BulkSyncStatus.INVALID))));
+  }
+
+  @Test
+  void shouldReturnNoResultsWhenBodyEmpty() throws IOException {
+    List<BulkSyncResultDto> results = processor.process(toStream(""), PlacementSyncDto.class,
+        this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(0));
+    assertThat("Unexpected results.", results, is(List.of()));
+  }
+
+  @Test
+  void shouldApplyReadItemsAndReportMalformedWhenBodyMalformed() throws IOException {
+    String body = String.join("\n", item("1", "a"), item("2", "b"), item("3", "c"),
+        "{\"traineeTisId\":", item("4", "d"));
+
+    List<BulkSyncResultDto> results = processor.process(toStream(body), PlacementSyncDto.class,
+        this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(2));
+    assertThat("Unexpected results.", results, is(List.of(
+        new BulkSyncResultDto("1", "a", BulkSyncStatus.UPDATED),
+        new BulkSyncResultDto("2", "b", BulkSyncStatus.UPDATED),
+        new BulkSyncResultDto("3", "c", BulkSyncStatus.UPDATED),
+        new BulkSyncResultDto(null, null, BulkSyncStatus.MALFORMED))));
+  }
+
+  @Test
+  void shouldReportMalformedWhenBodyNotJson() throws IOException {
+    List<BulkSyncResultDto> results = processor.process(toStream("not json"),
+        PlacementSyncDto.class, this::updateAll);
+
+    assertThat("Unexpected batch count.", batches.size(), is(0));
+    assertThat("Unexpected results.", results,
+        is(List.of(new BulkSyncResultDto(null, null, BulkSyncStatus.MALFORMED))));
+  }
+
+  /**
+   * Record the batch and mark each item as updated.
+   *
+   * @param items The items to update.
+   * @return The updated status for each item.
+   */
+  private List<BulkSyncStatus> updateAll(List<PlacementSyncDto> items) {
+    batches.add(items);
+    return items.stream().map(item -> BulkSyncStatus.UPDATED).toList();
+  }
+
+  private static String item(String traineeTisId, String tisId) {
+    return ITEM_TEMPLATE.formatted(traineeTisId, tisId);
+  }
+
+  private static InputStream toStream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
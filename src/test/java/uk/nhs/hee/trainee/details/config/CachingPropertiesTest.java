@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+
+package uk.nhs.hee.trainee.details.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import uk.nhs.hee.trainee.details.config.CachingProperties.CacheSpec;
+
+class CachingPropertiesTest {
+
+  @Test
+  void shouldAllowTraineeProfileCacheWithoutLocalTier() {
+    CacheSpec traineeProfiles = new CacheSpec(Duration.ofMinutes(5), 0, Duration.ZERO);
+
+    CachingProperties properties = CachingProperties.builder()
+        .traineeProfiles(traineeProfiles)
+        .build();
+
+    assertThat("Unexpected trainee profile cache spec.", properties.traineeProfiles(),
+        is(traineeProfiles));
+  }
+
+  @Test
+  void shouldAllowOtherCachesWithLocalTier() {
+    CacheSpec pdfs = new CacheSpec(Duration.ofDays(1), 50, Duration.ofMinutes(10));
+
+    CachingProperties properties = CachingProperties.builder()
+        .pdfs(pdfs)
+        .build();
+
+    assertThat("Unexpected PDF cache spec.", properties.pdfs(), is(pdfs));
+  }
+
+  @Test
+  void shouldRejectTraineeProfileCacheWithLocalTier() {
+    CacheSpec traineeProfiles = new CacheSpec(Duration.ofMinutes(5), 10, Duration.ofMinutes(1));
+    CachingProperties.CachingPropertiesBuilder builder = CachingProperties.builder()
+        .traineeProfiles(traineeProfiles);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import uk.nhs.hee.trainee.details.config.CacheCodecs.ByteArrayCodec;
+import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
+import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
+import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+class CompactRedisSerializerTest {
+
+  private static final Instant SIGNED_AT = Instant.parse("2024-01-02T03:04:05.123456789Z");
+  private static final Instant SYNCED_AT = Instant.parse("2024-02-03T04:05:06Z");
+
+  private CompactRedisSerializer serializer;
+  private MappingMongoConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+        new MongoMappingContext());
+    converter.afterPropertiesSet();
+    serializer = CacheConfiguration.cacheValueSerializer(converter, true);
+  }
+
+  @Test
+  void shouldRoundTripConditionsOfJoining() {
+    ConditionsOfJoining coj = new ConditionsOfJoining(SIGNED_AT, GoldGuideVersion.GG10, SYNCED_AT);
+
+    Object deserialized = serializer.deserialize(serializer.serialize(coj));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(coj));
+  }
+
+  @Test
+  void shouldRoundTripConditionsOfJoiningWithNullFields() {
+    ConditionsOfJoining coj = new ConditionsOfJoining(null, null, null);
+
+    Object deserialized = serializer.deserialize(serializer.serialize(coj));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(coj));
+  }
+
+  @Test
+  void shouldSerializeConditionsOfJoiningSmallerThanJdkSerialization() {
+    ConditionsOfJoining coj = new ConditionsOfJoining(SIGNED_AT, GoldGuideVersion.GG10, SYNCED_AT);
+
+    byte[] compact = serializer.serialize(coj);
+    byte[] jdk = new JdkSerializationRedisSerializer().serialize(coj);
+
+    assertThat("Unexpected serialized size.", compact.length, lessThan(jdk.length / 4));
+  }
+
+  @Test
+  void shouldRoundTripTraineeProfile() {
+    PersonalDetails personalDetails = new PersonalDetails();
+    personalDetails.setForenames("Anthony");
+    personalDetails.setDateOfBirth(LocalDate.of(1990, 1, 2));
+
+    ProgrammeMembership programmeMembership = new ProgrammeMembership();
+    programmeMembership.setTisId("pm-1");
+    programmeMembership.setStartDate(LocalDate.of(2024, 8, 7));
+    // Mongo dates hold milliseconds, so the instants are truncated to match.
+    programmeMembership.setConditionsOfJoining(new ConditionsOfJoining(
+        SIGNED_AT.truncatedTo(ChronoUnit.MILLIS), GoldGuideVersion.GG10, SYNCED_AT));
+
+    TraineeProfile profile = new TraineeProfile();
+    profile.setId("profile-1");
+    profile.setTraineeTisId("40");
+    profile.setVersion(3L);
+    profile.setPersonalDetails(personalDetails);
+    profile.getProgrammeMemberships().add(programmeMembership);
+
+    Object deserialized = serializer.deserialize(serializer.serialize(profile));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(profile));
+  }
+
+  @Test
+  void shouldRoundTripByteArray() {
+    byte[] pdf = "pdf".getBytes();
+
+    Object deserialized = serializer.deserialize(serializer.serialize(pdf));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(pdf));
+  }
+
+  @Test
+  void shouldRoundTripNullValue() {
+    Object deserialized = serializer.deserialize(serializer.serialize(NullValue.INSTANCE));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(NullValue.INSTANCE));
+  }
+
+  @Test
+  void shouldFallBackToJdkSerializationWhenTypeNotRegistered() {
+    LocalDate date = LocalDate.of(2024, 1, 2);
+
+    byte[] serialized = serializer.serialize(date);
+
+    assertThat("Unexpected format version.", serialized[0],
+        is(CompactRedisSerializer.FORMAT_VERSION));
+    assertThat("Unexpected deserialized value.", serializer.deserialize(serialized), is(date));
+  }
+
+  @Test
+  void shouldDeserializeValuesWrittenByJdkSerializer() {
+    ConditionsOfJoining coj = new ConditionsOfJoining(SIGNED_AT, GoldGuideVersion.GG9, SYNCED_AT);
+    byte[] jdk = new JdkSerializationRedisSerializer().serialize(coj);
+
+    Object deserialized = serializer.deserialize(jdk);
+
+    assertThat("Unexpected deserialized value.", deserialized, is(coj));
+  }
+
+  @Test
+  void shouldReturnNullWhenDeserializingEmptyBytes() {
+    assertThat("Unexpected deserialized value.", serializer.deserialize(new byte[0]),
+        nullValue());
+    assertThat("Unexpected deserialized value.", serializer.deserialize(null), nullValue());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenFormatVersionUnsupported() {
+    byte[] bytes = {(byte) (CompactRedisSerializer.FORMAT_VERSION + 1), 2};
+
+    assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenTypeIdUnknown() {
+    byte[] bytes = {CompactRedisSerializer.FORMAT_VERSION, 100};
+
+    assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenTypeIdRegisteredTwice() {
+    assertThrows(IllegalArgumentException.class,
+        () -> serializer.register(1, new ByteArrayCodec()));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenTypeIdOutOfRange() {
+    CompactRedisSerializer emptySerializer = new CompactRedisSerializer(null);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> emptySerializer.register(0, new ByteArrayCodec()));
+  }
+
+  @Test
+  void shouldWriteJdkFormatReadableByPreviousReleaseWhenCompactWritesDisabled() {
+    CompactRedisSerializer legacySerializer = CacheConfiguration.cacheValueSerializer(converter,
+        false);
+    ConditionsOfJoining coj = new ConditionsOfJoining(SIGNED_AT, GoldGuideVersion.GG10, SYNCED_AT);
+
+    byte[] serialized = legacySerializer.serialize(coj);
+
+    Object previousRelease = new JdkSerializationRedisSerializer().deserialize(serialized);
+    assertThat("Unexpected previous release value.", previousRelease, is(coj));
+    assertThat("Unexpected deserialized value.", serializer.deserialize(serialized), is(coj));
+  }
+
+  @Test
+  void shouldWriteJdkFormatForNullValueWhenCompactWritesDisabled() {
+    CompactRedisSerializer legacySerializer = CacheConfiguration.cacheValueSerializer(converter,
+        false);
+
+    byte[] serialized = legacySerializer.serialize(NullValue.INSTANCE);
+
+    Object previousRelease = new JdkSerializationRedisSerializer().deserialize(serialized);
+    assertThat("Unexpected previous release value.", previousRelease, is(NullValue.INSTANCE));
+  }
+
+  @Test
+  void shouldReadCompactFormatWhenCompactWritesDisabled() {
+    CompactRedisSerializer legacySerializer = CacheConfiguration.cacheValueSerializer(converter,
+        false);
+    ConditionsOfJoining coj = new ConditionsOfJoining(SIGNED_AT, GoldGuideVersion.GG10, SYNCED_AT);
+
+    Object deserialized = legacySerializer.deserialize(serializer.serialize(coj));
+
+    assertThat("Unexpected deserialized value.", deserialized, is(coj));
+  }
+
+  @Test
+  void shouldWriteCompactFormatForNonSerializableTypesWhenCompactWritesDisabled() {
+    CompactRedisSerializer legacySerializer = CacheConfiguration.cacheValueSerializer(converter,
+        false);
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId("40");
+
+    byte[] serialized = legacySerializer.serialize(profile);
+
+    assertThat("Unexpected format version.", serialized[0],
+        is(CompactRedisSerializer.FORMAT_VERSION));
+    TraineeProfile deserialized = (TraineeProfile) serializer.deserialize(serialized);
+    assertThat("Unexpected trainee ID.", deserialized.getTraineeTisId(), is("40"));
+  }
+}
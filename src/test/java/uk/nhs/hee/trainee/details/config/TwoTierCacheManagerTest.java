@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import uk.nhs.hee.trainee.details.config.CachingProperties.CacheSpec;
+import uk.nhs.hee.trainee.details.config.TwoTierCacheManager.CacheInvalidation;
+
+class TwoTierCacheManagerTest {
+
+  private static final String LOCAL_CACHE = "localCache";
+  private static final String REMOTE_ONLY_CACHE = "remoteOnlyCache";
+  private static final String KEY = "key1";
+
+  private TwoTierCacheManager cacheManager;
+  private ConcurrentMapCacheManager remoteCacheManager;
+  private StringRedisTemplate redisTemplate;
+  private ObjectMapper mapper;
+
+  @BeforeEach
+  void setUp() {
+    remoteCacheManager = new ConcurrentMapCacheManager(LOCAL_CACHE, REMOTE_ONLY_CACHE);
+    redisTemplate = mock(StringRedisTemplate.class);
+    mapper = new ObjectMapper();
+
+    Map<String, CacheSpec> specs = Map.of(
+        LOCAL_CACHE, new CacheSpec(Duration.ofDays(1), 10, Duration.ofMinutes(10)),
+        REMOTE_ONLY_CACHE, new CacheSpec(Duration.ZERO, 0, Duration.ZERO)
+    );
+    cacheManager = new TwoTierCacheManager(remoteCacheManager, specs, redisTemplate, mapper,
+        true);
+  }
+
+  @Test
+  void shouldAddLocalTierWhenEnabledForCache() {
+    Cache cache = cacheManager.getCache(LOCAL_CACHE);
+
+    assertThat("Unexpected cache type.", cache, instanceOf(TwoTierCache.class));
+  }
+
+  @Test
+  void shouldNotAddLocalTierWhenDisabledForCache() {
+    Cache cache = cacheManager.getCache(REMOTE_ONLY_CACHE);
+
+    assertThat("Unexpected cache type.", cache, not(instanceOf(TwoTierCache.class)));
+  }
+
+  @Test
+  void shouldReturnNullWhenRemoteCacheNotFound() {
+    Cache cache = cacheManager.getCache("unknownCache");
+
+    assertThat("Unexpected cache.", cache, nullValue());
+  }
+
+  @Test
+  void shouldReturnSameCacheInstanceWhenRetrievedAgain() {
+    Cache cache1 = cacheManager.getCache(LOCAL_CACHE);
+    Cache cache2 = cacheManager.getCache(LOCAL_CACHE);
+
+    assertThat("Unexpected cache instance.", cache1 == cache2, is(true));
+  }
+
+  @Test
+  void shouldPublishInvalidationWhenLocalTierWritten() throws JsonProcessingException {
+    cacheManager.getCache(LOCAL_CACHE).put(KEY, "value1");
+
+    ArgumentCaptor<String> messageCaptor = ArgumentCaptor.captor();
+    verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL),
+        messageCaptor.capture());
+
+    CacheInvalidation invalidation = mapper.readValue(messageCaptor.getValue(),
+        CacheInvalidation.class);
+    assertThat("Unexpected cache name.", invalidation.cacheName(), is(LOCAL_CACHE));
+    assertThat("Unexpected key.", invalidation.key(), is(KEY));
+  }
+
+  @Test
+  void shouldNotPublishInvalidationWhenPublishingDisabled() {
+    cacheManager = new TwoTierCacheManager(remoteCacheManager,
+        Map.of(LOCAL_CACHE, new CacheSpec(Duration.ofDays(1), 10, Duration.ofMinutes(10))),
+        redisTemplate, mapper, false);
+
+    cacheManager.getCache(LOCAL_CACHE).put(KEY, "value1");
+
+    verify(redisTemplate, never()).convertAndSend(anyString(), any());
+  }
+
+  @Test
+  void shouldNotThrowExceptionWhenPublishingFails() {
+    doThrow(new QueryTimeoutException("timeout")).when(redisTemplate)
+        .convertAndSend(anyString(), any());
+
+    Cache cache = cacheManager.getCache(LOCAL_CACHE);
+    cache.put(KEY, "value1");
+
+    assertThat("Unexpected cached value.", cache.get(KEY, String.class), is("value1"));
+  }
+
+  @Test
+  void shouldInvalidateLocalTierWhenInvalidationReceivedFromOtherNode() throws Exception {
+    Cache cache = cacheManager.getCache(LOCAL_CACHE);
+    cache.put(KEY, "value1");
+    remoteCacheManager.getCache(LOCAL_CACHE).put(KEY, "value2");
+
+    byte[] body = mapper.writeValueAsBytes(new CacheInvalidation("otherNode", LOCAL_CACHE, KEY));
+    cacheManager.onMessage(new DefaultMessage(new byte[0], body), null);
+
+    assertThat("Unexpected cached value.", cache.get(KEY, String.class), is("value2"));
+  }
+
+  @Test
+  void shouldIgnoreInvalidationPublishedBySelf() {
+    Cache cache = cacheManager.getCache(LOCAL_CACHE);
+    cache.put(KEY, "value1");
+    remoteCacheManager.getCache(LOCAL_CACHE).put(KEY, "value2");
+
+    ArgumentCaptor<String> messageCaptor = ArgumentCaptor.captor();
+    verify(redisTemplate).convertAndSend(anyString(), messageCaptor.capture());
+    byte[] body = messageCaptor.getValue().getBytes();
+    cacheManager.onMessage(new DefaultMessage(new byte[0], body), null);
+
+    assertThat("Unexpected cached value.", cache.get(KEY, String.class), is("value1"));
+  }
+
+  @Test
+  void shouldIgnoreUnreadableInvalidation() {
+    Cache cache = cacheManager.getCache(LOCAL_CACHE);
+    cache.put(KEY, "value1");
+
+    cacheManager.onMessage(new DefaultMessage(new byte[0], "not json".getBytes()), null);
+
+    assertThat("Unexpected cached value.", cache.get(KEY, String.class), is("value1"));
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class TwoTierCacheTest {
+
+  private static final String CACHE_NAME = "testCache";
+  private static final String KEY = "key1";
+  private static final String VALUE = "value1";
+
+  private TwoTierCache cache;
+  private ConcurrentMapCache remoteCache;
+  private BiConsumer<String, String> publisher;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    remoteCache = new ConcurrentMapCache(CACHE_NAME);
+    publisher = mock(BiConsumer.class);
+    cache = new TwoTierCache(remoteCache, Caffeine.newBuilder().build(), publisher);
+  }
+
+  @Test
+  void shouldReturnNullWhenNotCachedInEitherTier() {
+    ValueWrapper wrapper = cache.get(KEY);
+
+    assertThat("Unexpected cached value.", wrapper, nullValue());
+  }
+
+  @Test
+  void shouldReadThroughToRemoteCacheWhenNotCachedLocally() {
+    remoteCache.put(KEY, VALUE);
+
+    ValueWrapper wrapper = cache.get(KEY);
+
+    assertThat("Unexpected cached value.", wrapper.get(), is(VALUE));
+  }
+
+  @Test
+  void shouldServeFromLocalCacheAfterRemoteRead() {
+    remoteCache.put(KEY, VALUE);
+    cache.get(KEY);
+    remoteCache.clear();
+
+    ValueWrapper wrapper = cache.get(KEY);
+
+    assertThat("Unexpected cached value.", wrapper.get(), is(VALUE));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenCachedValueNotOfRequiredType() {
+    remoteCache.put(KEY, VALUE);
+
+    assertThrows(IllegalStateException.class, () -> cache.get(KEY, Integer.class));
+  }
+
+  @Test
+  void shouldLoadIntoBothTiersWhenNotCached() {
+    String value = cache.get(KEY, () -> VALUE);
+
+    assertThat("Unexpected loaded value.", value, is(VALUE));
+    assertThat("Unexpected remote value.", remoteCache.get(KEY).get(), is(VALUE));
+
+    remoteCache.clear();
+    assertThat("Unexpected local value.", cache.get(KEY, String.class), is(VALUE));
+  }
+
+  @Test
+  void shouldWriteToBothTiersAndPublishWhenPut() {
+    cache.put(KEY, VALUE);
+
+    assertThat("Unexpected remote value.", remoteCache.get(KEY).get(), is(VALUE));
+
+    remoteCache.clear();
+    assertThat("Unexpected local value.", cache.get(KEY, String.class), is(VALUE));
+
+    verify(publisher).accept(CACHE_NAME, KEY);
+  }
+
+  @Test
+  void shouldNotPublishWhenPutIfAbsentFindsExistingValue() {
+    remoteCache.put(KEY, VALUE);
+
+    ValueWrapper existing = cache.putIfAbsent(KEY, "value2");
+
+    assertThat("Unexpected existing value.", existing.get(), is(VALUE));
+    verify(publisher, never()).accept(any(), any());
+  }
+
+  @Test
+  void shouldEvictFromBothTiersAndPublishWhenEvicted() {
+    cache.put(KEY, VALUE);
+
+    cache.evict(KEY);
+
+    assertThat("Unexpected remote value.", remoteCache.get(KEY), nullValue());
+    assertThat("Unexpected cached value.", cache.get(KEY), nullValue());
+    verify(publisher, times(2)).accept(CACHE_NAME, KEY);
+  }
+
+  @Test
+  void shouldClearBothTiersAndPublishWhenCleared() {
+    cache.put(KEY, VALUE);
+
+    cache.clear();
+
+    assertThat("Unexpected cached value.", cache.get(KEY), nullValue());
+    verify(publisher).accept(eq(CACHE_NAME), isNull());
+  }
+
+  @Test
+  void shouldOnlyDropLocalEntryWhenInvalidatedLocally() {
+    cache.put(KEY, VALUE);
+    remoteCache.put(KEY, "value2");
+
+    cache.invalidateLocal(KEY);
+
+    assertThat("Unexpected cached value.", cache.get(KEY, String.class), is("value2"));
+  }
+
+  @Test
+  void shouldDropAllLocalEntriesWhenInvalidatedLocallyWithoutKey() {
+    cache.put(KEY, VALUE);
+    remoteCache.clear();
+
+    cache.invalidateLocal(null);
+
+    assertThat("Unexpected cached value.", cache.get(KEY), nullValue());
+  }
+}
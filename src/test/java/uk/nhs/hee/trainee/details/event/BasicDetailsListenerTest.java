@@ -23,19 +23,29 @@ package uk.nhs.hee.trainee.details.event;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent.Update;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapperImpl;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 class BasicDetailsListenerTest {
 
@@ -44,12 +54,30 @@ class BasicDetailsListenerTest {
 
   private BasicDetailsListener listener;
 
-  private PersonalDetailsService service;
+  private PersonalDetailsUpdateCoalescer coalescer;
+  private BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
-    service = mock(PersonalDetailsService.class);
-    listener = new BasicDetailsListener(service, new PersonalDetailsMapperImpl());
+    coalescer = mock(PersonalDetailsUpdateCoalescer.class);
+    acknowledgement = mock(BatchAcknowledgement.class);
+    listener = new BasicDetailsListener(coalescer, new PersonalDetailsMapperImpl());
+  }
+
+  @Test
+  void shouldNotAcknowledgeMessageWhenTraineeNotUpdated() {
+    PersonalDetailsDto dto = new PersonalDetailsDto();
+    Update update = new Update(dto);
+    PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
+
+    when(coalescer.updatePersonalDetailsForTrainees(any())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.NOT_FOUND));
+
+    listener.updateBasicDetails(List.of(message), acknowledgement);
+
+    verifyNoInteractions(acknowledgement);
   }
 
   @Test
@@ -59,14 +87,25 @@ class BasicDetailsListenerTest {
 
     Update update = new Update(dto);
     PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
 
-    listener.updateBasicDetails(event);
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(coalescer.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.UPDATED));
 
-    ArgumentCaptor<PersonalDetails> entityCaptor = ArgumentCaptor.captor();
-    verify(service).createProfileOrUpdateBasicDetailsByTisId(eq(TIS_ID), entityCaptor.capture());
+    listener.updateBasicDetails(List.of(message), acknowledgement);
 
-    PersonalDetails entity = entityCaptor.getValue();
+    List<PersonalDetailsChange> changes = changesCaptor.getValue();
+    assertThat("Unexpected change count.", changes.size(), is(1));
+
+    PersonalDetailsChange change = changes.get(0);
+    assertThat("Unexpected TIS ID.", change.tisId(), is(TIS_ID));
+    assertThat("Unexpected change type.", change.type(), is(Type.BASIC_DETAILS));
+
+    PersonalDetails entity = change.personalDetails();
     assertThat("Unexpected Public Health Number.", entity.getPublicHealthNumber(),
         is(PUBLIC_HEALTH_NUMBER));
+
+    verify(acknowledgement).acknowledge(List.of(message));
   }
 }
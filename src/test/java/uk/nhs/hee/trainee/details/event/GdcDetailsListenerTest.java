@@ -23,23 +23,29 @@ package uk.nhs.hee.trainee.details.event;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent.Update;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapperImpl;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 class GdcDetailsListenerTest {
 
@@ -49,24 +55,30 @@ class GdcDetailsListenerTest {
 
   private GdcDetailsListener listener;
 
-  private PersonalDetailsService service;
+  private PersonalDetailsUpdateCoalescer coalescer;
+  private BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
-    service = mock(PersonalDetailsService.class);
-    listener = new GdcDetailsListener(service, new PersonalDetailsMapperImpl());
+    coalescer = mock(PersonalDetailsUpdateCoalescer.class);
+    acknowledgement = mock(BatchAcknowledgement.class);
+    listener = new GdcDetailsListener(coalescer, new PersonalDetailsMapperImpl());
   }
 
   @Test
-  void shouldThrowExceptionWhenTraineeNotFound() {
+  void shouldNotAcknowledgeMessageWhenTraineeNotUpdated() {
     PersonalDetailsDto dto = new PersonalDetailsDto();
     Update update = new Update(dto);
     PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
 
-    when(service.updateGdcDetailsByTisId(eq(TIS_ID), any())).thenReturn(
-        new PersonalDetailsUpdated(false, Optional.empty()));
+    when(coalescer.updatePersonalDetailsForTrainees(any())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.NOT_FOUND));
 
-    assertThrows(IllegalArgumentException.class, () -> listener.updateGdcDetails(event));
+    listener.updateGdcDetails(List.of(message), acknowledgement);
+
+    verifyNoInteractions(acknowledgement);
   }
 
   @Test
@@ -77,16 +89,25 @@ class GdcDetailsListenerTest {
 
     Update update = new Update(dto);
     PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
+
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(coalescer.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.UPDATED));
 
-    ArgumentCaptor<PersonalDetails> entityCaptor = ArgumentCaptor.captor();
-    when(service.updateGdcDetailsByTisId(eq(TIS_ID), entityCaptor.capture())).then(
-        inv ->
-            new PersonalDetailsUpdated(true, Optional.of(inv.getArgument(1))));
+    listener.updateGdcDetails(List.of(message), acknowledgement);
 
-    listener.updateGdcDetails(event);
+    List<PersonalDetailsChange> changes = changesCaptor.getValue();
+    assertThat("Unexpected change count.", changes.size(), is(1));
 
-    PersonalDetails entity = entityCaptor.getValue();
+    PersonalDetailsChange change = changes.get(0);
+    assertThat("Unexpected TIS ID.", change.tisId(), is(TIS_ID));
+    assertThat("Unexpected change type.", change.type(), is(Type.GDC_DETAILS));
+
+    PersonalDetails entity = change.personalDetails();
     assertThat("Unexpected GDC number.", entity.getGdcNumber(), is(GDC_NUMBER));
     assertThat("Unexpected GDC status.", entity.getGdcStatus(), is(GDC_STATUS));
+
+    verify(acknowledgement).acknowledge(List.of(message));
   }
 }
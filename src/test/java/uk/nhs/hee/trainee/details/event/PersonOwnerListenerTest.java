@@ -23,23 +23,29 @@ package uk.nhs.hee.trainee.details.event;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
 import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent.Update;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapperImpl;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
-import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
-import uk.nhs.hee.trainee.details.service.PersonalDetailsService;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
 
 class PersonOwnerListenerTest {
 
@@ -48,24 +54,30 @@ class PersonOwnerListenerTest {
 
   private PersonOwnerListener listener;
 
-  private PersonalDetailsService service;
+  private PersonalDetailsUpdateCoalescer coalescer;
+  private BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement;
 
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
-    service = mock(PersonalDetailsService.class);
-    listener = new PersonOwnerListener(service, new PersonalDetailsMapperImpl());
+    coalescer = mock(PersonalDetailsUpdateCoalescer.class);
+    acknowledgement = mock(BatchAcknowledgement.class);
+    listener = new PersonOwnerListener(coalescer, new PersonalDetailsMapperImpl());
   }
 
   @Test
-  void shouldThrowExceptionWhenTraineeNotFound() {
+  void shouldNotAcknowledgeMessageWhenTraineeNotUpdated() {
     PersonalDetailsDto dto = new PersonalDetailsDto();
     Update update = new Update(dto);
     PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
 
-    when(service.updatePersonOwnerByTisId(eq(TIS_ID), any())).thenReturn(
-        new PersonalDetailsUpdated(false, Optional.empty()));
+    when(coalescer.updatePersonalDetailsForTrainees(any())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.NOT_FOUND));
 
-    assertThrows(IllegalArgumentException.class, () -> listener.updatePersonOwner(event));
+    listener.updatePersonOwner(List.of(message), acknowledgement);
+
+    verifyNoInteractions(acknowledgement);
   }
 
   @Test
@@ -75,14 +87,24 @@ class PersonOwnerListenerTest {
 
     Update update = new Update(dto);
     PersonalDetailsUpdateEvent event = new PersonalDetailsUpdateEvent(TIS_ID, update);
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(event).build();
+
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(coalescer.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(
+        Map.of(TIS_ID, BulkSyncStatus.UPDATED));
 
-    ArgumentCaptor<PersonalDetails> entityCaptor = ArgumentCaptor.captor();
-    when(service.updatePersonOwnerByTisId(eq(TIS_ID), entityCaptor.capture())).then(
-        inv -> new PersonalDetailsUpdated(true, Optional.of(inv.getArgument(1))));
+    listener.updatePersonOwner(List.of(message), acknowledgement);
 
-    listener.updatePersonOwner(event);
+    List<PersonalDetailsChange> changes = changesCaptor.getValue();
+    assertThat("Unexpected change count.", changes.size(), is(1));
 
-    PersonalDetails entity = entityCaptor.getValue();
+    PersonalDetailsChange change = changes.get(0);
+    assertThat("Unexpected TIS ID.", change.tisId(), is(TIS_ID));
+    assertThat("Unexpected change type.", change.type(), is(Type.PERSON_OWNER));
+
+    PersonalDetails entity = change.personalDetails();
     assertThat("Unexpected person owner.", entity.getPersonOwner(), is(PERSON_OWNER));
+
+    verify(acknowledgement).acknowledge(List.of(message));
   }
 }
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.event;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import uk.nhs.hee.trainee.details.dto.PersonalDetailsDto;
+import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent;
+import uk.nhs.hee.trainee.details.dto.PersonalDetailsUpdateEvent.Update;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+import uk.nhs.hee.trainee.details.mapper.PersonalDetailsMapperImpl;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+import uk.nhs.hee.trainee.details.service.PersonalDetailsUpdateCoalescer;
+
+class PersonalDetailsEventBatchTest {
+
+  private static final String TIS_ID_1 = "40";
+  private static final String TIS_ID_2 = "41";
+
+  private PersonalDetailsUpdateCoalescer coalescer;
+  private BatchAcknowledgement<PersonalDetailsUpdateEvent> acknowledgement;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    coalescer = mock(PersonalDetailsUpdateCoalescer.class);
+    acknowledgement = mock(BatchAcknowledgement.class);
+  }
+
+  @Test
+  void shouldNotApplyOrAcknowledgeInvalidMessages() {
+    Message<PersonalDetailsUpdateEvent> message = MessageBuilder.withPayload(
+        new PersonalDetailsUpdateEvent(TIS_ID_1, null)).build();
+
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(coalescer.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(Map.of());
+
+    PersonalDetailsEventBatch.process(List.of(message), acknowledgement, Type.GMC_DETAILS,
+        coalescer, new PersonalDetailsMapperImpl());
+
+    assertThat("Unexpected change count.", changesCaptor.getValue().size(), is(0));
+    verifyNoInteractions(acknowledgement);
+  }
+
+  @Test
+  void shouldOnlyAcknowledgeMessagesForUpdatedTrainees() {
+    Message<PersonalDetailsUpdateEvent> message1 = createMessage(TIS_ID_1);
+    Message<PersonalDetailsUpdateEvent> message2 = createMessage(TIS_ID_2);
+
+    when(coalescer.updatePersonalDetailsForTrainees(any())).thenReturn(Map.of(
+        TIS_ID_1, BulkSyncStatus.UPDATED,
+        TIS_ID_2, BulkSyncStatus.FAILED));
+
+    PersonalDetailsEventBatch.process(List.of(message1, message2), acknowledgement,
+        Type.GMC_DETAILS, coalescer, new PersonalDetailsMapperImpl());
+
+    verify(acknowledgement).acknowledge(List.of(message1));
+  }
+
+  @Test
+  void shouldAcknowledgeAllMessagesForUpdatedTrainee() {
+    Message<PersonalDetailsUpdateEvent> message1 = createMessage(TIS_ID_1);
+    Message<PersonalDetailsUpdateEvent> message2 = createMessage(TIS_ID_1);
+
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(coalescer.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(
+        Map.of(TIS_ID_1, BulkSyncStatus.UPDATED));
+
+    PersonalDetailsEventBatch.process(List.of(message1, message2), acknowledgement,
+        Type.GMC_DETAILS, coalescer, new PersonalDetailsMapperImpl());
+
+    assertThat("Unexpected change count.", changesCaptor.getValue().size(), is(2));
+    verify(acknowledgement).acknowledge(List.of(message1, message2));
+  }
+
+  /**
+   * Create a personal details update message for the given trainee.
+   *
+   * @param tisId The TIS ID of the trainee.
+   * @return The created message.
+   */
+  private Message<PersonalDetailsUpdateEvent> createMessage(String tisId) {
+    PersonalDetailsDto dto = new PersonalDetailsDto();
+    dto.setGmcNumber(tisId);
+    return MessageBuilder.withPayload(new PersonalDetailsUpdateEvent(tisId, new Update(dto)))
+        .build();
+  }
+}
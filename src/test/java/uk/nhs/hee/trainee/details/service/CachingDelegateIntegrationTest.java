@@ -95,4 +95,37 @@ class CachingDelegateIntegrationTest {
     Optional<ConditionsOfJoining> cachedOptional = delegate.getConditionsOfJoining(key);
     assertThat("Unexpected cached value.", cachedOptional, is(Optional.empty()));
   }
+
+  @Test
+  void shouldReturnEmptyPdfWhenNotCached() {
+    String key = UUID.randomUUID().toString();
+
+    Optional<byte[]> cachedOptional = delegate.getPdf(key);
+    assertThat("Unexpected cached value.", cachedOptional, is(Optional.empty()));
+  }
+
+  @Test
+  void shouldGetCachedPdfWhenCached() {
+    String key = UUID.randomUUID().toString();
+
+    byte[] pdf = "pdf".getBytes();
+    delegate.cachePdf(key, pdf);
+
+    Optional<byte[]> cachedOptional = delegate.getPdf(key);
+    assertThat("Unexpected cached value.", cachedOptional.orElseThrow(), is(pdf));
+  }
+
+  @Test
+  void shouldNotCacheMissingPdf() {
+    String key = UUID.randomUUID().toString();
+
+    // Ignore this result, the miss should not be cached.
+    delegate.getPdf(key);
+
+    byte[] pdf = "pdf".getBytes();
+    delegate.cachePdf(key, pdf);
+
+    Optional<byte[]> cachedOptional = delegate.getPdf(key);
+    assertThat("Unexpected cached value.", cachedOptional.orElseThrow(), is(pdf));
+  }
 }
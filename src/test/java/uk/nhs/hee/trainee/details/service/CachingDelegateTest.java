@@ -53,4 +53,17 @@ class CachingDelegateTest {
     Optional<ConditionsOfJoining> coj = delegate.getConditionsOfJoining("40");
     assertThat("Unexpected Conditions of Joining.", coj, is(Optional.empty()));
   }
+
+  @Test
+  void shouldReturnCachedPdf() {
+    byte[] cachedPdf = "pdf".getBytes();
+    byte[] returnedPdf = delegate.cachePdf("40", cachedPdf);
+    assertThat("Unexpected PDF.", returnedPdf, is(cachedPdf));
+  }
+
+  @Test
+  void shouldGetEmptyPdf() {
+    Optional<byte[]> pdf = delegate.getPdf("40");
+    assertThat("Unexpected PDF.", pdf, is(Optional.empty()));
+  }
 }
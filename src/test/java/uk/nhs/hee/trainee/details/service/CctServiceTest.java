@@ -25,27 +25,38 @@ package uk.nhs.hee.trainee.details.service;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.nhs.hee.trainee.details.dto.enumeration.CctChangeType.LTFT;
+import static uk.nhs.hee.trainee.details.service.CctService.CALCULATOR_VERSION;
 import static uk.nhs.hee.trainee.details.service.CctService.WTE_EPSILON;
 
+import com.mongodb.client.result.UpdateResult;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import uk.nhs.hee.trainee.details.dto.CctCalculationDetailDto;
@@ -65,6 +76,7 @@ class CctServiceTest {
 
   private CctService service;
   private CctCalculationRepository calculationRepository;
+  private MongoTemplate mongoTemplate;
 
   @BeforeEach
   void setUp() {
@@ -73,7 +85,10 @@ class CctServiceTest {
 
     calculationRepository = mock(CctCalculationRepository.class);
 
-    service = new CctService(traineeIdentity, calculationRepository, new CctMapperImpl());
+    mongoTemplate = mock(MongoTemplate.class);
+
+    service = new CctService(traineeIdentity, calculationRepository, mongoTemplate,
+        new CctMapperImpl());
   }
 
   @Test
@@ -733,6 +748,30 @@ class CctServiceTest {
         is(service.calculateCctDate(entityChangesReordered)));
   }
 
+  @Test
+  void shouldCalculateCctDateWhenChangesNotOrdered() {
+    LocalDate pmStartDate = LocalDate.EPOCH;
+    CctCalculation entity = CctCalculation.builder()
+        .traineeId(TRAINEE_ID)
+        .programmeMembership(CctProgrammeMembership.builder()
+            .startDate(pmStartDate)
+            .endDate(LocalDate.EPOCH.plusYears(1))
+            .wte(1.0)
+            .designatedBodyCode("testDbc")
+            .build())
+        .changes(List.of(
+            CctChange.builder().type(LTFT).startDate(pmStartDate.plusMonths(9))
+                .wte(1.0).build(),
+            CctChange.builder().type(LTFT).startDate(pmStartDate.plusMonths(3))
+                .wte(0.5).build(),
+            CctChange.builder().type(LTFT).startDate(pmStartDate.plusMonths(6))
+                .wte(0.75).build()))
+        .build();
+
+    assertThat("Unexpected CCT date.", service.calculateCctDate(entity),
+        is(LocalDate.of(1971, 3, 11)));
+  }
+
   @Test
   void shouldReturnNullCctDateIfAnyChangeHasTooSmallWte() {
     LocalDate pmStartDate = LocalDate.EPOCH;
@@ -846,43 +885,176 @@ class CctServiceTest {
   }
 
   @Test
-  void shouldMoveCctCalculationsWhenFound() {
-    String fromTraineeId = "40";
-    String toTraineeId = "50";
-    UUID id1 = UUID.randomUUID();
-    UUID id2 = UUID.randomUUID();
+  void shouldUseStoredCctDateWhenCalculatorVersionCurrent() {
+    CctCalculation entity = CctCalculation.builder()
+        .id(UUID.randomUUID())
+        .traineeId(TRAINEE_ID)
+        .programmeMembership(CctProgrammeMembership.builder()
+            .startDate(LocalDate.EPOCH)
+            .endDate(LocalDate.EPOCH.plusYears(1))
+            .wte(1.0)
+            .build())
+        .changes(List.of(CctChange.builder()
+            .startDate(LocalDate.EPOCH.plusMonths(1))
+            .wte(0.5)
+            .build()))
+        .cctDate(LocalDate.MIN)
+        .calculatorVersion(CALCULATOR_VERSION)
+        .build();
 
-    CctCalculation calc1 = CctCalculation.builder()
-        .id(id1)
-        .traineeId(fromTraineeId)
-        .name("Test Calculation 1")
+    when(calculationRepository.findByTraineeIdOrderByLastModified(TRAINEE_ID)).thenReturn(
+        List.of(entity));
+
+    List<CctCalculationDetailDto> result = service.getCalculations();
+
+    assertThat("Unexpected CCT date.", result.get(0).cctDate(), is(LocalDate.MIN));
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  void shouldRecalculateAndStoreCctDateWhenCalculatorVersionOutdated() {
+    UUID calculationId = UUID.randomUUID();
+    Instant lastModified = Instant.now();
+    CctCalculation entity = CctCalculation.builder()
+        .id(calculationId)
+        .traineeId(TRAINEE_ID)
+        .programmeMembership(CctProgrammeMembership.builder()
+            .startDate(LocalDate.EPOCH)
+            .endDate(LocalDate.EPOCH.plusYears(1))
+            .wte(1.0)
+            .build())
+        .changes(List.of(CctChange.builder()
+            .startDate(LocalDate.EPOCH.plusMonths(1))
+            .wte(0.5)
+            .build()))
+        .cctDate(LocalDate.MIN)
+        .calculatorVersion(CALCULATOR_VERSION - 1)
+        .lastModified(lastModified)
         .build();
 
-    CctCalculation calc2 = CctCalculation.builder()
-        .id(id2)
-        .traineeId(fromTraineeId)
-        .name("Test Calculation 2")
+    when(calculationRepository.findByTraineeIdOrderByLastModified(TRAINEE_ID)).thenReturn(
+        List.of(entity));
+
+    List<CctCalculationDetailDto> result = service.getCalculations();
+
+    LocalDate expectedCctDate = service.calculateCctDate(entity);
+    assertThat("Unexpected CCT date.", result.get(0).cctDate(), is(expectedCctDate));
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.captor();
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.captor();
+    verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(),
+        eq(CctCalculation.class));
+
+    Document query = queryCaptor.getValue().getQueryObject();
+    assertThat("Unexpected calculation ID.", query.get("_id"), is(calculationId));
+    assertThat("Unexpected last modified.", query.get("lastModified"), is(lastModified));
+
+    Document set = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+    assertThat("Unexpected CCT date.", set.get("cctDate"), is(expectedCctDate));
+    assertThat("Unexpected calculator version.", set.get("calculatorVersion"),
+        is(CALCULATOR_VERSION));
+  }
+
+  @Test
+  void shouldReturnRecalculatedCctDateWhenStoringFails() {
+    CctCalculation entity = CctCalculation.builder()
+        .id(UUID.randomUUID())
+        .traineeId(TRAINEE_ID)
+        .programmeMembership(CctProgrammeMembership.builder()
+            .startDate(LocalDate.EPOCH)
+            .endDate(LocalDate.EPOCH.plusYears(1))
+            .wte(1.0)
+            .build())
+        .changes(List.of(CctChange.builder()
+            .startDate(LocalDate.EPOCH.plusMonths(1))
+            .wte(0.5)
+            .build()))
         .build();
 
-    when(calculationRepository.findByTraineeIdOrderByLastModified(fromTraineeId))
-        .thenReturn(List.of(calc1, calc2));
+    when(calculationRepository.findByTraineeIdOrderByLastModified(TRAINEE_ID)).thenReturn(
+        List.of(entity));
+    when(mongoTemplate.updateFirst(any(), any(), eq(CctCalculation.class))).thenThrow(
+        new DataAccessResourceFailureException("error"));
 
-    service.moveCalculations(fromTraineeId, toTraineeId);
+    List<CctCalculationDetailDto> result = service.getCalculations();
 
-    verify(calculationRepository).save(calc1.withTraineeId(toTraineeId));
-    verify(calculationRepository).save(calc2.withTraineeId(toTraineeId));
+    assertThat("Unexpected CCT date.", result.get(0).cctDate(),
+        is(service.calculateCctDate(entity)));
   }
 
   @Test
-  void shouldNotSaveCalculationsWhenNoneMoved() {
+  void shouldStoreCctDateWhenCreatingCalculation() {
+    CctCalculationDetailDto dto = CctCalculationDetailDto.builder()
+        .name("Test Calculation")
+        .programmeMembership(CctProgrammeMembershipDto.builder()
+            .id(UUID.randomUUID())
+            .name("Test Programme")
+            .startDate(LocalDate.EPOCH)
+            .endDate(LocalDate.EPOCH.plusYears(1))
+            .wte(1.0)
+            .build())
+        .changes(List.of(
+            CctChangeDto.builder().type(LTFT).startDate(LocalDate.EPOCH.plusMonths(6))
+                .wte(0.5).build()))
+        .cctDate(LocalDate.MIN)
+        .build();
+
+    when(calculationRepository.insert(any(CctCalculation.class))).thenAnswer(
+        inv -> inv.getArgument(0));
+
+    CctCalculationDetailDto savedDto = service.createCalculation(dto);
+
+    ArgumentCaptor<CctCalculation> entityCaptor = ArgumentCaptor.captor();
+    verify(calculationRepository).insert(entityCaptor.capture());
+
+    CctCalculation entity = entityCaptor.getValue();
+    LocalDate expectedCctDate = service.calculateCctDate(entity);
+    assertThat("Unexpected CCT date.", expectedCctDate, not(LocalDate.MIN));
+    assertThat("Unexpected stored CCT date.", entity.cctDate(), is(expectedCctDate));
+    assertThat("Unexpected calculator version.", entity.calculatorVersion(),
+        is(CALCULATOR_VERSION));
+    assertThat("Unexpected CCT date.", savedDto.cctDate(), is(expectedCctDate));
+  }
+
+  @Test
+  void shouldMoveCctCalculationsWithSingleUpdate() {
     String fromTraineeId = "40";
     String toTraineeId = "50";
 
-    when(calculationRepository.findByTraineeIdOrderByLastModified(fromTraineeId))
-        .thenReturn(List.of());
+    when(mongoTemplate.updateMulti(any(), any(), eq(CctCalculation.class))).thenReturn(
+        UpdateResult.acknowledged(2, 2L, null));
+
+    long movedCount = service.moveCalculations(fromTraineeId, toTraineeId);
+
+    assertThat("Unexpected moved count.", movedCount, is(2L));
 
-    service.moveCalculations(fromTraineeId, toTraineeId);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.captor();
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.captor();
+    verify(mongoTemplate).updateMulti(queryCaptor.capture(), updateCaptor.capture(),
+        eq(CctCalculation.class));
+
+    Document query = queryCaptor.getValue().getQueryObject();
+    assertThat("Unexpected from trainee ID.", query.get("traineeId"), is(fromTraineeId));
+
+    Document update = updateCaptor.getValue().getUpdateObject();
+    assertThat("Unexpected to trainee ID.",
+        update.get("$set", Document.class).get("traineeId"), is(toTraineeId));
+    assertThat("Unexpected last modified update.",
+        update.get("$currentDate", Document.class).containsKey("lastModified"), is(true));
 
     verify(calculationRepository, never()).save(any());
   }
+
+  @Test
+  void shouldReturnZeroWhenNoCalculationsMoved() {
+    String fromTraineeId = "40";
+    String toTraineeId = "50";
+
+    when(mongoTemplate.updateMulti(any(), any(), eq(CctCalculation.class))).thenReturn(
+        UpdateResult.acknowledged(0, 0L, null));
+
+    long movedCount = service.moveCalculations(fromTraineeId, toTraineeId);
+
+    assertThat("Unexpected moved count.", movedCount, is(0L));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import uk.nhs.hee.trainee.details.dto.EligibilityCheckDto;
+import uk.nhs.hee.trainee.details.dto.EligibilityResultDto;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
+
+class EligibilityServiceTest {
+
+  private static final String TRAINEE_ID_1 = "40";
+  private static final String TRAINEE_ID_2 = "41";
+  private static final String PM_ID = "pm1";
+  private static final String PLACEMENT_ID = "placement1";
+
+  private EligibilityService service;
+  private TraineeProfileRepository repository;
+  private ProgrammeMembershipService programmeMembershipService;
+  private PlacementService placementService;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(TraineeProfileRepository.class);
+    programmeMembershipService = mock(ProgrammeMembershipService.class);
+    placementService = mock(PlacementService.class);
+    service = new EligibilityService(repository, programmeMembershipService, placementService);
+  }
+
+  @Test
+  void shouldLoadAllProfilesWithSingleQuery() {
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of());
+
+    service.evaluate(List.of(
+        new EligibilityCheckDto(TRAINEE_ID_1, PM_ID, null),
+        new EligibilityCheckDto(TRAINEE_ID_1, null, PLACEMENT_ID),
+        new EligibilityCheckDto(TRAINEE_ID_2, PM_ID, null)));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<String>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+    verify(repository).findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(idsCaptor.capture());
+    verifyNoMoreInteractions(repository);
+
+    assertThat("Unexpected trainee IDs.", Set.copyOf(idsCaptor.getValue()),
+        is(Set.of(TRAINEE_ID_1, TRAINEE_ID_2)));
+  }
+
+  @Test
+  void shouldEvaluateProgrammeMembershipWithTraineeProfile() {
+    TraineeProfile profile = createProfile(TRAINEE_ID_1);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of(profile));
+    when(programmeMembershipService.isNewStarter(profile, PM_ID)).thenReturn(true);
+    when(programmeMembershipService.isPilot2024(profile, PM_ID)).thenReturn(false);
+    when(programmeMembershipService.isPilotRollout2024(profile, PM_ID)).thenReturn(true);
+
+    List<EligibilityResultDto> results = service.evaluate(
+        List.of(new EligibilityCheckDto(TRAINEE_ID_1, PM_ID, null)));
+
+    assertThat("Unexpected result count.", results.size(), is(1));
+    EligibilityResultDto result = results.get(0);
+    assertThat("Unexpected trainee ID.", result.traineeTisId(), is(TRAINEE_ID_1));
+    assertThat("Unexpected programme membership ID.", result.programmeMembershipId(), is(PM_ID));
+    assertThat("Unexpected placement ID.", result.placementId(), nullValue());
+    assertThat("Unexpected new starter value.", result.newStarter(), is(true));
+    assertThat("Unexpected pilot value.", result.pilot2024(), is(false));
+    assertThat("Unexpected rollout value.", result.pilotRollout2024(), is(true));
+  }
+
+  @Test
+  void shouldEvaluatePlacementWithTraineeProfile() {
+    TraineeProfile profile = createProfile(TRAINEE_ID_1);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of(profile));
+    when(placementService.canBeOnboarded(profile, PLACEMENT_ID)).thenReturn(true);
+    when(placementService.isPilot2024(profile, PLACEMENT_ID)).thenReturn(true);
+    when(placementService.isPilotRollout2024(profile, PLACEMENT_ID)).thenReturn(false);
+
+    List<EligibilityResultDto> results = service.evaluate(
+        List.of(new EligibilityCheckDto(TRAINEE_ID_1, null, PLACEMENT_ID)));
+
+    EligibilityResultDto result = results.get(0);
+    assertThat("Unexpected programme membership ID.", result.programmeMembershipId(),
+        nullValue());
+    assertThat("Unexpected placement ID.", result.placementId(), is(PLACEMENT_ID));
+    assertThat("Unexpected new starter value.", result.newStarter(), nullValue());
+    assertThat("Unexpected pilot value.", result.pilot2024(), is(true));
+    assertThat("Unexpected rollout value.", result.pilotRollout2024(), is(false));
+  }
+
+  @Test
+  void shouldNotEvaluatePlacementPilotsWhenCannotBeOnboarded() {
+    TraineeProfile profile = createProfile(TRAINEE_ID_1);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of(profile));
+    when(placementService.canBeOnboarded(profile, PLACEMENT_ID)).thenReturn(false);
+
+    List<EligibilityResultDto> results = service.evaluate(
+        List.of(new EligibilityCheckDto(TRAINEE_ID_1, null, PLACEMENT_ID)));
+
+    EligibilityResultDto result = results.get(0);
+    assertThat("Unexpected pilot value.", result.pilot2024(), is(false));
+    assertThat("Unexpected rollout value.", result.pilotRollout2024(), is(false));
+    verify(placementService, never()).isPilot2024(any(TraineeProfile.class), anyString());
+    verify(placementService, never()).isPilotRollout2024(any(TraineeProfile.class), anyString());
+  }
+
+  @Test
+  void shouldEvaluateWithNullProfileWhenTraineeNotFound() {
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of());
+
+    service.evaluate(List.of(new EligibilityCheckDto(TRAINEE_ID_1, PM_ID, null)));
+
+    verify(programmeMembershipService).isNewStarter((TraineeProfile) null, PM_ID);
+    verify(programmeMembershipService).isPilot2024((TraineeProfile) null, PM_ID);
+    verify(programmeMembershipService).isPilotRollout2024((TraineeProfile) null, PM_ID);
+  }
+
+  @Test
+  void shouldReturnResultsInRequestOrder() {
+    TraineeProfile profile1 = createProfile(TRAINEE_ID_1);
+    TraineeProfile profile2 = createProfile(TRAINEE_ID_2);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of(profile2, profile1));
+    when(programmeMembershipService.isPilot2024(profile1, PM_ID)).thenReturn(true);
+    when(programmeMembershipService.isPilot2024(profile2, PM_ID)).thenReturn(false);
+
+    List<EligibilityResultDto> results = service.evaluate(List.of(
+        new EligibilityCheckDto(TRAINEE_ID_1, PM_ID, null),
+        new EligibilityCheckDto(TRAINEE_ID_2, PM_ID, null)));
+
+    assertThat("Unexpected result count.", results.size(), is(2));
+    assertThat("Unexpected trainee ID.", results.get(0).traineeTisId(), is(TRAINEE_ID_1));
+    assertThat("Unexpected pilot value.", results.get(0).pilot2024(), is(true));
+    assertThat("Unexpected trainee ID.", results.get(1).traineeTisId(), is(TRAINEE_ID_2));
+    assertThat("Unexpected pilot value.", results.get(1).pilot2024(), is(false));
+  }
+
+  @Test
+  void shouldReturnUnknownValuesWhenItemCannotBeEvaluated() {
+    TraineeProfile profile = createProfile(TRAINEE_ID_1);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisIdIn(any())).thenReturn(
+        List.of(profile));
+    when(programmeMembershipService.isNewStarter(profile, "invalid")).thenThrow(
+        new NullPointerException("expected"));
+    when(programmeMembershipService.isNewStarter(profile, PM_ID)).thenReturn(true);
+
+    List<EligibilityResultDto> results = service.evaluate(List.of(
+        new EligibilityCheckDto(TRAINEE_ID_1, "invalid", null),
+        new EligibilityCheckDto(TRAINEE_ID_1, PM_ID, null)));
+
+    EligibilityResultDto invalid = results.get(0);
+    assertThat("Unexpected programme membership ID.", invalid.programmeMembershipId(),
+        is("invalid"));
+    assertThat("Unexpected new starter value.", invalid.newStarter(), nullValue());
+    assertThat("Unexpected pilot value.", invalid.pilot2024(), nullValue());
+    assertThat("Unexpected rollout value.", invalid.pilotRollout2024(), nullValue());
+
+    assertThat("Unexpected new starter value.", results.get(1).newStarter(), is(true));
+  }
+
+  /**
+   * Create a trainee profile with the given ID.
+   *
+   * @param traineeTisId The trainee ID.
+   * @return The created profile.
+   */
+  private TraineeProfile createProfile(String traineeTisId) {
+    TraineeProfile profile = new TraineeProfile();
+    profile.setTraineeTisId(traineeTisId);
+    return profile;
+  }
+}
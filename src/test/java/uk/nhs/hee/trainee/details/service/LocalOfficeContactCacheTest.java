@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.nhs.hee.trainee.details.dto.TraineeType.FOUNDATION;
+import static uk.nhs.hee.trainee.details.dto.TraineeType.SPECIALTY;
+import static uk.nhs.hee.trainee.details.service.LocalOfficeContactCache.CACHE_NAME;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+class LocalOfficeContactCacheTest {
+
+  private static final String REFERENCE_URL = "https://reference.test";
+  private static final String LOCAL_OFFICE = "a local office";
+  private static final Duration REFRESH_AFTER = Duration.ofMinutes(5);
+  private static final Duration EXPIRE_AFTER = Duration.ofHours(1);
+
+  private static final List<Map<String, String>> CONTACTS = List.of(
+      Map.of("contactTypeName", "type1", "contact", "contact1"));
+  private static final List<Map<String, String>> UPDATED_CONTACTS = List.of(
+      Map.of("contactTypeName", "type1", "contact", "contact2"));
+
+  private LocalOfficeContactCache cache;
+  private RestTemplate restTemplate;
+  private MeterRegistry meterRegistry;
+  private AtomicLong nanos;
+
+  @BeforeEach
+  void setUp() {
+    restTemplate = mock(RestTemplate.class);
+    meterRegistry = new SimpleMeterRegistry();
+    nanos = new AtomicLong();
+    cache = new LocalOfficeContactCache(restTemplate, REFERENCE_URL, meterRegistry, 10,
+        REFRESH_AFTER, EXPIRE_AFTER, nanos::get, Runnable::run);
+  }
+
+  @Test
+  void shouldRetrieveContactsOnceWhenCached() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(CONTACTS);
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+
+    assertThat("Unexpected contacts.", contacts, is(CONTACTS));
+    verify(restTemplate).getForObject(
+        REFERENCE_URL + "/api/local-office-contact-by-lo-name/"
+            + "{localOfficeName}?traineeType={traineeType}",
+        List.class,
+        Map.of("localOfficeName", LOCAL_OFFICE, "traineeType", SPECIALTY));
+  }
+
+  @Test
+  void shouldCacheContactsByLocalOfficeAndTraineeType() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(CONTACTS);
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    cache.getContacts(LOCAL_OFFICE, FOUNDATION);
+    cache.getContacts("another local office", SPECIALTY);
+
+    verify(restTemplate, times(3)).getForObject(any(), any(), anyMap());
+  }
+
+  @Test
+  void shouldReturnEmptyContactsWhenReferenceServiceReturnsNull() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(null);
+
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+
+    assertThat("Unexpected contact count.", contacts.size(), is(0));
+  }
+
+  @Test
+  void shouldNotCacheFailedRetrieval() {
+    when(restTemplate.getForObject(any(), any(), anyMap()))
+        .thenThrow(new RestClientException("error"))
+        .thenReturn(CONTACTS);
+
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contact count.", contacts.size(), is(0));
+
+    contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contacts.", contacts, is(CONTACTS));
+  }
+
+  @Test
+  void shouldRefreshContactsAfterRefreshInterval() {
+    when(restTemplate.getForObject(any(), any(), anyMap()))
+        .thenReturn(CONTACTS)
+        .thenReturn(UPDATED_CONTACTS);
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    advance(REFRESH_AFTER.plusSeconds(1));
+
+    // The existing contacts are served while the refresh is triggered.
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contacts.", contacts, is(CONTACTS));
+
+    contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contacts.", contacts, is(UPDATED_CONTACTS));
+  }
+
+  @Test
+  void shouldKeepStaleContactsWhenRefreshFails() {
+    when(restTemplate.getForObject(any(), any(), anyMap()))
+        .thenReturn(CONTACTS)
+        .thenThrow(new RestClientException("error"));
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    advance(REFRESH_AFTER.plusSeconds(1));
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contacts.", contacts, is(CONTACTS));
+  }
+
+  @Test
+  void shouldRetrieveContactsAgainWhenExpired() {
+    when(restTemplate.getForObject(any(), any(), anyMap()))
+        .thenReturn(CONTACTS)
+        .thenThrow(new RestClientException("error"));
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    advance(EXPIRE_AFTER.plusSeconds(1));
+
+    List<Map<String, String>> contacts = cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    assertThat("Unexpected contact count.", contacts.size(), is(0));
+  }
+
+  @Test
+  void shouldReportContactsCachedOnceRetrieved() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(CONTACTS);
+
+    assertThat("Unexpected cached state.", cache.isCached(LOCAL_OFFICE, SPECIALTY), is(false));
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+
+    assertThat("Unexpected cached state.", cache.isCached(LOCAL_OFFICE, SPECIALTY), is(true));
+    assertThat("Unexpected cached state.", cache.isCached(LOCAL_OFFICE, FOUNDATION), is(false));
+  }
+
+  @Test
+  void shouldNotReportContactsCachedWhenExpired() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(CONTACTS);
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    advance(EXPIRE_AFTER.plusSeconds(1));
+
+    assertThat("Unexpected cached state.", cache.isCached(LOCAL_OFFICE, SPECIALTY), is(false));
+  }
+
+  @Test
+  void shouldRecordHitAndMissMetrics() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(CONTACTS);
+
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+    cache.getContacts(LOCAL_OFFICE, SPECIALTY);
+
+    double hits = meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+        .functionCounter().count();
+    double misses = meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+        .functionCounter().count();
+    assertThat("Unexpected hit count.", hits, is(2.0));
+    assertThat("Unexpected miss count.", misses, is(1.0));
+  }
+
+  /**
+   * Advance the cache's time source.
+   *
+   * @param duration The duration to advance by.
+   */
+  private void advance(Duration duration) {
+    nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+  }
+}
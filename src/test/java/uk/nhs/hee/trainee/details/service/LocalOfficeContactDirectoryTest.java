@@ -0,0 +1,392 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.hee.trainee.details.dto.TraineeType.FOUNDATION;
+import static uk.nhs.hee.trainee.details.dto.TraineeType.SPECIALTY;
+import static uk.nhs.hee.trainee.details.model.LocalOfficeContactType.DEFERRAL;
+import static uk.nhs.hee.trainee.details.model.LocalOfficeContactType.LTFT;
+import static uk.nhs.hee.trainee.details.model.LocalOfficeContactType.TSS_SUPPORT;
+import static uk.nhs.hee.trainee.details.service.LocalOfficeContactDirectory.VERSION_KEY;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import uk.nhs.hee.trainee.details.dto.TraineeType;
+import uk.nhs.hee.trainee.details.model.LocalOfficeContactType;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.service.LocalOfficeContactDirectory.Version;
+
+class LocalOfficeContactDirectoryTest {
+
+  private static final String REFERENCE_URL = "https://reference.test";
+  private static final String LOCAL_OFFICE_1 = "local office 1";
+  private static final String LOCAL_OFFICE_2 = "local office 2";
+  private static final String LOAD_LOCK_KEY = "Details::local-office-directory-load";
+  private static final Duration LOAD_INTERVAL = Duration.ofMinutes(15);
+
+  private LocalOfficeContactDirectory directory;
+  private MongoTemplate mongoTemplate;
+  private RestTemplate restTemplate;
+  private ValueOperations<String, String> valueOperations;
+  private Cache versions;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mock(MongoTemplate.class);
+    restTemplate = mock(RestTemplate.class);
+
+    StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    valueOperations = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+    versions = new ConcurrentMapCache("LocalOfficeDirectory");
+    directory = new LocalOfficeContactDirectory(mongoTemplate, restTemplate, REFERENCE_URL,
+        redisTemplate, versions, Runnable::run, LOAD_INTERVAL);
+  }
+
+  @Test
+  void shouldReturnNullContactsBeforeLoaded() {
+    assertThat("Unexpected contacts.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY),
+        nullValue());
+    assertThat("Unexpected version.", directory.getVersion(), is(0L));
+  }
+
+  @Test
+  void shouldReturnNullContactsWhenLocalOfficeNull() {
+    assertThat("Unexpected contacts.", directory.getContacts(null, SPECIALTY), nullValue());
+  }
+
+  @Test
+  void shouldLoadContactsForEachLocalOfficeAndTraineeType() {
+    mockLocalOffices(LOCAL_OFFICE_1, LOCAL_OFFICE_2);
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(List.of());
+
+    directory.load();
+
+    for (String localOffice : List.of(LOCAL_OFFICE_1, LOCAL_OFFICE_2)) {
+      for (TraineeType traineeType : TraineeType.values()) {
+        verify(restTemplate).getForObject(
+            REFERENCE_URL + "/api/local-office-contact-by-lo-name/"
+                + "{localOfficeName}?traineeType={traineeType}",
+            List.class,
+            Map.of("localOfficeName", localOffice, "traineeType", traineeType));
+      }
+    }
+    assertThat("Unexpected version.", directory.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldSkipNullLocalOffice() {
+    mockLocalOffices(LOCAL_OFFICE_1, null);
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(List.of());
+
+    directory.load();
+
+    verify(restTemplate, times(TraineeType.values().length)).getForObject(any(), any(), anyMap());
+  }
+
+  @Test
+  void shouldIndexContactsByContactType() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(
+        contact(TSS_SUPPORT.getContactTypeName(), "tss@email.com"),
+        contact(DEFERRAL.getContactTypeName().toUpperCase(), "deferral@email.com"),
+        contact(TSS_SUPPORT.getContactTypeName(), "duplicate@email.com"),
+        contact("unknown type", "unknown@email.com")));
+
+    directory.load();
+
+    Map<LocalOfficeContactType, String> contacts = directory.getContacts(LOCAL_OFFICE_1,
+        SPECIALTY);
+    assertThat("Unexpected contact count.", contacts.size(), is(2));
+    assertThat("Unexpected contact.", contacts.get(TSS_SUPPORT), is("tss@email.com"));
+    assertThat("Unexpected contact.", contacts.get(DEFERRAL), is("deferral@email.com"));
+  }
+
+  @Test
+  void shouldKeepContactsSeparateByTraineeType() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "specialty@email.com")));
+    mockContacts(LOCAL_OFFICE_1, FOUNDATION, List.of(contact(LTFT.getContactTypeName(),
+        "foundation@email.com")));
+
+    directory.load();
+
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("specialty@email.com"));
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, FOUNDATION).get(LTFT),
+        is("foundation@email.com"));
+  }
+
+  @Test
+  void shouldReturnEmptyContactsWhenReferenceServiceReturnsNull() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(null);
+
+    directory.load();
+
+    assertThat("Unexpected contact count.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY)
+        .size(), is(0));
+  }
+
+  @Test
+  void shouldReplaceContactsWhenReloaded() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "old@email.com")));
+    directory.load();
+
+    mockLocalOffices(LOCAL_OFFICE_2);
+    mockContacts(LOCAL_OFFICE_2, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "new@email.com")));
+    directory.load();
+
+    assertThat("Unexpected contacts.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY),
+        nullValue());
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_2, SPECIALTY).get(LTFT),
+        is("new@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(2L));
+  }
+
+  @Test
+  void shouldKeepPreviousContactsWhenRetrievalFails() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "old@email.com")));
+    directory.load();
+
+    when(restTemplate.getForObject(any(), any(), eq(Map.of("localOfficeName", LOCAL_OFFICE_1,
+        "traineeType", SPECIALTY)))).thenThrow(new RestClientException("error"));
+    directory.load();
+
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("old@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(2L));
+  }
+
+  @Test
+  void shouldNotLoadContactsWhenRetrievalFailsWithoutPreviousContacts() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    when(restTemplate.getForObject(any(), any(), anyMap()))
+        .thenThrow(new RestClientException("error"));
+
+    directory.load();
+
+    assertThat("Unexpected contacts.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY),
+        nullValue());
+  }
+
+  @Test
+  void shouldKeepCurrentVersionWhenLocalOfficesNotFound() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "old@email.com")));
+    directory.load();
+
+    when(mongoTemplate.findDistinct(any(Query.class), any(), eq(TraineeProfile.class),
+        eq(String.class))).thenThrow(new DataAccessResourceFailureException("error"));
+    directory.load();
+
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("old@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldPublishLoadedVersion() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "ltft@email.com")));
+
+    directory.load();
+
+    Version shared = versions.get(VERSION_KEY, Version.class);
+    assertThat("Unexpected shared version.", shared.version(), is(1L));
+    assertThat("Unexpected shared contact.", shared.getContacts(LOCAL_OFFICE_1, SPECIALTY)
+        .get(LTFT), is("ltft@email.com"));
+  }
+
+  @Test
+  void shouldLoadWhenSyncTakesLoadLock() {
+    when(valueOperations.setIfAbsent(eq(LOAD_LOCK_KEY), anyString(), eq(LOAD_INTERVAL)))
+        .thenReturn(true);
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "ltft@email.com")));
+
+    directory.sync();
+
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("ltft@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldNotLoadWhenSyncDoesNotTakeLoadLock() {
+    when(valueOperations.setIfAbsent(eq(LOAD_LOCK_KEY), anyString(), eq(LOAD_INTERVAL)))
+        .thenReturn(false);
+
+    directory.sync();
+
+    verifyNoInteractions(mongoTemplate, restTemplate);
+    assertThat("Unexpected version.", directory.getVersion(), is(0L));
+  }
+
+  @Test
+  void shouldNotLoadWhenLoadLockUnavailable() {
+    when(valueOperations.setIfAbsent(eq(LOAD_LOCK_KEY), anyString(), eq(LOAD_INTERVAL)))
+        .thenThrow(new RedisConnectionFailureException("error"));
+
+    directory.sync();
+
+    verifyNoInteractions(mongoTemplate, restTemplate);
+    assertThat("Unexpected version.", directory.getVersion(), is(0L));
+  }
+
+  @Test
+  void shouldUseSharedVersionWhenSynced() {
+    versions.put(VERSION_KEY, new Version(5, Map.of(LOCAL_OFFICE_1,
+        Map.of(SPECIALTY, Map.of(LTFT, "shared@email.com")))));
+
+    directory.sync();
+
+    verifyNoInteractions(mongoTemplate, restTemplate);
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("shared@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(5L));
+  }
+
+  @Test
+  void shouldLoadNextVersionAfterSharedVersion() {
+    versions.put(VERSION_KEY, new Version(5, Map.of()));
+    when(valueOperations.setIfAbsent(eq(LOAD_LOCK_KEY), anyString(), eq(LOAD_INTERVAL)))
+        .thenReturn(true);
+    mockLocalOffices(LOCAL_OFFICE_1);
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(List.of());
+
+    directory.sync();
+
+    assertThat("Unexpected version.", directory.getVersion(), is(6L));
+    assertThat("Unexpected shared version.", versions.get(VERSION_KEY, Version.class).version(),
+        is(6L));
+  }
+
+  @Test
+  void shouldKeepCurrentVersionWhenSharedVersionUnavailable() {
+    Cache failingVersions = mock(Cache.class);
+    when(failingVersions.get(VERSION_KEY, Version.class)).thenThrow(
+        new RedisConnectionFailureException("error"));
+    StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    directory = new LocalOfficeContactDirectory(mongoTemplate, restTemplate, REFERENCE_URL,
+        redisTemplate, failingVersions, Runnable::run, LOAD_INTERVAL);
+
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "ltft@email.com")));
+    directory.load();
+
+    directory.sync();
+
+    assertThat("Unexpected contact.", directory.getContacts(LOCAL_OFFICE_1, SPECIALTY).get(LTFT),
+        is("ltft@email.com"));
+    assertThat("Unexpected version.", directory.getVersion(), is(1L));
+  }
+
+  @Test
+  void shouldSerializeVersionForSharedCache() {
+    mockLocalOffices(LOCAL_OFFICE_1);
+    mockContacts(LOCAL_OFFICE_1, SPECIALTY, List.of(contact(LTFT.getContactTypeName(),
+        "ltft@email.com")));
+    directory.load();
+    Version loaded = versions.get(VERSION_KEY, Version.class);
+
+    JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    Version deserialized = (Version) serializer.deserialize(serializer.serialize(loaded));
+
+    assertThat("Unexpected deserialized version.", deserialized, is(loaded));
+  }
+
+  /**
+   * Mock the local offices found in the database.
+   *
+   * @param localOffices The local office names.
+   */
+  private void mockLocalOffices(String... localOffices) {
+    when(mongoTemplate.findDistinct(any(Query.class), eq("programmeMemberships.managingDeanery"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(Arrays.asList(localOffices));
+  }
+
+  /**
+   * Mock the contacts returned by the reference service.
+   *
+   * @param localOffice The local office name.
+   * @param traineeType The trainee type.
+   * @param contacts    The contacts to return.
+   */
+  private void mockContacts(String localOffice, TraineeType traineeType,
+      List<Map<String, String>> contacts) {
+    when(restTemplate.getForObject(any(), any(), eq(Map.of("localOfficeName", localOffice,
+        "traineeType", traineeType)))).thenReturn(contacts);
+  }
+
+  /**
+   * Create a reference service contact.
+   *
+   * @param contactTypeName The contact type name.
+   * @param contact         The contact.
+   * @return The contact.
+   */
+  private Map<String, String> contact(String contactTypeName, String contact) {
+    return Map.of("contactTypeName", contactTypeName, "contact", contact);
+  }
+}
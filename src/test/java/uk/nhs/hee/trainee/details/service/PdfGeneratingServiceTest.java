@@ -22,37 +22,69 @@
 package uk.nhs.hee.trainee.details.service;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.TemplateSpec;
 import org.thymeleaf.templatemode.TemplateMode;
 
 class PdfGeneratingServiceTest {
   private static final ZoneId TIMEZONE = ZoneId.of("Europe/London");
+  private static final int MAX_CONCURRENT_RENDERS = 1;
+  private static final long RESOURCE_CACHE_BYTES = 1_000_000;
 
   private PdfGeneratingService service;
   private TemplateEngine templateEngine;
+  private CachingDelegate cachingDelegate;
+  private MeterRegistry meterRegistry;
 
   @BeforeEach
   void setUp() {
     templateEngine = mock(TemplateEngine.class);
-    service = new PdfGeneratingService(templateEngine, TIMEZONE);
+    cachingDelegate = mock(CachingDelegate.class);
+    meterRegistry = new SimpleMeterRegistry();
+    service = new PdfGeneratingService(templateEngine, cachingDelegate,
+        new ObjectMapper().findAndRegisterModules(), meterRegistry, TIMEZONE,
+        MAX_CONCURRENT_RENDERS, RESOURCE_CACHE_BYTES);
   }
 
   @Test
@@ -70,4 +102,318 @@ class PdfGeneratingServiceTest {
 
     assertThat("Unexpected content.", pdfText, is("test content" + System.lineSeparator()));
   }
+
+  @Test
+  void shouldGeneratePdfWithClasspathResources() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html><img src=\"/static/nhs-england_logo_blue_right.svg\">test content</html>");
+
+    byte[] resultByte = service.generatePdf(templateSpec, Map.of());
+    PDDocument pdf = Loader.loadPDF(new RandomAccessReadBuffer(resultByte));
+    String pdfText = new PDFTextStripper().getText(pdf);
+
+    assertThat("Unexpected content.", pdfText.trim(), is("test content"));
+  }
+
+  @Test
+  void shouldNotUseTemplatesWhenWarmingUp() {
+    service.warmUp();
+
+    verify(templateEngine, times(0)).process(any(TemplateSpec.class), any());
+  }
+
+  @Test
+  void shouldLimitConcurrentPdfGeneration() throws Exception {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch firstRelease = new CountDownLatch(1);
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenAnswer(inv -> {
+      firstStarted.countDown();
+      firstRelease.await(5, TimeUnit.SECONDS);
+      return "<html>test content</html>";
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<byte[]> first = executor.submit(() -> service.generatePdf(templateSpec, Map.of()));
+      assertThat("Unexpected first start.", firstStarted.await(5, TimeUnit.SECONDS), is(true));
+
+      Future<byte[]> second = executor.submit(() -> service.generatePdf(templateSpec, Map.of()));
+      Thread.sleep(100);
+      verify(templateEngine, times(1)).process(any(TemplateSpec.class), any());
+
+      firstRelease.countDown();
+      first.get(5, TimeUnit.SECONDS);
+      second.get(5, TimeUnit.SECONDS);
+      verify(templateEngine, times(2)).process(any(TemplateSpec.class), any());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldRecordRenderTimePerTemplate() throws IOException {
+    TemplateSpec templateSpec1 = new TemplateSpec("template1", Set.of(), TemplateMode.HTML, null);
+    TemplateSpec templateSpec2 = new TemplateSpec("template2", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    service.generatePdf(templateSpec1, Map.of());
+    service.generatePdf(templateSpec1, Map.of());
+    service.generatePdf(templateSpec2, Map.of());
+
+    Timer timer1 = meterRegistry.get(PdfGeneratingService.RENDER_TIMER)
+        .tag("template", "template1")
+        .timer();
+    assertThat("Unexpected render count.", timer1.count(), is(2L));
+
+    Timer timer2 = meterRegistry.get(PdfGeneratingService.RENDER_TIMER)
+        .tag("template", "template2")
+        .timer();
+    assertThat("Unexpected render count.", timer2.count(), is(1L));
+  }
+
+  @Test
+  void shouldRecordRenderTimePerTemplateVersion() throws IOException {
+    TemplateSpec templateSpec1 = new TemplateSpec("template/v1.html", Set.of(), TemplateMode.HTML,
+        Map.of(TemplateRegistry.VERSION_ATTRIBUTE, "v1"));
+    TemplateSpec templateSpec2 = new TemplateSpec("template/v2.html", Set.of(), TemplateMode.HTML,
+        Map.of(TemplateRegistry.VERSION_ATTRIBUTE, "v2"));
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    service.generatePdf(templateSpec1, Map.of());
+    service.generatePdf(templateSpec2, Map.of());
+    service.generatePdf(templateSpec2, Map.of());
+
+    Timer timer1 = meterRegistry.get(PdfGeneratingService.RENDER_TIMER)
+        .tag("version", "v1")
+        .timer();
+    assertThat("Unexpected render count.", timer1.count(), is(1L));
+
+    Timer timer2 = meterRegistry.get(PdfGeneratingService.RENDER_TIMER)
+        .tag("version", "v2")
+        .timer();
+    assertThat("Unexpected render count.", timer2.count(), is(2L));
+  }
+
+  @Test
+  void shouldRecordUnknownVersionWhenTemplateNotVersioned() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    service.generatePdf(templateSpec, Map.of());
+
+    Timer timer = meterRegistry.get(PdfGeneratingService.RENDER_TIMER)
+        .tag("version", "unknown")
+        .timer();
+    assertThat("Unexpected render count.", timer.count(), is(1L));
+  }
+
+  @Test
+  void shouldNotRecordRenderTimeWhenPdfCached() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of("cached".getBytes()));
+
+    service.generatePdf(templateSpec, Map.of());
+
+    assertThat("Unexpected render timer.",
+        meterRegistry.find(PdfGeneratingService.RENDER_TIMER).timer(), nullValue());
+  }
+
+  @Test
+  void shouldReturnCachedPdfWithoutGenerating() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    byte[] cachedPdf = "cached".getBytes();
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of(cachedPdf));
+
+    byte[] resultByte = service.generatePdf(templateSpec, Map.of("key", "value"));
+
+    assertThat("Unexpected PDF.", resultByte, is(cachedPdf));
+    verify(templateEngine, never()).process(any(TemplateSpec.class), any());
+    verify(cachingDelegate, never()).cachePdf(any(), any());
+  }
+
+  @Test
+  void shouldCacheGeneratedPdf() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    byte[] resultByte = service.generatePdf(templateSpec, Map.of("key", "value"));
+
+    ArgumentCaptor<String> keyCaptor = ArgumentCaptor.captor();
+    verify(cachingDelegate).getPdf(keyCaptor.capture());
+    String cacheKey = keyCaptor.getValue();
+    assertThat("Unexpected cache key.", cacheKey, startsWith("template:"));
+
+    verify(cachingDelegate).cachePdf(eq(cacheKey), eq(resultByte));
+  }
+
+  @Test
+  void shouldUseSameCacheKeyWhenContentUnchanged() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of(new byte[0]));
+
+    service.generatePdf(templateSpec, Map.of("key1", "value1", "key2", "value2"));
+    service.generatePdf(templateSpec, Map.of("key2", "value2", "key1", "value1"));
+
+    ArgumentCaptor<String> keyCaptor = ArgumentCaptor.captor();
+    verify(cachingDelegate, times(2)).getPdf(keyCaptor.capture());
+    List<String> cacheKeys = keyCaptor.getAllValues();
+    assertThat("Unexpected cache key.", cacheKeys.get(1), is(cacheKeys.get(0)));
+  }
+
+  @Test
+  void shouldUseDifferentCacheKeyWhenVariablesChanged() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of(new byte[0]));
+
+    service.generatePdf(templateSpec, Map.of("key", "value1"));
+    service.generatePdf(templateSpec, Map.of("key", "value2"));
+
+    ArgumentCaptor<String> keyCaptor = ArgumentCaptor.captor();
+    verify(cachingDelegate, times(2)).getPdf(keyCaptor.capture());
+    List<String> cacheKeys = keyCaptor.getAllValues();
+    assertThat("Unexpected cache key.", cacheKeys.get(1), not(cacheKeys.get(0)));
+  }
+
+  @Test
+  void shouldUseDifferentCacheKeyWhenTemplateChanged() throws IOException {
+    TemplateSpec templateSpec1 = new TemplateSpec("v1.0.0", Set.of(), TemplateMode.HTML, null);
+    TemplateSpec templateSpec2 = new TemplateSpec("v1.0.1", Set.of(), TemplateMode.HTML, null);
+
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of(new byte[0]));
+
+    service.generatePdf(templateSpec1, Map.of("key", "value"));
+    service.generatePdf(templateSpec2, Map.of("key", "value"));
+
+    ArgumentCaptor<String> keyCaptor = ArgumentCaptor.captor();
+    verify(cachingDelegate, times(2)).getPdf(keyCaptor.capture());
+    List<String> cacheKeys = keyCaptor.getAllValues();
+    assertThat("Unexpected cache key.", cacheKeys.get(0), startsWith("v1.0.0:"));
+    assertThat("Unexpected cache key.", cacheKeys.get(1), startsWith("v1.0.1:"));
+    assertThat("Unexpected cache key.", cacheKeys.get(1).substring(7),
+        not(cacheKeys.get(0).substring(7)));
+  }
+
+  @Test
+  void shouldGetCachedPdfWhenCached() {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    byte[] cachedPdf = "cached".getBytes();
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.of(cachedPdf));
+
+    Optional<byte[]> result = service.getCachedPdf(templateSpec, Map.of("key", "value"));
+
+    assertThat("Unexpected PDF.", result, is(Optional.of(cachedPdf)));
+    verify(templateEngine, never()).process(any(TemplateSpec.class), any());
+  }
+
+  @Test
+  void shouldGetEmptyCachedPdfWhenNotCached() {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(cachingDelegate.getPdf(anyString())).thenReturn(Optional.empty());
+
+    Optional<byte[]> result = service.getCachedPdf(templateSpec, Map.of("key", "value"));
+
+    assertThat("Unexpected PDF.", result, is(Optional.empty()));
+    verify(templateEngine, never()).process(any(TemplateSpec.class), any());
+  }
+
+  @Test
+  void shouldWritePdfToStreamWithoutCachingIt() throws IOException {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    service.generatePdf(templateSpec, Map.of("key", "value"), os);
+
+    PDDocument pdf = Loader.loadPDF(new RandomAccessReadBuffer(os.toByteArray()));
+    String pdfText = new PDFTextStripper().getText(pdf);
+    assertThat("Unexpected content.", pdfText.trim(), is("test content"));
+
+    verify(cachingDelegate, never()).getPdf(any());
+    verify(cachingDelegate, never()).cachePdf(any(), any());
+  }
+
+  @Test
+  void shouldHoldRenderPermitWhileWritingToStream() throws Exception {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenReturn(
+        "<html>test content</html>");
+
+    // A slow client, the stream blocks until released.
+    CountDownLatch writeStarted = new CountDownLatch(1);
+    CountDownLatch writeRelease = new CountDownLatch(1);
+    OutputStream slowStream = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        writeStarted.countDown();
+
+        try {
+          writeRelease.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> slow = executor.submit(() -> {
+        service.generatePdf(templateSpec, Map.of(), slowStream);
+        return null;
+      });
+      assertThat("Unexpected write start.", writeStarted.await(5, TimeUnit.SECONDS), is(true));
+
+      Future<byte[]> other = executor.submit(() -> service.generatePdf(templateSpec, Map.of()));
+      Thread.sleep(100);
+      verify(templateEngine, times(1)).process(any(TemplateSpec.class), any());
+
+      writeRelease.countDown();
+      slow.get(5, TimeUnit.SECONDS);
+      assertThat("Unexpected other PDF.", other.get(5, TimeUnit.SECONDS), not(nullValue()));
+      verify(templateEngine, times(2)).process(any(TemplateSpec.class), any());
+    } finally {
+      writeRelease.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldNotWriteToStreamWhenTemplateFails() {
+    TemplateSpec templateSpec = new TemplateSpec("template", Set.of(), TemplateMode.HTML, null);
+
+    when(templateEngine.process(any(TemplateSpec.class), any())).thenThrow(
+        new IllegalStateException("template error"));
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    assertThrows(IllegalStateException.class,
+        () -> service.generatePdf(templateSpec, Map.of("key", "value"), os));
+
+    assertThat("Unexpected written bytes.", os.size(), is(0));
+  }
 }
@@ -0,0 +1,403 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.PM_CONFIRM_WEEKS;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.templatemode.TemplateMode;
+import uk.nhs.hee.trainee.details.dto.PdfJobDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.PdfJobStatus;
+import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+
+class PdfJobServiceTest {
+
+  private static final String TRAINEE_ID = "40";
+  private static final String OTHER_TRAINEE_ID = "41";
+  private static final String PM_ID = "pm1";
+  private static final PdfTemplate PDF_TEMPLATE = new PdfTemplate(
+      new TemplateSpec("template", Set.of(), TemplateMode.HTML, null), Map.of("key", "value"));
+  private static final byte[] PDF = "pdf".getBytes();
+  private static final ZoneId TIMEZONE = ZoneId.of("Europe/London");
+
+  private PdfJobService service;
+  private ProgrammeMembershipService programmeMembershipService;
+  private PdfGeneratingService pdfService;
+  private MongoTemplate mongoTemplate;
+  private StringRedisTemplate redisTemplate;
+  private ValueOperations<String, String> valueOperations;
+  private Cache jobs;
+  private List<Runnable> queuedJobs;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() throws IOException {
+    programmeMembershipService = mock(ProgrammeMembershipService.class);
+    pdfService = mock(PdfGeneratingService.class);
+    mongoTemplate = mock(MongoTemplate.class);
+    redisTemplate = mock(StringRedisTemplate.class);
+    valueOperations = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(true);
+
+    // Jobs are queued and only run when requested.
+    jobs = new ConcurrentMapCache("PdfJobs");
+    queuedJobs = new ArrayList<>();
+    Executor executor = queuedJobs::add;
+    service = new PdfJobService(programmeMembershipService, pdfService, mongoTemplate, executor,
+        redisTemplate, jobs, TIMEZONE);
+
+    when(programmeMembershipService.getProgrammeMembershipPdfTemplate(TRAINEE_ID, PM_ID))
+        .thenReturn(PDF_TEMPLATE);
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.empty());
+    when(pdfService.generatePdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(PDF);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenSubmittingInvalidProgrammeMembership() {
+    when(programmeMembershipService.getProgrammeMembershipPdfTemplate(TRAINEE_ID, PM_ID))
+        .thenThrow(IllegalArgumentException.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID));
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(0));
+  }
+
+  @Test
+  void shouldSubmitPendingJobWhenPdfNotCached() {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+
+    assertThat("Unexpected job ID.", job.id(), notNullValue());
+    assertThat("Unexpected job status.", job.status(), is(PdfJobStatus.PENDING));
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(1));
+  }
+
+  @Test
+  void shouldSubmitCompleteJobWhenPdfCached() {
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.of(PDF));
+
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+
+    assertThat("Unexpected job status.", job.status(), is(PdfJobStatus.COMPLETE));
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(0));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenJobQueueFull() {
+    service = new PdfJobService(programmeMembershipService, pdfService, mongoTemplate,
+        command -> {
+          throw new RejectedExecutionException("full");
+        }, redisTemplate, jobs, TIMEZONE);
+
+    assertThrows(RejectedExecutionException.class,
+        () -> service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID));
+    assertThat("Unexpected job count.", ((Map<?, ?>) jobs.getNativeCache()).size(), is(0));
+  }
+
+  @Test
+  void shouldCompleteJobWhenPdfGenerated() throws IOException {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+
+    Optional<PdfJobDto> polledJob = service.getJob(TRAINEE_ID, job.id());
+    assertThat("Unexpected job status.", polledJob.map(PdfJobDto::status),
+        is(Optional.of(PdfJobStatus.COMPLETE)));
+    verify(pdfService).generatePdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables());
+  }
+
+  @Test
+  void shouldFailJobWhenPdfGenerationFails() throws IOException {
+    when(pdfService.generatePdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenThrow(IOException.class);
+
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+
+    Optional<PdfJobDto> polledJob = service.getJob(TRAINEE_ID, job.id());
+    assertThat("Unexpected job status.", polledJob.map(PdfJobDto::status),
+        is(Optional.of(PdfJobStatus.FAILED)));
+  }
+
+  @Test
+  void shouldNotGetJobWhenNotFound() {
+    Optional<PdfJobDto> job = service.getJob(TRAINEE_ID, "unknown");
+
+    assertThat("Unexpected job.", job, is(Optional.empty()));
+  }
+
+  @Test
+  void shouldNotGetJobWhenSubmittedByOtherTrainee() {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+
+    Optional<PdfJobDto> polledJob = service.getJob(OTHER_TRAINEE_ID, job.id());
+
+    assertThat("Unexpected job.", polledJob, is(Optional.empty()));
+  }
+
+  @Test
+  void shouldNotGetPdfWhenJobPending() throws IOException {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+
+    Optional<byte[]> pdf = service.getPdf(TRAINEE_ID, job.id());
+
+    assertThat("Unexpected PDF.", pdf, is(Optional.empty()));
+    verify(pdfService, never()).generatePdf(any(), any());
+  }
+
+  @Test
+  void shouldNotGetPdfWhenSubmittedByOtherTrainee() {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+
+    Optional<byte[]> pdf = service.getPdf(OTHER_TRAINEE_ID, job.id());
+
+    assertThat("Unexpected PDF.", pdf, is(Optional.empty()));
+  }
+
+  @Test
+  void shouldGetPdfWhenJobComplete() throws IOException {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.of(PDF));
+
+    Optional<byte[]> pdf = service.getPdf(TRAINEE_ID, job.id());
+
+    assertThat("Unexpected PDF.", pdf, is(Optional.of(PDF)));
+    verify(pdfService).generatePdf(any(), any());
+  }
+
+  @Test
+  void shouldResubmitJobWhenCompletePdfNoLongerCached() throws IOException {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+    queuedJobs.clear();
+
+    Optional<byte[]> pdf = service.getPdf(TRAINEE_ID, job.id());
+
+    assertThat("Unexpected PDF.", pdf, is(Optional.empty()));
+    assertThat("Unexpected job status.", service.getJob(TRAINEE_ID, job.id())
+        .map(PdfJobDto::status), is(Optional.of(PdfJobStatus.PENDING)));
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(1));
+    verify(pdfService).generatePdf(any(), any());
+
+    queuedJobs.forEach(Runnable::run);
+
+    assertThat("Unexpected job status.", service.getJob(TRAINEE_ID, job.id())
+        .map(PdfJobDto::status), is(Optional.of(PdfJobStatus.COMPLETE)));
+  }
+
+  @Test
+  void shouldKeepCompleteJobWhenResubmissionQueueFull() {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+
+    PdfJobService fullService = new PdfJobService(programmeMembershipService, pdfService,
+        mongoTemplate, command -> {
+          throw new RejectedExecutionException("full");
+        }, redisTemplate, jobs, TIMEZONE);
+
+    assertThrows(RejectedExecutionException.class,
+        () -> fullService.getPdf(TRAINEE_ID, job.id()));
+    assertThat("Unexpected job status.", service.getJob(TRAINEE_ID, job.id())
+        .map(PdfJobDto::status), is(Optional.of(PdfJobStatus.COMPLETE)));
+  }
+
+  @Test
+  void shouldGetJobFromOtherInstance() {
+    PdfJobDto job = service.submitProgrammeMembershipPdf(TRAINEE_ID, PM_ID);
+    queuedJobs.forEach(Runnable::run);
+
+    PdfJobService otherService = new PdfJobService(programmeMembershipService, pdfService,
+        mongoTemplate, queuedJobs::add, redisTemplate, jobs, TIMEZONE);
+    Optional<PdfJobDto> polledJob = otherService.getJob(TRAINEE_ID, job.id());
+
+    assertThat("Unexpected job status.", polledJob.map(PdfJobDto::status),
+        is(Optional.of(PdfJobStatus.COMPLETE)));
+  }
+
+  @Test
+  void shouldPreGenerateProgrammeMembershipsEnteringConfirmationWindow() throws IOException {
+    LocalDate startDate = LocalDate.now(TIMEZONE).plusWeeks(PM_CONFIRM_WEEKS);
+
+    ProgrammeMembership enteringPm = new ProgrammeMembership();
+    enteringPm.setTisId(PM_ID);
+    enteringPm.setStartDate(startDate);
+    ProgrammeMembership otherPm = new ProgrammeMembership();
+    otherPm.setTisId("pm2");
+    otherPm.setStartDate(startDate.plusDays(1));
+
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_ID);
+    traineeProfile.setProgrammeMemberships(List.of(enteringPm, otherPm));
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of(traineeProfile));
+
+    service.preGenerateProgrammeMembershipPdfs();
+    queuedJobs.forEach(Runnable::run);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.captor();
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(TraineeProfile.class));
+    Document queryObject = queryCaptor.getValue().getQueryObject();
+    Document startDateQuery = queryObject.get("programmeMemberships.startDate", Document.class);
+    assertThat("Unexpected start date lower bound.", startDateQuery.get("$gte"), is(startDate));
+    assertThat("Unexpected start date upper bound.", startDateQuery.get("$lt"),
+        is(startDate.plusDays(1)));
+
+    verify(programmeMembershipService).getProgrammeMembershipPdfTemplate(TRAINEE_ID, PM_ID);
+    verify(programmeMembershipService, never())
+        .getProgrammeMembershipPdfTemplate(TRAINEE_ID, "pm2");
+    verify(pdfService).generatePdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables());
+    verify(valueOperations).setIfAbsent(eq("Details::pdf-pre-generation::" + startDate),
+        anyString(), eq(Duration.ofDays(1)));
+  }
+
+  @Test
+  void shouldNotPreGenerateWhenLockedByAnotherInstance() {
+    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(false);
+
+    service.preGenerateProgrammeMembershipPdfs();
+
+    verifyNoInteractions(mongoTemplate, programmeMembershipService, pdfService);
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(0));
+  }
+
+  @Test
+  void shouldNotPreGenerateWhenPdfCached() throws IOException {
+    when(pdfService.getCachedPdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables()))
+        .thenReturn(Optional.of(PDF));
+
+    ProgrammeMembership enteringPm = new ProgrammeMembership();
+    enteringPm.setTisId(PM_ID);
+    enteringPm.setStartDate(LocalDate.now(TIMEZONE).plusWeeks(PM_CONFIRM_WEEKS));
+
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_ID);
+    traineeProfile.setProgrammeMemberships(List.of(enteringPm));
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of(traineeProfile));
+
+    service.preGenerateProgrammeMembershipPdfs();
+
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(0));
+    verify(pdfService, never()).generatePdf(any(), any());
+  }
+
+  @Test
+  void shouldStopPreGenerationWhenJobQueueFull() throws IOException {
+    service = new PdfJobService(programmeMembershipService, pdfService, mongoTemplate,
+        command -> {
+          throw new RejectedExecutionException("full");
+        }, redisTemplate, jobs, TIMEZONE);
+
+    LocalDate startDate = LocalDate.now(TIMEZONE).plusWeeks(PM_CONFIRM_WEEKS);
+    ProgrammeMembership enteringPm = new ProgrammeMembership();
+    enteringPm.setTisId(PM_ID);
+    enteringPm.setStartDate(startDate);
+    ProgrammeMembership otherEnteringPm = new ProgrammeMembership();
+    otherEnteringPm.setTisId("pm2");
+    otherEnteringPm.setStartDate(startDate);
+
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_ID);
+    traineeProfile.setProgrammeMemberships(List.of(enteringPm, otherEnteringPm));
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of(traineeProfile));
+
+    service.preGenerateProgrammeMembershipPdfs();
+
+    verify(pdfService, never()).generatePdf(any(), any());
+    verify(programmeMembershipService, never())
+        .getProgrammeMembershipPdfTemplate(TRAINEE_ID, "pm2");
+  }
+
+  @Test
+  void shouldContinuePreGenerationWhenProgrammeMembershipInvalid() throws IOException {
+    when(programmeMembershipService.getProgrammeMembershipPdfTemplate(TRAINEE_ID, "invalid"))
+        .thenThrow(IllegalArgumentException.class);
+
+    LocalDate startDate = LocalDate.now(TIMEZONE).plusWeeks(PM_CONFIRM_WEEKS);
+    ProgrammeMembership invalidPm = new ProgrammeMembership();
+    invalidPm.setTisId("invalid");
+    invalidPm.setStartDate(startDate);
+    ProgrammeMembership enteringPm = new ProgrammeMembership();
+    enteringPm.setTisId(PM_ID);
+    enteringPm.setStartDate(startDate);
+
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_ID);
+    traineeProfile.setProgrammeMemberships(List.of(invalidPm, enteringPm));
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of(traineeProfile));
+
+    service.preGenerateProgrammeMembershipPdfs();
+    queuedJobs.forEach(Runnable::run);
+
+    verify(pdfService).generatePdf(PDF_TEMPLATE.templateSpec(), PDF_TEMPLATE.variables());
+  }
+
+  @Test
+  void shouldNotPreGenerateWhenNoProgrammeMembershipsEnteringConfirmationWindow() {
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of());
+
+    service.preGenerateProgrammeMembershipPdfs();
+
+    verifyNoInteractions(programmeMembershipService);
+    assertThat("Unexpected queued job count.", queuedJobs.size(), is(0));
+  }
+}
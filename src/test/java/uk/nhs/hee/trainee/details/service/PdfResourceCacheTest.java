@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.openhtmltopdf.extend.FSStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PdfResourceCacheTest {
+
+  private static final String STYLESHEET_PATH = "static/css/print.css";
+  private static final String STYLESHEET_URL = "classpath:/" + STYLESHEET_PATH;
+
+  private PdfResourceCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PdfResourceCache(1_000_000);
+  }
+
+  @Test
+  void shouldLoadClasspathResourceStream() throws IOException {
+    FSStream stream = cache.getUrl(STYLESHEET_URL);
+
+    try (InputStream is = stream.getStream()) {
+      assertThat("Unexpected resource content.", is.readAllBytes(), is(readResource()));
+    }
+  }
+
+  @Test
+  void shouldLoadClasspathResourceReader() throws IOException {
+    FSStream stream = cache.getUrl(STYLESHEET_URL);
+
+    StringWriter content = new StringWriter();
+    try (Reader reader = stream.getReader()) {
+      reader.transferTo(content);
+    }
+
+    assertThat("Unexpected resource content.", content.toString(),
+        is(new String(readResource(), StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void shouldReturnNewStreamsForCachedResource() throws IOException {
+    try (InputStream first = cache.getUrl(STYLESHEET_URL).getStream()) {
+      first.readAllBytes();
+    }
+
+    try (InputStream second = cache.getUrl(STYLESHEET_URL).getStream()) {
+      assertThat("Unexpected resource content.", second.readAllBytes(), is(readResource()));
+    }
+  }
+
+  @Test
+  void shouldReturnNullStreamsWhenClasspathResourceNotFound() {
+    FSStream stream = cache.getUrl("classpath:/static/missing.css");
+
+    assertThat("Unexpected stream.", stream.getStream(), nullValue());
+    assertThat("Unexpected reader.", stream.getReader(), nullValue());
+  }
+
+  @Test
+  void shouldReturnNullStreamsWhenResourceCanNotBeLoaded() {
+    FSStream stream = cache.getUrl("http://localhost:0/missing.css");
+
+    assertThat("Unexpected stream.", stream.getStream(), nullValue());
+    assertThat("Unexpected reader.", stream.getReader(), nullValue());
+  }
+
+  /**
+   * Read the test resource directly from the classpath.
+   *
+   * @return The resource content.
+   * @throws IOException If the resource could not be read.
+   */
+  private byte[] readResource() throws IOException {
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream(STYLESHEET_PATH)) {
+      return is.readAllBytes();
+    }
+  }
+}
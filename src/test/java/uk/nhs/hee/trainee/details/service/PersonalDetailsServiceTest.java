@@ -25,7 +25,6 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -35,18 +34,31 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import uk.nhs.hee.trainee.details.dto.ContactDetailsUpdateDto;
 import uk.nhs.hee.trainee.details.dto.GmcDetailsDto;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.mapper.TraineeProfileMapperImpl;
 import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
 import uk.nhs.hee.trainee.details.model.PersonalDetailsUpdated;
 import uk.nhs.hee.trainee.details.model.TraineeProfile;
 import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
@@ -90,12 +102,17 @@ class PersonalDetailsServiceTest {
   private PersonalDetailsService service;
   private TraineeProfileRepository repository;
   private EventPublishService eventService;
+  private MongoTemplate mongoTemplate;
+  private TraineeProfileCache profileCache;
 
   @BeforeEach
   void setUp() {
     repository = mock(TraineeProfileRepository.class);
     eventService = mock(EventPublishService.class);
-    service = new PersonalDetailsService(repository, new TraineeProfileMapperImpl(), eventService);
+    mongoTemplate = mock(MongoTemplate.class);
+    profileCache = mock(TraineeProfileCache.class);
+    service = new PersonalDetailsService(repository, new TraineeProfileMapperImpl(), eventService,
+        mongoTemplate, profileCache);
   }
 
   @Test
@@ -180,82 +197,6 @@ class PersonalDetailsServiceTest {
     assertThat("Unexpected personal details.", personalDetails, is(expectedPersonalDetails));
   }
 
-  @Test
-  void shouldNotUpdateGdcDetailsWhenTraineeIdNotFound() {
-    PersonalDetailsUpdated personalDetails = service
-        .updateGdcDetailsByTisId("notFound", new PersonalDetails());
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(true));
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoMoreInteractions(repository);
-  }
-
-  @Test
-  void shouldNotUpdateGdcDetailsWhenTraineeProfileNotChanged() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
-
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    // update with the same value
-    PersonalDetailsUpdated personalDetails = service.updateGdcDetailsByTisId("40",
-        createPersonalDetails(ORIGINAL_SUFFIX, 0));
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-    verify(repository, never()).save(any());
-    verifyNoInteractions(eventService);
-  }
-
-  @Test
-  void shouldUpdateGdcDetailsWhenTraineeIdFound() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
-
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updateGdcDetailsByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-
-    PersonalDetails expectedPersonalDetails = createPersonalDetails(ORIGINAL_SUFFIX, 0);
-    expectedPersonalDetails.setGdcNumber(GDC_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setGdcStatus(GDC_STATUS + MODIFIED_SUFFIX);
-
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
-  }
-
-  @Test
-  void shouldPopulateGdcDetailsWhenTraineeSkeletonFound() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updateGdcDetailsByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-
-    PersonalDetails expectedPersonalDetails = new PersonalDetails();
-    expectedPersonalDetails.setGdcNumber(GDC_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setGdcStatus(GDC_STATUS + MODIFIED_SUFFIX);
-
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
-  }
-
   @Test
   void shouldNotUpdateGmcDetailsWhenTraineeIdNotFound() {
     PersonalDetailsUpdated personalDetails = service.updateGmcDetailsByTisId("notFound",
@@ -484,274 +425,291 @@ class PersonalDetailsServiceTest {
   }
 
   @Test
-  void shouldNotUpdateContactDetailsWhenTraineeIdNotFound() {
-    PersonalDetailsUpdated personalDetails = service
-        .updateContactDetailsByTisId("notFound", new PersonalDetails());
+  void shouldNotWriteBulkPersonalDetailsWhenNoChanges() {
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of());
 
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(true));
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoMoreInteractions(repository);
+    assertThat("Unexpected statuses.", statuses, is(Map.of()));
+    verifyNoInteractions(repository, mongoTemplate, profileCache, eventService);
   }
 
   @Test
-  void shouldNotUpdateContactDetailsWhenTraineeProfileNotChanged() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+  void shouldMarkBulkPersonalDetailsNotFoundWhenTraineeNotFound() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of());
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    // update with the same value
-    PersonalDetailsUpdated personalDetails = service.updateContactDetailsByTisId("40",
-        createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-    verify(repository, never()).save(any());
-    verifyNoInteractions(eventService);
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.NOT_FOUND)));
+    verifyNoInteractions(bulkOps, profileCache, eventService);
   }
 
   @Test
-  void shouldUpdateContactDetailsWhenTraineeIdFound() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+  void shouldCreateBulkProfileWhenTraineeNotFoundAndBasicDetailsChanged() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of());
+    when(bulkOps.execute()).thenReturn(mock(BulkWriteResult.class));
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updateContactDetailsByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.BASIC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.UPDATED)));
 
-    PersonalDetails expectedPersonalDetails = createPersonalDetails(ORIGINAL_SUFFIX, 0);
-    expectedPersonalDetails.setTitle(TITLE + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setForenames(FORENAMES + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setKnownAs(KNOWN_AS + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setSurname(SURNAME + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setMaidenName(MAIDEN_NAME + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setTelephoneNumber(TELEPHONE_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setMobileNumber(MOBILE_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setEmail(EMAIL + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress1(ADDRESS_1 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress2(ADDRESS_2 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress3(ADDRESS_3 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress4(ADDRESS_4 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setPostCode(POST_CODE + MODIFIED_SUFFIX);
+    ArgumentCaptor<TraineeProfile> profileCaptor = ArgumentCaptor.captor();
+    verify(bulkOps).insert(profileCaptor.capture());
+    TraineeProfile profile = profileCaptor.getValue();
+    assertThat("Unexpected trainee TIS id.", profile.getTraineeTisId(), is(TRAINEE_TIS_ID));
+    assertThat("Unexpected version.", profile.getVersion(), is(0L));
+    assertThat("Unexpected public health number.",
+        profile.getPersonalDetails().getPublicHealthNumber(),
+        is(PUBLIC_HEALTH_NUMBER + MODIFIED_SUFFIX));
 
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
+    verify(profileCache).evictAll(List.of(TRAINEE_TIS_ID));
+    verify(eventService).publishProfileCreateEvent(profile);
   }
 
   @Test
-  void shouldPopulateContactDetailsWhenTraineeSkeletonFound() {
+  void shouldReplaceBulkProfileOnceWhenTraineeHasMultipleChanges() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setId("1");
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
+    traineeProfile.setVersion(2L);
+    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(bulkOps.execute()).thenReturn(result);
 
-    PersonalDetailsUpdated personalDetails = service
-        .updateContactDetailsByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100)),
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GDC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.UPDATED)));
 
-    PersonalDetails expectedPersonalDetails = new PersonalDetails();
-    expectedPersonalDetails.setTitle(TITLE + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setForenames(FORENAMES + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setKnownAs(KNOWN_AS + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setSurname(SURNAME + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setMaidenName(MAIDEN_NAME + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setTelephoneNumber(TELEPHONE_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setMobileNumber(MOBILE_NUMBER + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setEmail(EMAIL + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress1(ADDRESS_1 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress2(ADDRESS_2 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress3(ADDRESS_3 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setAddress4(ADDRESS_4 + MODIFIED_SUFFIX);
-    expectedPersonalDetails.setPostCode(POST_CODE + MODIFIED_SUFFIX);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.captor();
+    ArgumentCaptor<TraineeProfile> profileCaptor = ArgumentCaptor.captor();
+    verify(bulkOps).replaceOne(queryCaptor.capture(), profileCaptor.capture());
 
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
-  }
+    Document query = queryCaptor.getValue().getQueryObject();
+    assertThat("Unexpected query id.", query.get("_id"), is("1"));
+    assertThat("Unexpected query version.", query.get("version"), is(2L));
 
-  @Test
-  void shouldNotUpdatePersonOwnerDetailsWhenTraineeIdNotFound() {
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonOwnerByTisId("notFound", new PersonalDetails());
+    TraineeProfile profile = profileCaptor.getValue();
+    assertThat("Unexpected version.", profile.getVersion(), is(3L));
+    PersonalDetails personalDetails = profile.getPersonalDetails();
+    assertThat("Unexpected GMC number.", personalDetails.getGmcNumber(),
+        is(GMC_NUMBER + MODIFIED_SUFFIX));
+    assertThat("Unexpected GDC number.", personalDetails.getGdcNumber(),
+        is(GDC_NUMBER + MODIFIED_SUFFIX));
+    assertThat("Unexpected forenames.", personalDetails.getForenames(),
+        is(FORENAMES + ORIGINAL_SUFFIX));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(true));
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoMoreInteractions(repository);
+    verify(profileCache).evictAll(List.of(TRAINEE_TIS_ID));
+    verifyNoInteractions(eventService);
   }
 
   @Test
-  void shouldNotUpdatePersonOwnerDetailsWhenTraineeProfileNotChanged() {
+  void shouldNotWriteBulkProfileWhenTraineeProfileNotChanged() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
     traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
 
-    // update with the same value
-    PersonalDetailsUpdated personalDetails = service.updatePersonOwnerByTisId("40",
-        createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(ORIGINAL_SUFFIX, 0))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-    verify(repository, never()).save(any());
-    verifyNoInteractions(eventService);
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.UPDATED)));
+    verifyNoInteractions(bulkOps, profileCache);
   }
 
   @Test
-  void shouldNotUpdatePersonOwnerDetailsWhenTraineeIdFoundAndNewOwnerNull() {
+  void shouldMarkBulkPersonalDetailsFailedWhenWriteErrors() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setId("1");
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
     traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
-
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetails newPersonalDetails = createPersonalDetails(MODIFIED_SUFFIX, 100);
-    newPersonalDetails.setPersonOwner(null);
-
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonOwnerByTisId("40", newPersonalDetails);
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-    verify(repository, never()).save(any());
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
+
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkOperationException exception = mock(BulkOperationException.class);
+    when(exception.getErrors()).thenReturn(
+        List.of(new BulkWriteError(1, "Write failed.", new BsonDocument(), 1)));
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(exception.getResult()).thenReturn(result);
+    when(bulkOps.execute()).thenThrow(exception);
+
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100)),
+        new PersonalDetailsChange("notFound", Type.BASIC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
+
+    assertThat("Unexpected statuses.", statuses, is(Map.of(
+        TRAINEE_TIS_ID, BulkSyncStatus.UPDATED,
+        "notFound", BulkSyncStatus.FAILED)));
+    verify(profileCache).evictAll(List.of(TRAINEE_TIS_ID, "notFound"));
+    verifyNoInteractions(eventService);
   }
 
   @Test
-  void shouldUpdatePersonOwnerDetailsWhenTraineeIdFoundAndNewOwnerNotNull() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+  void shouldMarkAllBulkPersonalDetailsFailedWhenProfileModifiedConcurrently() {
+    TraineeProfile traineeProfile1 = new TraineeProfile();
+    traineeProfile1.setId("1");
+    traineeProfile1.setTraineeTisId(TRAINEE_TIS_ID);
+    traineeProfile1.setVersion(2L);
+    traineeProfile1.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonOwnerByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
+    TraineeProfile traineeProfile2 = new TraineeProfile();
+    traineeProfile2.setId("2");
+    traineeProfile2.setTraineeTisId("conflicting");
+    traineeProfile2.setVersion(5L);
+    traineeProfile2.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(
+        List.of(traineeProfile1, traineeProfile2));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(bulkOps.execute()).thenReturn(result);
 
-    PersonalDetails expectedPersonalDetails = createPersonalDetails(ORIGINAL_SUFFIX, 0);
-    expectedPersonalDetails.setPersonOwner(PERSON_OWNER + MODIFIED_SUFFIX);
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100)),
+        new PersonalDetailsChange("conflicting", Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
+    assertThat("Unexpected statuses.", statuses, is(Map.of(
+        TRAINEE_TIS_ID, BulkSyncStatus.FAILED,
+        "conflicting", BulkSyncStatus.FAILED)));
   }
 
   @Test
-  void shouldPopulatePersonOwnerDetailsWhenTraineeSkeletonFound() {
+  void shouldMarkBulkPersonalDetailsFailedWhenConcurrentWriteSetTheSameVersion() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setId("1");
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
+    traineeProfile.setVersion(5L);
+    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
 
-    when(repository.findByTraineeTisId("40")).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonOwnerByTisId("40", createPersonalDetails(MODIFIED_SUFFIX, 100));
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-
-    PersonalDetails expectedPersonalDetails = new PersonalDetails();
-    expectedPersonalDetails.setPersonOwner(PERSON_OWNER + MODIFIED_SUFFIX);
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(0);
+    when(bulkOps.execute()).thenReturn(result);
 
-    assertThat("Unexpected personal details.",
-        personalDetails.getPersonalDetails().get(), is(expectedPersonalDetails));
-  }
+    // A concurrent write has moved the stored version from 5 to 6, the version this write sets.
+    TraineeProfile stored = new TraineeProfile();
+    stored.setId("1");
+    stored.setVersion(6L);
+    when(mongoTemplate.find(any(), eq(TraineeProfile.class))).thenReturn(List.of(stored));
 
-  @Test
-  void shouldNotUpdatePersonalInfoWhenTraineeIdNotFound() {
-    PersonalDetails personalDetailsMock = mock(PersonalDetails.class);
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonalInfoByTisId("notFound", personalDetailsMock);
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertTrue(personalDetails.getPersonalDetails().isEmpty(),
-        "Expected personal details to have been empty");
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoInteractions(personalDetailsMock);
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.FAILED)));
   }
 
   @Test
-  void shouldNotUpdatePersonalInfoWhenTraineeProfileNotChanged() {
+  void shouldMarkBulkPersonalDetailsUpdatedWhenAllReplacementsMatched() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setId("1");
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
+    traineeProfile.setVersion(2L);
     traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(bulkOps.execute()).thenReturn(result);
 
-    // update with the same value
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonalInfoByTisId(
-            TRAINEE_TIS_ID, createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.GMC_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(false));
-    assertThat("Unexpected optional isEmpty flag.",
-        personalDetails.getPersonalDetails().isEmpty(), is(false));
-    verify(repository, never()).save(any());
-    verifyNoInteractions(eventService);
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.UPDATED)));
   }
 
   @Test
-  void shouldUpdatePersonalInfoWhenTraineeIdFound() {
+  void shouldApplyBulkContactPersonalInfoAndPersonOwnerChanges() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setId("1");
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
     traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
+
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getMatchedCount()).thenReturn(1);
+    when(bulkOps.execute()).thenReturn(result);
+
+    service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.CONTACT_DETAILS,
+            createPersonalDetails(MODIFIED_SUFFIX, 100)),
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.PERSONAL_INFO,
+            createPersonalDetails(MODIFIED_SUFFIX, 100)),
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.PERSON_OWNER,
+            createPersonalDetails(MODIFIED_SUFFIX, 100))));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonalInfoByTisId(
-            TRAINEE_TIS_ID, createPersonalDetails(MODIFIED_SUFFIX, ONE_HUNDRED));
-
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertTrue(personalDetails.getPersonalDetails().isPresent(),
-        "Expected a PersonalDetails to be returned");
-
-    PersonalDetails expectedPersonalDetails = createPersonalDetails(ORIGINAL_SUFFIX, 0);
-    expectedPersonalDetails.setDateOfBirth(DATE.plusDays(ONE_HUNDRED));
-    expectedPersonalDetails.setGender(GENDER + MODIFIED_SUFFIX);
+    ArgumentCaptor<TraineeProfile> profileCaptor = ArgumentCaptor.captor();
+    verify(bulkOps).replaceOne(any(), profileCaptor.capture());
 
-    assertThat("Unexpected personal details.", personalDetails.getPersonalDetails().get(),
-        is(expectedPersonalDetails));
+    PersonalDetails personalDetails = profileCaptor.getValue().getPersonalDetails();
+    assertThat("Unexpected email.", personalDetails.getEmail(), is(EMAIL + MODIFIED_SUFFIX));
+    assertThat("Unexpected post code.", personalDetails.getPostCode(),
+        is(POST_CODE + MODIFIED_SUFFIX));
+    assertThat("Unexpected gender.", personalDetails.getGender(), is(GENDER + MODIFIED_SUFFIX));
+    assertThat("Unexpected date of birth.", personalDetails.getDateOfBirth(),
+        is(DATE.plusDays(100)));
+    assertThat("Unexpected person owner.", personalDetails.getPersonOwner(),
+        is(PERSON_OWNER + MODIFIED_SUFFIX));
+    assertThat("Unexpected GMC number.", personalDetails.getGmcNumber(),
+        is(GMC_NUMBER + ORIGINAL_SUFFIX));
   }
 
   @Test
-  void shouldPopulatePersonalInfoWhenTraineeSkeletonFound() {
+  void shouldRetainBulkPersonOwnerWhenPersonOwnerNull() {
     TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setTraineeTisId(TRAINEE_TIS_ID);
+    traineeProfile.setPersonalDetails(createPersonalDetails(ORIGINAL_SUFFIX, 0));
+    when(repository.findByTraineeTisIdIn(any())).thenReturn(List.of(traineeProfile));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
-
-    PersonalDetailsUpdated personalDetails = service
-        .updatePersonalInfoByTisId(
-            TRAINEE_TIS_ID, createPersonalDetails(MODIFIED_SUFFIX, ONE_HUNDRED));
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
 
-    assertThat("Unexpected isUpdated flag.", personalDetails.isUpdated(), is(true));
-    assertTrue(personalDetails.getPersonalDetails().isPresent(),
-        "Expected a PersonalDetails to be returned");
-
-    PersonalDetails expectedPersonalDetails = new PersonalDetails();
-    expectedPersonalDetails.setDateOfBirth(DATE.plusDays(ONE_HUNDRED));
-    expectedPersonalDetails.setGender(GENDER + MODIFIED_SUFFIX);
+    PersonalDetails personalDetails = new PersonalDetails();
+    Map<String, BulkSyncStatus> statuses = service.updatePersonalDetailsForTrainees(List.of(
+        new PersonalDetailsChange(TRAINEE_TIS_ID, Type.PERSON_OWNER, personalDetails)));
 
-    assertThat("Unexpected personal details.",
-        personalDetails.getPersonalDetails().get(), is(expectedPersonalDetails));
+    assertThat("Unexpected statuses.", statuses,
+        is(Map.of(TRAINEE_TIS_ID, BulkSyncStatus.UPDATED)));
+    verifyNoInteractions(bulkOps);
   }
 
   @Test
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
+import uk.nhs.hee.trainee.details.model.PersonalDetails;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange;
+import uk.nhs.hee.trainee.details.model.PersonalDetailsChange.Type;
+
+class PersonalDetailsUpdateCoalescerTest {
+
+  private static final String TIS_ID_1 = "40";
+  private static final String TIS_ID_2 = "41";
+
+  private PersonalDetailsService service;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    service = mock(PersonalDetailsService.class);
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldApplyChangesImmediatelyWhenNoWindow() {
+    PersonalDetailsUpdateCoalescer coalescer = new PersonalDetailsUpdateCoalescer(service,
+        Duration.ZERO);
+
+    List<PersonalDetailsChange> changes = List.of(createChange(TIS_ID_1, Type.GMC_DETAILS));
+    Map<String, BulkSyncStatus> expected = Map.of(TIS_ID_1, BulkSyncStatus.UPDATED);
+    when(service.updatePersonalDetailsForTrainees(changes)).thenReturn(expected);
+
+    Map<String, BulkSyncStatus> statuses = coalescer.updatePersonalDetailsForTrainees(changes);
+
+    assertThat("Unexpected statuses.", statuses, sameInstance(expected));
+  }
+
+  @Test
+  void shouldApplyChangesSubmittedWithinWindowTogether() throws Exception {
+    PersonalDetailsUpdateCoalescer coalescer = new PersonalDetailsUpdateCoalescer(service,
+        Duration.ofMillis(500));
+
+    PersonalDetailsChange change1 = createChange(TIS_ID_1, Type.GMC_DETAILS);
+    PersonalDetailsChange change2 = createChange(TIS_ID_1, Type.GDC_DETAILS);
+    PersonalDetailsChange change3 = createChange(TIS_ID_2, Type.CONTACT_DETAILS);
+
+    ArgumentCaptor<List<PersonalDetailsChange>> changesCaptor = ArgumentCaptor.captor();
+    when(service.updatePersonalDetailsForTrainees(changesCaptor.capture())).thenReturn(Map.of(
+        TIS_ID_1, BulkSyncStatus.UPDATED,
+        TIS_ID_2, BulkSyncStatus.NOT_FOUND));
+
+    CountDownLatch start = new CountDownLatch(1);
+    Future<Map<String, BulkSyncStatus>> result1 = executor.submit(() -> {
+      start.await();
+      return coalescer.updatePersonalDetailsForTrainees(List.of(change1));
+    });
+    Future<Map<String, BulkSyncStatus>> result2 = executor.submit(() -> {
+      start.await();
+      return coalescer.updatePersonalDetailsForTrainees(List.of(change2, change3));
+    });
+    start.countDown();
+
+    assertThat("Unexpected statuses.", result1.get(5, TimeUnit.SECONDS),
+        is(Map.of(TIS_ID_1, BulkSyncStatus.UPDATED)));
+    assertThat("Unexpected statuses.", result2.get(5, TimeUnit.SECONDS), is(Map.of(
+        TIS_ID_1, BulkSyncStatus.UPDATED,
+        TIS_ID_2, BulkSyncStatus.NOT_FOUND)));
+
+    verify(service, times(1)).updatePersonalDetailsForTrainees(any());
+    List<PersonalDetailsChange> changes = changesCaptor.getValue();
+    assertThat("Unexpected change count.", changes.size(), is(3));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenCoalescedChangesFail() {
+    PersonalDetailsUpdateCoalescer coalescer = new PersonalDetailsUpdateCoalescer(service,
+        Duration.ofMillis(1));
+
+    IllegalStateException exception = new IllegalStateException("Expected exception.");
+    when(service.updatePersonalDetailsForTrainees(any())).thenThrow(exception);
+
+    List<PersonalDetailsChange> changes = List.of(createChange(TIS_ID_1, Type.GMC_DETAILS));
+    IllegalStateException thrown = assertThrows(IllegalStateException.class,
+        () -> coalescer.updatePersonalDetailsForTrainees(changes));
+
+    assertThat("Unexpected exception.", thrown, sameInstance(exception));
+  }
+
+  @Test
+  void shouldApplyLaterChangesInNewBatch() {
+    PersonalDetailsUpdateCoalescer coalescer = new PersonalDetailsUpdateCoalescer(service,
+        Duration.ofMillis(1));
+
+    when(service.updatePersonalDetailsForTrainees(any())).thenReturn(
+        Map.of(TIS_ID_1, BulkSyncStatus.UPDATED));
+
+    coalescer.updatePersonalDetailsForTrainees(
+        List.of(createChange(TIS_ID_1, Type.GMC_DETAILS)));
+    coalescer.updatePersonalDetailsForTrainees(
+        List.of(createChange(TIS_ID_1, Type.GDC_DETAILS)));
+
+    verify(service, times(2)).updatePersonalDetailsForTrainees(any());
+  }
+
+  /**
+   * Create a personal details change for the given trainee.
+   *
+   * @param tisId The TIS ID of the trainee.
+   * @param type  The type of change.
+   * @return The created change.
+   */
+  private PersonalDetailsChange createChange(String tisId, Type type) {
+    return new PersonalDetailsChange(tisId, type, new PersonalDetails());
+  }
+}
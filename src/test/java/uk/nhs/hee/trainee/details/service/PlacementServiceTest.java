@@ -23,25 +23,47 @@ package uk.nhs.hee.trainee.details.service;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.PILOT_2024_ROLLOUT_LOCAL_OFFICES;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.TypeInformation;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.dto.enumeration.Status;
-import uk.nhs.hee.trainee.details.mapper.PlacementMapperImpl;
 import uk.nhs.hee.trainee.details.model.Placement;
 import uk.nhs.hee.trainee.details.model.ProgrammeMembership;
 import uk.nhs.hee.trainee.details.model.Site;
@@ -79,145 +101,239 @@ class PlacementServiceTest {
 
   private PlacementService service;
   private TraineeProfileRepository repository;
+  private MongoTemplate mongoTemplate;
   private ProgrammeMembershipService programmeMembershipService;
+  private TraineeProfileCache profileCache;
 
   @BeforeEach
   void setUp() {
     repository = mock(TraineeProfileRepository.class);
     programmeMembershipService = mock(ProgrammeMembershipService.class);
-    service = new PlacementService(repository, new PlacementMapperImpl(),
-        programmeMembershipService);
+    mongoTemplate = mock(MongoTemplate.class);
+    profileCache = mock(TraineeProfileCache.class);
+    service = new PlacementService(repository, mongoTemplate, programmeMembershipService,
+        profileCache);
   }
 
   @Test
   void shouldNotUpdatePlacementWhenTraineeIdNotFound() {
+    when(mongoTemplate.updateFirst(any(), any(), eq(TraineeProfile.class))).thenReturn(
+        UpdateResult.acknowledged(0, 0L, null));
+
     Optional<Placement> placement = service
         .updatePlacementForTrainee("notFound", new Placement());
 
     assertThat("Unexpected optional isEmpty flag.", placement.isEmpty(), is(true));
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoMoreInteractions(repository);
+    verify(mongoTemplate, times(2)).updateFirst(any(), any(), eq(TraineeProfile.class));
+    verify(mongoTemplate).exists(any(), eq(TraineeProfile.class));
+    verifyNoInteractions(repository);
+    verifyNoInteractions(profileCache);
   }
 
   @Test
-  void shouldAddPlacementWhenTraineeFoundAndNoPlacementsExists() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+  void shouldRetryPlacementUpdateWhenPlacementAddedConcurrently() {
+    when(mongoTemplate.updateFirst(any(), any(), eq(TraineeProfile.class))).thenReturn(
+        UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(0, 0L, null),
+        UpdateResult.acknowledged(1, 1L, null));
+    when(mongoTemplate.exists(any(), eq(TraineeProfile.class))).thenReturn(true);
 
+    Placement updatedPlacement = createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100);
     Optional<Placement> placement = service.updatePlacementForTrainee(TRAINEE_TIS_ID,
-        createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100));
+        updatedPlacement);
 
     assertThat("Unexpected optional isEmpty flag.", placement.isEmpty(), is(false));
 
-    Placement expectedPlacement = new Placement();
-    expectedPlacement.setTisId(NEW_PLACEMENT_ID);
-    expectedPlacement.setStartDate(START_DATE.plusDays(100));
-    expectedPlacement.setEndDate(END_DATE.plusDays(100));
-    expectedPlacement.setGradeId(GRADE_ID);
-    expectedPlacement.setGrade(GRADE);
-    expectedPlacement.setSpecialty(SPECIALTY);
-    expectedPlacement.setSubSpecialty(SUB_SPECIALTY);
-    expectedPlacement.setPostAllowsSubspecialty(POST_ALLOWS_SUBSPECIALTY);
-    expectedPlacement.setPlacementType(PLACEMENT_TYPE);
-    expectedPlacement.setEmployingBodyId(EMPLOYING_BODY_ID);
-    expectedPlacement.setTrainingBodyId(TRAINING_BODY_ID);
-    expectedPlacement.setStatus(Status.CURRENT);
-
-    Specialty otherSpecialty = new Specialty();
-    otherSpecialty.setName(OTHER_SPECIALTY);
-    expectedPlacement.setOtherSpecialties(Set.of(otherSpecialty));
-
-    Site site = new Site();
-    site.setId(SITE_ID + MODIFIED_SUFFIX);
-    site.setName(SITE + MODIFIED_SUFFIX);
-    site.setKnownAs(SITE_KNOWN_AS + MODIFIED_SUFFIX);
-    site.setLocation(SITE_LOCATION + MODIFIED_SUFFIX);
-    expectedPlacement.setSite(site);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(3)).updateFirst(any(), updateCaptor.capture(),
+        eq(TraineeProfile.class));
 
-    assertThat("Unexpected placement.", placement.get(), is(expectedPlacement));
+    Document retryUpdate = updateCaptor.getAllValues().get(2).getUpdateObject();
+    assertThat("Unexpected set placement.", retryUpdate.get("$set", Document.class)
+        .get("placements.$"), is(updatedPlacement));
+    verify(profileCache).evict(TRAINEE_TIS_ID);
   }
 
   @Test
   void shouldAddPlacementWhenTraineeFoundAndPlacementNotExists() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getPlacements()
-        .add(createPlacement(EXISTING_PLACEMENT_ID, ORIGINAL_SUFFIX, 0));
-
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+    when(mongoTemplate.updateFirst(any(), any(), eq(TraineeProfile.class))).thenReturn(
+        UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
 
+    Placement newPlacement = createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100);
     Optional<Placement> placement = service.updatePlacementForTrainee(TRAINEE_TIS_ID,
-        createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100));
+        newPlacement);
 
     assertThat("Unexpected optional isEmpty flag.", placement.isEmpty(), is(false));
+    assertThat("Unexpected placement.", placement.get(),
+        is(createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100)));
 
-    Placement expectedPlacement = new Placement();
-    expectedPlacement.setTisId(NEW_PLACEMENT_ID);
-    expectedPlacement.setStartDate(START_DATE.plusDays(100));
-    expectedPlacement.setEndDate(END_DATE.plusDays(100));
-    expectedPlacement.setGradeId(GRADE_ID);
-    expectedPlacement.setGrade(GRADE);
-    expectedPlacement.setSpecialty(SPECIALTY);
-    expectedPlacement.setSubSpecialty(SUB_SPECIALTY);
-    expectedPlacement.setPostAllowsSubspecialty(POST_ALLOWS_SUBSPECIALTY);
-    expectedPlacement.setPlacementType(PLACEMENT_TYPE);
-    expectedPlacement.setEmployingBodyId(EMPLOYING_BODY_ID);
-    expectedPlacement.setTrainingBodyId(TRAINING_BODY_ID);
-    expectedPlacement.setStatus(Status.CURRENT);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(2)).updateFirst(queryCaptor.capture(), updateCaptor.capture(),
+        eq(TraineeProfile.class));
 
-    Specialty otherSpecialty = new Specialty();
-    otherSpecialty.setName(OTHER_SPECIALTY);
-    expectedPlacement.setOtherSpecialties(Set.of(otherSpecialty));
+    Document pushQuery = queryCaptor.getAllValues().get(1).getQueryObject();
+    assertThat("Unexpected trainee ID.", pushQuery.get("traineeTisId"), is(TRAINEE_TIS_ID));
+    assertThat("Unexpected placement filter.", pushQuery.get("placements.tisId"),
+        is(new Document("$ne", NEW_PLACEMENT_ID)));
 
-    Site site = new Site();
-    site.setId(SITE_ID + MODIFIED_SUFFIX);
-    site.setName(SITE + MODIFIED_SUFFIX);
-    site.setKnownAs(SITE_KNOWN_AS + MODIFIED_SUFFIX);
-    site.setLocation(SITE_LOCATION + MODIFIED_SUFFIX);
-    expectedPlacement.setSite(site);
-
-    assertThat("Unexpected placement.", placement.get(), is(expectedPlacement));
+    Document pushUpdate = updateCaptor.getAllValues().get(1).getUpdateObject();
+    assertThat("Unexpected pushed placement.", pushUpdate.get("$push", Document.class)
+        .get("placements"), is(newPlacement));
+    assertThat("Unexpected version increment.", pushUpdate.get("$inc", Document.class)
+        .get("version"), is(1));
+    verifyNoInteractions(repository);
   }
 
   @Test
   void shouldUpdatePlacementWhenTraineeFoundAndPlacementExists() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getPlacements()
-        .add(createPlacement(EXISTING_PLACEMENT_ID, ORIGINAL_SUFFIX, 0));
-
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(repository.save(traineeProfile)).thenAnswer(invocation -> invocation.getArgument(0));
+    when(mongoTemplate.updateFirst(any(), any(), eq(TraineeProfile.class))).thenReturn(
+        UpdateResult.acknowledged(1, 1L, null));
 
+    Placement updatedPlacement = createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100);
     Optional<Placement> placement = service.updatePlacementForTrainee(TRAINEE_TIS_ID,
-        createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100));
+        updatedPlacement);
 
     assertThat("Unexpected optional isEmpty flag.", placement.isEmpty(), is(false));
+    assertThat("Unexpected placement.", placement.get(),
+        is(createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100)));
 
-    Placement expectedPlacement = createPlacement(EXISTING_PLACEMENT_ID,
-        ORIGINAL_SUFFIX, 0);
-    expectedPlacement.setTisId(EXISTING_PLACEMENT_ID);
-    expectedPlacement.setStartDate(START_DATE.plusDays(100));
-    expectedPlacement.setEndDate(END_DATE.plusDays(100));
-    expectedPlacement.setGradeId(GRADE_ID);
-    expectedPlacement.setGrade(GRADE);
-    expectedPlacement.setSpecialty(SPECIALTY);
-    expectedPlacement.setSubSpecialty(SUB_SPECIALTY);
-    expectedPlacement.setPostAllowsSubspecialty(POST_ALLOWS_SUBSPECIALTY);
-    expectedPlacement.setPlacementType(PLACEMENT_TYPE);
-    expectedPlacement.setEmployingBodyId(EMPLOYING_BODY_ID);
-    expectedPlacement.setTrainingBodyId(TRAINING_BODY_ID);
-    expectedPlacement.setStatus(Status.CURRENT);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(),
+        eq(TraineeProfile.class));
 
-    Site site = new Site();
-    site.setId(SITE_ID + MODIFIED_SUFFIX);
-    site.setName(SITE + MODIFIED_SUFFIX);
-    site.setKnownAs(SITE_KNOWN_AS + MODIFIED_SUFFIX);
-    site.setLocation(SITE_LOCATION + MODIFIED_SUFFIX);
-    expectedPlacement.setSite(site);
+    Document setQuery = queryCaptor.getValue().getQueryObject();
+    assertThat("Unexpected trainee ID.", setQuery.get("traineeTisId"), is(TRAINEE_TIS_ID));
+    assertThat("Unexpected placement ID.", setQuery.get("placements.tisId"),
+        is(EXISTING_PLACEMENT_ID));
+
+    Document setUpdate = updateCaptor.getValue().getUpdateObject();
+    assertThat("Unexpected set placement.", setUpdate.get("$set", Document.class)
+        .get("placements.$"), is(updatedPlacement));
+    assertThat("Unexpected version increment.", setUpdate.get("$inc", Document.class)
+        .get("version"), is(1));
+    verifyNoInteractions(repository);
+    verify(profileCache).evict(TRAINEE_TIS_ID);
+  }
+
+  @Test
+  void shouldNotBulkUpdatePlacementsWhenNoneProvided() {
+    List<BulkSyncStatus> statuses = service.updatePlacementsForTrainees(List.of());
+
+    assertThat("Unexpected statuses.", statuses, is(List.of()));
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  void shouldBulkUpdatePlacementsGroupedByTrainee() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.getConverter()).thenReturn(createConverter());
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID));
+
+    List<BulkSyncStatus> statuses = service.updatePlacementsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID, createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100)),
+        Pair.of("notFound", createPlacement(NOT_EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100)),
+        Pair.of(TRAINEE_TIS_ID, createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100))));
+
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.UPDATED,
+        BulkSyncStatus.NOT_FOUND, BulkSyncStatus.UPDATED)));
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<AggregationUpdate> updateCaptor = ArgumentCaptor.forClass(
+        AggregationUpdate.class);
+    verify(bulkOps).updateOne(queryCaptor.capture(), updateCaptor.capture());
+    verify(bulkOps).execute();
+
+    assertThat("Unexpected query.", queryCaptor.getValue().getQueryObject(),
+        is(new Document("traineeTisId", TRAINEE_TIS_ID)));
+
+    List<Document> pipeline = updateCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    Document placementsUpdate = pipeline.get(0).get("$set", Document.class)
+        .get("placements", Document.class).get("$let", Document.class);
+    Document vars = placementsUpdate.get("vars", Document.class);
+    assertThat("Unexpected existing placements.", vars.get("existing"),
+        is(new Document("$ifNull", List.of("$placements", List.of()))));
+
+    List<?> newPlacements = vars.get("incoming", Document.class).getList("$literal", Object.class);
+    assertThat("Unexpected new placement count.", newPlacements.size(), is(2));
+    assertThat("Unexpected new placement ID.", ((Document) newPlacements.get(0)).get("tisId"),
+        is(NEW_PLACEMENT_ID));
+
+    List<?> concatArrays = placementsUpdate.get("in", Document.class)
+        .getList("$concatArrays", Object.class);
+    Document map = ((Document) concatArrays.get(0)).get("$map", Document.class);
+    assertThat("Unexpected replaced placements input.", map.get("input"), is("$$existing"));
+    Document index = map.get("in", Document.class).get("$let", Document.class)
+        .get("vars", Document.class).get("index", Document.class);
+    assertThat("Unexpected replacement index.", index, is(new Document("$indexOfArray",
+        List.of(new Document("$literal", List.of(NEW_PLACEMENT_ID, EXISTING_PLACEMENT_ID)),
+            "$$placement.tisId"))));
+
+    Document filter = ((Document) concatArrays.get(1)).get("$filter", Document.class);
+    assertThat("Unexpected appended placements input.", filter.get("input"), is("$$incoming"));
+    assertThat("Unexpected appended placements condition.", filter.get("cond"),
+        is(new Document("$not", List.of(new Document("$in",
+            List.of("$$placement.tisId", "$$existing.tisId"))))));
+
+    Document versionUpdate = pipeline.get(1).get("$set", Document.class);
+    assertThat("Unexpected version update.", versionUpdate.get("version"),
+        is(new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1))));
+
+    verify(profileCache).evictAll(List.of(TRAINEE_TIS_ID));
+  }
+
+  @Test
+  void shouldKeepLastPlacementWhenBulkUpdateHasDuplicates() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    MappingMongoConverter converter = createConverter();
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID));
+
+    Placement lastPlacement = createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100);
+    service.updatePlacementsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID, createPlacement(EXISTING_PLACEMENT_ID, ORIGINAL_SUFFIX, 0)),
+        Pair.of(TRAINEE_TIS_ID, lastPlacement)));
+
+    ArgumentCaptor<AggregationUpdate> updateCaptor = ArgumentCaptor.forClass(
+        AggregationUpdate.class);
+    verify(bulkOps).updateOne(any(Query.class), updateCaptor.capture());
+
+    List<Document> pipeline = updateCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    List<?> newPlacements = pipeline.get(0).get("$set", Document.class)
+        .get("placements", Document.class).get("$let", Document.class)
+        .get("vars", Document.class).get("incoming", Document.class)
+        .getList("$literal", Object.class);
+    assertThat("Unexpected new placement count.", newPlacements.size(), is(1));
+    assertThat("Unexpected new placement.", newPlacements.get(0),
+        is(converter.convertToMongoType(lastPlacement, TypeInformation.of(Placement.class))));
+  }
+
+  @Test
+  void shouldMarkBulkPlacementUpdatesFailedWhenTraineeWriteErrors() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.getConverter()).thenReturn(createConverter());
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID, "other"));
+
+    BulkOperationException exception = mock(BulkOperationException.class);
+    when(exception.getErrors()).thenReturn(
+        List.of(new BulkWriteError(2, "Write failed.", new BsonDocument(), 1)));
+    when(bulkOps.execute()).thenThrow(exception);
 
-    assertThat("Unexpected placement.", placement.get(), is(expectedPlacement));
+    List<BulkSyncStatus> statuses = service.updatePlacementsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID, createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100)),
+        Pair.of("other", createPlacement(NOT_EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100)),
+        Pair.of(TRAINEE_TIS_ID, createPlacement(EXISTING_PLACEMENT_ID, MODIFIED_SUFFIX, 100)),
+        Pair.of("other", createPlacement(NEW_PLACEMENT_ID, MODIFIED_SUFFIX, 100))));
+
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.UPDATED,
+        BulkSyncStatus.FAILED, BulkSyncStatus.UPDATED, BulkSyncStatus.FAILED)));
+    verify(profileCache).evictAll(List.of(TRAINEE_TIS_ID, "other"));
   }
 
   @Test
@@ -261,7 +377,8 @@ class PlacementServiceTest {
 
   @Test
   void shouldNotBeOnboardableWhenTraineeProfileNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean canBeOnboarded = service.canBeOnboarded(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -286,7 +403,8 @@ class PlacementServiceTest {
     traineeProfile.getProgrammeMemberships()
         .add(getProgrammeMembership("pm2", START_DATE, END_DATE));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean canBeOnboarded = service.canBeOnboarded(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -307,7 +425,8 @@ class PlacementServiceTest {
     traineeProfile.getProgrammeMemberships()
         .add(getProgrammeMembership("pm2", START_DATE.plusYears(2), END_DATE.plusYears(2)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean canBeOnboarded = service.canBeOnboarded(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -330,7 +449,8 @@ class PlacementServiceTest {
     ProgrammeMembership pm2 = getProgrammeMembership("pm2", START_DATE, END_DATE);
     traineeProfile.getProgrammeMemberships().add(pm2);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
     when(programmeMembershipService.canBeOnboarded(pm1)).thenReturn(false);
     when(programmeMembershipService.canBeOnboarded(pm2)).thenReturn(false);
 
@@ -354,7 +474,8 @@ class PlacementServiceTest {
     ProgrammeMembership pm2 = getProgrammeMembership("pm2", START_DATE, END_DATE);
     traineeProfile.getProgrammeMemberships().add(pm2);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
     when(programmeMembershipService.canBeOnboarded(pm1)).thenReturn(false);
     when(programmeMembershipService.canBeOnboarded(pm2)).thenReturn(true);
 
@@ -365,7 +486,8 @@ class PlacementServiceTest {
 
   @Test
   void pilot2024ShouldBeFalseIfTraineeNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -378,7 +500,8 @@ class PlacementServiceTest {
     traineeProfile.setPlacements(
         List.of(createPlacement("unknown id", "", 0)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -391,7 +514,8 @@ class PlacementServiceTest {
     traineeProfile.setPlacements(
         List.of(createPlacement(EXISTING_PLACEMENT_ID, "", 0)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -407,7 +531,8 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getProgrammeMembership(null, LocalDate.MIN, dateFinished)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -425,7 +550,8 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getProgrammeMembership(null, nextMonth, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -440,8 +566,9 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+    when(programmeMembershipService.isPilot2024(traineeProfile, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
@@ -449,6 +576,27 @@ class PlacementServiceTest {
     assertThat("Unexpected isPilot2024 value.", isPilot2024, is(true));
   }
 
+  @Test
+  void pilot2024ShouldLoadProfileOnceAndShareWithProgrammeMembershipChecks() {
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setPlacements(
+        List.of(createPlacement(EXISTING_PLACEMENT_ID, "", 0)));
+    traineeProfile.setProgrammeMemberships(
+        List.of(getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX),
+            getProgrammeMembership("not pilot", LocalDate.MIN, LocalDate.MAX)));
+
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+
+    service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
+
+    verify(repository).findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID);
+    verifyNoMoreInteractions(repository);
+    verify(programmeMembershipService).isPilot2024(traineeProfile, PROGRAMME_MEMBERSHIP_ID);
+    verify(programmeMembershipService).isPilot2024(traineeProfile, "not pilot");
+    verify(programmeMembershipService, never()).isPilot2024(any(String.class), any());
+  }
+
   @Test
   void pilot2024ShouldBeFalseIfTraineeProgrammeMembershipIsNotInPilot() {
     TraineeProfile traineeProfile = new TraineeProfile();
@@ -457,8 +605,9 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+    when(programmeMembershipService.isPilot2024(traineeProfile, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(false);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
@@ -475,10 +624,11 @@ class PlacementServiceTest {
         List.of(getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX),
             getProgrammeMembership("not pilot", LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+    when(programmeMembershipService.isPilot2024(traineeProfile, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, "not pilot"))
+    when(programmeMembershipService.isPilot2024(traineeProfile, "not pilot"))
         .thenReturn(false);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
@@ -498,10 +648,11 @@ class PlacementServiceTest {
         List.of(getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, laterInSameMonth, LocalDate.MAX),
             getProgrammeMembership("not pilot", LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+    when(programmeMembershipService.isPilot2024(traineeProfile, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, "not pilot"))
+    when(programmeMembershipService.isPilot2024(traineeProfile, "not pilot"))
         .thenReturn(false);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
@@ -518,10 +669,11 @@ class PlacementServiceTest {
         List.of(getProgrammeMembership("pilot", LocalDate.MIN, LocalDate.MIN),
             getProgrammeMembership("not pilot", LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, "not pilot"))
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+    when(programmeMembershipService.isPilot2024(traineeProfile, "not pilot"))
         .thenReturn(false);
-    when(programmeMembershipService.isPilot2024(TRAINEE_TIS_ID, "pilot"))
+    when(programmeMembershipService.isPilot2024(traineeProfile, "pilot"))
         .thenReturn(true);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
@@ -531,7 +683,8 @@ class PlacementServiceTest {
 
   @Test
   void rollout2024ShouldBeFalseIfTraineeNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -544,7 +697,8 @@ class PlacementServiceTest {
     traineeProfile.setPlacements(
         List.of(createPlacement("unknown id", "", START_DATE_ROLLOUT)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -557,7 +711,8 @@ class PlacementServiceTest {
     traineeProfile.setPlacements(
         List.of(createPlacement(EXISTING_PLACEMENT_ID, "", START_DATE_ROLLOUT.minusDays(1))));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -570,7 +725,8 @@ class PlacementServiceTest {
     traineeProfile.setPlacements(
         List.of(createPlacement(EXISTING_PLACEMENT_ID, "", START_DATE_ROLLOUT)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -594,7 +750,8 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getProgrammeMembership(null, LocalDate.MIN, dateFinished, deanery)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -618,7 +775,8 @@ class PlacementServiceTest {
         List.of(getProgrammeMembership(null, okStartDate.plusMonths(1),
             LocalDate.MAX, deanery)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, EXISTING_PLACEMENT_ID);
 
@@ -641,7 +799,8 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(List.of(
         getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX, deanery)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
     when(programmeMembershipService.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
 
@@ -666,7 +825,8 @@ class PlacementServiceTest {
     traineeProfile.setProgrammeMemberships(List.of(
         getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, LocalDate.MIN, LocalDate.MAX, deanery)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
     when(programmeMembershipService.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
 
@@ -694,7 +854,8 @@ class PlacementServiceTest {
         getProgrammeMembership(PROGRAMME_MEMBERSHIP_ID, laterInSameMonth, LocalDate.MAX, deanery),
         getProgrammeMembership("not rollout", LocalDate.MIN, LocalDate.MAX)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findPlacementsAndProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
     when(programmeMembershipService.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_MEMBERSHIP_ID))
         .thenReturn(true);
     when(programmeMembershipService.isPilotRollout2024(TRAINEE_TIS_ID, "not rollout"))
@@ -797,4 +958,11 @@ class PlacementServiceTest {
   static Stream<String> listLoRollout2024() {
     return PILOT_2024_ROLLOUT_LOCAL_OFFICES.stream();
   }
+
+  private MappingMongoConverter createConverter() {
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+        new MongoMappingContext());
+    converter.afterPropertiesSet();
+    return converter;
+  }
 }
@@ -32,6 +32,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -57,17 +58,23 @@ import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.PUBL
 import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.TRAINEE_TYPE_FIELD;
 import static uk.nhs.hee.trainee.details.service.ProgrammeMembershipService.TSS_CURRICULA;
 
-import java.io.IOException;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -76,11 +83,26 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.TypeInformation;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.templatemode.TemplateMode;
 import uk.nhs.hee.trainee.details.dto.TraineeType;
+import uk.nhs.hee.trainee.details.dto.enumeration.BulkSyncStatus;
 import uk.nhs.hee.trainee.details.dto.enumeration.GoldGuideVersion;
-import uk.nhs.hee.trainee.details.mapper.ProgrammeMembershipMapperImpl;
 import uk.nhs.hee.trainee.details.model.ConditionsOfJoining;
 import uk.nhs.hee.trainee.details.model.Curriculum;
 import uk.nhs.hee.trainee.details.model.HeeUser;
@@ -93,7 +115,8 @@ import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
 class ProgrammeMembershipServiceTest {
 
   private static final String REFERENCE_URL = "http://localhost/8205/reference";
-  private static final String TEMPLATE_VERSION = "v1.0.0";
+  private static final TemplateSpec TEMPLATE_SPEC = new TemplateSpec(
+      "programme-confirmation/v1.0.0.html", Set.of(), TemplateMode.HTML, null);
   private static final LocalDate START_DATE = LocalDate.now();
   private static final LocalDate END_DATE = START_DATE.plusYears(1);
   private static final LocalDate COMPLETION_DATE = END_DATE.plusYears(1);
@@ -129,272 +152,275 @@ class ProgrammeMembershipServiceTest {
 
   private ProgrammeMembershipService service;
   private TraineeProfileRepository repository;
+  private MongoTemplate mongoTemplate;
+  private MappingMongoConverter converter;
   private CachingDelegate cachingDelegate;
-  private PdfGeneratingService pdfService;
   private RestTemplate restTemplate;
+  private LocalOfficeContactDirectory localOfficeContactDirectory;
+  private TraineeProfileCache profileCache;
 
   @BeforeEach
   void setUp() {
     repository = mock(TraineeProfileRepository.class);
     cachingDelegate = mock(CachingDelegate.class);
-    pdfService = mock(PdfGeneratingService.class);
     restTemplate = mock(RestTemplate.class);
-    service = new ProgrammeMembershipService(repository, new ProgrammeMembershipMapperImpl(),
-        cachingDelegate, pdfService, restTemplate, REFERENCE_URL, TEMPLATE_VERSION);
+    localOfficeContactDirectory = mock(LocalOfficeContactDirectory.class);
+    mongoTemplate = mock(MongoTemplate.class);
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+    converter.afterPropertiesSet();
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    LocalOfficeContactCache localOfficeContactCache = new LocalOfficeContactCache(restTemplate,
+        REFERENCE_URL, new SimpleMeterRegistry(), 10, Duration.ofMinutes(5), Duration.ofHours(1));
+    TemplateRegistry templateRegistry = mock(TemplateRegistry.class);
+    when(templateRegistry.getProgrammeConfirmation()).thenReturn(TEMPLATE_SPEC);
+    profileCache = mock(TraineeProfileCache.class);
+    service = new ProgrammeMembershipService(repository, mongoTemplate, cachingDelegate,
+        localOfficeContactDirectory, localOfficeContactCache, templateRegistry, profileCache);
   }
 
   @Test
   void shouldNotUpdateProgrammeMembershipWhenTraineeIdNotFound() {
+    when(mongoTemplate.findAndModify(any(), any(), any(), eq(TraineeProfile.class)))
+        .thenReturn(null);
+
     ProgrammeMembership programmeMembership = new ProgrammeMembership();
     programmeMembership.setTisId(EXISTING_PROGRAMME_MEMBERSHIP_UUID);
     Optional<ProgrammeMembership> updatedProgrammeMembership = service
         .updateProgrammeMembershipForTrainee("notFound", programmeMembership);
 
     assertThat("Unexpected optional isEmpty flag.", updatedProgrammeMembership.isEmpty(), is(true));
-    verify(repository).findByTraineeTisId("notFound");
-    verifyNoMoreInteractions(repository);
+    verifyNoInteractions(repository);
+    verifyNoInteractions(profileCache);
   }
 
   @Test
-  void shouldAddProgrammeMembershipWhenTraineeFoundAndNoProgrammeMembershipsExists() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
-
-    Optional<ProgrammeMembership> programmeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID,
-            createProgrammeMembership(NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
-
-    assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
-
-    ProgrammeMembership expectedProgrammeMembership = new ProgrammeMembership();
-    expectedProgrammeMembership.setTisId(NEW_PROGRAMME_MEMBERSHIP_UUID);
-    expectedProgrammeMembership.setProgrammeTisId(PROGRAMME_TIS_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeName(PROGRAMME_NAME + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeNumber(PROGRAMME_NUMBER + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeaneryId(MANAGING_DEANERY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeanery(MANAGING_DEANERY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyId(DESIGNATED_BODY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBody(DESIGNATED_BODY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyCode(DESIGNATED_BODY_CODE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership
-        .setProgrammeMembershipType(PROGRAMME_MEMBERSHIP_TYPE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setStartDate(START_DATE.plusDays(100));
-    expectedProgrammeMembership.setEndDate(END_DATE.plusDays(100));
-    expectedProgrammeMembership.setProgrammeCompletionDate(COMPLETION_DATE.plusDays(100));
-    expectedProgrammeMembership.setConditionsOfJoining(
-        new ConditionsOfJoining(COJ_SIGNED_AT.plus(Duration.ofDays(100)), GOLD_GUIDE_VERSION,
-            COJ_SYNCED_AT.plus(Duration.ofDays(100))));
-    expectedProgrammeMembership.setResponsibleOfficer(getResponsibleOfficerUser(MODIFIED_SUFFIX));
+  void shouldThrowExceptionWhenUpdatingProgrammeMembershipWithNonUuidTisId() {
+    ProgrammeMembership programmeMembership = new ProgrammeMembership();
+    programmeMembership.setTisId("notUuid");
 
-    assertThat("Unexpected programme membership.", programmeMembership.get(),
-        is(expectedProgrammeMembership));
+    assertThrows(IllegalArgumentException.class,
+        () -> service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, programmeMembership));
+    verifyNoInteractions(mongoTemplate);
+    verifyNoInteractions(profileCache);
   }
 
   @Test
-  void shouldAddProgrammeMembershipWhenTraineeFoundAndProgrammeMembershipNotExists() {
+  void shouldReturnUpdatedProgrammeMembershipWhenTraineeFound() {
+    ProgrammeMembership savedProgrammeMembership = createProgrammeMembership(
+        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
     TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships()
-        .add(createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 0));
+    traineeProfile.getProgrammeMemberships().add(savedProgrammeMembership);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(mongoTemplate.findAndModify(any(), any(), any(), eq(TraineeProfile.class)))
+        .thenReturn(traineeProfile);
 
     Optional<ProgrammeMembership> programmeMembership = service
         .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID,
-            createProgrammeMembership(NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
+            createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
 
     assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
+    assertThat("Unexpected programme membership.", programmeMembership.get(),
+        is(savedProgrammeMembership));
+    verifyNoInteractions(repository);
+    verify(profileCache).evict(TRAINEE_TIS_ID);
+  }
+
+  @Test
+  void shouldFilterUpdateByTraineeAndProjectUpdatedProgrammeMembership() {
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID,
+        createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
 
-    ProgrammeMembership expectedProgrammeMembership = new ProgrammeMembership();
-    expectedProgrammeMembership.setTisId(NEW_PROGRAMME_MEMBERSHIP_UUID);
-    expectedProgrammeMembership.setProgrammeTisId(PROGRAMME_TIS_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeName(PROGRAMME_NAME + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeNumber(PROGRAMME_NUMBER + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeaneryId(MANAGING_DEANERY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeanery(MANAGING_DEANERY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyId(DESIGNATED_BODY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBody(DESIGNATED_BODY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyCode(DESIGNATED_BODY_CODE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership
-        .setProgrammeMembershipType(PROGRAMME_MEMBERSHIP_TYPE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setStartDate(START_DATE.plusDays(100));
-    expectedProgrammeMembership.setEndDate(END_DATE.plusDays(100));
-    expectedProgrammeMembership.setProgrammeCompletionDate(COMPLETION_DATE.plusDays(100));
-    expectedProgrammeMembership.setConditionsOfJoining(
-        new ConditionsOfJoining(COJ_SIGNED_AT.plus(Duration.ofDays(100)), GOLD_GUIDE_VERSION,
-            COJ_SYNCED_AT.plus(Duration.ofDays(100))));
-    expectedProgrammeMembership.setResponsibleOfficer(getResponsibleOfficerUser(MODIFIED_SUFFIX));
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<FindAndModifyOptions> optionsCaptor = ArgumentCaptor.forClass(
+        FindAndModifyOptions.class);
+    verify(mongoTemplate).findAndModify(queryCaptor.capture(), any(), optionsCaptor.capture(),
+        eq(TraineeProfile.class));
 
-    assertThat("Unexpected programme membership.", programmeMembership.get(),
-        is(expectedProgrammeMembership));
+    Query query = queryCaptor.getValue();
+    assertThat("Unexpected query.", query.getQueryObject(),
+        is(new Document("traineeTisId", TRAINEE_TIS_ID)));
+    assertThat("Unexpected projection.", query.getFieldsObject(),
+        is(new Document("programmeMemberships", new Document("$elemMatch",
+            new Document("tisId", EXISTING_PROGRAMME_MEMBERSHIP_UUID)))));
+    assertThat("Unexpected return new flag.", optionsCaptor.getValue().isReturnNew(), is(true));
   }
 
   @Test
-  void shouldUpdateProgrammeMembershipWhenTraineeFoundAndProgrammeMembershipExists() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships()
-        .add(createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 0));
+  void shouldAppendProgrammeMembershipWhenProgrammeMembershipNotExists() {
+    ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
+        NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
 
-    Optional<ProgrammeMembership> programmeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID,
-            createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
+    List<Object> upsert = getUpsertCondition();
+    assertThat("Unexpected existence check.", upsert.get(0), is(new Document("$in",
+        List.of(new Document("$literal", NEW_PROGRAMME_MEMBERSHIP_UUID),
+            new Document("$ifNull", List.of("$programmeMemberships.tisId", List.of()))))));
 
-    assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
+    Document append = (Document) upsert.get(2);
+    assertThat("Unexpected append.", append, is(new Document("$concatArrays", List.of(
+        new Document("$ifNull", List.of("$programmeMemberships", List.of())),
+        List.of(new Document("$literal", toDocument(newProgrammeMembership)))))));
+  }
 
-    ProgrammeMembership expectedProgrammeMembership = createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID,
-        ORIGINAL_SUFFIX, 0);
-    expectedProgrammeMembership.setTisId(EXISTING_PROGRAMME_MEMBERSHIP_UUID);
-    expectedProgrammeMembership.setProgrammeTisId(PROGRAMME_TIS_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeName(PROGRAMME_NAME + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setProgrammeNumber(PROGRAMME_NUMBER + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeaneryId(MANAGING_DEANERY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setManagingDeanery(MANAGING_DEANERY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyId(DESIGNATED_BODY_ID + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBody(DESIGNATED_BODY + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setDesignatedBodyCode(DESIGNATED_BODY_CODE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership
-        .setProgrammeMembershipType(PROGRAMME_MEMBERSHIP_TYPE + MODIFIED_SUFFIX);
-    expectedProgrammeMembership.setStartDate(START_DATE.plusDays(100));
-    expectedProgrammeMembership.setEndDate(END_DATE.plusDays(100));
-    expectedProgrammeMembership.setProgrammeCompletionDate(COMPLETION_DATE.plusDays(100));
-    expectedProgrammeMembership.setConditionsOfJoining(
-        new ConditionsOfJoining(COJ_SIGNED_AT.plus(Duration.ofDays(100)), GOLD_GUIDE_VERSION,
-            COJ_SYNCED_AT.plus(Duration.ofDays(100))));
-    expectedProgrammeMembership.setResponsibleOfficer(getResponsibleOfficerUser(MODIFIED_SUFFIX));
+  @Test
+  void shouldIncrementVersionWhenUpdatingProgrammeMembership() {
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID,
+        createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100));
 
-    assertThat("Unexpected programme membership.", programmeMembership.get(),
-        is(expectedProgrammeMembership));
+    Document set = getUpdateSetStage("version");
+    assertThat("Unexpected version update.", set.get("version"), is(new Document("$add",
+        List.of(new Document("$ifNull", List.of("$version", 0)), 1))));
   }
 
   @Test
-  void shouldNotUpdateProgrammeMembershipCojWhenNewCojNull() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships()
-        .add(createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 0));
+  void shouldReplaceProgrammeMembershipCojWhenNewCojSigned() {
+    ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
+        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
+
+    Object replacement = getExistingReplacement();
+    assertThat("Unexpected replacement.", replacement,
+        is(new Document("$literal", toDocument(newProgrammeMembership))));
+  }
 
+  @Test
+  void shouldRetainSavedProgrammeMembershipCojWhenNewCojNull() {
     ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
         EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
     newProgrammeMembership.setConditionsOfJoining(null);
 
-    Optional<ProgrammeMembership> programmeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
-
-    assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
-    ProgrammeMembership updatedProgrammeMembership = programmeMembership.get();
-    assertThat("Unexpected conditions of joining.",
-        updatedProgrammeMembership.getConditionsOfJoining(), notNullValue());
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
 
-    ConditionsOfJoining conditionsOfJoining = updatedProgrammeMembership.getConditionsOfJoining();
-    assertThat("Unexpected signed at.", conditionsOfJoining.signedAt(), is(COJ_SIGNED_AT));
-    assertThat("Unexpected signed version.", conditionsOfJoining.version(),
-        is(GoldGuideVersion.GG9));
-    assertThat("Unexpected synced at.", conditionsOfJoining.syncedAt(), is(COJ_SYNCED_AT));
+    Object replacement = getExistingReplacement();
+    assertThat("Unexpected replacement.", replacement, is(new Document("$mergeObjects", List.of(
+        new Document("$literal", toDocument(newProgrammeMembership)),
+        new Document("conditionsOfJoining", new Document("$ifNull", List.of(
+            "$$pm.conditionsOfJoining", new Document("$literal", null))))))));
   }
 
   @Test
-  void shouldNotUpdateProgrammeMembershipCojWhenSavedPmNotFound() {
-    ProgrammeMembership programmeMembership = createProgrammeMembership(
-        DIFFERENT_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 100);
-    programmeMembership.setConditionsOfJoining(null);
-
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships().add(createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 0));
+  void shouldRetainSavedProgrammeMembershipCojWhenNewCojNotSigned() {
+    ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
+        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
+    ConditionsOfJoining newConditionsOfJoining
+        = new ConditionsOfJoining(null, GoldGuideVersion.GG10, null);
+    newProgrammeMembership.setConditionsOfJoining(newConditionsOfJoining);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    service.updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
 
-    Optional<ProgrammeMembership> optionalProgrammeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, programmeMembership);
+    Document expectedWithoutCoj = toDocument(newProgrammeMembership);
+    Object newCoj = expectedWithoutCoj.remove("conditionsOfJoining");
 
-    assertThat("Unexpected optional isEmpty flag.", optionalProgrammeMembership.isEmpty(),
-        is(false));
-    ProgrammeMembership updatedProgrammeMembership = optionalProgrammeMembership.get();
-    assertThat("Unexpected conditions of joining.",
-        updatedProgrammeMembership.getConditionsOfJoining(), nullValue());
+    Object replacement = getExistingReplacement();
+    assertThat("Unexpected replacement.", replacement, is(new Document("$mergeObjects", List.of(
+        new Document("$literal", expectedWithoutCoj),
+        new Document("conditionsOfJoining", new Document("$ifNull", List.of(
+            "$$pm.conditionsOfJoining", new Document("$literal", newCoj))))))));
   }
 
   @Test
-  void shouldNotUpdateProgrammeMembershipCojWhenNoSavedCoj() {
-    ProgrammeMembership programmeMembership = createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 100);
-    programmeMembership.setConditionsOfJoining(new ConditionsOfJoining(
-        null, GOLD_GUIDE_VERSION, null));
+  void shouldNotBulkUpdateProgrammeMembershipsWhenNoneProvided() {
+    List<BulkSyncStatus> statuses = service.updateProgrammeMembershipsForTrainees(List.of());
 
-    ProgrammeMembership savedProgrammeMembership = createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 0);
-    savedProgrammeMembership.setConditionsOfJoining(null);
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships().add(savedProgrammeMembership);
+    assertThat("Unexpected statuses.", statuses, is(List.of()));
+    verifyNoInteractions(mongoTemplate);
+  }
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+  @Test
+  void shouldNotBulkUpdateProgrammeMembershipsWhenTraineesNotFound() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of());
 
-    Optional<ProgrammeMembership> optionalProgrammeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, programmeMembership);
+    List<BulkSyncStatus> statuses = service.updateProgrammeMembershipsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100))));
 
-    assertThat("Unexpected optional isEmpty flag.", optionalProgrammeMembership.isEmpty(),
-        is(false));
-    ProgrammeMembership updatedProgrammeMembership = optionalProgrammeMembership.get();
-    assertThat("Unexpected conditions of joining.",
-        updatedProgrammeMembership.getConditionsOfJoining(), notNullValue());
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.NOT_FOUND)));
+    verifyNoInteractions(bulkOps);
   }
 
   @Test
-  void shouldNotUpdateProgrammeMembershipCojWhenNewCojNotSigned() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships().add(createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 0));
+  void shouldBulkUpdateProgrammeMembershipsWhenTraineesFound() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    List<BulkSyncStatus> statuses = service.updateProgrammeMembershipsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100)),
+        Pair.of("notFound",
+            createProgrammeMembership(DIFFERENT_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100)),
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100))));
 
-    ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
-    ConditionsOfJoining newConditionsOfJoining
-        = new ConditionsOfJoining(null, GoldGuideVersion.GG10, null);
-    newProgrammeMembership.setConditionsOfJoining(newConditionsOfJoining);
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.UPDATED,
+        BulkSyncStatus.NOT_FOUND, BulkSyncStatus.UPDATED)));
 
-    Optional<ProgrammeMembership> programmeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
+    ArgumentCaptor<Query> distinctQueryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).findDistinct(distinctQueryCaptor.capture(), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class));
+    Document distinctQuery = distinctQueryCaptor.getValue().getQueryObject();
+    Document traineeIdFilter = (Document) distinctQuery.get("traineeTisId");
+    assertThat("Unexpected trainee ID filter.", new HashSet<>((Collection<?>) traineeIdFilter
+        .get("$in")), is(Set.of(TRAINEE_TIS_ID, "notFound")));
 
-    assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
-    ProgrammeMembership updatedProgrammeMembership = programmeMembership.get();
-    assertThat("Unexpected conditions of joining.",
-        updatedProgrammeMembership.getConditionsOfJoining(), notNullValue());
-
-    ConditionsOfJoining conditionsOfJoining = updatedProgrammeMembership.getConditionsOfJoining();
-    assertThat("Unexpected signed at.", conditionsOfJoining.signedAt(),
-        is(COJ_SIGNED_AT));
-    assertThat("Unexpected synced at.", conditionsOfJoining.syncedAt(), is(COJ_SYNCED_AT));
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(bulkOps, times(2)).updateOne(queryCaptor.capture(), any(AggregationUpdate.class));
+    queryCaptor.getAllValues().forEach(query ->
+        assertThat("Unexpected query.", query.getQueryObject(),
+            is(new Document("traineeTisId", TRAINEE_TIS_ID))));
+    verify(bulkOps).execute();
+    verify(profileCache).evictAll(Set.of(TRAINEE_TIS_ID));
   }
 
   @Test
-  void shouldUpdateProgrammeMembershipCojWhenNewCojSigned() {
-    TraineeProfile traineeProfile = new TraineeProfile();
-    traineeProfile.getProgrammeMemberships().add(createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, ORIGINAL_SUFFIX, 0));
+  void shouldMarkBulkProgrammeMembershipUpdateFailedWhenTisIdNotUuid() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    ProgrammeMembership invalidProgrammeMembership = new ProgrammeMembership();
+    invalidProgrammeMembership.setTisId("notUuid");
 
-    ProgrammeMembership newProgrammeMembership = createProgrammeMembership(
-        EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100);
+    List<BulkSyncStatus> statuses = service.updateProgrammeMembershipsForTrainees(List.of(
+        Pair.of(TRAINEE_TIS_ID, invalidProgrammeMembership),
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100))));
 
-    Optional<ProgrammeMembership> programmeMembership = service
-        .updateProgrammeMembershipForTrainee(TRAINEE_TIS_ID, newProgrammeMembership);
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.FAILED,
+        BulkSyncStatus.UPDATED)));
+    verify(bulkOps).updateOne(any(Query.class), any(AggregationUpdate.class));
+    verify(bulkOps).execute();
+  }
 
-    assertThat("Unexpected optional isEmpty flag.", programmeMembership.isEmpty(), is(false));
-    ProgrammeMembership updatedProgrammeMembership = programmeMembership.get();
-    assertThat("Unexpected conditions of joining.",
-        updatedProgrammeMembership.getConditionsOfJoining(), notNullValue());
+  @Test
+  void shouldMarkBulkProgrammeMembershipUpdateFailedWhenWriteErrors() {
+    BulkOperations bulkOps = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, TraineeProfile.class)).thenReturn(bulkOps);
+    when(mongoTemplate.findDistinct(any(Query.class), eq("traineeTisId"),
+        eq(TraineeProfile.class), eq(String.class))).thenReturn(List.of(TRAINEE_TIS_ID));
 
-    ConditionsOfJoining conditionsOfJoining = updatedProgrammeMembership.getConditionsOfJoining();
-    assertThat("Unexpected signed at.", conditionsOfJoining.signedAt(),
-        is(COJ_SIGNED_AT.plus(Duration.ofDays(100))));
-    assertThat("Unexpected signed version.", conditionsOfJoining.version(),
-        is(GoldGuideVersion.GG9));
+    BulkOperationException exception = mock(BulkOperationException.class);
+    when(exception.getErrors()).thenReturn(
+        List.of(new BulkWriteError(2, "Write failed.", new BsonDocument(), 1)));
+    when(bulkOps.execute()).thenThrow(exception);
+
+    List<BulkSyncStatus> statuses = service.updateProgrammeMembershipsForTrainees(List.of(
+        Pair.of("notFound",
+            createProgrammeMembership(DIFFERENT_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100)),
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(NEW_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100)),
+        Pair.of(TRAINEE_TIS_ID,
+            createProgrammeMembership(EXISTING_PROGRAMME_MEMBERSHIP_UUID, MODIFIED_SUFFIX, 100))));
+
+    assertThat("Unexpected statuses.", statuses, is(List.of(BulkSyncStatus.NOT_FOUND,
+        BulkSyncStatus.UPDATED, BulkSyncStatus.FAILED)));
   }
 
   @Test
@@ -725,7 +751,8 @@ class ProgrammeMembershipServiceTest {
 
   @Test
   void newStarterShouldBeFalseIfTraineeNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -738,7 +765,8 @@ class ProgrammeMembershipServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getNewStarterProgrammeMembershipDefault("unknown id",
             PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE))); //PROGRAMME_TIS_ID != "unknown id"
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -753,7 +781,8 @@ class ProgrammeMembershipServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getNewStarterProgrammeMembershipDefault(PROGRAMME_TIS_ID, pmType, START_DATE,
             END_DATE)));
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -768,7 +797,8 @@ class ProgrammeMembershipServiceTest {
     traineeProfile.setProgrammeMemberships(
         List.of(getNewStarterProgrammeMembershipDefault(PROGRAMME_TIS_ID, PROGRAMME_MEMBERSHIP_TYPE,
             START_DATE, endDate)));
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -784,7 +814,8 @@ class ProgrammeMembershipServiceTest {
         List.of(getProgrammeMembershipWithOneCurriculum(PROGRAMME_TIS_ID,
             PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY, curriculumSubtype,
             CURRICULUM_SPECIALTY_CODE)));
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -799,7 +830,8 @@ class ProgrammeMembershipServiceTest {
         List.of(getProgrammeMembershipWithOneCurriculum(PROGRAMME_TIS_ID,
             PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY, curriculumSubtype,
             CURRICULUM_SPECIALTY_CODE)));
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -810,7 +842,8 @@ class ProgrammeMembershipServiceTest {
   void newStarterShouldBeTrueIfItIsTheOnlyPm() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(List.of(getNewStarterProgrammeMembershipDefault()));
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -827,7 +860,8 @@ class ProgrammeMembershipServiceTest {
     //ended more than PROGRAMME_BREAK_DAYS ago
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -846,7 +880,8 @@ class ProgrammeMembershipServiceTest {
         PROGRAMME_MEMBERSHIP_TYPE, START_DATE.minusDays(500), null));
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -868,7 +903,8 @@ class ProgrammeMembershipServiceTest {
         START_DATE.minusDays(PROGRAMME_BREAK_DAYS - 1)));
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -894,7 +930,8 @@ class ProgrammeMembershipServiceTest {
 
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -913,7 +950,8 @@ class ProgrammeMembershipServiceTest {
 
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -932,7 +970,8 @@ class ProgrammeMembershipServiceTest {
 
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -952,7 +991,8 @@ class ProgrammeMembershipServiceTest {
 
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -971,7 +1011,8 @@ class ProgrammeMembershipServiceTest {
 
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -993,7 +1034,8 @@ class ProgrammeMembershipServiceTest {
         START_DATE.minusDays(PROGRAMME_BREAK_DAYS + 1)));
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1014,7 +1056,8 @@ class ProgrammeMembershipServiceTest {
         CURRICULUM_SPECIALTY_CODE));
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setProgrammeMemberships(pms);
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isNewStarter = service.isNewStarter(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1023,7 +1066,8 @@ class ProgrammeMembershipServiceTest {
 
   @Test
   void pilot2024ShouldBeFalseIfTraineeNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1039,13 +1083,58 @@ class ProgrammeMembershipServiceTest {
 
     traineeProfile.setProgrammeMemberships(List.of(pm)); //PROGRAMME_TIS_ID != "unknown id"
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
     assertThat("Unexpected isPilot2024 value.", isPilot2024, is(false));
   }
 
+  @Test
+  void pilot2024ShouldLoadProfileOnce() {
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setProgrammeMemberships(
+        List.of(getProgrammeMembershipWithOneCurriculum(PROGRAMME_TIS_ID,
+            PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY,
+            TSS_CURRICULA.get(0), CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
+
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
+
+    service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
+
+    verify(repository).findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID);
+    verifyNoMoreInteractions(repository);
+  }
+
+  @Test
+  void pilot2024ShouldNotModifyProvidedProfile() {
+    ProgrammeMembership pm = getProgrammeMembershipWithOneCurriculum(PROGRAMME_TIS_ID,
+        PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY, TSS_CURRICULA.get(0),
+        CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY);
+    Curriculum nonTssCurriculum = createCurriculum("another subtype", CURRICULUM_SPECIALTY_CODE,
+        CURRICULUM_SPECIALTY);
+    pm.setCurricula(List.of(pm.getCurricula().get(0), nonTssCurriculum));
+
+    TraineeProfile traineeProfile = new TraineeProfile();
+    traineeProfile.setProgrammeMemberships(List.of(pm));
+
+    service.isPilot2024(traineeProfile, PROGRAMME_TIS_ID);
+    service.isPilotRollout2024(traineeProfile, PROGRAMME_TIS_ID);
+    service.isNewStarter(traineeProfile, PROGRAMME_TIS_ID);
+
+    assertThat("Unexpected curricula count.", pm.getCurricula().size(), is(2));
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void pilot2024ShouldBeFalseIfProvidedProfileNull() {
+    boolean isPilot2024 = service.isPilot2024((TraineeProfile) null, PROGRAMME_TIS_ID);
+
+    assertThat("Unexpected isPilot2024 value.", isPilot2024, is(false));
+  }
+
   @ParameterizedTest
   @NullSource
   @ValueSource(strings = {"another subtype"})
@@ -1056,7 +1145,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY, curriculumSubtype,
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1073,7 +1163,8 @@ class ProgrammeMembershipServiceTest {
         CURRICULUM_SPECIALTY);
     traineeProfile.setProgrammeMemberships(List.of(pm));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1090,7 +1181,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, lo, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1107,7 +1199,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, lo, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1124,7 +1217,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, lo, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1142,7 +1236,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, date, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1159,7 +1254,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, date, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, "General Practice")));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1177,7 +1273,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, wrongDate, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1195,7 +1292,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, wrongDate, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1218,7 +1316,8 @@ class ProgrammeMembershipServiceTest {
 
     traineeProfile.setProgrammeMemberships(List.of(programmeMembership));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1236,7 +1335,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1254,7 +1354,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1272,7 +1373,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1289,7 +1391,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, "General Practice")));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1312,7 +1415,8 @@ class ProgrammeMembershipServiceTest {
 
     traineeProfile.setProgrammeMemberships(List.of(programmeMembership));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1330,7 +1434,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1348,7 +1453,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1366,7 +1472,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, specialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1386,7 +1493,8 @@ class ProgrammeMembershipServiceTest {
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
     traineeProfile.getProgrammeMemberships().get(0).setProgrammeName(programme);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1406,7 +1514,8 @@ class ProgrammeMembershipServiceTest {
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
     traineeProfile.getProgrammeMemberships().get(0).setProgrammeName(programme);
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1425,7 +1534,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, invalidSpecialty)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1443,7 +1553,8 @@ class ProgrammeMembershipServiceTest {
             PILOT_2024_LOCAL_OFFICES_ALL_PROGRAMMES.get(0), validCurriculumSubtype,
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1461,7 +1572,8 @@ class ProgrammeMembershipServiceTest {
             PILOT_2024_LOCAL_OFFICES_ALL_PROGRAMMES.get(0), invalidCurriculumSubtype,
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1478,7 +1590,8 @@ class ProgrammeMembershipServiceTest {
             PILOT_2024_LOCAL_OFFICES_ALL_PROGRAMMES.get(0), TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilot2024 = service.isPilot2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1487,7 +1600,8 @@ class ProgrammeMembershipServiceTest {
 
   @Test
   void rollout2024ShouldBeFalseIfTraineeNotFound() {
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(null);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1503,7 +1617,8 @@ class ProgrammeMembershipServiceTest {
 
     traineeProfile.setProgrammeMemberships(List.of(pm)); //PROGRAMME_TIS_ID != "unknown id"
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1520,7 +1635,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, START_DATE, END_DATE, MANAGING_DEANERY, curriculumSubtype,
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1537,7 +1653,8 @@ class ProgrammeMembershipServiceTest {
         CURRICULUM_SPECIALTY);
     traineeProfile.setProgrammeMemberships(List.of(pm));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1553,7 +1670,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, LocalDate.of(2026, 3, 10), END_DATE, deanery,
             TSS_CURRICULA.get(0), CURRICULUM_SPECIALTY_CODE, PUBLIC_HEALTH_MEDICINE_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1569,7 +1687,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, LocalDate.of(2026, 3, 11), END_DATE, deanery,
             TSS_CURRICULA.get(0), CURRICULUM_SPECIALTY_CODE, PUBLIC_HEALTH_MEDICINE_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1592,7 +1711,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, notificationEpoch.plusDays(1), END_DATE, deanery,
             TSS_CURRICULA.get(0), CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1609,7 +1729,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateTooEarly, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1626,7 +1747,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1643,7 +1765,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1660,7 +1783,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateOutOfRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1677,7 +1801,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1695,7 +1820,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, dateInRange, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1711,7 +1837,8 @@ class ProgrammeMembershipServiceTest {
             PROGRAMME_MEMBERSHIP_TYPE, null, END_DATE, deanery, TSS_CURRICULA.get(0),
             CURRICULUM_SPECIALTY_CODE, CURRICULUM_SPECIALTY)));
 
-    when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
+    when(repository.findProgrammeMembershipsByTraineeTisId(TRAINEE_TIS_ID))
+        .thenReturn(traineeProfile);
 
     boolean isPilotRollout2024 = service.isPilotRollout2024(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
@@ -1719,7 +1846,7 @@ class ProgrammeMembershipServiceTest {
   }
 
   @Test
-  void shouldGenerateProgrammeConfirmationPdf() throws IOException {
+  void shouldGetProgrammeConfirmationPdfTemplate() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
     traineeProfile.setProgrammeMemberships(
@@ -1747,11 +1874,11 @@ class ProgrammeMembershipServiceTest {
             Map.of("localOfficeName", MANAGING_DEANERY, "traineeType", TraineeType.SPECIALTY)))
         .thenReturn(contacts);
 
-    service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
+    PdfTemplate pdfTemplate = service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID,
+        PROGRAMME_TIS_ID);
 
-    ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.captor();
-    verify(pdfService).generatePdf(any(), variablesCaptor.capture());
-    Map<String, Object> variables = variablesCaptor.getValue();
+    assertThat("Unexpected template.", pdfTemplate.templateSpec(), is(TEMPLATE_SPEC));
+    Map<String, Object> variables = pdfTemplate.variables();
     assertThat("Unexpected programme membership.", variables.get("pm"),
         is(traineeProfile.getProgrammeMemberships().get(1)));
     assertThat("Unexpected trainee.", variables.get("trainee"),
@@ -1763,8 +1890,7 @@ class ProgrammeMembershipServiceTest {
   }
 
   @Test
-  void shouldUseFoundationTraineeTypeWhenGeneratingPdfForFoundationCurriculumSpecialty()
-      throws IOException {
+  void shouldUseFoundationTraineeTypeWhenGettingPdfTemplateForFoundationCurriculumSpecialty() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
     traineeProfile.setProgrammeMemberships(
@@ -1774,7 +1900,7 @@ class ProgrammeMembershipServiceTest {
 
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
 
-    service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
+    service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
     verify(restTemplate).getForObject(
         "http://localhost/8205/reference/api/local-office-contact-by-lo-name/"
@@ -1784,8 +1910,7 @@ class ProgrammeMembershipServiceTest {
   }
 
   @Test
-  void shouldUseFoundationTraineeTypeWhenGeneratingPdfForAcademicFoundationTraining()
-      throws IOException {
+  void shouldUseFoundationTraineeTypeWhenGettingPdfTemplateForAcademicFoundationTraining() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
     ProgrammeMembership pm = getProgrammeMembershipWithOneCurriculum(PROGRAMME_TIS_ID,
@@ -1796,7 +1921,7 @@ class ProgrammeMembershipServiceTest {
 
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
 
-    service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
+    service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
     verify(restTemplate)
         .getForObject(
@@ -1807,8 +1932,7 @@ class ProgrammeMembershipServiceTest {
   }
 
   @Test
-  void shouldUsePublicHealthTraineeTypeWhenGeneratingPdfForPublicHealthCurriculumSpecialty()
-      throws IOException {
+  void shouldUsePublicHealthTraineeTypeWhenGettingPdfTemplateForPublicHealthCurriculumSpecialty() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
     traineeProfile.setProgrammeMemberships(
@@ -1818,7 +1942,7 @@ class ProgrammeMembershipServiceTest {
 
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
 
-    service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
+    service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID);
 
     verify(restTemplate)
         .getForObject(
@@ -1829,28 +1953,28 @@ class ProgrammeMembershipServiceTest {
   }
 
   @Test
-  void shouldNotGenerateProgrammeConfirmationPdfWhenTraineeNotFound() {
+  void shouldNotGetProgrammeConfirmationPdfTemplateWhenTraineeNotFound() {
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(null);
 
     assertThrows(IllegalArgumentException.class,
-        () -> service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
+        () -> service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
     verifyNoInteractions(restTemplate);
   }
 
   @Test
-  void shouldNotGenerateProgrammeConfirmationPdfWhenPmNotFound() {
+  void shouldNotGetProgrammeConfirmationPdfTemplateWhenPmNotFound() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
 
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
 
     assertThrows(IllegalArgumentException.class,
-        () -> service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
+        () -> service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
     verifyNoInteractions(restTemplate);
   }
 
   @Test
-  void shouldNotGenerateProgrammeConfirmationPdfWhenPmNotStartIn12Weeks() {
+  void shouldNotGetProgrammeConfirmationPdfTemplateWhenPmNotStartIn12Weeks() {
     TraineeProfile traineeProfile = new TraineeProfile();
     traineeProfile.setPersonalDetails(createPersonalDetails(""));
     traineeProfile.setProgrammeMemberships(
@@ -1862,7 +1986,7 @@ class ProgrammeMembershipServiceTest {
     when(repository.findByTraineeTisId(TRAINEE_TIS_ID)).thenReturn(traineeProfile);
 
     assertThrows(IllegalArgumentException.class,
-        () -> service.generateProgrammeMembershipPdf(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
+        () -> service.getProgrammeMembershipPdfTemplate(TRAINEE_TIS_ID, PROGRAMME_TIS_ID));
     verifyNoInteractions(restTemplate);
   }
 
@@ -1963,6 +2087,35 @@ class ProgrammeMembershipServiceTest {
     assertThat("Unexpected owner contact list.", contactList.size(), is(0));
   }
 
+  @Test
+  void shouldReportOwnerContactCachedOnceRetrieved() {
+    when(restTemplate.getForObject(any(), any(), anyMap())).thenReturn(List.of());
+
+    assertThat("Unexpected cached state.",
+        service.isOwnerContactCached("a local office", TraineeType.SPECIALTY), is(false));
+
+    service.getOwnerContactList("a local office", TraineeType.SPECIALTY);
+
+    assertThat("Unexpected cached state.",
+        service.isOwnerContactCached("a local office", TraineeType.SPECIALTY), is(true));
+  }
+
+  @Test
+  void shouldReportOwnerContactCachedWhenLocalOfficeLoadedInDirectory() {
+    when(localOfficeContactDirectory.getContacts("a local office", TraineeType.SPECIALTY))
+        .thenReturn(Map.of());
+
+    assertThat("Unexpected cached state.",
+        service.isOwnerContactCached("a local office", TraineeType.SPECIALTY), is(true));
+    verifyNoInteractions(restTemplate);
+  }
+
+  @Test
+  void shouldReportOwnerContactCachedIfLocalOfficeNull() {
+    assertThat("Unexpected cached state.",
+        service.isOwnerContactCached(null, TraineeType.SPECIALTY), is(true));
+  }
+
   @Test
   void shouldGetEmptyContactListIfLocalOfficeNull() {
     List<Map<String, String>> contactList = service.getOwnerContactList(null,
@@ -2009,6 +2162,45 @@ class ProgrammeMembershipServiceTest {
         is(FOUNDATION));
   }
 
+  @Test
+  void shouldGetOwnerContactFromDirectoryWhenLocalOfficeLoaded() {
+    when(localOfficeContactDirectory.getContacts("a local office", FOUNDATION)).thenReturn(
+        Map.of(LocalOfficeContactType.TSS_SUPPORT, "tss@email.com"));
+
+    String ownerContact = service.getOwnerContact("a local office",
+        LocalOfficeContactType.TSS_SUPPORT, LocalOfficeContactType.ONBOARDING_SUPPORT,
+        DEFAULT_NO_CONTACT_MESSAGE, FOUNDATION);
+
+    assertThat("Unexpected owner contact.", ownerContact, is("tss@email.com"));
+    verifyNoInteractions(restTemplate);
+  }
+
+  @Test
+  void shouldGetFallbackOwnerContactFromDirectoryWhenContactTypeNotFound() {
+    when(localOfficeContactDirectory.getContacts("a local office", FOUNDATION)).thenReturn(
+        Map.of(LocalOfficeContactType.ONBOARDING_SUPPORT, "onboarding@email.com"));
+
+    String ownerContact = service.getOwnerContact("a local office",
+        LocalOfficeContactType.TSS_SUPPORT, LocalOfficeContactType.ONBOARDING_SUPPORT,
+        DEFAULT_NO_CONTACT_MESSAGE, FOUNDATION);
+
+    assertThat("Unexpected owner contact.", ownerContact, is("onboarding@email.com"));
+    verifyNoInteractions(restTemplate);
+  }
+
+  @Test
+  void shouldGetDefaultOwnerContactFromDirectoryWhenContactTypesNotFound() {
+    when(localOfficeContactDirectory.getContacts("a local office", FOUNDATION)).thenReturn(
+        Map.of(LocalOfficeContactType.DEFERRAL, "deferral@email.com"));
+
+    String ownerContact = service.getOwnerContact("a local office",
+        LocalOfficeContactType.TSS_SUPPORT, LocalOfficeContactType.ONBOARDING_SUPPORT,
+        DEFAULT_NO_CONTACT_MESSAGE, FOUNDATION);
+
+    assertThat("Unexpected owner contact.", ownerContact, is(DEFAULT_NO_CONTACT_MESSAGE));
+    verifyNoInteractions(restTemplate);
+  }
+
   @Test
   void shouldGetUrlHrefTypeForUrlContact() {
     assertThat("Unexpected contact href type.",
@@ -2038,6 +2230,63 @@ class ProgrammeMembershipServiceTest {
    * @param dateAdjustmentDays The number of days to add to dates.
    * @return The dummy entity.
    */
+  /**
+   * Convert a programme membership to the document representation used in updates.
+   *
+   * @param programmeMembership The programme membership to convert.
+   * @return The converted document.
+   */
+  private Document toDocument(ProgrammeMembership programmeMembership) {
+    return (Document) converter.convertToMongoType(programmeMembership,
+        TypeInformation.of(ProgrammeMembership.class));
+  }
+
+  /**
+   * Get the $set stage for a field of the captured programme membership update pipeline.
+   *
+   * @param field The field set by the stage.
+   * @return The $set stage content.
+   */
+  private Document getUpdateSetStage(String field) {
+    ArgumentCaptor<AggregationUpdate> updateCaptor = ArgumentCaptor.forClass(
+        AggregationUpdate.class);
+    verify(mongoTemplate).findAndModify(any(), updateCaptor.capture(), any(),
+        eq(TraineeProfile.class));
+
+    List<Document> pipeline = updateCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    return pipeline.stream()
+        .filter(stage -> stage.containsKey("$set"))
+        .map(stage -> stage.get("$set", Document.class))
+        .filter(set -> set.containsKey(field))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  /**
+   * Get the if/then/else arguments of the captured programme membership upsert condition.
+   *
+   * @return The condition arguments.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Object> getUpsertCondition() {
+    Document upsert = getUpdateSetStage("programmeMemberships")
+        .get("programmeMemberships", Document.class);
+    return (List<Object>) upsert.get("$cond");
+  }
+
+  /**
+   * Get the replacement applied to an existing programme membership with a matching ID.
+   *
+   * @return The replacement expression.
+   */
+  @SuppressWarnings("unchecked")
+  private Object getExistingReplacement() {
+    Document replace = (Document) getUpsertCondition().get(1);
+    Document map = replace.get("$map", Document.class);
+    Document in = map.get("in", Document.class);
+    return ((List<Object>) in.get("$cond")).get(1);
+  }
+
   private ProgrammeMembership createProgrammeMembership(String tisId, String stringSuffix,
       int dateAdjustmentDays) {
     ProgrammeMembership programmeMembership = new ProgrammeMembership();
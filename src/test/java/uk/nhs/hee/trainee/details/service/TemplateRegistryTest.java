@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class TemplateRegistryTest {
+
+  private static final ZoneId TIMEZONE = ZoneId.of("Europe/London");
+
+  private SpringTemplateEngine templateEngine;
+
+  @BeforeEach
+  void setUp() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+
+    templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+  }
+
+  @Test
+  void shouldGetConfiguredProgrammeConfirmationVersion() {
+    TemplateRegistry registry = new TemplateRegistry(templateEngine, TIMEZONE, "v1.0.0");
+
+    TemplateSpec templateSpec = registry.getProgrammeConfirmation();
+    assertThat("Unexpected template.", templateSpec.getTemplate(),
+        is("programme-confirmation" + File.separatorChar + "v1.0.0.html"));
+    assertThat("Unexpected template mode.", templateSpec.getTemplateMode(),
+        is(TemplateMode.HTML));
+    assertThat("Unexpected template version.",
+        templateSpec.getTemplateResolutionAttributes().get(TemplateRegistry.VERSION_ATTRIBUTE),
+        is("v1.0.0"));
+  }
+
+  @Test
+  void shouldReturnSameTemplateSpecForEachRequest() {
+    TemplateRegistry registry = new TemplateRegistry(templateEngine, TIMEZONE, "v1.0.0");
+
+    TemplateSpec templateSpec1 = registry.getProgrammeConfirmation();
+    TemplateSpec templateSpec2 = registry.getProgrammeConfirmation();
+    assertThat("Unexpected template spec.", templateSpec1, sameInstance(templateSpec2));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenTemplateVersionNotFound() {
+    assertThrows(IllegalStateException.class,
+        () -> new TemplateRegistry(templateEngine, TIMEZONE, "v0.0.0"));
+  }
+
+  @Test
+  void shouldParseTemplatesWhenCreated() {
+    new TemplateRegistry(templateEngine, TIMEZONE, "v1.0.0");
+
+    int cachedTemplates = templateEngine.getCacheManager().getTemplateCache().size();
+    assertThat("Unexpected cached template count.", cachedTemplates, not(is(0)));
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package uk.nhs.hee.trainee.details.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.nhs.hee.trainee.details.config.CacheConfiguration.TRAINEE_PROFILE_CACHE;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import uk.nhs.hee.trainee.details.model.TraineeProfile;
+import uk.nhs.hee.trainee.details.repository.TraineeProfileRepository;
+
+class TraineeProfileCacheTest {
+
+  private static final String TRAINEE_ID = "40";
+
+  private TraineeProfileCache profileCache;
+  private TraineeProfileRepository repository;
+  private CacheManager cacheManager;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(TraineeProfileRepository.class);
+    cacheManager = new ConcurrentMapCacheManager();
+    profileCache = new TraineeProfileCache(repository, cacheManager);
+  }
+
+  @Test
+  void shouldLoadProfileFromRepositoryWhenNotCached() {
+    TraineeProfile profile = new TraineeProfile();
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(profile);
+
+    TraineeProfile cachedProfile = profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected profile.", cachedProfile, sameInstance(profile));
+    assertThat("Unexpected cached profile.",
+        cacheManager.getCache(TRAINEE_PROFILE_CACHE).get(TRAINEE_ID).get(), sameInstance(profile));
+  }
+
+  @Test
+  void shouldNotLoadProfileFromRepositoryWhenCached() {
+    TraineeProfile profile = new TraineeProfile();
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(profile);
+
+    profileCache.get(TRAINEE_ID);
+    TraineeProfile cachedProfile = profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected profile.", cachedProfile, sameInstance(profile));
+    verify(repository).findByTraineeTisId(TRAINEE_ID);
+  }
+
+  @Test
+  void shouldNotCacheMissingProfile() {
+    TraineeProfile cachedProfile = profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected profile.", cachedProfile, nullValue());
+    assertThat("Unexpected cached profile.",
+        cacheManager.getCache(TRAINEE_PROFILE_CACHE).get(TRAINEE_ID), nullValue());
+  }
+
+  @Test
+  void shouldLoadProfileFromRepositoryWhenEvicted() {
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(new TraineeProfile());
+
+    profileCache.get(TRAINEE_ID);
+    profileCache.evict(TRAINEE_ID);
+    profileCache.get(TRAINEE_ID);
+
+    verify(repository, times(2)).findByTraineeTisId(TRAINEE_ID);
+  }
+
+  @Test
+  void shouldNotCacheProfileLoadedBeforeConcurrentEviction() {
+    // The profile is written, and evicted, after being read but before being cached.
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenAnswer(inv -> {
+      profileCache.evict(TRAINEE_ID);
+      return new TraineeProfile();
+    });
+
+    TraineeProfile profile = profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected profile.", profile, notNullValue());
+    assertThat("Unexpected cached profile.",
+        cacheManager.getCache(TRAINEE_PROFILE_CACHE).get(TRAINEE_ID), nullValue());
+  }
+
+  @Test
+  void shouldEvictProfileCachedAfterConcurrentEviction() {
+    // The profile is evicted between the generation check and the profile being cached.
+    Cache cache = new ConcurrentMapCache(TRAINEE_PROFILE_CACHE) {
+      @Override
+      public ValueWrapper putIfAbsent(Object key, Object value) {
+        profileCache.evict(TRAINEE_ID);
+        return super.putIfAbsent(key, value);
+      }
+    };
+    CacheManager interleavingCacheManager = mock(CacheManager.class);
+    when(interleavingCacheManager.getCache(TRAINEE_PROFILE_CACHE)).thenReturn(cache);
+    profileCache = new TraineeProfileCache(repository, interleavingCacheManager);
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(new TraineeProfile());
+
+    profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected cached profile.", cache.get(TRAINEE_ID), nullValue());
+  }
+
+  @Test
+  void shouldCacheProfileLoadedAfterEviction() {
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(new TraineeProfile());
+
+    profileCache.evict(TRAINEE_ID);
+    profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected cached profile.",
+        cacheManager.getCache(TRAINEE_PROFILE_CACHE).get(TRAINEE_ID), notNullValue());
+  }
+
+  @Test
+  void shouldEvictAllProfiles() {
+    when(repository.findByTraineeTisId(any())).thenReturn(new TraineeProfile());
+
+    profileCache.get(TRAINEE_ID);
+    profileCache.get("41");
+    profileCache.evictAll(List.of(TRAINEE_ID, "41"));
+
+    Cache cache = cacheManager.getCache(TRAINEE_PROFILE_CACHE);
+    assertThat("Unexpected cached profile.", cache.get(TRAINEE_ID), nullValue());
+    assertThat("Unexpected cached profile.", cache.get("41"), nullValue());
+  }
+
+  @Test
+  void shouldLoadProfileFromRepositoryWhenCacheUnavailable() {
+    Cache cache = mock(Cache.class);
+    when(cache.get(TRAINEE_ID)).thenThrow(new QueryTimeoutException("timeout"));
+    doThrow(new QueryTimeoutException("timeout")).when(cache).putIfAbsent(any(), any());
+    CacheManager failingCacheManager = mock(CacheManager.class);
+    when(failingCacheManager.getCache(TRAINEE_PROFILE_CACHE)).thenReturn(cache);
+    profileCache = new TraineeProfileCache(repository, failingCacheManager);
+
+    TraineeProfile profile = new TraineeProfile();
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(profile);
+
+    TraineeProfile cachedProfile = profileCache.get(TRAINEE_ID);
+
+    assertThat("Unexpected profile.", cachedProfile, is(profile));
+  }
+
+  @Test
+  void shouldLoadProfileFromRepositoryWhenCacheMissing() {
+    profileCache = new TraineeProfileCache(repository, mock(CacheManager.class));
+
+    TraineeProfile profile = new TraineeProfile();
+    when(repository.findByTraineeTisId(TRAINEE_ID)).thenReturn(profile);
+
+    profileCache.get(TRAINEE_ID);
+    profileCache.get(TRAINEE_ID);
+
+    verify(repository, times(2)).findByTraineeTisId(TRAINEE_ID);
+  }
+}
@@ -27,9 +27,11 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -40,6 +42,7 @@ import static uk.nhs.hee.trainee.details.service.FeatureService.FOUNDATION_CURRI
 import static uk.nhs.hee.trainee.details.service.FeatureService.FOUNDATION_SPECIALTY;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Month;
@@ -53,6 +56,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,9 +68,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
 import uk.nhs.hee.trainee.details.dto.HeeUserDto;
 import uk.nhs.hee.trainee.details.dto.LocalOfficeContact;
 import uk.nhs.hee.trainee.details.dto.ProgrammeMembershipDto;
@@ -145,12 +154,13 @@ class TraineeProfileServiceTest {
       ZoneId.of("UTC"));
   private static final LocalDate NOW = LocalDate.now(CLOCK);
 
-  @InjectMocks
   private TraineeProfileService service;
 
   @Mock
   private TraineeProfileRepository repository;
 
+  private TraineeProfileCache profileCache;
+
   @Mock
   private ProgrammeMembershipService programmeMembershipService;
 
@@ -176,6 +186,10 @@ class TraineeProfileServiceTest {
    */
   @BeforeEach
   void setupData() {
+    profileCache = new TraineeProfileCache(repository, new NoOpCacheManager());
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, Runnable::run, Duration.ofSeconds(5));
+
     setupPersonalDetailsData();
     setupCurriculumData();
     setupProgrammeMembershipsData();
@@ -781,6 +795,35 @@ class TraineeProfileServiceTest {
     verify(repository).deleteByTraineeTisId("1");
   }
 
+  @Test
+  void shouldGetCachedProfileWhenProfileCached() {
+    profileCache = new TraineeProfileCache(repository, new ConcurrentMapCacheManager());
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, Runnable::run, Duration.ofSeconds(5));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+
+    service.getTraineeDetailsByTisId(DEFAULT_TIS_ID_1);
+    Optional<UserDetails> detail = service.getTraineeDetailsByTisId(DEFAULT_TIS_ID_1);
+
+    assertThat("Unexpected trainee account details.", detail.isPresent(), is(true));
+    verify(repository).findByTraineeTisId(DEFAULT_TIS_ID_1);
+  }
+
+  @Test
+  void shouldEvictCachedProfileWhenProfileDeleted() {
+    profileCache = new TraineeProfileCache(repository, new ConcurrentMapCacheManager());
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, Runnable::run, Duration.ofSeconds(5));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile, null);
+
+    service.getTraineeDetailsByTisId(DEFAULT_TIS_ID_1);
+    service.deleteTraineeProfileByTraineeTisId(DEFAULT_TIS_ID_1);
+    Optional<UserDetails> detail = service.getTraineeDetailsByTisId(DEFAULT_TIS_ID_1);
+
+    assertThat("Unexpected trainee account details.", detail, is(Optional.empty()));
+    verify(repository, times(2)).findByTraineeTisId(DEFAULT_TIS_ID_1);
+  }
+
   @Test
   void shouldReturnEmptyWhenTraineeNotFoundByTisId() {
     when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(null);
@@ -937,6 +980,223 @@ class TraineeProfileServiceTest {
         is(MANAGING_DEANERY));
   }
 
+  @ParameterizedTest
+  @EnumSource(LocalOfficeContactType.class)
+  void shouldLookUpDuplicatedLoContactsOnce(LocalOfficeContactType contactType) {
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY);
+    programmeMembership2.setCurricula(List.of(curriculum));
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+    when(programmeMembershipService.getOwnerContact(
+        MANAGING_DEANERY, contactType, null, null, TraineeType.SPECIALTY))
+        .thenReturn(LO_CONTACT1);
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, contactType);
+
+    verify(programmeMembershipService, times(1))
+        .getOwnerContact(MANAGING_DEANERY, contactType, null, null, TraineeType.SPECIALTY);
+    verifyNoMoreInteractions(programmeMembershipService);
+
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    assertThat("Unexpected local office contacts.", loContacts.get().size(), is(1));
+  }
+
+  @Test
+  void shouldLookUpLoContactsConcurrently() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, executor, Duration.ofSeconds(5));
+
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+
+    // Each lookup only completes once both lookups have started.
+    CountDownLatch started = new CountDownLatch(2);
+    when(programmeMembershipService.getOwnerContact(any(), any(), any(), any(), any()))
+        .thenAnswer(inv -> {
+          started.countDown();
+          return started.await(1, TimeUnit.SECONDS) ? inv.getArgument(0) : null;
+        });
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, LocalOfficeContactType.LTFT);
+
+    executor.shutdown();
+    assertThat("Unexpected executor termination.",
+        executor.awaitTermination(1, TimeUnit.SECONDS), is(true));
+
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    Set<LocalOfficeContact> foundLoContacts = loContacts.get();
+    assertThat("Unexpected local office contacts.", foundLoContacts.size(), is(2));
+    assertThat("Unexpected local office contacts.", foundLoContacts, hasItems(
+        new LocalOfficeContact(MANAGING_DEANERY, MANAGING_DEANERY),
+        new LocalOfficeContact(MANAGING_DEANERY2, MANAGING_DEANERY2)));
+  }
+
+  @Test
+  void shouldSkipLoContactsNotFoundBeforeTimeout() {
+    // An executor which never runs the lookups.
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, command -> { }, Duration.ofMillis(10));
+
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, LocalOfficeContactType.LTFT);
+
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    assertThat("Unexpected local office contacts.", loContacts.get().size(), is(0));
+    verify(programmeMembershipService, never()).getOwnerContact(any(), any(), any(), any(),
+        any());
+  }
+
+  @Test
+  void shouldResolveCachedLoContactsOnCallingThread() {
+    // An executor which fails any lookup handed off to it.
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, command -> {
+          throw new IllegalStateException("Unexpected lookup hand off.");
+        }, Duration.ofSeconds(5));
+
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+    when(programmeMembershipService.isOwnerContactCached(any(), any())).thenReturn(true);
+    when(programmeMembershipService.getOwnerContact(
+        MANAGING_DEANERY, LocalOfficeContactType.LTFT, null, null, TraineeType.SPECIALTY))
+        .thenReturn(LO_CONTACT1);
+    when(programmeMembershipService.getOwnerContact(
+        MANAGING_DEANERY2, LocalOfficeContactType.LTFT, null, null, TraineeType.SPECIALTY))
+        .thenReturn(LO_CONTACT2);
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, LocalOfficeContactType.LTFT);
+
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    assertThat("Unexpected local office contacts.", loContacts.get(), is(Set.of(
+        new LocalOfficeContact(LO_CONTACT1, MANAGING_DEANERY),
+        new LocalOfficeContact(LO_CONTACT2, MANAGING_DEANERY2))));
+  }
+
+  @Test
+  void shouldOnlyHandOffUncachedLoContactLookups() {
+    List<Runnable> handedOff = new ArrayList<>();
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, command -> {
+          handedOff.add(command);
+          command.run();
+        }, Duration.ofSeconds(5));
+
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+    ProgrammeMembership programmeMembership3 = new ProgrammeMembership();
+    programmeMembership3.setStartDate(LocalDate.MIN);
+    programmeMembership3.setEndDate(LocalDate.MAX);
+    programmeMembership3.setManagingDeanery("North East");
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2, programmeMembership3)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+    when(programmeMembershipService.isOwnerContactCached(any(), any()))
+        .thenAnswer(inv -> inv.getArgument(0).equals(MANAGING_DEANERY));
+    when(programmeMembershipService.getOwnerContact(any(), any(), any(), any(), any()))
+        .thenAnswer(inv -> inv.getArgument(0));
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, LocalOfficeContactType.LTFT);
+
+    assertThat("Unexpected handed off lookup count.", handedOff.size(), is(2));
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    assertThat("Unexpected local office contact count.", loContacts.get().size(), is(3));
+  }
+
+  @Test
+  void shouldNotBlockWhenLoContactLookupsSaturated() {
+    service = new TraineeProfileService(repository, profileCache, programmeMembershipService,
+        placementService, programmeMembershipMapper, command -> {
+          throw new RejectedExecutionException("full");
+        }, Duration.ofSeconds(5));
+
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+
+    Optional<Set<LocalOfficeContact>> loContacts
+        = service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1, LocalOfficeContactType.LTFT);
+
+    assertThat("Unexpected missing LO contacts.", loContacts.isPresent(), is(true));
+    assertThat("Unexpected local office contacts.", loContacts.get().size(), is(0));
+    verify(programmeMembershipService, never()).getOwnerContact(any(), any(), any(), any(),
+        any());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenLoContactLookupFails() {
+    programmeMembership.setStartDate(LocalDate.MIN);
+    programmeMembership.setEndDate(LocalDate.MAX);
+    ProgrammeMembership programmeMembership2 = new ProgrammeMembership();
+    programmeMembership2.setStartDate(LocalDate.MIN);
+    programmeMembership2.setEndDate(LocalDate.MAX);
+    programmeMembership2.setManagingDeanery(MANAGING_DEANERY2);
+
+    traineeProfile.setProgrammeMemberships(new ArrayList<>(List.of(
+        programmeMembership, programmeMembership2)));
+    when(repository.findByTraineeTisId(DEFAULT_TIS_ID_1)).thenReturn(traineeProfile);
+    when(programmeMembershipService.getOwnerContact(
+        MANAGING_DEANERY, LocalOfficeContactType.LTFT, null, null, TraineeType.SPECIALTY))
+        .thenReturn(LO_CONTACT1);
+    when(programmeMembershipService.getOwnerContact(
+        MANAGING_DEANERY2, LocalOfficeContactType.LTFT, null, null, TraineeType.SPECIALTY))
+        .thenThrow(new IllegalArgumentException("expected"));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> service.getTraineeLocalOfficeContacts(DEFAULT_TIS_ID_1,
+            LocalOfficeContactType.LTFT));
+  }
+
   @ParameterizedTest
   @EnumSource(LocalOfficeContactType.class)
   void shouldFindLoContactsWithinDate(LocalOfficeContactType contactType) {